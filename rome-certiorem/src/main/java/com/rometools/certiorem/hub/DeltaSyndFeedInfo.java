@@ -28,6 +28,7 @@ import java.util.Map;
 import com.rometools.fetcher.impl.SyndFeedInfo;
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
 
 /**
  * Extends SyndFeedInfo to also track etags for individual entries. This may be used with
@@ -63,14 +64,27 @@ public class DeltaSyndFeedInfo extends SyndFeedInfo {
     @Override
     public synchronized SyndFeed getSyndFeed() {
         try {
-            final SyndFeed feed = (SyndFeed) super.getSyndFeed().clone();
+            final SyndFeed backingFeed = super.getSyndFeed();
+
+            // only the changed entries are cloned, the others are dropped anyway
+            final SyndFeed feed;
+            final boolean sharingEntries = backingFeed instanceof SyndFeedImpl;
+            if (sharingEntries) {
+                feed = ((SyndFeedImpl) backingFeed).cloneSharingEntries();
+            } else {
+                feed = (SyndFeed) backingFeed.clone();
+            }
 
             final List<SyndEntry> changedEntries = new ArrayList<SyndEntry>();
 
             final List<SyndEntry> entries = feed.getEntries();
             for (final SyndEntry entry : entries) {
                 if (changedMap.containsKey(entry.getUri())) {
-                    changedEntries.add(entry);
+                    if (sharingEntries) {
+                        changedEntries.add((SyndEntry) entry.clone());
+                    } else {
+                        changedEntries.add(entry);
+                    }
                 }
             }
 
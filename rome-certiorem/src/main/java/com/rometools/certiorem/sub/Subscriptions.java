@@ -21,8 +21,7 @@ package com.rometools.certiorem.sub;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
+import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -43,6 +42,7 @@ import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.feed.synd.SyndLink;
 import com.rometools.rome.io.FeedException;
 import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
 
 /**
  *
@@ -71,9 +71,15 @@ public class Subscriptions {
     }
 
     public void callback(final String callbackPath, final String feed) {
+        // already decoded, the encoding declared by the feed does not apply anymore
+        final SyndFeedInput input = new SyndFeedInput();
+
         try {
-            this.callback(callbackPath, feed.getBytes("UTF-8"));
-        } catch (final UnsupportedEncodingException ex) {
+            this.callback(callbackPath, input.build(new StringReader(feed)));
+        } catch (final IllegalArgumentException ex) {
+            LOG.error("Unable to parse feed", ex);
+            throw new HttpStatusCodeException(500, "Unable to parse feed.", ex);
+        } catch (final FeedException ex) {
             LOG.error("Unable to parse feed", ex);
             throw new HttpStatusCodeException(400, "Unable to parse feed.", ex);
         }
@@ -83,13 +89,16 @@ public class Subscriptions {
         final SyndFeedInput input = new SyndFeedInput();
 
         try {
-            this.callback(callbackPath, input.build(new InputStreamReader(feed)));
+            this.callback(callbackPath, input.build(feed));
         } catch (final IllegalArgumentException ex) {
             LOG.error("Unable to parse feed", ex);
             throw new HttpStatusCodeException(500, "Unable to parse feed.", ex);
         } catch (final FeedException ex) {
             LOG.error("Unable to parse feed", ex);
             throw new HttpStatusCodeException(400, "Unable to parse feed.", ex);
+        } catch (final IOException ex) {
+            LOG.error("Unable to read feed", ex);
+            throw new HttpStatusCodeException(400, "Unable to read feed.", ex);
         }
     }
 
@@ -181,7 +190,7 @@ public class Subscriptions {
     public void subscribe(final String topic, final boolean sync, final long leaseSeconds, final String secret, final SubscriptionCallback callback)
             throws IllegalArgumentException, IOException, FeedException {
         final SyndFeedInput input = new SyndFeedInput();
-        final SyndFeed feed = input.build(new InputStreamReader(new URL(topic).openStream()));
+        final SyndFeed feed = input.build(new XmlReader(new URL(topic)));
         final String hubUrl = findHubUrl(feed);
 
         if (hubUrl == null) {
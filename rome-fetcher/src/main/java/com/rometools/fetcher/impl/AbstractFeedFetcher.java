@@ -22,6 +22,8 @@ import java.io.InputStream;
 import java.net.URLConnection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -33,6 +35,8 @@ import com.rometools.fetcher.FetcherEvent;
 import com.rometools.fetcher.FetcherException;
 import com.rometools.fetcher.FetcherListener;
 import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+import com.rometools.rome.io.impl.DateParseContext;
 
 /**
  * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints, 
@@ -43,11 +47,14 @@ public abstract class AbstractFeedFetcher implements FeedFetcher {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractFeedFetcher.class);
 
+    private static final int MAX_DATE_PARSE_CONTEXTS = 1000;
+
     private final Set<FetcherListener> listeners;
     private String userAgent;
     private boolean usingDeltaEncoding;
     private boolean preserveWireFeed;
     private boolean allowDoctypes = false;
+    private Map<String, DateParseContext> dateParseContexts;
 
     public AbstractFeedFetcher() {
 
@@ -200,7 +207,8 @@ public abstract class AbstractFeedFetcher implements FeedFetcher {
      *
      * <p>
      * The returned feed will have the same data as the newFeed parameter, with the entries from
-     * originalFeed appended to the end of its entries.
+     * originalFeed appended to the end of its entries. The entries of both feeds are shared with
+     * the returned feed, they are not cloned.
      * </p>
      *
      * @param originalFeed
@@ -209,7 +217,12 @@ public abstract class AbstractFeedFetcher implements FeedFetcher {
      */
     public static SyndFeed combineFeeds(final SyndFeed originalFeed, final SyndFeed newFeed) {
         try {
-            final SyndFeed result = (SyndFeed) newFeed.clone();
+            final SyndFeed result;
+            if (newFeed instanceof SyndFeedImpl) {
+                result = ((SyndFeedImpl) newFeed).cloneSharingEntries();
+            } else {
+                result = (SyndFeed) newFeed.clone();
+            }
             result.getEntries().addAll(result.getEntries().size(), originalFeed.getEntries());
             return result;
         } catch (final CloneNotSupportedException e) {
@@ -228,6 +241,56 @@ public abstract class AbstractFeedFetcher implements FeedFetcher {
         this.preserveWireFeed = preserveWireFeed;
     }
 
+    /**
+     * @return true if the date format that last succeeded is remembered for each feed URL
+     */
+    public synchronized boolean isUsingDateParseContexts() {
+        return dateParseContexts != null;
+    }
+
+    /**
+     * <p>
+     * Remembers the date format that last succeeded for each feed URL, so that the dates of a feed
+     * that was already fetched are parsed with a single attempt. The most recently used URLs are
+     * kept.
+     * </p>
+     *
+     * @param usingDateParseContexts true to remember the date formats by feed URL
+     */
+    public synchronized void setUsingDateParseContexts(final boolean usingDateParseContexts) {
+        if (!usingDateParseContexts) {
+            dateParseContexts = null;
+        } else if (dateParseContexts == null) {
+            dateParseContexts = Collections.synchronizedMap(new LinkedHashMap<String, DateParseContext>(16, 0.75F, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, DateParseContext> eldest) {
+                    return size() > MAX_DATE_PARSE_CONTEXTS;
+                }
+
+            });
+        }
+    }
+
+    /**
+     * @param urlStr the URL of the feed
+     * @return the context to parse the dates of the feed with, null if date parse contexts are
+     *         not used
+     */
+    protected synchronized DateParseContext getDateParseContext(final String urlStr) {
+        if (dateParseContexts == null) {
+            return null;
+        }
+        DateParseContext context = dateParseContexts.get(urlStr);
+        if (context == null) {
+            context = new DateParseContext();
+            dateParseContexts.put(urlStr, context);
+        }
+        return context;
+    }
+
     public boolean isAllowDoctypes() {
         return allowDoctypes;
     }
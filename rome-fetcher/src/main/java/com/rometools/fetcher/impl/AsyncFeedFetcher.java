@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.fetcher.impl;
+
+import java.net.URL;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+
+/**
+ * <p>
+ * Retrieves feeds asynchronously on an executor, the calling thread only submits the requests.
+ * </p>
+ *
+ * <p>
+ * Feeds are retrieved the way {@link HttpURLFeedFetcher} retrieves them, with the same cache,
+ * conditional gets and events, but connections are kept alive: once a feed has been read its
+ * connection goes back to the per-host keep-alive cache of the JDK and is reused by the next
+ * request to the same host. The number of requests in flight is bounded by the executor, the
+ * number of idle connections kept by host by the <code>http.maxConnections</code> system property.
+ * </p>
+ *
+ * <p>
+ * Simple usage:
+ *
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(32);
+ * AsyncFeedFetcher fetcher = new AsyncFeedFetcher(new HashMapFeedInfoCache(), executor);
+ * fetcher.retrieveFeedAsync(feedUrl, new AsyncFeedFetcher.Callback() {
+ *     public void completed(URL feedUrl, SyndFeed feed) { ... }
+ *     public void failed(URL feedUrl, Exception e) { ... }
+ * });
+ * </pre>
+ *
+ * </p>
+ *
+ * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints,
+ * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
+ */
+@Deprecated
+public class AsyncFeedFetcher extends HttpURLFeedFetcher {
+
+    private final Executor executor;
+
+    /**
+     * Receives the outcome of an asynchronous retrieval, on the thread that retrieved the feed.
+     */
+    public interface Callback {
+
+        /**
+         * @param feedUrl the URL of the feed
+         * @param feed the feed retrieved, or the cached one if it was not modified
+         */
+        public void completed(URL feedUrl, SyndFeed feed);
+
+        /**
+         * @param feedUrl the URL of the feed
+         * @param e the exception the retrieval failed with: IOException, FeedException,
+         *            FetcherException or a runtime exception
+         */
+        public void failed(URL feedUrl, Exception e);
+
+    }
+
+    /**
+     * Constructor to use AsyncFeedFetcher without caching of feeds
+     *
+     * @param executor the executor retrieving the feeds
+     */
+    public AsyncFeedFetcher(final Executor executor) {
+        this(null, executor);
+    }
+
+    /**
+     * Constructor to enable AsyncFeedFetcher to cache feeds
+     *
+     * @param feedInfoCache an instance of the FeedFetcherCache interface, null for none
+     * @param executor the executor retrieving the feeds
+     */
+    public AsyncFeedFetcher(final FeedFetcherCache feedInfoCache, final Executor executor) {
+        super(feedInfoCache);
+        if (executor == null) {
+            throw new IllegalArgumentException("null is not a valid executor");
+        }
+        this.executor = executor;
+        setKeepAlive(true);
+    }
+
+    /**
+     * Retrieves a feed asynchronously.
+     *
+     * @param feedUrl A non-null URL of a RSS/Atom feed to retrieve
+     * @return the future feed, its get method throws an ExecutionException caused by the exception
+     *         {@link #retrieveFeed(URL)} would have thrown
+     */
+    public Future<SyndFeed> retrieveFeedAsync(final URL feedUrl) {
+        return retrieveFeedAsync(getUserAgent(), feedUrl, null);
+    }
+
+    /**
+     * Retrieves a feed asynchronously.
+     *
+     * @param feedUrl A non-null URL of a RSS/Atom feed to retrieve
+     * @param callback the callback to notify once the feed is retrieved, may be null
+     * @return the future feed
+     */
+    public Future<SyndFeed> retrieveFeedAsync(final URL feedUrl, final Callback callback) {
+        return retrieveFeedAsync(getUserAgent(), feedUrl, callback);
+    }
+
+    /**
+     * Retrieves a feed asynchronously.
+     *
+     * @param userAgent the name of the user-agent to be placed in HTTP-header
+     * @param feedUrl A non-null URL of a RSS/Atom feed to retrieve
+     * @param callback the callback to notify once the feed is retrieved, may be null
+     * @return the future feed
+     * @throws IllegalArgumentException if the URL is null
+     */
+    public Future<SyndFeed> retrieveFeedAsync(final String userAgent, final URL feedUrl, final Callback callback) {
+        if (feedUrl == null) {
+            throw new IllegalArgumentException("null is not a valid URL");
+        }
+        final FutureTask<SyndFeed> task = new FutureTask<SyndFeed>(new Callable<SyndFeed>() {
+            @Override
+            public SyndFeed call() throws Exception {
+                return retrieveFeed(userAgent, feedUrl);
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (callback != null && !isCancelled()) {
+                    notifyCallback(callback, feedUrl, this);
+                }
+            }
+        };
+        executor.execute(task);
+        return task;
+    }
+
+    private static void notifyCallback(final Callback callback, final URL feedUrl, final Future<SyndFeed> task) {
+        final SyndFeed feed;
+        try {
+            feed = task.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                callback.failed(feedUrl, (Exception) cause);
+                return;
+            }
+            throw (Error) cause;
+        } catch (final InterruptedException e) {
+            // the task is done, get does not wait
+            Thread.currentThread().interrupt();
+            return;
+        }
+        callback.completed(feedUrl, feed);
+    }
+
+}
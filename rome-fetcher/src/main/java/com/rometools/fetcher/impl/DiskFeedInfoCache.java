@@ -27,7 +27,8 @@ import java.net.URL;
 import com.rometools.utils.IO;
 
 /**
- * Disk based feed cache.
+ * Disk based feed cache, keeping each feed in its own file. For caches holding many feeds, see
+ * {@link IndexedDiskFeedInfoCache}.
  * 
  * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints, 
  * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
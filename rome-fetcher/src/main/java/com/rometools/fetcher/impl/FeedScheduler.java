@@ -0,0 +1,467 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.fetcher.impl;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.fetcher.FeedFetcher;
+import com.rometools.fetcher.FetcherException;
+import com.rometools.rome.feed.synd.SyndFeed;
+
+/**
+ * <p>
+ * Polls a large set of feeds, each one when its {@link PollPolicy} says it is due.
+ * </p>
+ *
+ * <p>
+ * The feeds are kept in a priority queue ordered by next poll time. A dispatcher thread takes the
+ * feeds that are due and polls them with the fetcher on the executor, within a global budget of
+ * polls in flight and a budget of polls in flight by host. Feeds due while their host is busy
+ * wait for one of the polls of that host to complete. Once polled, a feed is queued again for the
+ * time computed by the policy from what the poll observed.
+ * </p>
+ *
+ * <p>
+ * The feeds retrieved are delivered by the events of the fetcher, register a
+ * {@link com.rometools.fetcher.FetcherListener} on it to receive them. The policy reads the HTTP
+ * expiration of the feeds from the cache, if any, and the RSS channel hints from the wire feed,
+ * which the fetcher must preserve for them to be used.
+ * </p>
+ *
+ * <p>
+ * Simple usage:
+ *
+ * <pre>
+ * FeedFetcherCache cache = new HashMapFeedInfoCache();
+ * HttpURLFeedFetcher fetcher = new HttpURLFeedFetcher(cache);
+ * fetcher.setKeepAlive(true);
+ * fetcher.addFetcherEventListener(listener);
+ * FeedScheduler scheduler = new FeedScheduler(fetcher, cache, Executors.newFixedThreadPool(64));
+ * scheduler.addFeed(feedUrl);
+ * scheduler.start();
+ * </pre>
+ *
+ * </p>
+ *
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints,
+ * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
+ */
+@Deprecated
+public class FeedScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FeedScheduler.class);
+
+    private static final Comparator<ScheduledFeed> BY_NEXT_POLL_TIME = new Comparator<ScheduledFeed>() {
+        @Override
+        public int compare(final ScheduledFeed feed1, final ScheduledFeed feed2) {
+            final long time1 = feed1.getNextPollTime();
+            final long time2 = feed2.getNextPollTime();
+            return time1 < time2 ? -1 : time1 == time2 ? 0 : 1;
+        }
+    };
+
+    private final FeedFetcher fetcher;
+    private final FeedFetcherCache cache;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private final Map<String, ScheduledFeed> feeds = new HashMap<String, ScheduledFeed>();
+    private final PriorityQueue<ScheduledFeed> queue = new PriorityQueue<ScheduledFeed>(64, BY_NEXT_POLL_TIME);
+    private final Map<String, Integer> hostPolls = new HashMap<String, Integer>();
+    private final Map<String, Queue<ScheduledFeed>> waitingFeeds = new HashMap<String, Queue<ScheduledFeed>>();
+    private int polls;
+
+    private volatile PollPolicy pollPolicy = new PollPolicy();
+    private int maxPolls = 64;
+    private int maxHostPolls = 2;
+    private Thread dispatcher;
+
+    /**
+     * @param fetcher the fetcher polling the feeds
+     * @param cache the cache of the fetcher, null if it has none
+     * @param executor the executor running the polls
+     */
+    public FeedScheduler(final FeedFetcher fetcher, final FeedFetcherCache cache, final Executor executor) {
+        this.fetcher = fetcher;
+        this.cache = cache;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the policy computing the poll times
+     */
+    public PollPolicy getPollPolicy() {
+        return pollPolicy;
+    }
+
+    /**
+     * @param pollPolicy the policy computing the poll times
+     */
+    public void setPollPolicy(final PollPolicy pollPolicy) {
+        this.pollPolicy = pollPolicy;
+    }
+
+    /**
+     * @return the maximum number of polls in flight
+     */
+    public int getMaxPolls() {
+        synchronized (lock) {
+            return maxPolls;
+        }
+    }
+
+    /**
+     * @param maxPolls the maximum number of polls in flight, 64 by default
+     */
+    public void setMaxPolls(final int maxPolls) {
+        synchronized (lock) {
+            this.maxPolls = maxPolls;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * @return the maximum number of polls in flight for a single host
+     */
+    public int getMaxHostPolls() {
+        synchronized (lock) {
+            return maxHostPolls;
+        }
+    }
+
+    /**
+     * @param maxHostPolls the maximum number of polls in flight for a single host, 2 by default
+     */
+    public void setMaxHostPolls(final int maxHostPolls) {
+        synchronized (lock) {
+            this.maxHostPolls = maxHostPolls;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Adds a feed to poll as soon as possible.
+     *
+     * @param feedUrl the URL of the feed
+     * @return true if the feed was added, false if it was already scheduled
+     */
+    public boolean addFeed(final URL feedUrl) {
+        return addFeed(feedUrl, System.currentTimeMillis());
+    }
+
+    /**
+     * Adds a feed to poll from a given time.
+     *
+     * @param feedUrl the URL of the feed
+     * @param firstPollTime the time of the first poll, in milliseconds
+     * @return true if the feed was added, false if it was already scheduled
+     */
+    public boolean addFeed(final URL feedUrl, final long firstPollTime) {
+        if (feedUrl == null) {
+            throw new IllegalArgumentException("null is not a valid URL");
+        }
+        final String key = feedUrl.toExternalForm();
+        synchronized (lock) {
+            if (feeds.containsKey(key)) {
+                return false;
+            }
+            final ScheduledFeed feed = new ScheduledFeed(feedUrl, firstPollTime);
+            feeds.put(key, feed);
+            queue.add(feed);
+            lock.notifyAll();
+            return true;
+        }
+    }
+
+    /**
+     * Removes a feed, a poll of the feed in flight completes but the feed is not polled again.
+     *
+     * @param feedUrl the URL of the feed
+     * @return true if the feed was removed, false if it was not scheduled
+     */
+    public boolean removeFeed(final URL feedUrl) {
+        synchronized (lock) {
+            final ScheduledFeed feed = feeds.remove(feedUrl.toExternalForm());
+            if (feed == null) {
+                return false;
+            }
+            // the feed is dropped from the queues when it comes out of them
+            feed.removed = true;
+            return true;
+        }
+    }
+
+    /**
+     * @param feedUrl the URL of the feed
+     * @return the scheduled feed, null if the feed is not scheduled
+     */
+    public ScheduledFeed getFeed(final URL feedUrl) {
+        synchronized (lock) {
+            return feeds.get(feedUrl.toExternalForm());
+        }
+    }
+
+    /**
+     * @return the number of feeds scheduled
+     */
+    public int getFeedCount() {
+        synchronized (lock) {
+            return feeds.size();
+        }
+    }
+
+    /**
+     * @return the number of polls in flight
+     */
+    public int getPollCount() {
+        synchronized (lock) {
+            return polls;
+        }
+    }
+
+    /**
+     * Starts the dispatcher thread, it runs until {@link #stop()} is called.
+     */
+    public void start() {
+        synchronized (lock) {
+            if (dispatcher != null) {
+                return;
+            }
+            dispatcher = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    runDispatcher(Thread.currentThread());
+                }
+            }, "FeedScheduler");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+    }
+
+    /**
+     * Stops the dispatcher thread. The polls in flight complete and their feeds are scheduled
+     * again, but no new poll starts until the scheduler is started again.
+     */
+    public void stop() {
+        synchronized (lock) {
+            dispatcher = null;
+            lock.notifyAll();
+        }
+    }
+
+    private void runDispatcher(final Thread thread) {
+        try {
+            while (true) {
+                synchronized (lock) {
+                    if (dispatcher != thread) {
+                        return;
+                    }
+                }
+                final long now = System.currentTimeMillis();
+                dispatch(now);
+                synchronized (lock) {
+                    if (dispatcher != thread) {
+                        return;
+                    }
+                    final ScheduledFeed next = queue.peek();
+                    if (polls >= maxPolls || next == null) {
+                        lock.wait();
+                    } else if (next.getNextPollTime() > now) {
+                        lock.wait(next.getNextPollTime() - now);
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            LOG.debug("FeedScheduler dispatcher interrupted");
+            synchronized (lock) {
+                if (dispatcher == thread) {
+                    dispatcher = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the polls of the feeds due at a given time, within the poll budgets. Called by the
+     * dispatcher thread, it can also be called directly to drive the scheduler without the thread.
+     *
+     * @param now the current time, in milliseconds
+     * @return the number of polls started
+     */
+    public int dispatch(final long now) {
+        final List<ScheduledFeed> due = new ArrayList<ScheduledFeed>();
+        synchronized (lock) {
+            while (polls < maxPolls) {
+                final ScheduledFeed feed = queue.peek();
+                if (feed == null || feed.getNextPollTime() > now) {
+                    break;
+                }
+                queue.poll();
+                if (feed.removed) {
+                    continue;
+                }
+                final Integer hostCount = hostPolls.get(feed.getHost());
+                if (hostCount != null && hostCount >= maxHostPolls) {
+                    Queue<ScheduledFeed> waiting = waitingFeeds.get(feed.getHost());
+                    if (waiting == null) {
+                        waiting = new LinkedList<ScheduledFeed>();
+                        waitingFeeds.put(feed.getHost(), waiting);
+                    }
+                    waiting.add(feed);
+                    continue;
+                }
+                hostPolls.put(feed.getHost(), hostCount == null ? 1 : hostCount + 1);
+                polls++;
+                due.add(feed);
+            }
+        }
+        for (final ScheduledFeed feed : due) {
+            try {
+                executor.execute(new Poll(feed));
+            } catch (final RuntimeException e) {
+                // typically a RejectedExecutionException, the feed is retried later
+                pollFailed(feed, e);
+            }
+        }
+        return due.size();
+    }
+
+    private void pollCompleted(final ScheduledFeed feed, final SyndFeed syndFeed, final SyndFeedInfo syndFeedInfo) {
+        final PollPolicy policy = pollPolicy;
+        final long fingerprint = policy.getFingerprint(syndFeed);
+        final long now = System.currentTimeMillis();
+        synchronized (lock) {
+            final boolean changed = feed.getLastPollTime() == 0 || fingerprint != feed.fingerprint;
+            if (changed) {
+                final long lastChangeTime = feed.getLastChangeTime();
+                if (lastChangeTime > 0) {
+                    final long sinceLastChange = now - lastChangeTime;
+                    final long changeInterval = feed.getChangeInterval();
+                    feed.setChangeInterval(changeInterval == 0 ? sinceLastChange : (3 * changeInterval + sinceLastChange) / 4);
+                }
+                feed.setLastChangeTime(now);
+                feed.fingerprint = fingerprint;
+            }
+            feed.setFailures(0);
+            final long next = policy.getNextPollTime(feed, changed, syndFeed, syndFeedInfo, now);
+            reschedule(feed, now, next);
+        }
+    }
+
+    private void pollFailed(final ScheduledFeed feed, final Exception e) {
+        LOG.debug("Poll of {} failed: {}", feed, e.getMessage());
+        final long now = System.currentTimeMillis();
+        synchronized (lock) {
+            feed.setFailures(feed.getFailures() + 1);
+            final long next = pollPolicy.getRetryTime(feed, e, now);
+            reschedule(feed, now, next);
+        }
+    }
+
+    // releases the budgets taken by the poll of the feed and queues it again, with the lock held
+    private void reschedule(final ScheduledFeed feed, final long now, final long next) {
+        feed.setLastPollTime(now);
+        feed.setInterval(next - now);
+        feed.setNextPollTime(next);
+        if (!feed.removed) {
+            queue.add(feed);
+        }
+
+        polls--;
+        final String host = feed.getHost();
+        final int hostCount = hostPolls.get(host) - 1;
+        if (hostCount == 0) {
+            hostPolls.remove(host);
+        } else {
+            hostPolls.put(host, hostCount);
+        }
+        final Queue<ScheduledFeed> waiting = waitingFeeds.get(host);
+        if (waiting != null) {
+            ScheduledFeed waitingFeed = waiting.poll();
+            while (waitingFeed != null && waitingFeed.removed) {
+                waitingFeed = waiting.poll();
+            }
+            if (waiting.isEmpty()) {
+                waitingFeeds.remove(host);
+            }
+            if (waitingFeed != null) {
+                // still due, it is taken by the next dispatch
+                queue.add(waitingFeed);
+            }
+        }
+        lock.notifyAll();
+    }
+
+    private class Poll implements Runnable {
+
+        private final ScheduledFeed feed;
+
+        Poll(final ScheduledFeed feed) {
+            this.feed = feed;
+        }
+
+        @Override
+        public void run() {
+            boolean rescheduled = false;
+            try {
+                SyndFeed syndFeed = null;
+                Exception failure = null;
+                try {
+                    syndFeed = fetcher.retrieveFeed(feed.getUrl());
+                    if (syndFeed == null) {
+                        failure = new FetcherException("No feed retrieved from " + feed.getUrl());
+                    }
+                } catch (final Exception e) {
+                    failure = e;
+                }
+                if (failure == null) {
+                    final SyndFeedInfo syndFeedInfo = cache == null ? null : cache.getFeedInfo(feed.getUrl());
+                    pollCompleted(feed, syndFeed, syndFeedInfo);
+                } else {
+                    pollFailed(feed, failure);
+                }
+                rescheduled = true;
+            } finally {
+                if (!rescheduled) {
+                    // the fetcher, the cache or the poll policy failed with an unexpected
+                    // throwable, the budgets must still be released and the feed polled again
+                    final long now = System.currentTimeMillis();
+                    synchronized (lock) {
+                        feed.setFailures(feed.getFailures() + 1);
+                        reschedule(feed, now, now + pollPolicy.getMaxInterval());
+                    }
+                }
+            }
+        }
+
+    }
+
+}
@@ -280,6 +280,7 @@ public class HttpClientFeedFetcher extends AbstractFeedFetcher {
             final SyndFeedInput syndFeedInput = new SyndFeedInput();
             syndFeedInput.setPreserveWireFeed(isPreserveWireFeed());
             syndFeedInput.setAllowDoctypes(isAllowDoctypes());
+            syndFeedInput.setDateParseContext(getDateParseContext(urlStr));
 
             return syndFeedInput.build(reader);
 
@@ -17,12 +17,16 @@
 package com.rometools.fetcher.impl;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Locale;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import com.rometools.fetcher.FetcherEvent;
 import com.rometools.fetcher.FetcherException;
@@ -76,6 +80,8 @@ import com.rometools.utils.IO;
 public class HttpURLFeedFetcher extends AbstractFeedFetcher {
 
     private volatile int connectTimeout = -1;
+    private volatile boolean keepAlive = false;
+    private volatile boolean cachingRawContent = false;
 
     static final int POLL_EVENT = 1;
     static final int RETRIEVE_EVENT = 2;
@@ -155,13 +161,23 @@ public class HttpURLFeedFetcher extends AbstractFeedFetcher {
                         retrieveAndCacheFeed(feedUrl, syndFeedInfo, httpConnection);
                     } else {
                         // the feed does not need retrieving
+                        final long expires = getExpiration(httpConnection);
+                        if (expires != syndFeedInfo.getExpires()) {
+                            syndFeedInfo.setExpires(expires);
+                            // caches that return a copy of the info (eg, on disk) must be given
+                            // the new expiration
+                            cache.setFeedInfo(feedUrl, syndFeedInfo);
+                        }
+                        // an info read from a disk cache parses its content with the date
+                        // formats of the feed
+                        syndFeedInfo.setDateParseContext(getDateParseContext(connection.getURL().toExternalForm()));
                         fireEvent(FetcherEvent.EVENT_TYPE_FEED_UNCHANGED, connection);
                     }
                 }
 
                 return syndFeedInfo.getSyndFeed();
             } finally {
-                httpConnection.disconnect();
+                releaseConnection(httpConnection);
             }
         } else {
             fireEvent(FetcherEvent.EVENT_TYPE_FEED_POLLED, connection);
@@ -176,7 +192,7 @@ public class HttpURLFeedFetcher extends AbstractFeedFetcher {
                 handleErrorCodes(((HttpURLConnection) connection).getResponseCode());
             } finally {
                 IO.close(inputStream);
-                httpConnection.disconnect();
+                releaseConnection(httpConnection);
             }
             // we will never actually get to this line
             return null;
@@ -212,35 +228,110 @@ public class HttpURLFeedFetcher extends AbstractFeedFetcher {
         // This will be null if the server doesn't support or isn't setting the ETag header
         syndFeedInfo.setETag(connection.getHeaderField("ETag"));
 
+        // This will be 0 if the server doesn't say how long the feed can be cached
+        syndFeedInfo.setExpires(getExpiration(connection));
+
+        // the cached info may be the one being reset, its feed must be read before its content is
+        // replaced
+        SyndFeed cachedFeed = null;
+        final String imHeader = connection.getHeaderField("IM");
+        if (isUsingDeltaEncoding() && imHeader != null && imHeader.contains("feed")) {
+            final FeedFetcherCache cache = getFeedInfoCache();
+            if (cache != null && connection.getResponseCode() == 226) {
+                // client is setup to use http delta encoding and the server supports it and has
+                // returned a delta encoded response
+                // This response only includes new items
+                final SyndFeedInfo cachedInfo = cache.getFeedInfo(orignalUrl);
+                if (cachedInfo != null) {
+                    cachedFeed = cachedInfo.getSyndFeed();
+                }
+            }
+        }
+
         // get the contents
         InputStream inputStream = null;
         try {
             inputStream = connection.getInputStream();
-            SyndFeed syndFeed = getSyndFeedFromStream(inputStream, connection);
-
-            final String imHeader = connection.getHeaderField("IM");
-            if (isUsingDeltaEncoding() && imHeader != null && imHeader.contains("feed")) {
-                final FeedFetcherCache cache = getFeedInfoCache();
-                if (cache != null && connection.getResponseCode() == 226) {
-                    // client is setup to use http delta encoding and the server supports it and has
-                    // returned a delta encoded response
-                    // This response only includes new items
-                    final SyndFeedInfo cachedInfo = cache.getFeedInfo(orignalUrl);
-                    if (cachedInfo != null) {
-                        final SyndFeed cachedFeed = cachedInfo.getSyndFeed();
-
-                        // set the new feed to be the orginal feed plus the new items
-                        syndFeed = combineFeeds(cachedFeed, syndFeed);
-                    }
-                }
+            final SyndFeed parsedFeed;
+            if (isCachingRawContent()) {
+                syndFeedInfo.setContent(readContent(inputStream, "gzip".equalsIgnoreCase(connection.getContentEncoding())));
+                syndFeedInfo.setContentType(connection.getHeaderField("Content-Type"));
+                syndFeedInfo.setPreserveWireFeed(isPreserveWireFeed());
+                syndFeedInfo.setAllowDoctypes(isAllowDoctypes());
+                syndFeedInfo.setDateParseContext(getDateParseContext(connection.getURL().toExternalForm()));
+                parsedFeed = syndFeedInfo.parseContent();
+                fireEvent(FetcherEvent.EVENT_TYPE_FEED_RETRIEVED, connection, parsedFeed);
+            } else {
+                syndFeedInfo.setContent(null);
+                parsedFeed = getSyndFeedFromStream(inputStream, connection);
+            }
+            SyndFeed syndFeed = parsedFeed;
+            if (cachedFeed != null) {
+                // set the new feed to be the orginal feed plus the new items
+                syndFeed = combineFeeds(cachedFeed, syndFeed);
             }
 
-            syndFeedInfo.setSyndFeed(syndFeed);
+            if (syndFeedInfo.getContent() != null && syndFeed == parsedFeed) {
+                // the feed is parsed again from the content when needed
+                syndFeedInfo.setSyndFeed(null);
+                syndFeedInfo.memoize(syndFeed);
+            } else {
+                // a combined delta encoded feed has no content to be parsed from
+                syndFeedInfo.setContent(null);
+                syndFeedInfo.setSyndFeed(syndFeed);
+            }
         } finally {
             IO.close(inputStream);
         }
     }
 
+    /**
+     * Reads the body of a response, compressed with gzip.
+     *
+     * @param inputStream the body of the response
+     * @param gzipped true if the body is already compressed with gzip
+     */
+    private static byte[] readContent(final InputStream inputStream, final boolean gzipped) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final OutputStream out = gzipped ? bytes : new GZIPOutputStream(bytes);
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * <p>
+     * Returns the time until which the response can be cached, from the max-age directive of the
+     * Cache-Control header or else from the Expires header.
+     * </p>
+     *
+     * @param connection A connection whose response has been received
+     * @return the expiration time in milliseconds, 0 if none or if the response must not be cached
+     */
+    protected long getExpiration(final HttpURLConnection connection) {
+        final String cacheControl = connection.getHeaderField("Cache-Control");
+        if (cacheControl != null) {
+            for (final String directive : cacheControl.split(",")) {
+                final String name = directive.trim().toLowerCase(Locale.ENGLISH);
+                if (name.equals("no-cache") || name.equals("no-store")) {
+                    return 0;
+                }
+                if (name.startsWith("max-age=")) {
+                    try {
+                        return System.currentTimeMillis() + Long.parseLong(name.substring("max-age=".length()).trim()) * 1000L;
+                    } catch (final NumberFormatException e) {
+                        // fall back to the Expires header
+                    }
+                }
+            }
+        }
+        return connection.getExpiration();
+    }
+
     /**
      * <p>
      * Set appropriate HTTP headers, including conditional get and gzip encoding headers
@@ -294,6 +385,7 @@ public class HttpURLFeedFetcher extends AbstractFeedFetcher {
         final SyndFeedInput syndFeedInput = new SyndFeedInput();
         syndFeedInput.setPreserveWireFeed(isPreserveWireFeed());
         syndFeedInput.setAllowDoctypes(isAllowDoctypes());
+        syndFeedInput.setDateParseContext(getDateParseContext(connection.getURL().toExternalForm()));
 
         return syndFeedInput.build(reader);
 
@@ -306,6 +398,48 @@ public class HttpURLFeedFetcher extends AbstractFeedFetcher {
         return feed;
     }
 
+    /**
+     * <p>
+     * Releases the connection of a request once its response has been handled.
+     * </p>
+     *
+     * <p>
+     * Without keep-alive the connection is closed. With keep-alive the error stream of the
+     * response, if any, is closed so that the JDK can reuse the connection for the next request to
+     * the same host. The input stream has already been closed by then.
+     * </p>
+     *
+     * @param connection the connection of the request
+     */
+    protected void releaseConnection(final HttpURLConnection connection) {
+        if (isKeepAlive()) {
+            IO.closeQuietly(connection.getErrorStream());
+        } else {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * @return true if the cache holds the bodies of the responses instead of the parsed feeds
+     */
+    public boolean isCachingRawContent() {
+        return cachingRawContent;
+    }
+
+    /**
+     * <p>
+     * Caches the body of the responses, compressed with gzip, instead of the feeds parsed from
+     * them. The cached feed infos take several times less space and the feeds are parsed again
+     * when {@link SyndFeedInfo#getSyndFeed()} is called, see {@link SyndFeedInfo}.
+     * </p>
+     *
+     * @param cachingRawContent true to cache the bodies of the responses, false to cache the
+     *            parsed feeds
+     */
+    public void setCachingRawContent(final boolean cachingRawContent) {
+        this.cachingRawContent = cachingRawContent;
+    }
+
     /**
      * @return The FeedFetcherCache used by this fetcher (Could be null)
      */
@@ -326,4 +460,25 @@ public class HttpURLFeedFetcher extends AbstractFeedFetcher {
     public synchronized void setConnectTimeout(final int timeout) {
         connectTimeout = timeout;
     }
+
+    /**
+     * @return true if connections are left open to be reused by the following requests
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * <p>
+     * Leaves the connections open once a feed has been read instead of closing them, so that the
+     * JDK keeps them in its per-host keep-alive cache and reuses them for the following requests
+     * to the same host. The number of idle connections kept by host is set by the
+     * <code>http.maxConnections</code> system property.
+     * </p>
+     *
+     * @param keepAlive true to reuse connections, false to close them after each request
+     */
+    public void setKeepAlive(final boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
 }
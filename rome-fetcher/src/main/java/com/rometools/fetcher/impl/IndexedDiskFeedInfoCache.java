@@ -0,0 +1,915 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.fetcher.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.WireFeedOutput;
+
+/**
+ * <p>
+ * Disk based feed cache keeping all the feeds in a few large files, for caches holding many
+ * feeds.
+ * </p>
+ *
+ * <p>
+ * The feed infos are appended as binary records to a log split in segment files. A record holds
+ * the URL of the feed, the fields of the info and the raw content of the info, compressed with
+ * gzip, and is checked by a CRC. An info holding a feed instead of raw content is stored with the
+ * XML of the feed as content, the feed is parsed from it when the info read from the cache is
+ * asked for it. A memory-mapped index file maps the hash of each URL to the location of its last
+ * record, so opening the cache only maps the index and reading a feed is a single read.
+ * </p>
+ *
+ * <p>
+ * The index is marked dirty while the cache is open. If the cache was not closed, it is rebuilt
+ * from the log when the cache is opened again; a record left incomplete by a crash is dropped
+ * then. Once the oldest segment is more than half made of replaced or removed records, its live
+ * records are copied to the end of the log and it is deleted. When the log grows beyond the
+ * maximum size, the oldest segments are dropped with the feeds they hold. The records of the oldest
+ * segment are looked up in the index without blocking the readers.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe: feeds are read concurrently, writes are serialized. The directory
+ * must not be used by two caches at the same time.
+ * </p>
+ *
+ * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints,
+ * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
+ */
+@Deprecated
+public class IndexedDiskFeedInfoCache implements FeedFetcherCache, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedDiskFeedInfoCache.class);
+
+    private static final String INDEX_FILE = "index";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int INDEX_MAGIC = 0x52464958;
+    private static final int RECORD_MAGIC = 0x52464352;
+    private static final int VERSION = 1;
+
+    // index header: magic, version, capacity, clean flag, size, tombstones
+    private static final int HEADER_SIZE = 32;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int CLEAN_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int TOMBSTONES_OFFSET = 20;
+
+    // index slot: key hash (0 if empty), segment (-1 if removed), offset, length
+    private static final int SLOT_SIZE = 24;
+    private static final int MIN_CAPACITY = 1024;
+
+    // record header: magic, payload length, payload CRC
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte NO_BODY = 0;
+    private static final byte CONTENT_BODY = 2;
+    private static final String ATOM_1_0 = "atom_1.0";
+
+    public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final File directory;
+    private final long maxSize;
+    private final int segmentSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // held by the writer evicting and compacting segments
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<Integer, Segment>();
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    private int tombstones;
+    private Segment active;
+    private long totalSize;
+    private boolean closed;
+
+    /**
+     * Opens the cache stored in a directory, with the default maximum size.
+     *
+     * @param directory the directory of the cache, created if it does not exist
+     * @throws IOException if the cache could not be opened
+     */
+    public IndexedDiskFeedInfoCache(final File directory) throws IOException {
+        this(directory, DEFAULT_MAX_SIZE, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the cache stored in a directory.
+     *
+     * @param directory the directory of the cache, created if it does not exist
+     * @param maxSize the maximum size of the log in bytes, the oldest feeds are dropped beyond
+     * @param segmentSize the size in bytes from which a new segment file is started
+     * @throws IOException if the cache could not be opened
+     */
+    public IndexedDiskFeedInfoCache(final File directory, final long maxSize, final int segmentSize) throws IOException {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.segmentSize = segmentSize;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create cache directory " + directory);
+        }
+        open();
+    }
+
+    @Override
+    public SyndFeedInfo getFeedInfo(final URL feedUrl) {
+        final String key = feedUrl.toExternalForm();
+        final byte[] record;
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final int slot = findSlot(hash(key));
+            if (slot < 0) {
+                return null;
+            }
+            record = readRecord(segments.get(getSegment(slot)), getOffset(slot), getLength(slot));
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to read from cache", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            return decodeRecord(record, key);
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to read from cache", e);
+        }
+    }
+
+    @Override
+    public void setFeedInfo(final URL feedUrl, final SyndFeedInfo syndFeedInfo) {
+        final String key = feedUrl.toExternalForm();
+        try {
+            final byte[] record = encodeRecord(PUT, key, syndFeedInfo);
+            lock.writeLock().lock();
+            try {
+                ensureOpen();
+                append(key, PUT, record);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // a writer already evicting or compacting segments does it for this one too
+            if (maintenanceLock.tryLock()) {
+                try {
+                    evict();
+                    compact();
+                } finally {
+                    maintenanceLock.unlock();
+                }
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Error while writing to cache", e);
+        }
+    }
+
+    @Override
+    public SyndFeedInfo remove(final URL feedUrl) {
+        final String key = feedUrl.toExternalForm();
+        final SyndFeedInfo info = getFeedInfo(feedUrl);
+        if (info == null) {
+            return null;
+        }
+        try {
+            final byte[] record = encodeRecord(REMOVE, key, null);
+            lock.writeLock().lock();
+            try {
+                ensureOpen();
+                append(key, REMOVE, record);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Error while writing to cache", e);
+        }
+        return info;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            for (final Segment segment : new ArrayList<Segment>(segments.values())) {
+                deleteSegment(segment);
+            }
+            totalSize = 0;
+            index = null;
+            createIndex(MIN_CAPACITY);
+            active = createSegment(1);
+        } catch (final IOException e) {
+            throw new RuntimeException("Error while clearing cache", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of feeds in the cache
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the size of the log in bytes
+     */
+    public long getDiskSize() {
+        lock.readLock().lock();
+        try {
+            return totalSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes everything to disk and marks the index clean, so that the next opening of the cache
+     * does not have to rebuild it. The cache cannot be used anymore.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (final Segment segment : segments.values()) {
+                segment.channel.force(true);
+                segment.file.close();
+            }
+            index.force();
+            index.putInt(CLEAN_OFFSET, 1);
+            index.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The cache is closed");
+        }
+    }
+
+    private void open() throws IOException {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                final String name = file.getName();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    final int number;
+                    try {
+                        number = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    } catch (final NumberFormatException e) {
+                        LOG.warn("Ignoring {}, it is not a segment of the cache", file);
+                        continue;
+                    }
+                    final Segment segment = new Segment(number, file);
+                    segments.put(number, segment);
+                    totalSize += segment.size;
+                }
+            }
+        }
+        active = segments.isEmpty() ? createSegment(1) : segments.lastEntry().getValue();
+
+        if (!loadIndex()) {
+            LOG.info("Rebuilding the index of the feed cache in {}", directory);
+            createIndex(MIN_CAPACITY);
+            for (final Segment segment : segments.values()) {
+                scanSegment(segment);
+            }
+        }
+        index.putInt(CLEAN_OFFSET, 0);
+        index.force();
+    }
+
+    // maps the index if it was closed cleanly and computes the live bytes of the segments
+    private boolean loadIndex() throws IOException {
+        final File file = new File(directory, INDEX_FILE);
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return false;
+        }
+        final MappedByteBuffer mapped = map(file, file.length());
+        final int storedCapacity = mapped.getInt(CAPACITY_OFFSET);
+        if (mapped.getInt(0) != INDEX_MAGIC || mapped.getInt(4) != VERSION || mapped.getInt(CLEAN_OFFSET) != 1
+                || file.length() != HEADER_SIZE + (long) storedCapacity * SLOT_SIZE) {
+            return false;
+        }
+        index = mapped;
+        capacity = storedCapacity;
+        size = mapped.getInt(SIZE_OFFSET);
+        tombstones = mapped.getInt(TOMBSTONES_OFFSET);
+        for (int slot = 0; slot < capacity; slot++) {
+            if (getHash(slot) != 0 && getSegment(slot) >= 0) {
+                final Segment segment = segments.get(getSegment(slot));
+                if (segment == null) {
+                    index = null;
+                    return false;
+                }
+                segment.liveBytes += getLength(slot);
+            }
+        }
+        return true;
+    }
+
+    // applies the records of a segment to the index, dropping an incomplete record at its end
+    private void scanSegment(final Segment segment) throws IOException {
+        long offset = 0;
+        while (offset + RECORD_HEADER_SIZE <= segment.size) {
+            final ByteBuffer header = read(segment, offset, RECORD_HEADER_SIZE);
+            final int length = header.getInt(4);
+            if (header.getInt(0) != RECORD_MAGIC || length < 0 || offset + RECORD_HEADER_SIZE + length > segment.size) {
+                break;
+            }
+            final byte[] record = readRecord(segment, offset, RECORD_HEADER_SIZE + length);
+            if (!isValid(record)) {
+                break;
+            }
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, RECORD_HEADER_SIZE, length));
+            final byte type = in.readByte();
+            final long hash = hash(in.readUTF());
+            if (type == PUT) {
+                putSlot(hash, segment, (int) offset, record.length);
+            } else {
+                removeSlot(hash);
+            }
+            offset += record.length;
+        }
+        if (offset < segment.size) {
+            LOG.warn("Dropping {} bytes of incomplete records at the end of {}", segment.size - offset, segment.path);
+            totalSize -= segment.size - offset;
+            segment.channel.truncate(offset);
+            segment.size = offset;
+        }
+    }
+
+    private void append(final String key, final byte type, final byte[] record) throws IOException {
+        if (active.size > 0 && active.size + record.length > segmentSize) {
+            active = createSegment(active.number + 1);
+        }
+        final long offset = active.size;
+        write(active, offset, record);
+        if (type == PUT) {
+            putSlot(hash(key), active, (int) offset, record.length);
+        } else {
+            removeSlot(hash(key));
+        }
+    }
+
+    private void write(final Segment segment, final long offset, final byte[] record) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(record);
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += segment.channel.write(buffer, position);
+        }
+        segment.size += record.length;
+        totalSize += record.length;
+    }
+
+    // drops the oldest segments while the log is too large, with the maintenance lock held
+    private void evict() throws IOException {
+        while (true) {
+            final Segment oldest;
+            final List<Location> locations;
+            lock.readLock().lock();
+            try {
+                ensureOpen();
+                if (totalSize <= maxSize || segments.size() <= 1) {
+                    return;
+                }
+                oldest = segments.firstEntry().getValue();
+                locations = findRecords(oldest, false);
+            } finally {
+                lock.readLock().unlock();
+            }
+            lock.writeLock().lock();
+            try {
+                ensureOpen();
+                if (segments.get(oldest.number) != oldest) {
+                    // cleared in the meantime
+                    continue;
+                }
+                // records are only appended to the active segment, the feeds of the oldest one
+                // can only have been replaced or removed since the index was scanned
+                for (final Location location : locations) {
+                    final int slot = findSlot(location.hash);
+                    if (slot >= 0 && getSegment(slot) == oldest.number) {
+                        setSegment(slot, -1);
+                        size--;
+                        tombstones++;
+                    }
+                }
+                writeCounts();
+                totalSize -= oldest.size;
+                deleteSegment(oldest);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // copies the live records of the oldest segment to the end of the log while it is mostly
+    // garbage, with the maintenance lock held
+    private void compact() throws IOException {
+        while (true) {
+            final Segment oldest;
+            final List<Location> locations;
+            lock.readLock().lock();
+            try {
+                ensureOpen();
+                if (segments.size() <= 1) {
+                    return;
+                }
+                oldest = segments.firstEntry().getValue();
+                if (oldest.liveBytes * 2 > oldest.size) {
+                    return;
+                }
+                locations = findRecords(oldest, true);
+            } finally {
+                lock.readLock().unlock();
+            }
+            lock.writeLock().lock();
+            try {
+                ensureOpen();
+                if (segments.get(oldest.number) != oldest) {
+                    // cleared in the meantime
+                    continue;
+                }
+                for (final Location location : locations) {
+                    final int slot = findSlot(location.hash);
+                    if (slot < 0 || getSegment(slot) != oldest.number || getOffset(slot) != location.offset) {
+                        // replaced or removed since the index was scanned
+                        continue;
+                    }
+                    if (active.size > 0 && active.size + location.record.length > segmentSize) {
+                        active = createSegment(active.number + 1);
+                    }
+                    final long offset = active.size;
+                    write(active, offset, location.record);
+                    active.liveBytes += location.record.length;
+                    setSegment(slot, active.number);
+                    index.putInt(slotPosition(slot) + 12, (int) offset);
+                }
+                // the copies must be on disk before the originals go
+                active.channel.force(false);
+                totalSize -= oldest.size;
+                deleteSegment(oldest);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // scans the index for the live records of a segment, with the read lock held
+    private List<Location> findRecords(final Segment segment, final boolean read) throws IOException {
+        final List<Location> locations = new ArrayList<Location>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (getHash(slot) != 0 && getSegment(slot) == segment.number) {
+                final byte[] record = read ? readRecord(segment, getOffset(slot), getLength(slot)) : null;
+                locations.add(new Location(getHash(slot), getOffset(slot), record));
+            }
+        }
+        return locations;
+    }
+
+    private Segment createSegment(final int number) throws IOException {
+        final Segment segment = new Segment(number, new File(directory, String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX)));
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private void deleteSegment(final Segment segment) throws IOException {
+        segments.remove(segment.number);
+        segment.file.close();
+        if (!segment.path.delete()) {
+            LOG.warn("Could not delete {}", segment.path);
+        }
+    }
+
+    private void createIndex(final int newCapacity) throws IOException {
+        final File file = new File(directory, INDEX_FILE);
+        final File tmp = new File(directory, INDEX_FILE + ".tmp");
+        final MappedByteBuffer mapped = map(tmp, HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+        mapped.putInt(0, INDEX_MAGIC);
+        mapped.putInt(4, VERSION);
+        mapped.putInt(CAPACITY_OFFSET, newCapacity);
+        mapped.putInt(CLEAN_OFFSET, 0);
+        int newSize = 0;
+        if (index != null) {
+            for (int slot = 0; slot < capacity; slot++) {
+                final long hash = getHash(slot);
+                if (hash != 0 && getSegment(slot) >= 0) {
+                    int newSlot = (int) (mix(hash) & newCapacity - 1);
+                    while (mapped.getLong(HEADER_SIZE + newSlot * SLOT_SIZE) != 0) {
+                        newSlot = newSlot + 1 & newCapacity - 1;
+                    }
+                    final int from = slotPosition(slot);
+                    final int to = HEADER_SIZE + newSlot * SLOT_SIZE;
+                    mapped.putLong(to, hash);
+                    mapped.putInt(to + 8, index.getInt(from + 8));
+                    mapped.putInt(to + 12, index.getInt(from + 12));
+                    mapped.putInt(to + 16, index.getInt(from + 16));
+                    newSize++;
+                }
+            }
+        }
+        mapped.putInt(SIZE_OFFSET, newSize);
+        mapped.putInt(TOMBSTONES_OFFSET, 0);
+        mapped.force();
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Cannot replace " + file);
+            }
+        }
+        index = mapped;
+        capacity = newCapacity;
+        size = newSize;
+        tombstones = 0;
+        if (newSize == 0) {
+            for (final Segment segment : segments.values()) {
+                segment.liveBytes = 0;
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(final File file, final long length) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(length);
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private int findSlot(final long hash) {
+        int slot = (int) (mix(hash) & capacity - 1);
+        for (int i = 0; i < capacity; i++) {
+            final long slotHash = getHash(slot);
+            if (slotHash == 0) {
+                return -1;
+            }
+            if (slotHash == hash && getSegment(slot) >= 0) {
+                return slot;
+            }
+            slot = slot + 1 & capacity - 1;
+        }
+        return -1;
+    }
+
+    private void putSlot(final long hash, final Segment segment, final int offset, final int length) throws IOException {
+        int slot = findSlot(hash);
+        if (slot >= 0) {
+            final Segment previous = segments.get(getSegment(slot));
+            if (previous != null) {
+                previous.liveBytes -= getLength(slot);
+            }
+        } else {
+            if ((size + tombstones + 1) * 10L > capacity * 7L) {
+                createIndex(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(size, 1) * 4)));
+            }
+            slot = (int) (mix(hash) & capacity - 1);
+            while (getHash(slot) != 0 && getSegment(slot) >= 0) {
+                slot = slot + 1 & capacity - 1;
+            }
+            if (getHash(slot) != 0) {
+                tombstones--;
+            }
+            size++;
+            writeCounts();
+        }
+        final int position = slotPosition(slot);
+        index.putLong(position, hash);
+        index.putInt(position + 8, segment.number);
+        index.putInt(position + 12, offset);
+        index.putInt(position + 16, length);
+        segment.liveBytes += length;
+    }
+
+    private void removeSlot(final long hash) {
+        final int slot = findSlot(hash);
+        if (slot >= 0) {
+            final Segment segment = segments.get(getSegment(slot));
+            if (segment != null) {
+                segment.liveBytes -= getLength(slot);
+            }
+            setSegment(slot, -1);
+            size--;
+            tombstones++;
+            writeCounts();
+        }
+    }
+
+    private void writeCounts() {
+        index.putInt(SIZE_OFFSET, size);
+        index.putInt(TOMBSTONES_OFFSET, tombstones);
+    }
+
+    private static int slotPosition(final int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private long getHash(final int slot) {
+        return index.getLong(slotPosition(slot));
+    }
+
+    private int getSegment(final int slot) {
+        return index.getInt(slotPosition(slot) + 8);
+    }
+
+    private void setSegment(final int slot, final int segment) {
+        index.putInt(slotPosition(slot) + 8, segment);
+    }
+
+    private int getOffset(final int slot) {
+        return index.getInt(slotPosition(slot) + 12);
+    }
+
+    private int getLength(final int slot) {
+        return index.getInt(slotPosition(slot) + 16);
+    }
+
+    // 64 bit FNV-1a, never 0 which marks the empty slots; the URL is checked when a record is read,
+    // so a collision can only replace the feed of the other URL
+    private static long hash(final String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long mix(final long hash) {
+        return hash ^ hash >>> 32;
+    }
+
+    private static ByteBuffer read(final Segment segment, final long offset, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            final int read = segment.channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + segment.path);
+            }
+            position += read;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static byte[] readRecord(final Segment segment, final long offset, final int length) throws IOException {
+        return read(segment, offset, length).array();
+    }
+
+    private static boolean isValid(final byte[] record) {
+        final ByteBuffer header = ByteBuffer.wrap(record, 0, RECORD_HEADER_SIZE);
+        final CRC32 crc = new CRC32();
+        crc.update(record, RECORD_HEADER_SIZE, record.length - RECORD_HEADER_SIZE);
+        return header.getInt(0) == RECORD_MAGIC && header.getInt(4) == record.length - RECORD_HEADER_SIZE && header.getInt(8) == (int) crc.getValue();
+    }
+
+    /**
+     * Encodes a record: the record header, then the type and the URL of the feed, then for a PUT
+     * the fields of the info and its content or feed.
+     */
+    private static byte[] encodeRecord(final byte type, final String key, final SyndFeedInfo info) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[RECORD_HEADER_SIZE]);
+        out.writeByte(type);
+        out.writeUTF(key);
+        if (type == PUT) {
+            writeString(out, info.getId());
+            writeString(out, info.getUrl() == null ? null : info.getUrl().toExternalForm());
+            writeString(out, info.getETag());
+            final Object lastModified = info.getLastModified();
+            if (lastModified instanceof Long) {
+                out.writeByte(1);
+                out.writeLong((Long) lastModified);
+            } else if (lastModified != null) {
+                out.writeByte(2);
+                out.writeUTF(lastModified.toString());
+            } else {
+                out.writeByte(0);
+            }
+            out.writeLong(info.getExpires());
+            final byte[] content = info.getContent();
+            if (content != null) {
+                // the raw content, the feed is parsed from it when needed
+                out.writeByte(CONTENT_BODY);
+                writeString(out, info.getContentType());
+                out.writeBoolean(info.isPreserveWireFeed());
+                out.writeBoolean(info.isAllowDoctypes());
+                out.writeBoolean(info.isSyndFeedMemoized());
+                out.writeInt(content.length);
+                out.write(content);
+            } else {
+                final SyndFeed feed = info.getSyndFeed();
+                if (feed == null) {
+                    out.writeByte(NO_BODY);
+                } else {
+                    // the XML of the feed stands for the raw content, its encoding is declared
+                    final WireFeed original = feed.originalWireFeed();
+                    byte[] xml = original == null ? null : toContent(original);
+                    final boolean preserveWireFeed = xml != null;
+                    if (xml == null) {
+                        xml = toContent(feed, feed.getFeedType());
+                    }
+                    if (xml == null) {
+                        // Atom 1.0 has no constraints, the feed can always be written as such
+                        xml = toContent(feed, ATOM_1_0);
+                    }
+                    if (xml == null) {
+                        throw new IOException("Cannot write the feed of " + key);
+                    }
+                    out.writeByte(CONTENT_BODY);
+                    writeString(out, null);
+                    out.writeBoolean(preserveWireFeed);
+                    out.writeBoolean(info.isAllowDoctypes());
+                    out.writeBoolean(info.isSyndFeedMemoized());
+                    out.writeInt(xml.length);
+                    out.write(xml);
+                }
+            }
+        }
+        out.close();
+        final byte[] record = bytes.toByteArray();
+        final CRC32 crc = new CRC32();
+        crc.update(record, RECORD_HEADER_SIZE, record.length - RECORD_HEADER_SIZE);
+        final ByteBuffer header = ByteBuffer.wrap(record, 0, RECORD_HEADER_SIZE);
+        header.putInt(RECORD_MAGIC);
+        header.putInt(record.length - RECORD_HEADER_SIZE);
+        header.putInt((int) crc.getValue());
+        return record;
+    }
+
+    // returns null if the record is not a PUT of the feed, which happens on a hash collision
+    private static SyndFeedInfo decodeRecord(final byte[] record, final String key) throws IOException {
+        if (!isValid(record)) {
+            throw new IOException("Corrupted record for " + key);
+        }
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, RECORD_HEADER_SIZE, record.length - RECORD_HEADER_SIZE));
+        if (in.readByte() != PUT || !key.equals(in.readUTF())) {
+            return null;
+        }
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setId(readString(in));
+        final String url = readString(in);
+        if (url != null) {
+            try {
+                info.setUrl(new URL(url));
+            } catch (final MalformedURLException e) {
+                throw new IOException("Invalid URL " + url);
+            }
+        }
+        info.setETag(readString(in));
+        final byte lastModifiedType = in.readByte();
+        if (lastModifiedType == 1) {
+            info.setLastModified(in.readLong());
+        } else if (lastModifiedType == 2) {
+            info.setLastModified(in.readUTF());
+        }
+        info.setExpires(in.readLong());
+        final byte body = in.readByte();
+        if (body == CONTENT_BODY) {
+            info.setContentType(readString(in));
+            info.setPreserveWireFeed(in.readBoolean());
+            info.setAllowDoctypes(in.readBoolean());
+            info.setSyndFeedMemoized(in.readBoolean());
+            final byte[] content = new byte[in.readInt()];
+            in.readFully(content);
+            info.setContent(content);
+        }
+        return info;
+    }
+
+    // the XML of a feed in the given type, compressed with gzip, null if the type is not known or
+    // the feed does not meet its constraints
+    private static byte[] toContent(final SyndFeed feed, final String feedType) throws IOException {
+        if (feedType == null) {
+            return null;
+        }
+        final WireFeed wireFeed;
+        try {
+            wireFeed = feed.createWireFeed(feedType);
+        } catch (final IllegalArgumentException e) {
+            LOG.debug("Cannot write a {} feed: {}", feedType, e.getMessage());
+            return null;
+        }
+        return toContent(wireFeed);
+    }
+
+    // the XML of a feed, compressed with gzip, null if the feed does not meet the constraints of
+    // its type
+    private static byte[] toContent(final WireFeed wireFeed) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        final GZIPOutputStream out = new GZIPOutputStream(bytes);
+        try {
+            new WireFeedOutput().output(wireFeed, out, false);
+        } catch (final FeedException e) {
+            LOG.debug("Cannot write a {} feed: {}", wireFeed.getFeedType(), e.getMessage());
+            return null;
+        } catch (final IllegalArgumentException e) {
+            LOG.debug("Cannot write a {} feed: {}", wireFeed.getFeedType(), e.getMessage());
+            return null;
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(final DataOutputStream out, final String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // a record found in the index, with its content when it is to be copied
+    private static class Location {
+
+        private final long hash;
+        private final int offset;
+        private final byte[] record;
+
+        Location(final long hash, final int offset, final byte[] record) {
+            this.hash = hash;
+            this.offset = offset;
+            this.record = record;
+        }
+
+    }
+
+    private static class Segment {
+
+        private final int number;
+        private final File path;
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private long size;
+        private long liveBytes;
+
+        Segment(final int number, final File path) throws IOException {
+            this.number = number;
+            this.path = path;
+            file = new RandomAccessFile(path, "rw");
+            channel = file.getChannel();
+            size = channel.size();
+        }
+
+    }
+
+}
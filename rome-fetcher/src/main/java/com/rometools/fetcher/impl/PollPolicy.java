@@ -0,0 +1,277 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.fetcher.impl;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.module.SyModule;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+
+/**
+ * <p>
+ * Computes when the feeds of a {@link FeedScheduler} are polled next.
+ * </p>
+ *
+ * <p>
+ * The interval between two polls adapts to how often the feed is seen changing: it is half the
+ * average time between two observed changes, and grows by half each time a poll finds the feed
+ * unchanged. The interval is never shorter than what the publisher asks for, the RSS ttl of the
+ * channel or the update period and frequency of the Syndication module, and the next poll is
+ * never before the expiration time given by the HTTP Cache-Control or Expires headers. Polls
+ * falling in the skip hours or skip days of an RSS channel are moved to the next hour allowed.
+ * All intervals are kept between the minimum and maximum intervals of the policy.
+ * </p>
+ *
+ * <p>
+ * The RSS ttl, skip hours and skip days are read from the channel the feed was converted from, so
+ * they are only used if the fetcher preserves the wire feed.
+ * </p>
+ *
+ * <p>
+ * The policy must be configured before the scheduler starts, it is then used from several
+ * threads.
+ * </p>
+ *
+ * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints,
+ * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
+ */
+@Deprecated
+public class PollPolicy {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    private static final String[] DAYS = { "sunday", "monday", "tuesday", "wednesday", "thursday", "friday", "saturday" };
+
+    private long minInterval = 15 * MINUTE;
+    private long maxInterval = DAY;
+    private long initialInterval = HOUR;
+
+    /**
+     * @return the shortest interval between two polls of a feed, in milliseconds
+     */
+    public long getMinInterval() {
+        return minInterval;
+    }
+
+    /**
+     * @param minInterval the shortest interval between two polls of a feed, in milliseconds, 15
+     *            minutes by default
+     */
+    public void setMinInterval(final long minInterval) {
+        this.minInterval = minInterval;
+    }
+
+    /**
+     * @return the longest interval between two polls of a feed, in milliseconds
+     */
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * @param maxInterval the longest interval between two polls of a feed, in milliseconds, one day
+     *            by default
+     */
+    public void setMaxInterval(final long maxInterval) {
+        this.maxInterval = maxInterval;
+    }
+
+    /**
+     * @return the interval after the first poll of a feed, in milliseconds
+     */
+    public long getInitialInterval() {
+        return initialInterval;
+    }
+
+    /**
+     * @param initialInterval the interval after the first poll of a feed, in milliseconds, one hour
+     *            by default
+     */
+    public void setInitialInterval(final long initialInterval) {
+        this.initialInterval = initialInterval;
+    }
+
+    /**
+     * Computes the time of the next poll of a feed that has just been polled.
+     *
+     * @param feed the feed polled, its change history already includes this poll
+     * @param changed true if the poll found the feed changed
+     * @param syndFeed the feed retrieved
+     * @param syndFeedInfo the cached information about the feed, null if the fetcher has no cache
+     * @param now the time the poll completed at, in milliseconds
+     * @return the time of the next poll, in milliseconds
+     */
+    public long getNextPollTime(final ScheduledFeed feed, final boolean changed, final SyndFeed syndFeed, final SyndFeedInfo syndFeedInfo,
+            final long now) {
+        long interval;
+        if (feed.getInterval() == 0) {
+            interval = initialInterval;
+        } else if (changed) {
+            interval = feed.getChangeInterval() > 0 ? feed.getChangeInterval() / 2 : feed.getInterval();
+        } else {
+            interval = feed.getInterval() + feed.getInterval() / 2;
+        }
+        interval = Math.max(interval, getPublisherInterval(syndFeed));
+        interval = Math.min(Math.max(interval, minInterval), maxInterval);
+
+        long next = now + interval;
+        if (syndFeedInfo != null && syndFeedInfo.getExpires() > next) {
+            next = Math.min(syndFeedInfo.getExpires(), now + maxInterval);
+        }
+        final Channel channel = getChannel(syndFeed);
+        if (channel != null) {
+            next = skip(next, channel.getSkipHours(), channel.getSkipDays());
+        }
+        return next;
+    }
+
+    /**
+     * Computes the time of the next poll of a feed whose poll has just failed. The interval doubles
+     * with each failure in a row, from the minimum interval up to the maximum one.
+     *
+     * @param feed the feed polled, its failures already include this poll
+     * @param e the exception the poll failed with
+     * @param now the time the poll completed at, in milliseconds
+     * @return the time of the next poll, in milliseconds
+     */
+    public long getRetryTime(final ScheduledFeed feed, final Exception e, final long now) {
+        long interval = minInterval;
+        for (int i = 1; i < feed.getFailures() && interval < maxInterval; i++) {
+            interval *= 2;
+        }
+        return now + Math.min(interval, maxInterval);
+    }
+
+    /**
+     * Computes a fingerprint of the entries of a feed, the feed is seen as changed when its
+     * fingerprint changes.
+     *
+     * @param syndFeed the feed
+     * @return the fingerprint
+     */
+    public long getFingerprint(final SyndFeed syndFeed) {
+        long fingerprint = 17;
+        for (final SyndEntry entry : syndFeed.getEntries()) {
+            fingerprint = 31 * fingerprint + hash(entry.getUri());
+            fingerprint = 31 * fingerprint + hash(entry.getLink());
+            fingerprint = 31 * fingerprint + hash(entry.getTitle());
+            fingerprint = 31 * fingerprint + hash(entry.getPublishedDate());
+            fingerprint = 31 * fingerprint + hash(entry.getUpdatedDate());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns the shortest interval between two polls the publisher of a feed asks for, from the
+     * RSS ttl of the channel and the update period and frequency of the Syndication module.
+     *
+     * @param syndFeed the feed
+     * @return the interval in milliseconds, 0 if none
+     */
+    protected long getPublisherInterval(final SyndFeed syndFeed) {
+        long interval = 0;
+        final Channel channel = getChannel(syndFeed);
+        if (channel != null && channel.getTtl() > 0) {
+            interval = channel.getTtl() * MINUTE;
+        }
+        final SyModule sy = (SyModule) syndFeed.getModule(SyModule.URI);
+        if (sy != null && sy.getUpdatePeriod() != null) {
+            final long period = getPeriod(sy.getUpdatePeriod());
+            final int frequency = sy.getUpdateFrequency() > 0 ? sy.getUpdateFrequency() : 1;
+            interval = Math.max(interval, period / frequency);
+        }
+        return interval;
+    }
+
+    private static long getPeriod(final String updatePeriod) {
+        if (SyModule.HOURLY.equals(updatePeriod)) {
+            return HOUR;
+        } else if (SyModule.DAILY.equals(updatePeriod)) {
+            return DAY;
+        } else if (SyModule.WEEKLY.equals(updatePeriod)) {
+            return 7 * DAY;
+        } else if (SyModule.MONTHLY.equals(updatePeriod)) {
+            return 30 * DAY;
+        } else if (SyModule.YEARLY.equals(updatePeriod)) {
+            return 365 * DAY;
+        }
+        return 0;
+    }
+
+    /**
+     * Moves a poll time out of the skip hours and skip days of an RSS channel, which are in GMT.
+     *
+     * @param time the poll time, in milliseconds
+     * @param skipHours the hours to skip, from 0 to 23
+     * @param skipDays the days to skip, in English
+     * @return the first time allowed from the given time, in milliseconds
+     */
+    protected long skip(final long time, final List<Integer> skipHours, final List<String> skipDays) {
+        if (skipHours.isEmpty() && skipDays.isEmpty()) {
+            return time;
+        }
+        final Set<String> days = new HashSet<String>();
+        for (final String day : skipDays) {
+            if (day != null) {
+                days.add(day.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+        final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT"), Locale.ENGLISH);
+        calendar.setTimeInMillis(time);
+        // a week of hours covers every combination, if everything is skipped the time is kept
+        for (int i = 0; i < 7 * 24; i++) {
+            final boolean skipHour = skipHours.contains(calendar.get(Calendar.HOUR_OF_DAY));
+            final boolean skipDay = days.contains(DAYS[calendar.get(Calendar.DAY_OF_WEEK) - 1]);
+            if (!skipHour && !skipDay) {
+                return i == 0 ? time : calendar.getTimeInMillis();
+            }
+            if (i == 0) {
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+            }
+            calendar.add(Calendar.HOUR_OF_DAY, 1);
+        }
+        return time;
+    }
+
+    private static Channel getChannel(final SyndFeed syndFeed) {
+        final WireFeed wireFeed = syndFeed.originalWireFeed();
+        if (wireFeed instanceof Channel) {
+            return (Channel) wireFeed;
+        }
+        return null;
+    }
+
+    private static int hash(final Object o) {
+        return o == null ? 0 : o.hashCode();
+    }
+
+    private static int hash(final Date date) {
+        return date == null ? 0 : (int) (date.getTime() ^ date.getTime() >>> 32);
+    }
+
+}
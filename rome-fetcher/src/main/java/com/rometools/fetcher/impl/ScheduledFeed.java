@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.fetcher.impl;
+
+import java.net.URL;
+import java.util.Locale;
+
+/**
+ * <p>
+ * A feed managed by a {@link FeedScheduler}, with what has been observed of it so far.
+ * </p>
+ *
+ * <p>
+ * The state is updated by the scheduler only, the getters can be called from any thread.
+ * </p>
+ *
+ * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints,
+ * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
+ */
+@Deprecated
+public class ScheduledFeed {
+
+    private final URL url;
+    private final String host;
+
+    private volatile long nextPollTime;
+    private volatile long lastPollTime;
+    private volatile long interval;
+    private volatile long lastChangeTime;
+    private volatile long changeInterval;
+    private volatile int failures;
+
+    // state owned by the scheduler lock
+    long fingerprint;
+    boolean removed;
+
+    ScheduledFeed(final URL url, final long nextPollTime) {
+        this.url = url;
+        host = url.getHost().toLowerCase(Locale.ENGLISH);
+        this.nextPollTime = nextPollTime;
+    }
+
+    /**
+     * @return the URL of the feed
+     */
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the host the feed is polled from, in lower case
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the time in milliseconds of the next poll
+     */
+    public long getNextPollTime() {
+        return nextPollTime;
+    }
+
+    void setNextPollTime(final long nextPollTime) {
+        this.nextPollTime = nextPollTime;
+    }
+
+    /**
+     * @return the time in milliseconds the last poll completed at, 0 if the feed was never polled
+     */
+    public long getLastPollTime() {
+        return lastPollTime;
+    }
+
+    void setLastPollTime(final long lastPollTime) {
+        this.lastPollTime = lastPollTime;
+    }
+
+    /**
+     * @return the time in milliseconds between the last poll and the next one, 0 if the feed was
+     *         never polled
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    void setInterval(final long interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * @return the time in milliseconds of the last poll that found the feed changed, 0 if none
+     */
+    public long getLastChangeTime() {
+        return lastChangeTime;
+    }
+
+    void setLastChangeTime(final long lastChangeTime) {
+        this.lastChangeTime = lastChangeTime;
+    }
+
+    /**
+     * @return the average time in milliseconds between two observed changes of the feed, 0 if the
+     *         feed was not seen changing twice yet
+     */
+    public long getChangeInterval() {
+        return changeInterval;
+    }
+
+    void setChangeInterval(final long changeInterval) {
+        this.changeInterval = changeInterval;
+    }
+
+    /**
+     * @return the number of polls that failed in a row
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    void setFailures(final int failures) {
+        this.failures = failures;
+    }
+
+    @Override
+    public String toString() {
+        return url.toExternalForm();
+    }
+
+}
@@ -16,11 +16,23 @@
  */
 package com.rometools.fetcher.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
 import java.net.URL;
+import java.util.Collections;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import com.rometools.rome.feed.impl.ObjectBean;
+import com.rometools.rome.feed.impl.ToStringBean;
 import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
+import com.rometools.rome.io.impl.DateParseContext;
 
 /**
  * <p>
@@ -29,6 +41,13 @@ import com.rometools.rome.feed.synd.SyndFeed;
  * </p>
  *
  * <p>
+ * Instead of the feed, the info can hold the body of the response the feed was read from,
+ * compressed with gzip, which takes several times less memory and disk space. The feed is then
+ * parsed from it when {@link #getSyndFeed()} is called, and kept in a soft reference unless
+ * {@link #setSyndFeedMemoized(boolean)} is set to false.
+ * </p>
+ *
+ * <p>
  * This class is thread safe, as expected by the different feed fetcher implementations.
  * </p>
  *
@@ -41,12 +60,23 @@ import com.rometools.rome.feed.synd.SyndFeed;
 public class SyndFeedInfo implements Cloneable, Serializable {
     private static final long serialVersionUID = 1L;
 
+    // the syndFeed property, it is parsed from the content when no feed is set
+    private static final Set<String> SYND_FEED = Collections.singleton("syndFeed");
+
     private final ObjectBean _objBean;
     private String id;
     private URL url;
     private Object lastModified;
     private String eTag;
+    private long expires;
     private SyndFeed syndFeed;
+    private byte[] content;
+    private String contentType;
+    private boolean preserveWireFeed;
+    private boolean allowDoctypes;
+    private boolean syndFeedMemoized = true;
+    private transient SoftReference<SyndFeed> parsedFeed;
+    private transient DateParseContext dateParseContext;
 
     public SyndFeedInfo() {
         _objBean = new ObjectBean(this.getClass(), this);
@@ -62,6 +92,10 @@ public class SyndFeedInfo implements Cloneable, Serializable {
      */
     @Override
     public Object clone() throws CloneNotSupportedException {
+        if (isParsedFromContent()) {
+            // the clone parses its own feed from the cloned content
+            return new ObjectBean(this.getClass(), this, SYND_FEED).clone();
+        }
         return _objBean.clone();
     }
 
@@ -76,7 +110,16 @@ public class SyndFeedInfo implements Cloneable, Serializable {
      */
     @Override
     public boolean equals(final Object other) {
-        return _objBean.equals(other);
+        if (!(other instanceof SyndFeedInfo)) {
+            return false;
+        }
+        // the feed set on the info is compared, not the one parsed from the content
+        final SyndFeed feed = getSetSyndFeed();
+        final SyndFeed otherFeed = ((SyndFeedInfo) other).getSetSyndFeed();
+        if (feed == null ? otherFeed != null : !feed.equals(otherFeed)) {
+            return false;
+        }
+        return _objBean.equals(other, SYND_FEED);
     }
 
     /**
@@ -90,7 +133,8 @@ public class SyndFeedInfo implements Cloneable, Serializable {
      */
     @Override
     public int hashCode() {
-        return _objBean.hashCode();
+        final SyndFeed feed = getSetSyndFeed();
+        return 31 * _objBean.hashCode(SYND_FEED) + (feed == null ? 0 : feed.hashCode());
     }
 
     /**
@@ -102,6 +146,9 @@ public class SyndFeedInfo implements Cloneable, Serializable {
      */
     @Override
     public String toString() {
+        if (isParsedFromContent()) {
+            return new ToStringBean(this.getClass(), this, SYND_FEED).toString();
+        }
         return _objBean.toString();
     }
 
@@ -138,14 +185,168 @@ public class SyndFeedInfo implements Cloneable, Serializable {
         this.url = url;
     }
 
+    /**
+     * @return the time in milliseconds until which the server said the feed would not change,
+     *         from the Cache-Control max-age or Expires headers of the last response, 0 if none
+     */
+    public synchronized long getExpires() {
+        return expires;
+    }
+
+    public synchronized void setExpires(final long expires) {
+        this.expires = expires;
+    }
+
+    /**
+     * @return the feed, parsed from the content if no feed was set
+     * @throws IllegalStateException if the content cannot be parsed
+     */
     public synchronized SyndFeed getSyndFeed() {
-        return syndFeed;
+        if (syndFeed != null || content == null) {
+            return syndFeed;
+        }
+        SyndFeed feed = parsedFeed == null ? null : parsedFeed.get();
+        if (feed == null) {
+            try {
+                feed = parseContent();
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot parse the cached content of " + url, e);
+            } catch (final FeedException e) {
+                throw new IllegalStateException("Cannot parse the cached content of " + url, e);
+            } catch (final IllegalArgumentException e) {
+                // thrown for content that is not a feed
+                throw new IllegalStateException("Cannot parse the cached content of " + url, e);
+            }
+            if (syndFeedMemoized) {
+                memoize(feed);
+            }
+        }
+        return feed;
     }
 
+    /**
+     * @param feed the feed, it takes precedence over the content
+     */
     public synchronized void setSyndFeed(final SyndFeed feed) {
         syndFeed = feed;
     }
 
+    /**
+     * @return the body of the response the feed was read from, compressed with gzip, null if the
+     *         feed itself is cached
+     */
+    public synchronized byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * @param content the body of the response the feed was read from, compressed with gzip
+     */
+    public synchronized void setContent(final byte[] content) {
+        this.content = content;
+        parsedFeed = null;
+    }
+
+    /**
+     * @return the Content-Type header of the response the content comes from, null if none
+     */
+    public synchronized String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @param contentType the Content-Type header of the response, used to detect the encoding of
+     *            the content
+     */
+    public synchronized void setContentType(final String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return true if the feed parsed from the content keeps its wire feed
+     */
+    public synchronized boolean isPreserveWireFeed() {
+        return preserveWireFeed;
+    }
+
+    public synchronized void setPreserveWireFeed(final boolean preserveWireFeed) {
+        this.preserveWireFeed = preserveWireFeed;
+    }
+
+    /**
+     * @return true if the content may contain a DOCTYPE declaration
+     */
+    public synchronized boolean isAllowDoctypes() {
+        return allowDoctypes;
+    }
+
+    public synchronized void setAllowDoctypes(final boolean allowDoctypes) {
+        this.allowDoctypes = allowDoctypes;
+    }
+
+    /**
+     * @return true if the feed parsed from the content is kept until the memory is needed
+     */
+    public synchronized boolean isSyndFeedMemoized() {
+        return syndFeedMemoized;
+    }
+
+    /**
+     * @param syndFeedMemoized true to keep the feed parsed from the content in a soft reference,
+     *            false to parse it on each call to {@link #getSyndFeed()}. True by default.
+     */
+    public synchronized void setSyndFeedMemoized(final boolean syndFeedMemoized) {
+        this.syndFeedMemoized = syndFeedMemoized;
+        if (!syndFeedMemoized) {
+            parsedFeed = null;
+        }
+    }
+
+    private synchronized SyndFeed getSetSyndFeed() {
+        return syndFeed;
+    }
+
+    private synchronized boolean isParsedFromContent() {
+        return syndFeed == null && content != null;
+    }
+
+    /**
+     * @param dateParseContext the date formats of the feed, used when it is parsed from the
+     *            content, may be null
+     */
+    synchronized void setDateParseContext(final DateParseContext dateParseContext) {
+        this.dateParseContext = dateParseContext;
+    }
+
+    /**
+     * Parses the feed from the content.
+     */
+    synchronized SyndFeed parseContent() throws IOException, FeedException {
+        final InputStream is = new GZIPInputStream(new ByteArrayInputStream(content));
+        final XmlReader reader;
+        if (contentType != null) {
+            reader = new XmlReader(is, contentType, true);
+        } else {
+            reader = new XmlReader(is, true);
+        }
+        try {
+            final SyndFeedInput syndFeedInput = new SyndFeedInput();
+            syndFeedInput.setPreserveWireFeed(preserveWireFeed);
+            syndFeedInput.setAllowDoctypes(allowDoctypes);
+            syndFeedInput.setDateParseContext(dateParseContext);
+            return syndFeedInput.build(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Keeps a feed parsed from the content in a soft reference.
+     */
+    synchronized void memoize(final SyndFeed feed) {
+        parsedFeed = new SoftReference<SyndFeed>(feed);
+    }
+
     /**
      * @return A unique ID to identify the feed
      */
@@ -0,0 +1,529 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.fetcher.impl;
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.rometools.rome.feed.synd.SyndCategory;
+import com.rometools.rome.feed.synd.SyndContent;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+
+/**
+ * <p>
+ * An implementation of the {@link com.rometools.fetcher.impl.FeedFetcherCache} interface bounded
+ * by the estimated size in memory of the feeds it holds, for fetchers shared by many threads.
+ * </p>
+ *
+ * <p>
+ * The feeds are evicted with the W-TinyLFU policy: a new feed enters a small LRU window, and when
+ * it leaves the window it is only admitted in the main space if it has been used more often than
+ * the feed the main space would evict for it. How often the feeds are used is estimated by a
+ * count-min sketch whose counts are halved periodically, so that old popularity fades. The main
+ * space is a segmented LRU, the feeds used again while on probation are protected.
+ * </p>
+ *
+ * <p>
+ * Reads do not lock: they look the feed up in a concurrent map and record the access in a lossy
+ * buffer chosen by thread, which is applied to the policy later, under the lock writes take.
+ * </p>
+ *
+ * @deprecated ROME Fetcher will be dropped in the next major version of ROME (version 2). For more information and some migration hints,
+ * please have a look at our <a href="https://github.com/rometools/rome/issues/276">detailed explanation</a>.
+ */
+@Deprecated
+public class TinyLfuFeedInfoCache implements FeedFetcherCache {
+
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    private static final int BUFFER_SIZE = 64;
+
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<String, Node>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final ReadBuffer[] readBuffers;
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    private final AccessQueue window = new AccessQueue();
+    private final AccessQueue probation = new AccessQueue();
+    private final AccessQueue protectedQueue = new AccessQueue();
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private volatile long weightedSize;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a cache holding up to 64 MB of feeds.
+     */
+    public TinyLfuFeedInfoCache() {
+        this(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumWeight the maximum estimated size in bytes of the feeds held
+     */
+    public TinyLfuFeedInfoCache(final long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        windowMaximum = Math.max(1, maximumWeight / 100);
+        protectedMaximum = (maximumWeight - windowMaximum) * 80 / 100;
+        final int processors = Runtime.getRuntime().availableProcessors();
+        readBuffers = new ReadBuffer[Integer.highestOneBit(Math.max(1, processors - 1)) << 1];
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    @Override
+    public SyndFeedInfo getFeedInfo(final URL feedUrl) {
+        final Node node = data.get(feedUrl.toString());
+        if (node == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        final ReadBuffer buffer = readBuffers[(int) Thread.currentThread().getId() & readBuffers.length - 1];
+        if (!buffer.offer(node) && policyLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public void setFeedInfo(final URL feedUrl, final SyndFeedInfo syndFeedInfo) {
+        final String key = feedUrl.toString();
+        final Node node = new Node(key, syndFeedInfo, weigh(key, syndFeedInfo));
+        policyLock.lock();
+        try {
+            drainReadBuffers();
+            final Node old = data.put(key, node);
+            if (old != null) {
+                unlink(old);
+            }
+            sketch.ensureCapacity(data.size());
+            sketch.increment(key.hashCode());
+            node.queue = WINDOW;
+            window.add(node);
+            weightedSize += node.weight;
+            evict();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public SyndFeedInfo remove(final URL feedUrl) {
+        if (feedUrl == null) {
+            return null;
+        }
+        policyLock.lock();
+        try {
+            final Node node = data.remove(feedUrl.toString());
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.value;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        policyLock.lock();
+        try {
+            drainReadBuffers();
+            for (final Node node : data.values()) {
+                node.queue = REMOVED;
+            }
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            weightedSize = 0;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of feeds in the cache
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * @return the maximum estimated size in bytes of the feeds held
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return the estimated size in bytes of the feeds held
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * @return the number of lookups that found their feed
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of lookups that did not find their feed
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of feeds evicted to keep the cache within its maximum weight
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Estimates the size in memory of a feed info, from the length of its raw content or of the
+     * strings of its feed. Override to weigh the feeds differently, the weight of a feed info must
+     * not change while it is cached.
+     *
+     * @param key the URL of the feed
+     * @param syndFeedInfo the feed info
+     * @return the estimated size in bytes
+     */
+    protected long weigh(final String key, final SyndFeedInfo syndFeedInfo) {
+        long weight = 64 + weigh(key) + weigh(syndFeedInfo.getId()) + weigh(syndFeedInfo.getETag());
+        if (syndFeedInfo.getLastModified() instanceof String) {
+            weight += weigh((String) syndFeedInfo.getLastModified());
+        }
+        final byte[] content = syndFeedInfo.getContent();
+        if (content != null) {
+            // the feed parsed from the content is only softly referenced, it is not counted
+            return weight + 16 + content.length + weigh(syndFeedInfo.getContentType());
+        }
+        final SyndFeed feed = syndFeedInfo.getSyndFeed();
+        if (feed != null) {
+            weight += 256 + weigh(feed.getTitle()) + weigh(feed.getLink()) + weigh(feed.getDescription());
+            for (final SyndEntry entry : feed.getEntries()) {
+                weight += 128 + weigh(entry.getTitle()) + weigh(entry.getLink()) + weigh(entry.getUri()) + weigh(entry.getAuthor());
+                weight += weigh(entry.getDescription()) + weigh(entry.getContents());
+                for (final SyndCategory category : entry.getCategories()) {
+                    weight += 32 + weigh(category.getName());
+                }
+            }
+        }
+        return weight;
+    }
+
+    private static long weigh(final String string) {
+        return string == null ? 0 : 40 + 2L * string.length();
+    }
+
+    private static long weigh(final SyndContent content) {
+        return content == null ? 0 : 32 + weigh(content.getValue());
+    }
+
+    private static long weigh(final List<SyndContent> contents) {
+        long weight = 0;
+        for (final SyndContent content : contents) {
+            weight += weigh(content);
+        }
+        return weight;
+    }
+
+    // applies the recorded reads to the policy, called with the policy lock held
+    private void drainReadBuffers() {
+        for (final ReadBuffer buffer : readBuffers) {
+            long reads = buffer.reads;
+            final long writes = buffer.writes.get();
+            for (; reads < writes; reads++) {
+                final int index = (int) reads & BUFFER_SIZE - 1;
+                final Node node = buffer.slots.get(index);
+                if (node == null) {
+                    // the writer has not published it yet
+                    break;
+                }
+                buffer.slots.lazySet(index, null);
+                onAccess(node);
+            }
+            buffer.reads = reads;
+        }
+    }
+
+    private void onAccess(final Node node) {
+        if (node.queue == REMOVED) {
+            return;
+        }
+        sketch.increment(node.key.hashCode());
+        if (node.queue == WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedQueue.add(node);
+            while (protectedQueue.weight > protectedMaximum && protectedQueue.head != node) {
+                final Node demoted = protectedQueue.head;
+                protectedQueue.remove(demoted);
+                demoted.queue = PROBATION;
+                probation.add(demoted);
+            }
+        } else {
+            protectedQueue.moveToBack(node);
+        }
+    }
+
+    // moves the feeds leaving the window to probation, then evicts until within the maximum weight,
+    // each candidate from the window competing with the LRU victim of the main space
+    private void evict() {
+        Node candidate = null;
+        while (window.weight > windowMaximum && window.head != null) {
+            final Node node = window.head;
+            window.remove(node);
+            node.queue = PROBATION;
+            probation.add(node);
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+        while (weightedSize > maximumWeight) {
+            Node victim = probation.head;
+            if (victim == null) {
+                victim = protectedQueue.head != null ? protectedQueue.head : window.head;
+            }
+            if (candidate != null && candidate != victim && candidate.queue == PROBATION
+                    && sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                final Node next = candidate.next;
+                evictNode(candidate);
+                candidate = next;
+            } else {
+                if (candidate == victim) {
+                    candidate = victim.next;
+                }
+                evictNode(victim);
+            }
+        }
+    }
+
+    private void evictNode(final Node node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictionCount.incrementAndGet();
+    }
+
+    private void unlink(final Node node) {
+        if (node.queue == WINDOW) {
+            window.remove(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+        } else if (node.queue == PROTECTED) {
+            protectedQueue.remove(node);
+        } else {
+            return;
+        }
+        node.queue = REMOVED;
+        weightedSize -= node.weight;
+    }
+
+    private static final class Node {
+
+        private final String key;
+        private final SyndFeedInfo value;
+        private final long weight;
+
+        // guarded by the policy lock
+        private int queue;
+        private Node prev;
+        private Node next;
+
+        Node(final String key, final SyndFeedInfo value, final long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+    /**
+     * Doubly linked list of nodes from the least recently used, guarded by the policy lock.
+     */
+    private static final class AccessQueue {
+
+        private Node head;
+        private Node tail;
+        private long weight;
+
+        void add(final Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(final Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToBack(final Node node) {
+            if (node != tail) {
+                remove(node);
+                add(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+
+    }
+
+    /**
+     * Ring buffer of reads, written by any thread without locking and drained under the policy
+     * lock. Reads are dropped when it is full, the policy only needs a sample of them.
+     */
+    private static final class ReadBuffer {
+
+        private final AtomicReferenceArray<Node> slots = new AtomicReferenceArray<Node>(BUFFER_SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private volatile long reads;
+
+        // returns false when the buffer is full and should be drained
+        boolean offer(final Node node) {
+            final long index = writes.get();
+            if (index - reads >= BUFFER_SIZE) {
+                return false;
+            }
+            if (writes.compareAndSet(index, index + 1)) {
+                slots.lazySet((int) index & BUFFER_SIZE - 1, node);
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters estimating how often the feeds are used, guarded by the
+     * policy lock. The counters are halved each time the number of increments reaches ten times the
+     * size of the table.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private long[] table = new long[16];
+        private int sampleSize = 160;
+        private int size;
+
+        void ensureCapacity(final int maximumSize) {
+            final int length = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 28)) - 1) << 1;
+            if (table.length < length) {
+                table = new long[length];
+                sampleSize = 10 * length;
+                size = 0;
+            }
+        }
+
+        int frequency(final int item) {
+            final int hash = spread(item);
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                final int shift = (hash >>> (i << 3) & 15) << 2;
+                frequency = Math.min(frequency, (int) (table[indexOf(hash, i)] >>> shift & 15));
+            }
+            return frequency;
+        }
+
+        void increment(final int item) {
+            final int hash = spread(item);
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                final int index = indexOf(hash, i);
+                final int shift = (hash >>> (i << 3) & 15) << 2;
+                if ((table[index] >>> shift & 15) < 15) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++size >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = table[i] >>> 1 & RESET_MASK;
+                }
+                size /= 2;
+            }
+        }
+
+        private int indexOf(final int hash, final int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & table.length - 1;
+        }
+
+        private static int spread(final int item) {
+            int h = item * 0x9e3779b9;
+            h ^= h >>> 16;
+            return h * 0x85ebca6b;
+        }
+
+    }
+
+}
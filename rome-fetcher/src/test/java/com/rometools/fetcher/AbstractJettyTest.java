@@ -46,7 +46,7 @@ public abstract class AbstractJettyTest extends TestCase {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractJettyTest.class);
 
     private HttpServer server;
-    private final int testPort = 8283;
+    protected final int testPort = 8283;
 
     /**
      * @param s
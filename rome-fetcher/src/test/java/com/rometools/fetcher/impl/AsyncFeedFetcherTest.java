@@ -0,0 +1,116 @@
+package com.rometools.fetcher.impl;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.rometools.fetcher.AbstractJettyTest;
+import com.rometools.fetcher.FeedFetcher;
+import com.rometools.fetcher.FetcherException;
+import com.rometools.fetcher.TestBasicAuthenticator;
+import com.rometools.rome.feed.synd.SyndFeed;
+
+public class AsyncFeedFetcherTest extends AbstractJettyTest {
+
+    private ExecutorService executor;
+
+    public AsyncFeedFetcherTest(final String s) {
+        super(s);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    @Override
+    protected FeedFetcher getFeedFetcher() {
+        return new AsyncFeedFetcher(executor);
+    }
+
+    @Override
+    protected FeedFetcher getFeedFetcher(final FeedFetcherCache cache) {
+        return new AsyncFeedFetcher(cache, executor);
+    }
+
+    @Override
+    public FeedFetcher getAuthenticatedFeedFetcher() {
+        java.net.Authenticator.setDefault(new TestBasicAuthenticator());
+        return getFeedFetcher();
+    }
+
+    public void testRetrieveFeedAsync() throws Exception {
+        final AsyncFeedFetcher fetcher = new AsyncFeedFetcher(new HashMapFeedInfoCache(), executor);
+        final URL feedUrl = new URL("http://localhost:" + testPort + "/rome/FetcherTestServlet/");
+
+        final List<Future<SyndFeed>> feeds = new ArrayList<Future<SyndFeed>>();
+        for (int i = 0; i < 20; i++) {
+            feeds.add(fetcher.retrieveFeedAsync(feedUrl));
+        }
+        for (final Future<SyndFeed> feed : feeds) {
+            assertEquals("atom_1.0.feed.title", feed.get(10, TimeUnit.SECONDS).getTitle());
+        }
+    }
+
+    public void testCallback() throws Exception {
+        final AsyncFeedFetcher fetcher = new AsyncFeedFetcher(executor);
+        final CountDownLatch latch = new CountDownLatch(2);
+        final List<Object> outcomes = new ArrayList<Object>();
+        final AsyncFeedFetcher.Callback callback = new AsyncFeedFetcher.Callback() {
+            @Override
+            public void completed(final URL feedUrl, final SyndFeed feed) {
+                synchronized (outcomes) {
+                    outcomes.add(feed);
+                }
+                latch.countDown();
+            }
+
+            @Override
+            public void failed(final URL feedUrl, final Exception e) {
+                synchronized (outcomes) {
+                    outcomes.add(e);
+                }
+                latch.countDown();
+            }
+        };
+
+        fetcher.retrieveFeedAsync(new URL("http://localhost:" + testPort + "/rome/FetcherTestServlet/"), callback);
+        final Future<SyndFeed> failed = fetcher.retrieveFeedAsync(new URL("http://localhost:" + testPort + "/rome/FetcherTestServlet?error=404"),
+                callback);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        int feeds = 0;
+        int errors = 0;
+        for (final Object outcome : outcomes) {
+            if (outcome instanceof SyndFeed) {
+                feeds++;
+            } else {
+                assertEquals(404, ((FetcherException) outcome).getResponseCode());
+                errors++;
+            }
+        }
+        assertEquals(1, feeds);
+        assertEquals(1, errors);
+
+        try {
+            failed.get();
+            fail("the failure was not reported by the future");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof FetcherException);
+        }
+    }
+
+}
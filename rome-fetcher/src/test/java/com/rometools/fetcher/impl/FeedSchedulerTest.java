@@ -0,0 +1,405 @@
+package com.rometools.fetcher.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Executor;
+
+import junit.framework.TestCase;
+
+import com.rometools.fetcher.FetcherException;
+import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.SyModule;
+import com.rometools.rome.feed.module.SyModuleImpl;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.rss.Item;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+import com.rometools.rome.io.FeedException;
+
+public class FeedSchedulerTest extends TestCase {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    public void testPollBudgets() throws Exception {
+        final QueueExecutor executor = new QueueExecutor();
+        final StubFetcher fetcher = new StubFetcher();
+        final FeedScheduler scheduler = new FeedScheduler(fetcher, null, executor);
+        scheduler.setMaxPolls(3);
+        scheduler.setMaxHostPolls(2);
+        for (int i = 0; i < 4; i++) {
+            scheduler.addFeed(new URL("http://a.example.com/feed" + i), i);
+        }
+        assertTrue(scheduler.addFeed(new URL("http://b.example.com/feed"), 4));
+        assertFalse(scheduler.addFeed(new URL("http://b.example.com/feed"), 4));
+        assertEquals(5, scheduler.getFeedCount());
+
+        // two polls for a.example.com, one for b.example.com
+        assertEquals(3, scheduler.dispatch(10));
+        assertEquals(0, scheduler.dispatch(10));
+        assertEquals(3, scheduler.getPollCount());
+
+        // a completed poll of a.example.com lets a waiting feed of the same host go
+        executor.runNext();
+        assertEquals(1, scheduler.dispatch(System.currentTimeMillis()));
+        while (executor.runNext()) {
+            // complete all polls
+        }
+        assertEquals(0, scheduler.getPollCount());
+        assertEquals(1, scheduler.dispatch(System.currentTimeMillis()));
+        while (executor.runNext()) {
+            // complete all polls
+        }
+
+        for (int i = 0; i < 4; i++) {
+            final ScheduledFeed feed = scheduler.getFeed(new URL("http://a.example.com/feed" + i));
+            assertTrue(feed.getLastPollTime() > 0);
+            assertTrue(feed.getNextPollTime() > feed.getLastPollTime());
+        }
+
+        // a removed feed is not polled again
+        assertTrue(scheduler.removeFeed(new URL("http://b.example.com/feed")));
+        assertEquals(4, scheduler.getFeedCount());
+        scheduler.setMaxPolls(10);
+        scheduler.setMaxHostPolls(10);
+        assertEquals(4, scheduler.dispatch(Long.MAX_VALUE));
+    }
+
+    public void testAdaptiveInterval() throws Exception {
+        final PollPolicy policy = new PollPolicy();
+        final ScheduledFeed feed = new ScheduledFeed(new URL("http://example.com/feed"), 0);
+        final SyndFeed syndFeed = feed(new Channel("rss_2.0"));
+
+        assertEquals(policy.getInitialInterval(), policy.getNextPollTime(feed, true, syndFeed, null, 0));
+
+        feed.setInterval(2 * HOUR);
+        assertEquals(3 * HOUR, policy.getNextPollTime(feed, false, syndFeed, null, 0));
+
+        feed.setChangeInterval(3 * HOUR);
+        assertEquals(90 * MINUTE, policy.getNextPollTime(feed, true, syndFeed, null, 0));
+
+        feed.setInterval(policy.getMaxInterval());
+        assertEquals(policy.getMaxInterval(), policy.getNextPollTime(feed, false, syndFeed, null, 0));
+
+        feed.setChangeInterval(MINUTE);
+        assertEquals(policy.getMinInterval(), policy.getNextPollTime(feed, true, syndFeed, null, 0));
+    }
+
+    public void testPublisherHints() throws Exception {
+        final PollPolicy policy = new PollPolicy();
+        final ScheduledFeed feed = new ScheduledFeed(new URL("http://example.com/feed"), 0);
+        feed.setInterval(HOUR);
+        feed.setChangeInterval(HOUR);
+
+        final Channel ttl = new Channel("rss_2.0");
+        ttl.setTtl(180);
+        assertEquals(3 * HOUR, policy.getNextPollTime(feed, true, feed(ttl), null, 0));
+
+        final Channel sy = new Channel("rss_1.0");
+        final SyModule syModule = new SyModuleImpl();
+        syModule.setUpdatePeriod(SyModule.DAILY);
+        syModule.setUpdateFrequency(4);
+        sy.setModules(new ArrayList<Module>(Collections.singletonList(syModule)));
+        assertEquals(6 * HOUR, policy.getNextPollTime(feed, true, feed(sy), null, 0));
+
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setExpires(5 * HOUR);
+        assertEquals(5 * HOUR, policy.getNextPollTime(feed, true, feed(new Channel("rss_2.0")), info, 0));
+        info.setExpires(100 * HOUR);
+        assertEquals(policy.getMaxInterval(), policy.getNextPollTime(feed, true, feed(new Channel("rss_2.0")), info, 0));
+    }
+
+    public void testSkipHoursAndDays() throws Exception {
+        final PollPolicy policy = new PollPolicy();
+        final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+        calendar.clear();
+        // a Monday
+        calendar.set(2024, Calendar.JANUARY, 1, 10, 30);
+        final long monday = calendar.getTimeInMillis();
+
+        assertEquals(monday, policy.skip(monday, Arrays.asList(9, 11), Collections.<String> emptyList()));
+        assertEquals(monday + 150 * MINUTE, policy.skip(monday, Arrays.asList(10, 11, 12), Collections.<String> emptyList()));
+        final long tuesday = monday + 24 * HOUR - 630 * MINUTE;
+        assertEquals(tuesday, policy.skip(monday, Collections.<Integer> emptyList(), Arrays.asList("Monday")));
+        assertEquals(tuesday + HOUR, policy.skip(monday, Arrays.asList(0), Arrays.asList("Monday")));
+    }
+
+    public void testRetryBackoff() throws Exception {
+        final PollPolicy policy = new PollPolicy();
+        final ScheduledFeed feed = new ScheduledFeed(new URL("http://example.com/feed"), 0);
+        final FetcherException e = new FetcherException(500, "error");
+        feed.setFailures(1);
+        assertEquals(policy.getMinInterval(), policy.getRetryTime(feed, e, 0));
+        feed.setFailures(3);
+        assertEquals(4 * policy.getMinInterval(), policy.getRetryTime(feed, e, 0));
+        feed.setFailures(100);
+        assertEquals(policy.getMaxInterval(), policy.getRetryTime(feed, e, 0));
+    }
+
+    public void testChangeObserved() throws Exception {
+        final QueueExecutor executor = new QueueExecutor();
+        final StubFetcher fetcher = new StubFetcher();
+        final FeedScheduler scheduler = new FeedScheduler(fetcher, null, executor);
+        final URL url = new URL("http://example.com/feed");
+        scheduler.addFeed(url, 0);
+        final ScheduledFeed feed = scheduler.getFeed(url);
+
+        scheduler.dispatch(0);
+        executor.runNext();
+        final long firstChange = feed.getLastChangeTime();
+        assertTrue(firstChange > 0);
+
+        // same entries, not a change
+        scheduler.dispatch(Long.MAX_VALUE);
+        executor.runNext();
+        assertEquals(firstChange, feed.getLastChangeTime());
+        assertEquals(0, feed.getChangeInterval());
+
+        fetcher.items++;
+        Thread.sleep(5);
+        scheduler.dispatch(Long.MAX_VALUE);
+        executor.runNext();
+        assertTrue(feed.getLastChangeTime() > firstChange);
+        assertTrue(feed.getChangeInterval() > 0);
+
+        fetcher.fail = true;
+        scheduler.dispatch(Long.MAX_VALUE);
+        executor.runNext();
+        assertEquals(1, feed.getFailures());
+    }
+
+    public void testBudgetReleasedOnUnexpectedResults() throws Exception {
+        final QueueExecutor executor = new QueueExecutor();
+        final StubFetcher fetcher = new StubFetcher();
+        final FeedScheduler scheduler = new FeedScheduler(fetcher, null, executor);
+        scheduler.setMaxPolls(1);
+        final URL url = new URL("http://example.com/feed");
+        scheduler.addFeed(url, 0);
+        final ScheduledFeed feed = scheduler.getFeed(url);
+
+        // no feed returned
+        fetcher.returnNull = true;
+        assertEquals(1, scheduler.dispatch(0));
+        executor.runNext();
+        assertEquals(0, scheduler.getPollCount());
+        assertEquals(1, feed.getFailures());
+
+        // runtime exception thrown by the fetcher
+        fetcher.returnNull = false;
+        fetcher.error = new IllegalStateException("broken fetcher");
+        assertEquals(1, scheduler.dispatch(Long.MAX_VALUE));
+        executor.runNext();
+        assertEquals(0, scheduler.getPollCount());
+        assertEquals(2, feed.getFailures());
+
+        // error thrown by the poll policy, it reaches the executor but the feed is requeued
+        fetcher.error = null;
+        scheduler.setPollPolicy(new PollPolicy() {
+            @Override
+            public long getFingerprint(final SyndFeed syndFeed) {
+                throw new AssertionError("broken policy");
+            }
+        });
+        assertEquals(1, scheduler.dispatch(Long.MAX_VALUE));
+        try {
+            executor.runNext();
+            fail("the error is not swallowed");
+        } catch (final AssertionError e) {
+            assertEquals("broken policy", e.getMessage());
+        }
+        assertEquals(0, scheduler.getPollCount());
+        assertEquals(3, feed.getFailures());
+        assertEquals(1, scheduler.dispatch(Long.MAX_VALUE));
+    }
+
+    public void testExpiresOfNotModifiedResponse() throws Exception {
+        final File cacheDir = File.createTempFile("test-cache", "");
+        cacheDir.delete();
+        cacheDir.mkdir();
+        try {
+            final DiskFeedInfoCache cache = new DiskFeedInfoCache(cacheDir.getAbsolutePath());
+            final QueueExecutor executor = new QueueExecutor();
+            final FeedScheduler scheduler = new FeedScheduler(new HttpURLFeedFetcher(cache), cache, executor);
+            final StubHandler handler = new StubHandler();
+            final URL url = new URL(null, "http://example.com/feed", handler);
+            scheduler.addFeed(url, 0);
+            final ScheduledFeed feed = scheduler.getFeed(url);
+
+            scheduler.dispatch(0);
+            executor.runNext();
+            assertEquals(0, feed.getFailures());
+            assertEquals(0, cache.getFeedInfo(url).getExpires());
+
+            // the disk cache returns a copy of the info, the expiration of the 304 is written back
+            handler.status = HttpURLConnection.HTTP_NOT_MODIFIED;
+            handler.cacheControl = "max-age=36000";
+            final long before = System.currentTimeMillis();
+            scheduler.dispatch(Long.MAX_VALUE);
+            executor.runNext();
+            assertEquals(0, feed.getFailures());
+            assertTrue(cache.getFeedInfo(url).getExpires() >= before + 10 * HOUR);
+            assertTrue(feed.getNextPollTime() >= before + 10 * HOUR);
+        } finally {
+            final File[] files = cacheDir.listFiles();
+            if (files != null) {
+                for (final File file : files) {
+                    file.delete();
+                }
+            }
+            cacheDir.delete();
+        }
+    }
+
+    public void testDispatcherThread() throws Exception {
+        final FeedScheduler scheduler = new FeedScheduler(new StubFetcher(), null, new Executor() {
+            @Override
+            public void execute(final Runnable task) {
+                task.run();
+            }
+        });
+        scheduler.start();
+        try {
+            final URL url = new URL("http://example.com/feed");
+            scheduler.addFeed(url);
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (scheduler.getFeed(url).getLastPollTime() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(scheduler.getFeed(url).getLastPollTime() > 0);
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    private static SyndFeed feed(final Channel channel) {
+        channel.setTitle("title");
+        channel.setLink("http://example.com/");
+        channel.setDescription("description");
+        return new SyndFeedImpl(channel, true);
+    }
+
+    private static class QueueExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(final Runnable task) {
+            tasks.add(task);
+        }
+
+        boolean runNext() {
+            if (tasks.isEmpty()) {
+                return false;
+            }
+            tasks.remove(0).run();
+            return true;
+        }
+
+    }
+
+    private static class StubFetcher extends AbstractFeedFetcher {
+
+        int items = 1;
+        boolean fail;
+        boolean returnNull;
+        RuntimeException error;
+
+        @Override
+        public SyndFeed retrieveFeed(final URL feedUrl) throws IllegalArgumentException, IOException, FeedException, FetcherException {
+            return retrieveFeed(getUserAgent(), feedUrl);
+        }
+
+        @Override
+        public SyndFeed retrieveFeed(final String userAgent, final URL feedUrl) throws IllegalArgumentException, IOException, FeedException,
+                FetcherException {
+            if (fail) {
+                throw new FetcherException(500, "error");
+            }
+            if (error != null) {
+                throw error;
+            }
+            if (returnNull) {
+                return null;
+            }
+            final Channel channel = new Channel("rss_2.0");
+            final List<Item> list = new ArrayList<Item>();
+            for (int i = 0; i < items; i++) {
+                final Item item = new Item();
+                item.setTitle("item " + i);
+                item.setLink(feedUrl + "/" + i);
+                list.add(item);
+            }
+            channel.setItems(list);
+            return feed(channel);
+        }
+
+    }
+
+    // answers the HTTP requests without a server
+    private static class StubHandler extends URLStreamHandler {
+
+        int status = HttpURLConnection.HTTP_OK;
+        String cacheControl;
+
+        @Override
+        protected URLConnection openConnection(final URL url) {
+            return new HttpURLConnection(url) {
+
+                @Override
+                public void connect() {
+                    connected = true;
+                }
+
+                @Override
+                public void disconnect() {
+                    connected = false;
+                }
+
+                @Override
+                public boolean usingProxy() {
+                    return false;
+                }
+
+                @Override
+                public int getResponseCode() {
+                    return status;
+                }
+
+                @Override
+                public String getHeaderField(final String name) {
+                    if ("Cache-Control".equalsIgnoreCase(name)) {
+                        return cacheControl;
+                    } else if ("ETag".equalsIgnoreCase(name)) {
+                        return "\"1\"";
+                    }
+                    return null;
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    if (status != HTTP_OK) {
+                        throw new IOException("No content");
+                    }
+                    final String xml = "<rss version=\"2.0\"><channel><title>title</title><link>http://example.com/</link>"
+                            + "<description>description</description><item><title>item</title></item></channel></rss>";
+                    return new ByteArrayInputStream(xml.getBytes("UTF-8"));
+                }
+
+            };
+        }
+
+    }
+
+}
@@ -16,11 +16,15 @@
  */
 package com.rometools.fetcher.impl;
 
+import java.net.URL;
+
 import com.rometools.fetcher.AbstractJettyTest;
 import com.rometools.fetcher.FeedFetcher;
+import com.rometools.fetcher.FetcherTestServlet;
 import com.rometools.fetcher.TestBasicAuthenticator;
 import com.rometools.fetcher.impl.FeedFetcherCache;
 import com.rometools.fetcher.impl.HttpURLFeedFetcher;
+import com.rometools.rome.feed.synd.SyndFeed;
 
 public class HttpURLFeedFetcherTest extends AbstractJettyTest {
 
@@ -54,4 +58,50 @@ public class HttpURLFeedFetcherTest extends AbstractJettyTest {
         return feedFetcher;
     }
 
+    public void testCachingRawContent() throws Exception {
+        final FeedFetcherCache cache = new HashMapFeedInfoCache();
+        final HttpURLFeedFetcher feedFetcher = new HttpURLFeedFetcher(cache);
+        feedFetcher.setCachingRawContent(true);
+        for (final String query : new String[] { "", "?gzipfeed=TRUE" }) {
+            final URL url = new URL("http://localhost:" + testPort + "/rome/FetcherTestServlet" + query);
+            final SyndFeed feed = feedFetcher.retrieveFeed(url);
+            assertEquals("atom_1.0.feed.title", feed.getTitle());
+
+            final SyndFeedInfo info = cache.getFeedInfo(url);
+            final byte[] content = info.getContent();
+            // always kept compressed
+            assertEquals((byte) 0x1f, content[0]);
+            assertEquals((byte) 0x8b, content[1]);
+
+            info.setSyndFeedMemoized(false);
+            final SyndFeed parsed = info.getSyndFeed();
+            assertEquals("atom_1.0.feed.title", parsed.getTitle());
+            assertNotSame(parsed, info.getSyndFeed());
+
+            // not modified, the feed is parsed from the cached content
+            assertEquals("atom_1.0.feed.title", feedFetcher.retrieveFeed(url).getTitle());
+        }
+    }
+
+    public void testDeltaEncodingCachingRawContent() throws Exception {
+        final FeedFetcherCache cache = new HashMapFeedInfoCache();
+        final HttpURLFeedFetcher feedFetcher = new HttpURLFeedFetcher(cache);
+        feedFetcher.setCachingRawContent(true);
+        feedFetcher.setUsingDeltaEncoding(true);
+        final URL url = new URL("http://localhost:" + testPort + "/rome/FetcherTestServlet?deltaencode=TRUE&refreshfeed=TRUE");
+
+        final SyndFeed feed1 = feedFetcher.retrieveFeed(url);
+        assertEquals("atom_1.0.feed.title", feed1.getTitle());
+        assertEquals(2, feed1.getEntries().size());
+        assertNotNull(cache.getFeedInfo(url).getContent());
+
+        // the delta is combined with the feed parsed from the cached content
+        final SyndFeed feed2 = feedFetcher.retrieveFeed(url);
+        assertEquals(FetcherTestServlet.DELTA_FEED_TITLE, feed2.getTitle());
+        assertEquals(3, feed2.getEntries().size());
+        assertEquals(FetcherTestServlet.DELTA_FEED_ENTRY_TITLE, feed2.getEntries().get(0).getTitle());
+        assertEquals("atom_1.0.feed.entry[0].title", feed2.getEntries().get(1).getTitle());
+        assertEquals(3, cache.getFeedInfo(url).getSyndFeed().getEntries().size());
+    }
+
 }
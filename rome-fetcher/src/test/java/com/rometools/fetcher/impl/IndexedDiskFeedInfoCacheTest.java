@@ -0,0 +1,198 @@
+package com.rometools.fetcher.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.util.zip.GZIPOutputStream;
+
+import junit.framework.TestCase;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+
+public class IndexedDiskFeedInfoCacheTest extends TestCase {
+
+    private File cacheDir;
+
+    @Override
+    protected void setUp() throws Exception {
+        cacheDir = File.createTempFile("test-cache", "");
+        cacheDir.delete();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        final File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        cacheDir.delete();
+    }
+
+    public void testSetGetRemoveClear() throws Exception {
+        final IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir);
+        final URL url = new URL("http://nowhere.com");
+        assertNull(cache.getFeedInfo(url));
+
+        final SyndFeedInfo info = info(url, "1");
+        cache.setFeedInfo(url, info);
+        final SyndFeedInfo returned = cache.getFeedInfo(url);
+        assertEquals(info.getId(), returned.getId());
+        assertEquals(info.getUrl(), returned.getUrl());
+        assertEquals(info.getETag(), returned.getETag());
+        assertEquals(info.getLastModified(), returned.getLastModified());
+        // the feed is stored as XML, it is parsed from it
+        assertNotNull(returned.getContent());
+        assertEquals("title 1", returned.getSyndFeed().getTitle());
+        assertEquals("rss_2.0", returned.getSyndFeed().getFeedType());
+        assertEquals(1, cache.size());
+
+        assertEquals("title 1", cache.remove(url).getSyndFeed().getTitle());
+
+        // a feed that cannot be written in its own type is stored as Atom 1.0
+        final SyndFeedInfo invalid = info(url, "2");
+        invalid.getSyndFeed().setDescription(null);
+        cache.setFeedInfo(url, invalid);
+        assertEquals("title 2", cache.getFeedInfo(url).getSyndFeed().getTitle());
+        assertEquals("atom_1.0", cache.getFeedInfo(url).getSyndFeed().getFeedType());
+        cache.remove(url);
+        assertNull(cache.remove(url));
+        assertNull(cache.getFeedInfo(url));
+        assertEquals(0, cache.size());
+
+        cache.setFeedInfo(url, info);
+        cache.clear();
+        assertNull(cache.getFeedInfo(url));
+        assertEquals(0, cache.getDiskSize());
+        cache.close();
+    }
+
+    public void testReopen() throws Exception {
+        IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir);
+        for (int i = 0; i < 2000; i++) {
+            final URL url = new URL("http://nowhere.com/" + i);
+            cache.setFeedInfo(url, info(url, "" + i));
+        }
+        cache.remove(new URL("http://nowhere.com/0"));
+        cache.close();
+
+        cache = new IndexedDiskFeedInfoCache(cacheDir);
+        assertEquals(1999, cache.size());
+        assertNull(cache.getFeedInfo(new URL("http://nowhere.com/0")));
+        assertEquals("title 1999", cache.getFeedInfo(new URL("http://nowhere.com/1999")).getSyndFeed().getTitle());
+        cache.close();
+    }
+
+    public void testStrayFiles() throws Exception {
+        final URL url = new URL("http://nowhere.com");
+        IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir);
+        cache.setFeedInfo(url, info(url, "1"));
+        cache.close();
+        assertTrue(new File(cacheDir, "segment-backup.log").createNewFile());
+
+        cache = new IndexedDiskFeedInfoCache(cacheDir);
+        assertEquals("title 1", cache.getFeedInfo(url).getSyndFeed().getTitle());
+        cache.close();
+    }
+
+    public void testRecovery() throws Exception {
+        final IndexedDiskFeedInfoCache crashed = new IndexedDiskFeedInfoCache(cacheDir);
+        final URL url = new URL("http://nowhere.com");
+        final URL other = new URL("http://nowhere.com/other");
+        crashed.setFeedInfo(url, info(url, "1"));
+        crashed.setFeedInfo(other, info(other, "1"));
+        crashed.setFeedInfo(url, info(url, "2"));
+        crashed.remove(other);
+
+        // a record cut in the middle by the crash
+        final RandomAccessFile segment = new RandomAccessFile(new File(cacheDir, "segment-00000001.log"), "rw");
+        final long length = segment.length();
+        segment.seek(length);
+        segment.writeInt(0x52464352);
+        segment.writeInt(1000);
+        segment.close();
+
+        final IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir);
+        assertEquals(1, cache.size());
+        assertEquals("title 2", cache.getFeedInfo(url).getSyndFeed().getTitle());
+        assertNull(cache.getFeedInfo(other));
+        assertEquals(length, cache.getDiskSize());
+        cache.close();
+    }
+
+    public void testCompaction() throws Exception {
+        final IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir, Long.MAX_VALUE, 8 * 1024);
+        final URL url = new URL("http://nowhere.com");
+        final URL other = new URL("http://nowhere.com/other");
+        cache.setFeedInfo(other, info(other, "other"));
+        for (int i = 0; i < 500; i++) {
+            cache.setFeedInfo(url, info(url, "" + i));
+        }
+        assertTrue(cache.getDiskSize() < 4 * 8 * 1024);
+        assertEquals("title 499", cache.getFeedInfo(url).getSyndFeed().getTitle());
+        assertEquals("title other", cache.getFeedInfo(other).getSyndFeed().getTitle());
+        cache.close();
+
+        // the index rebuilt from the compacted log gives the same feeds
+        new File(cacheDir, "index").delete();
+        final IndexedDiskFeedInfoCache reopened = new IndexedDiskFeedInfoCache(cacheDir);
+        assertEquals(2, reopened.size());
+        assertEquals("title 499", reopened.getFeedInfo(url).getSyndFeed().getTitle());
+        assertEquals("title other", reopened.getFeedInfo(other).getSyndFeed().getTitle());
+        reopened.close();
+    }
+
+    public void testEviction() throws Exception {
+        final IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir, 32 * 1024, 8 * 1024);
+        for (int i = 0; i < 500; i++) {
+            final URL url = new URL("http://nowhere.com/" + i);
+            cache.setFeedInfo(url, info(url, "" + i));
+        }
+        assertTrue(cache.getDiskSize() <= 32 * 1024);
+        assertTrue(cache.size() < 500);
+        assertNull(cache.getFeedInfo(new URL("http://nowhere.com/0")));
+        assertNotNull(cache.getFeedInfo(new URL("http://nowhere.com/499")));
+        cache.close();
+    }
+
+    public void testRawContent() throws Exception {
+        final URL url = new URL("http://nowhere.com");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final GZIPOutputStream out = new GZIPOutputStream(bytes);
+        out.write("<rss version=\"2.0\"><channel><title>raw</title></channel></rss>".getBytes("UTF-8"));
+        out.close();
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setUrl(url);
+        info.setContent(bytes.toByteArray());
+        info.setContentType("application/rss+xml; charset=UTF-8");
+
+        IndexedDiskFeedInfoCache cache = new IndexedDiskFeedInfoCache(cacheDir);
+        cache.setFeedInfo(url, info);
+        cache.close();
+
+        cache = new IndexedDiskFeedInfoCache(cacheDir);
+        final SyndFeedInfo returned = cache.getFeedInfo(url);
+        assertEquals("application/rss+xml; charset=UTF-8", returned.getContentType());
+        assertEquals("raw", returned.getSyndFeed().getTitle());
+        cache.close();
+    }
+
+    private static SyndFeedInfo info(final URL url, final String version) {
+        final SyndFeed feed = new SyndFeedImpl();
+        feed.setFeedType("rss_2.0");
+        feed.setTitle("title " + version);
+        feed.setLink(url.toExternalForm());
+        feed.setDescription("description " + version);
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setId(url.toString());
+        info.setUrl(url);
+        info.setETag("\"" + version + "\"");
+        info.setLastModified(1000L);
+        info.setSyndFeed(feed);
+        return info;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.rometools.fetcher.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import junit.framework.TestCase;
+
+public class SyndFeedInfoTest extends TestCase {
+
+    public void testContentNotParsedByBeanMethods() throws Exception {
+        // content that is not a feed, parsing it fails
+        final SyndFeedInfo info = info("<html><body>not a feed</body></html>");
+        try {
+            info.getSyndFeed();
+            fail("the content is not a feed");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+
+        final SyndFeedInfo same = info("<html><body>not a feed</body></html>");
+        assertEquals(info, same);
+        assertEquals(info.hashCode(), same.hashCode());
+        assertFalse(info.equals(info("<html><body>other</body></html>")));
+        assertTrue(info.toString().contains("http://nowhere.com"));
+
+        final SyndFeedInfo clone = (SyndFeedInfo) info.clone();
+        assertEquals(info, clone);
+        assertTrue(Arrays.equals(info.getContent(), clone.getContent()));
+        assertNotSame(info.getContent(), clone.getContent());
+    }
+
+    private static SyndFeedInfo info(final String body) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final GZIPOutputStream out = new GZIPOutputStream(bytes);
+        out.write(body.getBytes("UTF-8"));
+        out.close();
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setId("http://nowhere.com");
+        info.setContent(bytes.toByteArray());
+        info.setContentType("text/html; charset=UTF-8");
+        return info;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.rometools.fetcher.impl;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndEntryImpl;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+
+public class TinyLfuFeedInfoCacheTest extends TestCase {
+
+    public void testRemoveAndClear() throws Exception {
+        final TinyLfuFeedInfoCache cache = new TinyLfuFeedInfoCache();
+        final URL url = new URL("http://foo.com");
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setUrl(url);
+        cache.setFeedInfo(url, info);
+        assertSame(info, cache.getFeedInfo(url));
+        assertTrue(cache.getWeightedSize() > 0);
+
+        assertSame(info, cache.remove(url));
+        assertNull(cache.remove(url));
+        assertEquals(0, cache.getWeightedSize());
+
+        cache.setFeedInfo(url, info);
+        cache.clear();
+        assertNull(cache.getFeedInfo(url));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeightedSize());
+    }
+
+    public void testStatistics() throws Exception {
+        final TinyLfuFeedInfoCache cache = new WeighedCache(1000);
+        cache.setFeedInfo(url(0), info(100));
+        cache.getFeedInfo(url(0));
+        cache.getFeedInfo(url(0));
+        cache.getFeedInfo(url(1));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    public void testBoundedByWeight() throws Exception {
+        final TinyLfuFeedInfoCache cache = new WeighedCache(1000);
+        for (int i = 0; i < 30; i++) {
+            cache.setFeedInfo(url(i), info(i % 2 == 0 ? 50 : 150));
+            assertTrue(cache.getWeightedSize() <= 1000);
+        }
+        assertTrue(cache.size() < 30);
+        assertEquals(30 - cache.size(), cache.getEvictionCount());
+
+        // a feed heavier than the whole cache is not kept
+        cache.setFeedInfo(url(100), info(5000));
+        assertNull(cache.getFeedInfo(url(100)));
+        assertTrue(cache.getWeightedSize() <= 1000);
+    }
+
+    public void testFrequentFeedsKept() throws Exception {
+        final TinyLfuFeedInfoCache cache = new WeighedCache(1000);
+        for (int i = 0; i < 5; i++) {
+            cache.setFeedInfo(url(i), info(100));
+        }
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertNotNull(cache.getFeedInfo(url(i)));
+            }
+        }
+        // a scan of feeds used once does not flush the popular ones
+        for (int i = 5; i < 100; i++) {
+            cache.setFeedInfo(url(i), info(100));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.getFeedInfo(url(i)));
+        }
+        assertTrue(cache.getWeightedSize() <= 1000);
+    }
+
+    public void testConcurrentAccess() throws Exception {
+        final TinyLfuFeedInfoCache cache = new WeighedCache(2000);
+        final List<Thread> threads = new ArrayList<Thread>();
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 5000; i++) {
+                            final URL url = url((i * 7 + seed) % 200);
+                            if (cache.getFeedInfo(url) == null) {
+                                cache.setFeedInfo(url, info(10 + i % 90));
+                            }
+                        }
+                    } catch (final Throwable e) {
+                        synchronized (errors) {
+                            errors.add(e);
+                        }
+                    }
+                }
+            });
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.toString(), errors.isEmpty());
+        assertTrue(cache.getWeightedSize() <= 2000);
+        assertEquals(20000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    public void testEstimatedWeight() throws Exception {
+        final TinyLfuFeedInfoCache cache = new TinyLfuFeedInfoCache();
+        final URL url = new URL("http://foo.com");
+        final SyndFeedInfo small = new SyndFeedInfo();
+        small.setSyndFeed(feed(1));
+        final SyndFeedInfo large = new SyndFeedInfo();
+        large.setSyndFeed(feed(100));
+        assertTrue(cache.weigh(url.toString(), large) > 10 * cache.weigh(url.toString(), small));
+    }
+
+    private static URL url(final int i) {
+        try {
+            return new URL("http://foo.com/" + i);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SyndFeedInfo info(final long weight) {
+        final SyndFeedInfo info = new SyndFeedInfo();
+        info.setId(Long.toString(weight));
+        return info;
+    }
+
+    private static SyndFeed feed(final int entries) {
+        final SyndFeed feed = new SyndFeedImpl();
+        feed.setTitle("title");
+        final List<SyndEntry> list = new ArrayList<SyndEntry>();
+        for (int i = 0; i < entries; i++) {
+            final SyndEntry entry = new SyndEntryImpl();
+            entry.setTitle("entry " + i);
+            entry.setLink("http://foo.com/entry/" + i);
+            list.add(entry);
+        }
+        feed.setEntries(list);
+        return feed;
+    }
+
+    // weighs each feed info by its id
+    private static class WeighedCache extends TinyLfuFeedInfoCache {
+
+        WeighedCache(final long maximumWeight) {
+            super(maximumWeight);
+        }
+
+        @Override
+        protected long weigh(final String key, final SyndFeedInfo syndFeedInfo) {
+            return Long.parseLong(syndFeedInfo.getId());
+        }
+
+    }
+
+}
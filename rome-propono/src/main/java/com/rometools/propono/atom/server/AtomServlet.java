@@ -122,12 +122,10 @@ public class AtomServlet extends HttpServlet {
                     final Feed col = handler.getCollection(areq);
                     col.setFeedType(FEED_TYPE);
                     final WireFeedOutput wireFeedOutput = new WireFeedOutput();
-                    final Document feedDoc = wireFeedOutput.outputJDom(col);
+                    wireFeedOutput.setStreaming(true);
                     res.setContentType("application/atom+xml; charset=utf-8");
                     final Writer writer = res.getWriter();
-                    final XMLOutputter outputter = new XMLOutputter();
-                    outputter.setFormat(Format.getPrettyFormat());
-                    outputter.output(feedDoc, writer);
+                    wireFeedOutput.output(col, writer, true);
                     writer.close();
                     res.setStatus(HttpServletResponse.SC_OK);
                 } else if (handler.isEntryURI(areq)) {
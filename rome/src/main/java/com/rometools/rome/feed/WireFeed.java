@@ -18,13 +18,16 @@
 package com.rometools.rome.feed;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.jdom2.Element;
 
 import com.rometools.rome.feed.impl.ObjectBean;
 import com.rometools.rome.feed.module.Extendable;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.utils.Lists;
 
@@ -42,6 +45,8 @@ public abstract class WireFeed implements Cloneable, Serializable, Extendable {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Set<String> FOREIGN_MARKUP = Collections.singleton("foreignMarkup");
+
     private final ObjectBean objBean;
 
     private String feedType;
@@ -100,12 +105,7 @@ public abstract class WireFeed implements Cloneable, Serializable, Extendable {
         }
 
         // can't use foreign markup in equals, due to JDOM equals impl
-        final List<Element> fm = getForeignMarkup();
-        setForeignMarkup(((WireFeed) other).getForeignMarkup());
-        final boolean ret = objBean.equals(other);
-        // restore foreign markup
-        setForeignMarkup(fm);
-        return ret;
+        return objBean.equals(other, FOREIGN_MARKUP);
 
     }
 
@@ -120,7 +120,8 @@ public abstract class WireFeed implements Cloneable, Serializable, Extendable {
      */
     @Override
     public int hashCode() {
-        return objBean.hashCode();
+        // foreign markup is not used in equals, it is not used in hashCode either
+        return objBean.hashCode(FOREIGN_MARKUP);
     }
 
     /**
@@ -192,12 +193,15 @@ public abstract class WireFeed implements Cloneable, Serializable, Extendable {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
      * Sets the channel modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the channel.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the channel modules to set, an empty list
      *            or <b>null</b> if none.
@@ -205,7 +209,7 @@ public abstract class WireFeed implements Cloneable, Serializable, Extendable {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
@@ -17,14 +17,17 @@
 package com.rometools.rome.feed.atom;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import org.jdom2.Element;
 
 import com.rometools.rome.feed.impl.ObjectBean;
 import com.rometools.rome.feed.module.Extendable;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.rome.feed.synd.SyndPerson;
 import com.rometools.utils.Dates;
@@ -37,6 +40,8 @@ public class Entry implements Cloneable, Serializable, Extendable {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Set<String> FOREIGN_MARKUP = Collections.singleton("foreignMarkup");
+
     private Content summary;
     private Content title;
     private Date created; // Atom 0.3 only
@@ -305,6 +310,9 @@ public class Entry implements Cloneable, Serializable, Extendable {
     /**
      * Sets the entry modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the entry.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the entry modules to set, an empty list
      *            or <b>null</b> if none.
@@ -312,7 +320,7 @@ public class Entry implements Cloneable, Serializable, Extendable {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
@@ -324,7 +332,7 @@ public class Entry implements Cloneable, Serializable, Extendable {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
@@ -560,14 +568,7 @@ public class Entry implements Cloneable, Serializable, Extendable {
             return false;
         }
         // can't use foreign markup in equals, due to JDOM equals impl
-        final List<Element> fm = getForeignMarkup();
-        setForeignMarkup(((Entry) other).getForeignMarkup());
-
-        final boolean ret = objBean.equals(other);
-        // restore foreign markup
-        setForeignMarkup(fm);
-
-        return ret;
+        return objBean.equals(other, FOREIGN_MARKUP);
     }
 
     /**
@@ -581,7 +582,8 @@ public class Entry implements Cloneable, Serializable, Extendable {
      */
     @Override
     public int hashCode() {
-        return objBean.hashCode();
+        // foreign markup is not used in equals, it is not used in hashCode either
+        return objBean.hashCode(FOREIGN_MARKUP);
     }
 
     /**
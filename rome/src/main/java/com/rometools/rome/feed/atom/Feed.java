@@ -21,6 +21,7 @@ import java.util.List;
 
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.rome.feed.synd.SyndPerson;
 import com.rometools.utils.Lists;
@@ -388,12 +389,15 @@ public class Feed extends WireFeed {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
      * Sets the feed moduless.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the feed.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the feed moduless to set, an empty list
      *            or <b>null</b> if none.
@@ -401,7 +405,7 @@ public class Feed extends WireFeed {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
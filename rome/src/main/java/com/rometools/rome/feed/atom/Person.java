@@ -22,10 +22,10 @@ import java.util.List;
 import com.rometools.rome.feed.impl.ObjectBean;
 import com.rometools.rome.feed.module.Extendable;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.rome.feed.synd.SyndPerson;
 import com.rometools.utils.Alternatives;
-import com.rometools.utils.Lists;
 
 /**
  * Bean for person elements of Atom feeds.
@@ -208,12 +208,15 @@ public class Person implements SyndPerson, Cloneable, Serializable, Extendable {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
      * Sets the entry modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the person.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the entry modules to set, an empty list
      *            or <b>null</b> if none.
@@ -221,7 +224,7 @@ public class Person implements SyndPerson, Cloneable, Serializable, Extendable {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
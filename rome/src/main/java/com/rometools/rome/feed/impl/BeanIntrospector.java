@@ -19,11 +19,15 @@ package com.rometools.rome.feed.impl;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Obtains all property descriptors from a bean (interface or implementation).
@@ -32,45 +36,25 @@ import java.util.Set;
  */
 public class BeanIntrospector {
 
-    private static final Map<Class<?>, PropertyDescriptor[]> introspected = new HashMap<Class<?>, PropertyDescriptor[]>();
+    private static final ConcurrentMap<Class<?>, Introspection> introspected = new ConcurrentHashMap<Class<?>, Introspection>();
     private static final String SETTER = "set";
     private static final String GETTER = "get";
     private static final String BOOLEAN_GETTER = "is";
 
-    private BeanIntrospector() {
-    }
-
     /**
-     * Extract all {@link PropertyDescriptor}s for properties with getters and setters for the given
-     * class.
-     *
-     * @param clazz The class to extract the desired {@link PropertyDescriptor}s from
-     * @return All {@link PropertyDescriptor} for properties with getters and setters for the given
-     *         class.
+     * The property descriptors of a class, computed once. Several threads may compute them at the
+     * same time for a class not seen yet, they all get the same result.
      */
-    private static synchronized PropertyDescriptor[] getPropertyDescriptors(final Class<?> clazz) {
-        PropertyDescriptor[] descriptors = introspected.get(clazz);
-        if (descriptors == null) {
-            descriptors = getPDs(clazz);
-            introspected.put(clazz, descriptors);
-        }
-        return descriptors;
-    }
+    private static class Introspection {
 
-    /**
-     * Extract all {@link PropertyDescriptor}s for properties with a getter that does not come from
-     * {@link Object} and does not accept parameters.
-     *
-     * @param clazz The class to extract the desired {@link PropertyDescriptor}s from
-     * @return All {@link PropertyDescriptor}s for properties with a getter that does not come from
-     *         {@link Object} and does not accept parameters.
-     */
-    public static List<PropertyDescriptor> getPropertyDescriptorsWithGetters(final Class<?> clazz) {
+        private final List<PropertyDescriptor> withGetters;
+        private final List<PropertyDescriptor> withGettersAndSetters;
+
+        Introspection(final PropertyDescriptor[] propertyDescriptors) {
 
-        final List<PropertyDescriptor> relevantDescriptors = new ArrayList<PropertyDescriptor>();
+            final List<PropertyDescriptor> getters = new ArrayList<PropertyDescriptor>();
+            final List<PropertyDescriptor> gettersAndSetters = new ArrayList<PropertyDescriptor>();
 
-        final PropertyDescriptor[] propertyDescriptors = getPropertyDescriptors(clazz);
-        if (propertyDescriptors != null) {
             for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
 
                 final Method getter = propertyDescriptor.getReadMethod();
@@ -82,44 +66,67 @@ public class BeanIntrospector {
                     final boolean getterWithoutParams = getter.getParameterTypes().length == 0;
 
                     if (!getterFromObject && getterWithoutParams) {
-                        relevantDescriptors.add(propertyDescriptor);
+                        getters.add(propertyDescriptor);
+                        if (propertyDescriptor.getWriteMethod() != null) {
+                            gettersAndSetters.add(propertyDescriptor);
+                        }
                     }
 
                 }
 
             }
+
+            withGetters = Collections.unmodifiableList(Arrays.asList(getters.toArray(new PropertyDescriptor[getters.size()])));
+            withGettersAndSetters = Collections.unmodifiableList(Arrays.asList(gettersAndSetters.toArray(new PropertyDescriptor[gettersAndSetters
+                    .size()])));
+
         }
 
-        return relevantDescriptors;
+    }
 
+    private BeanIntrospector() {
+    }
+
+    private static Introspection getIntrospection(final Class<?> clazz) {
+        Introspection introspection = introspected.get(clazz);
+        if (introspection == null) {
+            introspection = new Introspection(getPDs(clazz));
+            final Introspection existing = introspected.putIfAbsent(clazz, introspection);
+            if (existing != null) {
+                introspection = existing;
+            }
+        }
+        return introspection;
+    }
+
+    /**
+     * Extract all {@link PropertyDescriptor}s for properties with a getter that does not come from
+     * {@link Object} and does not accept parameters.
+     * <p>
+     * The descriptors are computed once per class, the returned list is shared and cannot be
+     * modified.
+     *
+     * @param clazz The class to extract the desired {@link PropertyDescriptor}s from
+     * @return All {@link PropertyDescriptor}s for properties with a getter that does not come from
+     *         {@link Object} and does not accept parameters.
+     */
+    public static List<PropertyDescriptor> getPropertyDescriptorsWithGetters(final Class<?> clazz) {
+        return getIntrospection(clazz).withGetters;
     }
 
     /**
      * Extract all {@link PropertyDescriptor}s for properties with a getter (that does not come from
      * {@link Object} and does not accept parameters) and a setter.
+     * <p>
+     * The descriptors are computed once per class, the returned list is shared and cannot be
+     * modified.
      *
      * @param clazz The class to extract the desired {@link PropertyDescriptor}s from
      * @return All {@link PropertyDescriptor}s for properties with a getter (that does not come from
      *         {@link Object} and does not accept parameters) and a setter.
      */
     public static List<PropertyDescriptor> getPropertyDescriptorsWithGettersAndSetters(final Class<?> clazz) {
-
-        final List<PropertyDescriptor> relevantDescriptors = new ArrayList<PropertyDescriptor>();
-
-        final List<PropertyDescriptor> propertyDescriptors = getPropertyDescriptorsWithGetters(clazz);
-        for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-
-            final Method setter = propertyDescriptor.getWriteMethod();
-            final boolean setterExists = setter != null;
-
-            if (setterExists) {
-                relevantDescriptors.add(propertyDescriptor);
-            }
-
-        }
-
-        return relevantDescriptors;
-
+        return getIntrospection(clazz).withGettersAndSetters;
     }
 
     private static PropertyDescriptor[] getPDs(final Class<?> clazz) {
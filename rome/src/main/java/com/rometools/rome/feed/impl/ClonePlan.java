@@ -0,0 +1,265 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.feed.impl;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deep copy plan of a bean class, used by {@link CloneableBean}.
+ * <p>
+ * The constructor and the read/write property accessors of a class are looked up once and cached
+ * along with the plan, as are the public clone() methods of the Cloneable values found in the
+ * properties. Immutable values (Strings and primitive wrappers) are shared instead of copied.
+ */
+final class ClonePlan {
+
+    private static final ConcurrentMap<Class<?>, ClonePlan> PLANS = new ConcurrentHashMap<Class<?>, ClonePlan>();
+    private static final ConcurrentMap<Class<?>, Method> CLONE_METHODS = new ConcurrentHashMap<Class<?>, Method>();
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>();
+    private static final Class<?>[] NO_PARAMS_DEF = new Class<?>[0];
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    private final Class<?> beanClass;
+    private final Constructor<?> constructor;
+    private final PropertyDescriptor[] properties;
+
+    static {
+        IMMUTABLE_TYPES.add(Boolean.class);
+        IMMUTABLE_TYPES.add(Byte.class);
+        IMMUTABLE_TYPES.add(Character.class);
+        IMMUTABLE_TYPES.add(Double.class);
+        IMMUTABLE_TYPES.add(Float.class);
+        IMMUTABLE_TYPES.add(Integer.class);
+        IMMUTABLE_TYPES.add(Long.class);
+        IMMUTABLE_TYPES.add(Short.class);
+        IMMUTABLE_TYPES.add(String.class);
+    }
+
+    private ClonePlan(final Class<?> beanClass) {
+        this.beanClass = beanClass;
+        constructor = getPublicConstructor(beanClass);
+        final List<PropertyDescriptor> descriptors = BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(beanClass);
+        properties = descriptors.toArray(new PropertyDescriptor[descriptors.size()]);
+    }
+
+    /**
+     * Returns the copy plan of a class, creating it the first time.
+     * <p>
+     *
+     * @param beanClass class of the beans to copy.
+     * @return the copy plan of the class.
+     */
+    static ClonePlan forClass(final Class<?> beanClass) {
+        ClonePlan plan = PLANS.get(beanClass);
+        if (plan == null) {
+            final ClonePlan newPlan = new ClonePlan(beanClass);
+            plan = PLANS.putIfAbsent(beanClass, newPlan);
+            if (plan == null) {
+                plan = newPlan;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Makes a copy of a bean.
+     * <p>
+     * Ignored properties are not copied. Shared properties are copied shallowly: collections, maps
+     * and arrays are copied into new instances holding the same elements, other values are shared
+     * as they are. All other properties are copied deeply.
+     * <p>
+     *
+     * @param bean bean to copy, its class must be the class of the plan.
+     * @param ignoreProperties names of the properties not to copy.
+     * @param sharedProperties names of the properties to copy shallowly.
+     * @return the copy of the bean.
+     * @throws Exception thrown if the bean or one of its properties could not be copied.
+     */
+    Object copy(final Object bean, final Set<String> ignoreProperties, final Set<String> sharedProperties) throws Exception {
+        final Object copy = newInstance();
+        for (final PropertyDescriptor property : properties) {
+            final String name = property.getName();
+            if (!ignoreProperties.contains(name)) {
+                Object value = property.getReadMethod().invoke(bean, NO_PARAMS);
+                if (value != null) {
+                    if (sharedProperties.contains(name)) {
+                        value = shallowCopy(value);
+                    } else {
+                        value = deepCopy(value);
+                    }
+                    property.getWriteMethod().invoke(copy, new Object[] { value });
+                }
+            }
+        }
+        return copy;
+    }
+
+    private Object newInstance() throws Exception {
+        if (constructor == null) {
+            return beanClass.newInstance();
+        } else {
+            return constructor.newInstance(NO_PARAMS);
+        }
+    }
+
+    /**
+     * Makes a deep copy of a property value.
+     * <p>
+     * Arrays, collections and maps are copied element by element, immutable values are returned as
+     * they are and other Cloneable values are copied with their public clone() method.
+     * <p>
+     *
+     * @param value value to copy.
+     * @return the copy of the value.
+     * @throws Exception thrown if the value could not be copied.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T deepCopy(final T value) throws Exception {
+        if (value == null) {
+            return null;
+        }
+        final Class<?> vClass = value.getClass();
+        if (IMMUTABLE_TYPES.contains(vClass)) {
+            return value;
+        } else if (vClass == Date.class) {
+            return (T) ((Date) value).clone();
+        } else if (vClass.isArray()) {
+            return copyArray(value, true);
+        } else if (value instanceof Collection) {
+            return (T) copyCollection((Collection<Object>) value, true);
+        } else if (value instanceof Map) {
+            return (T) copyMap((Map<Object, Object>) value, true);
+        } else if (value instanceof Cloneable) {
+            return (T) getCloneMethod(vClass).invoke(value, NO_PARAMS);
+        } else {
+            throw new CloneNotSupportedException("Cannot clone a " + vClass.getName() + " object");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T shallowCopy(final T value) throws Exception {
+        if (value.getClass().isArray()) {
+            return copyArray(value, false);
+        } else if (value instanceof Collection) {
+            return (T) copyCollection((Collection<Object>) value, false);
+        } else if (value instanceof Map) {
+            return (T) copyMap((Map<Object, Object>) value, false);
+        } else {
+            return value;
+        }
+    }
+
+    private static <T> T copyArray(final T array, final boolean deep) throws Exception {
+        final Class<?> elementClass = array.getClass().getComponentType();
+        final int length = Array.getLength(array);
+        @SuppressWarnings("unchecked")
+        final T newArray = (T) Array.newInstance(elementClass, length);
+        if (!deep || elementClass.isPrimitive()) {
+            System.arraycopy(array, 0, newArray, 0, length);
+        } else {
+            final Object[] source = (Object[]) array;
+            final Object[] target = (Object[]) newArray;
+            for (int i = 0; i < length; i++) {
+                target[i] = deepCopy(source[i]);
+            }
+        }
+        return newArray;
+    }
+
+    private static <T> Collection<T> copyCollection(final Collection<T> collection, final boolean deep) throws Exception {
+        final Collection<T> newCollection = newCollection(collection);
+        for (final T item : collection) {
+            if (deep) {
+                newCollection.add(deepCopy(item));
+            } else {
+                newCollection.add(item);
+            }
+        }
+        return newCollection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Collection<E> newCollection(final Collection<E> collection) throws InstantiationException, IllegalAccessException {
+        if (collection instanceof SortedSet) {
+            return new TreeSet<E>();
+        } else if (collection instanceof Set) {
+            return new HashSet<E>();
+        } else if (collection instanceof List) {
+            return new ArrayList<E>(collection.size());
+        } else {
+            return collection.getClass().newInstance();
+        }
+    }
+
+    private static <K, V> Map<K, V> copyMap(final Map<K, V> map, final boolean deep) throws Exception {
+        final Map<K, V> newMap;
+        if (map instanceof SortedMap) {
+            newMap = new TreeMap<K, V>();
+        } else {
+            newMap = new HashMap<K, V>();
+        }
+        for (final Entry<K, V> entry : map.entrySet()) {
+            if (deep) {
+                newMap.put(deepCopy(entry.getKey()), deepCopy(entry.getValue()));
+            } else {
+                newMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return newMap;
+    }
+
+    private static Method getCloneMethod(final Class<?> type) throws Exception {
+        Method cloneMethod = CLONE_METHODS.get(type);
+        if (cloneMethod == null) {
+            cloneMethod = type.getMethod("clone", NO_PARAMS_DEF);
+            if (!Modifier.isPublic(cloneMethod.getModifiers())) {
+                throw new CloneNotSupportedException("Cannot clone a " + type + " object, clone() is not public");
+            }
+            CLONE_METHODS.putIfAbsent(type, cloneMethod);
+        }
+        return cloneMethod;
+    }
+
+    private static Constructor<?> getPublicConstructor(final Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return null;
+        }
+        try {
+            return type.getConstructor(NO_PARAMS_DEF);
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
@@ -17,7 +17,6 @@
 package com.rometools.rome.feed.impl;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -44,6 +43,7 @@ public class CopyFromHelper {
     private final Class<? extends CopyFrom> beanInterfaceClass;
     private final Map<String, Class<?>> baseInterfaceMap; // ENTRIES(propertyName,interface.class)
     private final Map<Class<? extends CopyFrom>, Class<?>> baseImplMap; // ENTRIES(interface.class,implementation.class)
+    private volatile PropertyDescriptor[] copyFromProperties;
 
     static {
         BASIC_TYPES.add(Boolean.class);
@@ -69,25 +69,14 @@ public class CopyFromHelper {
 
         try {
 
-            final List<PropertyDescriptor> propertyDescriptors = BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(beanInterfaceClass);
-            for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+            for (final PropertyDescriptor propertyDescriptor : getCopyFromProperties()) {
 
-                final String propertyName = propertyDescriptor.getName();
-
-                if (baseInterfaceMap.containsKey(propertyName)) {
-
-                    final Method getter = propertyDescriptor.getReadMethod();
-
-                    // only copies properties defined as copyFrom-able
-                    Object value = getter.invoke(source, NO_PARAMS);
-                    if (value != null) {
-
-                        final Method setter = propertyDescriptor.getWriteMethod();
-
-                        final Class<?> baseInterface = baseInterfaceMap.get(propertyName);
-                        value = doCopy(value, baseInterface);
-                        setter.invoke(target, new Object[] { value });
-                    }
+                // only copies properties defined as copyFrom-able
+                Object value = propertyDescriptor.getReadMethod().invoke(source, NO_PARAMS);
+                if (value != null) {
+                    final Class<?> baseInterface = baseInterfaceMap.get(propertyDescriptor.getName());
+                    value = doCopy(value, baseInterface);
+                    propertyDescriptor.getWriteMethod().invoke(target, new Object[] { value });
                 }
 
             }
@@ -99,11 +88,27 @@ public class CopyFromHelper {
 
     }
 
+    private PropertyDescriptor[] getCopyFromProperties() {
+        PropertyDescriptor[] properties = copyFromProperties;
+        if (properties == null) {
+            final List<PropertyDescriptor> copyFrom = new ArrayList<PropertyDescriptor>();
+            for (final PropertyDescriptor propertyDescriptor : BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(beanInterfaceClass)) {
+                if (baseInterfaceMap.containsKey(propertyDescriptor.getName())) {
+                    copyFrom.add(propertyDescriptor);
+                }
+            }
+            properties = copyFrom.toArray(new PropertyDescriptor[copyFrom.size()]);
+            copyFromProperties = properties;
+        }
+        return properties;
+    }
+
     private CopyFrom createInstance(final Class<? extends CopyFrom> interfaceClass) throws Exception {
-        if (baseImplMap.get(interfaceClass) == null) {
+        final Class<?> implClass = baseImplMap.get(interfaceClass);
+        if (implClass == null) {
             return null;
         } else {
-            return (CopyFrom) baseImplMap.get(interfaceClass).newInstance();
+            return (CopyFrom) implClass.newInstance();
         }
     }
 
@@ -119,8 +124,8 @@ public class CopyFromHelper {
                 value = (T) this.<Object, Object> doCopyMap((Map<Object, Object>) value, baseInterface);
             } else if (isBasicType(vClass)) {
                 // value = value; // nothing to do here
-                if (value instanceof Date) { // because Date it is not inmutable
-                    value = (T) ((Date) value).clone();
+                if (vClass == Date.class) { // because Date it is not inmutable
+                    value = (T) new Date(((Date) value).getTime());
                 }
             } else { // it goes CopyFrom
                 if (value instanceof CopyFrom) {
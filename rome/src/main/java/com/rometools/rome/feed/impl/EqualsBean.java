@@ -19,7 +19,9 @@ package com.rometools.rome.feed.impl;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Provides deep <b>Bean</b> equals() and hashCode() functionality for Java Beans.
@@ -27,7 +29,8 @@ import java.util.List;
  * It works on all read/write properties, recursively. It support all primitive types, Strings,
  * Collections, bean-like objects and multi-dimensional arrays of any of them.
  * <p>
- * The hashcode is calculated by getting the hashcode of the Bean String representation.
+ * The hashcode is calculated out of the hashcodes of the property values, the same properties
+ * equals() compares.
  */
 public class EqualsBean implements Serializable {
 
@@ -120,6 +123,22 @@ public class EqualsBean implements Serializable {
      *
      */
     public boolean beanEquals(final Object obj) {
+        return beanEquals(obj, Collections.<String> emptySet());
+    }
+
+    /**
+     * Indicates whether some other object is "equal to" the object passed in the constructor,
+     * leaving some properties out of the comparison.
+     * <p>
+     * Neither bean is modified, so this can be used while other threads read the beans.
+     * <p>
+     *
+     * @param obj he reference object with which to compare.
+     * @param ignoredProperties names of the properties not to compare.
+     * @return <b>true</b> if the object passed in the constructor is equal to the 'obj' object.
+     *
+     */
+    public boolean beanEquals(final Object obj, final Set<String> ignoredProperties) {
 
         final Object bean1 = this.obj;
         final Object bean2 = obj;
@@ -139,6 +158,10 @@ public class EqualsBean implements Serializable {
                 final List<PropertyDescriptor> propertyDescriptors = BeanIntrospector.getPropertyDescriptorsWithGetters(beanClass);
                 for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
 
+                    if (ignoredProperties.contains(propertyDescriptor.getName())) {
+                        continue;
+                    }
+
                     final Method getter = propertyDescriptor.getReadMethod();
 
                     final Object value1 = getter.invoke(bean1, NO_PARAMS);
@@ -165,7 +188,7 @@ public class EqualsBean implements Serializable {
      * <p>
      * It follows the contract defined by the Object hashCode() method.
      * <p>
-     * The hashcode is calculated by getting the hashcode of the Bean String representation.
+     * The hashcode is calculated out of the hashcodes of the property values.
      * <p>
      * To be used by classes extending EqualsBean. Although it works also for classes using
      * EqualsBean in a delegation pattern, for correctness those classes should use the
@@ -185,7 +208,9 @@ public class EqualsBean implements Serializable {
      * <p>
      * It follows the contract defined by the Object hashCode() method.
      * <p>
-     * The hashcode is calculated by getting the hashcode of the Bean String representation.
+     * The hashcode is calculated out of the hashcodes of the property values, arrays are hashed
+     * element by element as they are compared by equals(). No String representation of the bean
+     * is built.
      * <p>
      * To be used by classes using EqualsBean in a delegation pattern,
      *
@@ -195,7 +220,53 @@ public class EqualsBean implements Serializable {
      *
      */
     public int beanHashCode() {
-        return obj.toString().hashCode();
+        return beanHashCode(Collections.<String> emptySet());
+    }
+
+    /**
+     * Returns the hashcode for the object passed in the constructor, leaving some properties out.
+     * <p>
+     * To be consistent with equals(), the same properties must be left out of
+     * {@link #beanEquals(Object, Set)}.
+     * <p>
+     *
+     * @param ignoredProperties names of the properties not to hash.
+     * @return the hashcode of the bean object.
+     *
+     */
+    public int beanHashCode(final Set<String> ignoredProperties) {
+        int hashCode = 1;
+        try {
+            final List<PropertyDescriptor> propertyDescriptors = BeanIntrospector.getPropertyDescriptorsWithGetters(beanClass);
+            for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+                if (ignoredProperties.contains(propertyDescriptor.getName())) {
+                    continue;
+                }
+                hashCode = 31 * hashCode + doHashCode(propertyDescriptor.getReadMethod().invoke(obj, NO_PARAMS));
+            }
+        } catch (final Exception ex) {
+            throw new RuntimeException("Could not execute hashCode()", ex);
+        }
+        return hashCode;
+    }
+
+    private int doHashCode(final Object obj) {
+        if (obj == null) {
+            return 0;
+        } else if (obj.getClass().isArray()) {
+            return hashCodeArray(obj);
+        } else {
+            return obj.hashCode();
+        }
+    }
+
+    private int hashCodeArray(final Object array) {
+        int hashCode = 1;
+        final int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            hashCode = 31 * hashCode + doHashCode(Array.get(array, i));
+        }
+        return hashCode;
     }
 
     private boolean doEquals(final Object obj1, final Object obj2) {
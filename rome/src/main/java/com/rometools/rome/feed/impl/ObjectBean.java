@@ -85,6 +85,20 @@ public class ObjectBean implements Serializable, Cloneable {
         return cloneableBean.beanClone();
     }
 
+    /**
+     * Creates a 'bean' clone of the object sharing the contents of some of its properties.
+     * <p>
+     *
+     * @see CloneableBean#beanClone(Set)
+     * @param sharedProperties names of the properties to copy shallowly.
+     * @return a clone of the object.
+     * @throws CloneNotSupportedException thrown if an element of the object cannot be cloned.
+     *
+     */
+    public Object clone(final Set<String> sharedProperties) throws CloneNotSupportedException {
+        return cloneableBean.beanClone(sharedProperties);
+    }
+
     /**
      * Indicates whether some other object is "equal to" this one as defined by the Object equals()
      * method.
@@ -113,6 +127,34 @@ public class ObjectBean implements Serializable, Cloneable {
         return equalsBean.beanHashCode();
     }
 
+    /**
+     * Indicates whether some other object is "equal to" this one, leaving some properties out of
+     * the comparison.
+     * <p>
+     *
+     * @see EqualsBean#beanEquals(Object, Set)
+     * @param other he reference object with which to compare.
+     * @param ignoredProperties names of the properties not to compare.
+     * @return <b>true</b> if 'this' object is equal to the 'other' object.
+     *
+     */
+    public boolean equals(final Object other, final Set<String> ignoredProperties) {
+        return equalsBean.beanEquals(other, ignoredProperties);
+    }
+
+    /**
+     * Returns a hashcode value for the object, leaving some properties out.
+     * <p>
+     *
+     * @see EqualsBean#beanHashCode(Set)
+     * @param ignoredProperties names of the properties not to hash.
+     * @return the hashcode of the bean object.
+     *
+     */
+    public int hashCode(final Set<String> ignoredProperties) {
+        return equalsBean.beanHashCode(ignoredProperties);
+    }
+
     /**
      * Returns the String representation for the object.
      * <p>
@@ -16,15 +16,15 @@
  */
 package com.rometools.rome.feed.impl;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Array;
-import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.Stack;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,18 +34,30 @@ import org.slf4j.LoggerFactory;
  * <p>
  * It works on all read/write properties, recursively. It support all primitive types, Strings,
  * Collections, ToString objects and multi-dimensional arrays of any of them.
+ * <p>
+ * Nested beans using a ToStringBean write their properties straight into the output of the bean
+ * being rendered. The output can be limited in depth and length, see
+ * {@link #appendTo(Appendable, int, int)}.
  */
 public class ToStringBean implements Serializable {
 
     private static final long serialVersionUID = 1L;
     private static final Logger LOG = LoggerFactory.getLogger(ToStringBean.class);
 
-    private static final ThreadLocal<Stack<String[]>> PREFIX_TL = new ThreadLocal<Stack<String[]>>();
+    /**
+     * No limit of depth or length.
+     */
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private static final String TRUNCATED = "...";
+
+    private static final ThreadLocal<Rendering> RENDERING = new ThreadLocal<Rendering>();
 
     private static final Object[] NO_PARAMS = new Object[0];
 
     private final Class<?> beanClass;
     private final Object obj;
+    private final Set<String> ignoredProperties;
 
     /**
      * Default constructor.
@@ -59,6 +71,7 @@ public class ToStringBean implements Serializable {
     protected ToStringBean(final Class<?> beanClass) {
         this.beanClass = beanClass;
         obj = this;
+        ignoredProperties = Collections.emptySet();
     }
 
     /**
@@ -87,8 +100,27 @@ public class ToStringBean implements Serializable {
      *
      */
     public ToStringBean(final Class<?> beanClass, final Object obj) {
+        this(beanClass, obj, null);
+    }
+
+    /**
+     * Creates a ToStringBean to be used in a delegation pattern, leaving some properties out of
+     * the String representation.
+     * <p>
+     *
+     * @param beanClass indicates the class to scan for properties, normally an interface class.
+     * @param obj object bean to create String representation.
+     * @param ignoredProperties names of the properties not to write, null for none.
+     *
+     */
+    public ToStringBean(final Class<?> beanClass, final Object obj, final Set<String> ignoredProperties) {
         this.beanClass = beanClass;
         this.obj = obj;
+        if (ignoredProperties == null) {
+            this.ignoredProperties = Collections.emptySet();
+        } else {
+            this.ignoredProperties = ignoredProperties;
+        }
     }
 
     /**
@@ -102,61 +134,155 @@ public class ToStringBean implements Serializable {
      */
     @Override
     public String toString() {
-        Stack<String[]> stack = PREFIX_TL.get();
-        boolean needStackCleanup = false;
-
-        if (stack == null) {
-            stack = new Stack<String[]>();
-            PREFIX_TL.set(stack);
-            needStackCleanup = true;
+        final Rendering rendering = RENDERING.get();
+        if (rendering != null && rendering.prefixPending) {
+            // property of a bean being rendered, goes straight to its output
+            rendering.prefixPending = false;
+            renderNested(rendering);
+            return "";
         }
-
-        final String[] tsInfo;
-        if (stack.isEmpty()) {
-            tsInfo = null;
-        } else {
-            tsInfo = stack.peek();
-        }
-        final String prefix;
-        if (tsInfo == null) {
-            final String className = obj.getClass().getName();
-            prefix = className.substring(className.lastIndexOf(".") + 1);
-        } else {
-            prefix = tsInfo[0];
-            tsInfo[1] = prefix;
+        final StringBuilder sb = new StringBuilder(128);
+        try {
+            appendTo(sb, NO_LIMIT, NO_LIMIT);
+        } catch (final IOException e) {
+            // a StringBuilder does not throw IOExceptions
+            throw new IllegalStateException(e);
         }
+        return sb.toString();
+    }
 
-        final String result = toString(prefix);
+    /**
+     * Appends the String representation of the bean given in the constructor to an Appendable.
+     * <p>
+     * The representation is the one returned by {@link #toString()}, it is written in a single
+     * pass without building intermediate Strings.
+     * <p>
+     *
+     * @param out the Appendable to write to.
+     * @throws IOException thrown if the Appendable could not be written.
+     *
+     */
+    public void appendTo(final Appendable out) throws IOException {
+        appendTo(out, NO_LIMIT, NO_LIMIT);
+    }
 
-        if (needStackCleanup) {
-          PREFIX_TL.remove();
+    /**
+     * Appends the String representation of the bean given in the constructor to an Appendable,
+     * within limits.
+     * <p>
+     * Beans nested deeper than maxDepth are written as <code>prefix=...</code> instead of their
+     * properties. Output is cut after maxLength characters and then ends with <code>...</code>.
+     * <p>
+     *
+     * @param out the Appendable to write to.
+     * @param maxDepth how many levels of nested beans to write, {@link #NO_LIMIT} for all.
+     * @param maxLength how many characters to write at most, {@link #NO_LIMIT} for all.
+     * @throws IOException thrown if the Appendable could not be written.
+     *
+     */
+    public void appendTo(final Appendable out, final int maxDepth, final int maxLength) throws IOException {
+        final Rendering rendering = new Rendering(out, maxDepth, maxLength);
+        rendering.path.append(getSimpleName(obj));
+        final Rendering previous = RENDERING.get();
+        RENDERING.set(rendering);
+        try {
+            render(rendering);
+        } finally {
+            restore(previous);
         }
-
-        return result;
+        rendering.done();
     }
 
     /**
-     * Returns the String representation of the bean given in the constructor.
+     * Appends the String representation of any object to an Appendable, within limits.
+     * <p>
+     * Objects whose toString() method delegates to a ToStringBean, such as feeds and entries, are
+     * written in a single pass without building intermediate Strings. Other objects are written
+     * as returned by their toString() method.
      * <p>
      *
-     * @param prefix to use for bean properties.
-     * @return bean object String representation.
+     * @param out the Appendable to write to.
+     * @param bean the object to write.
+     * @param maxDepth how many levels of nested beans to write, {@link #NO_LIMIT} for all.
+     * @param maxLength how many characters to write at most, {@link #NO_LIMIT} for all.
+     * @throws IOException thrown if the Appendable could not be written.
      *
      */
-    private String toString(final String prefix) {
+    public static void appendTo(final Appendable out, final Object bean, final int maxDepth, final int maxLength) throws IOException {
+        final Rendering rendering = new Rendering(out, maxDepth, maxLength);
+        // the bean itself is rendered as a nested bean
+        rendering.depth = -1;
+        final Rendering previous = RENDERING.get();
+        RENDERING.set(rendering);
+        try {
+            if (bean == null) {
+                rendering.append("null");
+            } else {
+                rendering.path.append(getSimpleName(bean));
+                rendering.prefixPending = true;
+                final String s = bean.toString();
+                rendering.prefixPending = false;
+                rendering.append(String.valueOf(s));
+            }
+        } finally {
+            restore(previous);
+        }
+        rendering.done();
+    }
+
+    private static void restore(final Rendering previous) {
+        if (previous == null) {
+            RENDERING.remove();
+        } else {
+            RENDERING.set(previous);
+        }
+    }
+
+    private static String getSimpleName(final Object bean) {
+        final String className = bean.getClass().getName();
+        return className.substring(className.lastIndexOf(".") + 1);
+    }
+
+    private void renderNested(final Rendering rendering) {
+        if (rendering.depth >= rendering.maxDepth) {
+            rendering.append(rendering.path).append("=...\n");
+        } else {
+            rendering.depth++;
+            try {
+                render(rendering);
+            } finally {
+                rendering.depth--;
+            }
+        }
+    }
 
-        final StringBuffer sb = new StringBuffer(128);
+    private void render(final Rendering rendering) {
+
+        final StringBuilder path = rendering.path;
 
         try {
 
             final List<PropertyDescriptor> propertyDescriptors = BeanIntrospector.getPropertyDescriptorsWithGetters(beanClass);
             for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
 
-                final String propertyName = propertyDescriptor.getName();
-                final Method getter = propertyDescriptor.getReadMethod();
+                if (rendering.full) {
+                    break;
+                }
+
+                // ignoredProperties is null in beans serialized before it was added
+                if (ignoredProperties != null && ignoredProperties.contains(propertyDescriptor.getName())) {
+                    continue;
+                }
+
+                final Object value = propertyDescriptor.getReadMethod().invoke(obj, NO_PARAMS);
 
-                final Object value = getter.invoke(obj, NO_PARAMS);
-                printProperty(sb, prefix + "." + propertyName, value);
+                final int length = path.length();
+                path.append('.').append(propertyDescriptor.getName());
+                try {
+                    printProperty(rendering, value);
+                } finally {
+                    path.setLength(length);
+                }
 
             }
 
@@ -164,119 +290,180 @@ public class ToStringBean implements Serializable {
             LOG.error("Error while generating toString", e);
             final Class<? extends Object> clazz = obj.getClass();
             final String errorMessage = e.getMessage();
-            sb.append(String.format("\n\nEXCEPTION: Could not complete %s.toString(): %s\n", clazz, errorMessage));
+            rendering.append(String.format("\n\nEXCEPTION: Could not complete %s.toString(): %s\n", clazz, errorMessage));
         }
 
-        return sb.toString();
     }
 
-    private void printProperty(final StringBuffer sb, final String prefix, final Object value) {
+    private void printProperty(final Rendering rendering, final Object value) {
+
+        final StringBuilder path = rendering.path;
 
         if (value == null) {
 
-            sb.append(prefix).append("=null\n");
+            rendering.append(path).append("=null\n");
 
         } else if (value.getClass().isArray()) {
 
-            printArrayProperty(sb, prefix, value);
+            final int length = Array.getLength(value);
+            for (int i = 0; i < length && !rendering.full; i++) {
+                final int pathLength = path.length();
+                path.append('[').append(i).append(']');
+                try {
+                    printProperty(rendering, Array.get(value, i));
+                } finally {
+                    path.setLength(pathLength);
+                }
+            }
 
         } else if (value instanceof Map) {
 
-            @SuppressWarnings("unchecked")
-            final Map<Object, Object> map = (Map<Object, Object>) value;
-            final Set<Entry<Object, Object>> entries = map.entrySet();
-
-            if (entries.isEmpty()) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            if (map.isEmpty()) {
 
-                sb.append(prefix).append("=[]\n");
+                rendering.append(path).append("=[]\n");
 
             } else {
 
-                for (final Entry<Object, Object> entry : entries) {
-
-                    final Object eKey = entry.getKey();
-                    final Object eValue = entry.getValue();
-                    final String ePrefix = String.format("%s[%s]", prefix, eKey);
-
-                    final String[] tsInfo = new String[2];
-                    tsInfo[0] = ePrefix;
-                    final Stack<String[]> stack = PREFIX_TL.get();
-                    stack.push(tsInfo);
-                    final String s;
-                    if (eValue == null) {
-                        s = "null";
-                    } else {
-                        s = eValue.toString();
+                for (final Entry<?, ?> entry : map.entrySet()) {
+                    if (rendering.full) {
+                        break;
                     }
-                    stack.pop();
-                    if (tsInfo[1] == null) {
-                        sb.append(ePrefix).append("=").append(s).append("\n");
-                    } else {
-                        sb.append(s);
+                    final int pathLength = path.length();
+                    path.append('[').append(entry.getKey()).append(']');
+                    try {
+                        printValue(rendering, entry.getValue());
+                    } finally {
+                        path.setLength(pathLength);
                     }
-
                 }
 
             }
 
         } else if (value instanceof Collection) {
 
-            @SuppressWarnings("unchecked")
-            final Collection<Object> collection = (Collection<Object>) value;
+            final Collection<?> collection = (Collection<?>) value;
             if (collection.isEmpty()) {
 
-                sb.append(prefix).append("=[]\n");
+                rendering.append(path).append("=[]\n");
 
             } else {
 
                 int c = 0;
-
                 for (final Object cValue : collection) {
-
-                    final String cPrefix = String.format("%s[%s]", prefix, c++);
-
-                    final String[] tsInfo = new String[2];
-                    tsInfo[0] = cPrefix;
-                    final Stack<String[]> stack = PREFIX_TL.get();
-                    stack.push(tsInfo);
-                    final String s;
-                    if (cValue == null) {
-                        s = "null";
-                    } else {
-                        s = cValue.toString();
+                    if (rendering.full) {
+                        break;
                     }
-                    stack.pop();
-                    if (tsInfo[1] == null) {
-                        sb.append(cPrefix).append("=").append(s).append("\n");
-                    } else {
-                        sb.append(s);
+                    final int pathLength = path.length();
+                    path.append('[').append(c++).append(']');
+                    try {
+                        printValue(rendering, cValue);
+                    } finally {
+                        path.setLength(pathLength);
                     }
                 }
+
             }
 
         } else {
 
-            final String[] tsInfo = new String[2];
-            tsInfo[0] = prefix;
-            final Stack<String[]> stack = PREFIX_TL.get();
-            stack.push(tsInfo);
-            final String s = value.toString();
-            stack.pop();
-            if (tsInfo[1] == null) {
-                sb.append(prefix).append("=").append(s).append("\n");
-            } else {
-                sb.append(s);
-            }
+            printValue(rendering, value);
+
+        }
+    }
+
+    private void printValue(final Rendering rendering, final Object value) {
+
+        if (value == null) {
+            rendering.append(rendering.path).append("=null\n");
+            return;
+        }
+
+        // beans using a ToStringBean take the pending prefix and write their properties directly
+        rendering.prefixPending = true;
+        final String s;
+        final boolean prefixTaken;
+        try {
+            s = value.toString();
+        } finally {
+            prefixTaken = !rendering.prefixPending;
+            rendering.prefixPending = false;
+        }
 
+        if (prefixTaken) {
+            rendering.append(String.valueOf(s));
+        } else {
+            rendering.append(rendering.path).append('=').append(String.valueOf(s)).append('\n');
         }
+
     }
 
-    private void printArrayProperty(final StringBuffer sb, final String prefix, final Object array) {
-        final int length = Array.getLength(array);
-        for (int i = 0; i < length; i++) {
-            final Object obj = Array.get(array, i);
-            printProperty(sb, String.format("%s[%s]", prefix, i), obj);
+    /**
+     * State of a rendering in progress: output, limits and path of the current property.
+     */
+    private static final class Rendering {
+
+        private final Appendable out;
+        private final int maxDepth;
+        private final int maxLength;
+        private final StringBuilder path = new StringBuilder(64);
+
+        private boolean prefixPending;
+        private int depth;
+        private int length;
+        private boolean full;
+        private IOException error;
+
+        Rendering(final Appendable out, final int maxDepth, final int maxLength) {
+            this.out = out;
+            this.maxDepth = maxDepth;
+            this.maxLength = maxLength;
+        }
+
+        Rendering append(final CharSequence s) {
+            if (!full) {
+                try {
+                    final int remaining = maxLength - length;
+                    if (s.length() <= remaining) {
+                        out.append(s);
+                        length += s.length();
+                    } else {
+                        out.append(s, 0, remaining).append(TRUNCATED);
+                        length = maxLength;
+                        full = true;
+                    }
+                } catch (final IOException e) {
+                    error = e;
+                    full = true;
+                }
+            }
+            return this;
+        }
+
+        Rendering append(final char c) {
+            if (!full) {
+                try {
+                    if (length < maxLength) {
+                        out.append(c);
+                        length++;
+                    } else {
+                        out.append(TRUNCATED);
+                        full = true;
+                    }
+                } catch (final IOException e) {
+                    error = e;
+                    full = true;
+                }
+            }
+            return this;
         }
+
+        void done() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+        }
+
     }
 
 }
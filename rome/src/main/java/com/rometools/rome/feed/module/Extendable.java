@@ -45,6 +45,11 @@ public interface Extendable {
     /**
      * Sets the entry modules.
      * <p>
+     * The beans of ROME copy the given list unless it is a
+     * {@link com.rometools.rome.feed.module.impl.ModuleList}, such as the one returned by
+     * {@link #getModules()}: modules added to or removed from the given list afterwards are not
+     * seen by the object. Change the list returned by {@link #getModules()} instead.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the entry modules to set, an empty list
      *            or <b>null</b> if none.
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.feed.module.impl;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.rometools.rome.feed.module.Module;
+
+/**
+ * List of modules indexed by module URI, used by the beans supporting modules.
+ * <p>
+ * The list holds its own copy of the modules it is created with, so every change goes through it.
+ * {@link #getModule(String)} looks modules up in a table built on the first lookup and kept until
+ * the list changes.
+ * <p>
+ * Like the beans holding it, the list is not thread safe.
+ */
+public class ModuleList extends AbstractList<Module> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Module> modules;
+    private transient Map<String, Module> index;
+
+    /**
+     * Creates an empty list.
+     */
+    public ModuleList() {
+        modules = new ArrayList<Module>();
+    }
+
+    /**
+     * Creates a list holding a copy of the given modules.
+     * <p>
+     * Changes made to the given list later on are not seen by this one.
+     * <p>
+     *
+     * @param modules the modules to copy.
+     */
+    public ModuleList(final List<Module> modules) {
+        this.modules = new ArrayList<Module>(modules);
+    }
+
+    /**
+     * Copies a list of modules into a ModuleList unless it already is one.
+     * <p>
+     *
+     * @param modules the list of modules to copy, may be <b>null</b>.
+     * @return the module list, <b>null</b> if the given list is <b>null</b>.
+     */
+    public static ModuleList wrap(final List<Module> modules) {
+        if (modules == null || modules instanceof ModuleList) {
+            return (ModuleList) modules;
+        }
+        return new ModuleList(modules);
+    }
+
+    /**
+     * Copies a list of modules into a ModuleList, creating an empty one if the list is <b>null</b>.
+     * <p>
+     *
+     * @param modules the list of modules to copy, may be <b>null</b>.
+     * @return the module list, never <b>null</b>.
+     */
+    public static ModuleList createWhenNull(final List<Module> modules) {
+        if (modules == null) {
+            return new ModuleList();
+        }
+        return wrap(modules);
+    }
+
+    /**
+     * Returns the first module with the given URI.
+     * <p>
+     *
+     * @param uri the URI of the module.
+     * @return the module, <b>null</b> if none.
+     */
+    public Module getModule(final String uri) {
+        if (index == null) {
+            final Map<String, Module> byUri = new HashMap<String, Module>();
+            for (final Module module : modules) {
+                if (!byUri.containsKey(module.getUri())) {
+                    byUri.put(module.getUri(), module);
+                }
+            }
+            index = byUri;
+        }
+        return index.get(uri);
+    }
+
+    @Override
+    public Module get(final int index) {
+        return modules.get(index);
+    }
+
+    @Override
+    public int size() {
+        return modules.size();
+    }
+
+    @Override
+    public Module set(final int index, final Module module) {
+        final Module replaced = modules.set(index, module);
+        this.index = null;
+        return replaced;
+    }
+
+    @Override
+    public void add(final int index, final Module module) {
+        modules.add(index, module);
+        this.index = null;
+        modCount++;
+    }
+
+    @Override
+    public Module remove(final int index) {
+        final Module removed = modules.remove(index);
+        this.index = null;
+        modCount++;
+        return removed;
+    }
+
+}
@@ -16,7 +16,6 @@
  */
 package com.rometools.rome.feed.module.impl;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -34,7 +33,8 @@ public class ModuleUtils {
     public static List<Module> cloneModules(final List<Module> modules) {
         List<Module> cModules = null;
         if (modules != null) {
-            cModules = new ArrayList<Module>();
+            // the beans keep a ModuleList as is instead of copying it
+            cModules = new ModuleList();
             for (final Module module : modules) {
                 try {
                     final Module c = (Module) module.clone();
@@ -50,11 +50,15 @@ public class ModuleUtils {
     }
 
     /**
-     *
+     * Returns the first module with the given URI, looked up in the index of the list if it is a
+     * {@link ModuleList}.
      *
      * @since 1.5 Changed to return the first, not the last.
      */
     public static Module getModule(final List<Module> modules, final String uri) {
+        if (modules instanceof ModuleList) {
+            return ((ModuleList) modules).getModule(uri);
+        }
         Module searchedModule = null;
         if (modules != null) {
             for (final Module module : modules) {
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.utils.Dates;
 import com.rometools.utils.Lists;
@@ -602,12 +603,15 @@ public class Channel extends WireFeed {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
      * Sets the channel modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the channel.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the channel modules to set, an empty list
      *            or <b>null</b> if none.
@@ -615,7 +619,7 @@ public class Channel extends WireFeed {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
@@ -18,14 +18,17 @@
 package com.rometools.rome.feed.rss;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import org.jdom2.Element;
 
 import com.rometools.rome.feed.impl.ObjectBean;
 import com.rometools.rome.feed.module.Extendable;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.utils.Dates;
 import com.rometools.utils.Lists;
@@ -42,6 +45,8 @@ public class Item implements Cloneable, Serializable, Extendable {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Set<String> FOREIGN_MARKUP = Collections.singleton("foreignMarkup");
+
     private final ObjectBean objBean;
 
     private String title;
@@ -92,12 +97,7 @@ public class Item implements Cloneable, Serializable, Extendable {
             return false;
         }
         // can't use foreign markup in equals, due to JDOM equals impl
-        final List<Element> fm = getForeignMarkup();
-        setForeignMarkup(((Item) other).getForeignMarkup());
-        final boolean ret = objBean.equals(other);
-        // restore foreign markup
-        setForeignMarkup(fm);
-        return ret;
+        return objBean.equals(other, FOREIGN_MARKUP);
     }
 
     /**
@@ -111,7 +111,8 @@ public class Item implements Cloneable, Serializable, Extendable {
      */
     @Override
     public int hashCode() {
-        return objBean.hashCode();
+        // foreign markup is not used in equals, it is not used in hashCode either
+        return objBean.hashCode(FOREIGN_MARKUP);
     }
 
     /**
@@ -377,12 +378,15 @@ public class Item implements Cloneable, Serializable, Extendable {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
      * Sets the item modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the item.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the item modules to set, an empty list or
      *            <b>null</b> if none.
@@ -390,7 +394,7 @@ public class Item implements Cloneable, Serializable, Extendable {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
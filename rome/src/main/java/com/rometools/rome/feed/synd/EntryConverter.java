@@ -0,0 +1,40 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.feed.synd;
+
+import com.rometools.rome.feed.WireFeed;
+
+/**
+ * Converter that is also able to convert the items (or entries) of a real feed one at a time.
+ * <p>
+ * It allows entries to be converted while they are read, without holding all of them in memory.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface EntryConverter extends Converter {
+
+    /**
+     * Creates a SyndEntryImpl out of an item (or entry) of a real feed.
+     * <p>
+     *
+     * @param feed real feed the item belongs to, it may not contain any items.
+     * @param wireEntry the item (or entry) to convert, an Item for RSS or an Entry for Atom.
+     * @param preserveWireEntry set to true to make the item available in the SyndEntry.
+     * @return the SyndEntryImpl built out of the item.
+     *
+     */
+    public SyndEntry createSyndEntry(WireFeed feed, Object wireEntry, boolean preserveWireEntry);
+
+}
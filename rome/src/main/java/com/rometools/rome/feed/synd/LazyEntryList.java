@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.feed.synd;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rometools.rome.feed.WireFeed;
+
+/**
+ * List of SyndEntryImpl elements converted from the items (or entries) of a real feed on first
+ * access. To be directly used by the SyndFeedImpl class only.
+ * <p>
+ * Each entry is converted the first time it is read and kept for the following reads. The first
+ * modification of the list converts all remaining entries, the list then behaves as an ArrayList.
+ * <p>
+ * Like the SyndFeedImpl holding it, the list is not thread safe. It is serialized as an ArrayList
+ * of all the entries.
+ */
+class LazyEntryList extends AbstractList<SyndEntry> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient EntryConverter converter;
+    private final transient WireFeed feed;
+    private final transient List<?> wireEntries;
+    private final transient boolean preserveWireEntries;
+    private transient SyndEntry[] converted;
+    private List<SyndEntry> entries;
+
+    LazyEntryList(final EntryConverter converter, final WireFeed feed, final List<?> wireEntries, final boolean preserveWireEntries) {
+        this.converter = converter;
+        this.feed = feed;
+        this.wireEntries = wireEntries;
+        this.preserveWireEntries = preserveWireEntries;
+        converted = new SyndEntry[wireEntries.size()];
+    }
+
+    @Override
+    public SyndEntry get(final int index) {
+        if (entries != null) {
+            return entries.get(index);
+        }
+        SyndEntry entry = converted[index];
+        if (entry == null) {
+            entry = converter.createSyndEntry(feed, wireEntries.get(index), preserveWireEntries);
+            converted[index] = entry;
+        }
+        return entry;
+    }
+
+    @Override
+    public int size() {
+        if (entries != null) {
+            return entries.size();
+        }
+        return converted.length;
+    }
+
+    @Override
+    public SyndEntry set(final int index, final SyndEntry entry) {
+        return getEntries().set(index, entry);
+    }
+
+    @Override
+    public void add(final int index, final SyndEntry entry) {
+        getEntries().add(index, entry);
+        modCount++;
+    }
+
+    @Override
+    public SyndEntry remove(final int index) {
+        final SyndEntry entry = getEntries().remove(index);
+        modCount++;
+        return entry;
+    }
+
+    /**
+     * Indicates whether all the entries have been converted.
+     * <p>
+     *
+     * @return <b>true</b> if no entry is left to convert.
+     */
+    boolean isConverted() {
+        if (entries != null) {
+            return true;
+        }
+        for (final SyndEntry entry : converted) {
+            if (entry == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // converts the remaining entries, the list is backed by an ArrayList from then on
+    private List<SyndEntry> getEntries() {
+        if (entries == null) {
+            final List<SyndEntry> all = new ArrayList<SyndEntry>(converted.length);
+            for (int i = 0; i < converted.length; i++) {
+                all.add(get(i));
+            }
+            entries = all;
+            converted = null;
+        }
+        return entries;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<SyndEntry>(this);
+    }
+
+}
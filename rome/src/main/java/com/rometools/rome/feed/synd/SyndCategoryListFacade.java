@@ -145,6 +145,19 @@ class SyndCategoryListFacade extends AbstractList<SyndCategory> {
         }
     }
 
+    /**
+     * Indicates whether the list is a facade on top of the given subject list. To be used by the
+     * SyndFeedImpl class only.
+     * <p>
+     *
+     * @param subjects the list of subjects.
+     * @return <b>true</b> if the list is a facade of exactly that subject list.
+     *
+     */
+    boolean isFacadeOf(final List<DCSubject> subjects) {
+        return this.subjects == subjects;
+    }
+
     /**
      * Returns a list with the DCSubject elements of the SyndCategoryImpl list facade. To be used by
      * the SyndFeedImpl class only.
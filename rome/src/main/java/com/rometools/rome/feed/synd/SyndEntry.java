@@ -372,6 +372,8 @@ public interface SyndEntry extends Cloneable, CopyFrom, Extendable {
     /**
      * Sets the entry modules.
      * <p>
+     * The list is copied, see {@link Extendable#setModules(List)}.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the entry modules to set, an empty list
      *            or <b>null</b> if none.
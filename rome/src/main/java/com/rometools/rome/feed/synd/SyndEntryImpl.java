@@ -36,6 +36,7 @@ import com.rometools.rome.feed.module.DCModuleImpl;
 import com.rometools.rome.feed.module.Module;
 import com.rometools.rome.feed.module.SyModule;
 import com.rometools.rome.feed.module.SyModuleImpl;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
 import com.rometools.rome.feed.synd.impl.URINormalizer;
 import com.rometools.utils.Dates;
@@ -76,6 +77,8 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
 
     private static final Set<String> IGNORE_PROPERTIES = new HashSet<String>();
 
+    private static final Set<String> FOREIGN_MARKUP = Collections.singleton("foreignMarkup");
+
     /**
      * Unmodifiable Set containing the convenience properties of this class.
      * <p>
@@ -155,19 +158,11 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
         if (other == null) {
             return false;
         }
-        // while ObjectBean does this check this method does a cast to obtain
-        // the foreign markup
-        // so we need to check before doing so.
         if (!(other instanceof SyndEntryImpl)) {
             return false;
         }
         // can't use foreign markup in equals, due to JDOM equals impl
-        final List<Element> fm = getForeignMarkup();
-        setForeignMarkup(((SyndEntryImpl) other).getForeignMarkup());
-        final boolean ret = objBean.equals(other);
-        // restore foreign markup
-        setForeignMarkup(fm);
-        return ret;
+        return objBean.equals(other, FOREIGN_MARKUP);
     }
 
     /**
@@ -181,7 +176,8 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
      */
     @Override
     public int hashCode() {
-        return objBean.hashCode();
+        // foreign markup is not used in equals, it is not used in hashCode either
+        return objBean.hashCode(FOREIGN_MARKUP);
     }
 
     /**
@@ -395,7 +391,8 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
      */
     @Override
     public Date getPublishedDate() {
-        return getDCModule().getDate();
+        final DCModule dcModule = findDCModule();
+        return dcModule == null ? null : dcModule.getDate();
     }
 
     /**
@@ -448,7 +445,7 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
      */
     @Override
     public List<Module> getModules() {
-        modules = Lists.createWhenNull(modules);
+        modules = ModuleList.createWhenNull(modules);
         if (ModuleUtils.getModule(modules, DCModule.URI) == null) {
             modules.add(new DCModuleImpl());
         }
@@ -458,6 +455,9 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
     /**
      * Sets the entry modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the entry.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the entry modules to set, an empty list
      *            or <b>null</b> if none.
@@ -465,7 +465,7 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
@@ -481,7 +481,8 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
     }
 
     /**
-     * Returns the Dublin Core module of the feed.
+     * Returns the Dublin Core module of the entry, creating it if there is none. To be used by the
+     * convenience setters.
      *
      * @return the DC module, it's never <b>null</b>
      *
@@ -490,6 +491,17 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
         return (DCModule) getModule(DCModule.URI);
     }
 
+    /**
+     * Returns the Dublin Core module of the entry without creating it. To be used by the convenience
+     * getters, so that reading does not add an empty module.
+     *
+     * @return the DC module, <b>null</b> if none.
+     *
+     */
+    private DCModule findDCModule() {
+        return (DCModule) ModuleUtils.getModule(modules, DCModule.URI);
+    }
+
     @Override
     public Class<SyndEntry> getInterface() {
         return SyndEntry.class;
@@ -564,7 +576,8 @@ public class SyndEntryImpl implements Serializable, SyndEntry {
         if (Lists.isNotEmpty(authors)) {
             author = authors.get(0).getName();
         } else {
-            author = getDCModule().getCreator();
+            final DCModule dcModule = findDCModule();
+            author = dcModule == null ? null : dcModule.getCreator();
         }
 
         if (author == null) {
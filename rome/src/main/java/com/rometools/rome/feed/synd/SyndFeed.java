@@ -528,6 +528,8 @@ public interface SyndFeed extends Cloneable, CopyFrom, Extendable {
     /**
      * Sets the feed modules.
      * <p>
+     * The list is copied, see {@link Extendable#setModules(List)}.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the feed modules to set, an empty list or
      *            <b>null</b> if none.
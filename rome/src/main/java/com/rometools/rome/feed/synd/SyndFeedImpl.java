@@ -29,14 +29,20 @@ import org.jdom2.Element;
 
 import com.rometools.rome.feed.CopyFrom;
 import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.atom.Entry;
+import com.rometools.rome.feed.atom.Feed;
 import com.rometools.rome.feed.impl.CopyFromHelper;
 import com.rometools.rome.feed.impl.ObjectBean;
 import com.rometools.rome.feed.module.DCModule;
 import com.rometools.rome.feed.module.DCModuleImpl;
+import com.rometools.rome.feed.module.DCSubject;
 import com.rometools.rome.feed.module.Module;
 import com.rometools.rome.feed.module.SyModule;
 import com.rometools.rome.feed.module.SyModuleImpl;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.rss.Item;
 import com.rometools.rome.feed.synd.impl.Converters;
 import com.rometools.rome.feed.synd.impl.URINormalizer;
 import com.rometools.utils.Lists;
@@ -74,6 +80,7 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
     private List<SyndPerson> authors;
     private List<SyndPerson> contributors;
     private List<Element> foreignMarkup;
+    private transient SyndCategoryListFacade categories;
 
     private WireFeed wireFeed = null;
     private boolean preserveWireFeed = false;
@@ -82,6 +89,10 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
 
     private static final Set<String> IGNORE_PROPERTIES = new HashSet<String>();
 
+    private static final Set<String> FOREIGN_MARKUP = Collections.singleton("foreignMarkup");
+
+    private static final Set<String> SHARED_ENTRIES = Collections.singleton("entries");
+
     /**
      * Unmodifiable Set containing the convenience properties of this class.
      * <p>
@@ -169,6 +180,26 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      * orignalWireFeed() method.
      */
     public SyndFeedImpl(final WireFeed feed, final boolean preserveWireFeed) {
+        this(feed, preserveWireFeed, false);
+    }
+
+    /**
+     * Creates a SyndFeedImpl and populates all its properties out of the given RSS Channel or Atom
+     * Feed properties, while optionally preserving the WireFeed and optionally converting its
+     * entries lazily.
+     * <p>
+     * With lazy entries, the feed level properties are converted right away but each entry is
+     * converted the first time it is read from the entries list. Callers that only read the feed
+     * properties or the first entries do not pay for the conversion of the others. The WireFeed
+     * must not be modified until all entries have been read.
+     * <p>
+     *
+     * @param feed the RSS Channel or the Atom Feed to populate the properties from.
+     * @param preserveWireFeed set to true to make the WireFeed available via originalWireFeed().
+     * @param lazyEntries set to true to convert the entries on first access.
+     *
+     */
+    public SyndFeedImpl(final WireFeed feed, final boolean preserveWireFeed, final boolean lazyEntries) {
         this(SyndFeed.class, IGNORE_PROPERTIES);
 
         if (preserveWireFeed) {
@@ -182,11 +213,42 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
             if (converter == null) {
                 throw new IllegalArgumentException("Invalid feed type [" + feedType + "]");
             }
-            converter.copyInto(feed, this);
+            if (lazyEntries && converter instanceof EntryConverter) {
+                copyIntoLazily((EntryConverter) converter, feed);
+            } else {
+                converter.copyInto(feed, this);
+            }
         }
 
     }
 
+    // converts the feed without its entries, which are converted on first access
+    private void copyIntoLazily(final EntryConverter converter, final WireFeed feed) {
+        if (feed instanceof Channel) {
+            final Channel channel = (Channel) feed;
+            final List<Item> items = channel.getItems();
+            channel.setItems(Collections.<Item> emptyList());
+            try {
+                converter.copyInto(feed, this);
+            } finally {
+                channel.setItems(items);
+            }
+            entries = new LazyEntryList(converter, feed, items, preserveWireFeed);
+        } else if (feed instanceof Feed) {
+            final Feed atomFeed = (Feed) feed;
+            final List<Entry> atomEntries = atomFeed.getEntries();
+            atomFeed.setEntries(Collections.<Entry> emptyList());
+            try {
+                converter.copyInto(feed, this);
+            } finally {
+                atomFeed.setEntries(atomEntries);
+            }
+            entries = new LazyEntryList(converter, feed, atomEntries, preserveWireFeed);
+        } else {
+            converter.copyInto(feed, this);
+        }
+    }
+
     /**
      * Creates a deep 'bean' clone of the object.
      * <p>
@@ -200,6 +262,23 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
         return objBean.clone();
     }
 
+    /**
+     * Creates a clone of the object sharing its entries with the original.
+     * <p>
+     * The entries list of the clone is a new list, entries can be added to it or removed from it
+     * without changing the original feed, but the entries in it are the entries of the original
+     * feed. All other properties are cloned deeply. This is much cheaper than {@link #clone()} for
+     * feeds with many entries.
+     * <p>
+     *
+     * @return a clone of the object sharing its entries.
+     * @throws CloneNotSupportedException thrown if an element of the object cannot be cloned.
+     *
+     */
+    public SyndFeed cloneSharingEntries() throws CloneNotSupportedException {
+        return (SyndFeed) objBean.clone(SHARED_ENTRIES);
+    }
+
     /**
      * Indicates whether some other object is "equal to" this one as defined by the Object equals()
      * method.
@@ -215,11 +294,7 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
             return false;
         }
         // can't use foreign markup in equals, due to JDOM equals impl
-        final List<Element> fm = getForeignMarkup();
-        setForeignMarkup(((SyndFeedImpl) other).getForeignMarkup());
-        final boolean ret = objBean.equals(other);
-        setForeignMarkup(fm); // restore foreign markup
-        return ret;
+        return objBean.equals(other, FOREIGN_MARKUP);
     }
 
     /**
@@ -233,7 +308,8 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public int hashCode() {
-        return objBean.hashCode();
+        // foreign markup is not used in equals, it is not used in hashCode either
+        return objBean.hashCode(FOREIGN_MARKUP);
     }
 
     /**
@@ -568,7 +644,8 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public Date getPublishedDate() {
-        return getDCModule().getDate();
+        final DCModule dcModule = findDCModule();
+        return dcModule == null ? null : dcModule.getDate();
     }
 
     /**
@@ -596,7 +673,8 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public String getCopyright() {
-        return getDCModule().getRights();
+        final DCModule dcModule = findDCModule();
+        return dcModule == null ? null : dcModule.getRights();
     }
 
     /**
@@ -666,13 +744,21 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      * <p>
      * This method is a convenience method, it maps to the Dublin Core module subjects.
      * <p>
+     * The facade is kept between calls as long as the subjects list of the module is the same. To
+     * read the subjects without any facade use the DC module returned by
+     * {@link #getModule(String)}.
+     * <p>
      *
      * @return a list of SyndCategoryImpl elements with the feed categories, an empty list if none.
      *
      */
     @Override
     public List<SyndCategory> getCategories() {
-        return new SyndCategoryListFacade(getDCModule().getSubjects());
+        final List<DCSubject> subjects = getDCModule().getSubjects();
+        if (categories == null || !categories.isFacadeOf(subjects)) {
+            categories = new SyndCategoryListFacade(subjects);
+        }
+        return categories;
     }
 
     /**
@@ -726,7 +812,8 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public String getLanguage() {
-        return getDCModule().getLanguage();
+        final DCModule dcModule = findDCModule();
+        return dcModule == null ? null : dcModule.getLanguage();
     }
 
     /**
@@ -752,7 +839,7 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public List<Module> getModules() {
-        modules = Lists.createWhenNull(modules);
+        modules = ModuleList.createWhenNull(modules);
         if (ModuleUtils.getModule(modules, DCModule.URI) == null) {
             modules.add(new DCModuleImpl());
         }
@@ -762,6 +849,9 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
     /**
      * Sets the feed modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the feed.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the feed modules to set, an empty list or
      *            <b>null</b> if none.
@@ -769,7 +859,7 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
@@ -785,7 +875,8 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
     }
 
     /**
-     * Returns the Dublin Core module of the feed.
+     * Returns the Dublin Core module of the feed, creating it if there is none. To be used by the
+     * convenience setters.
      *
      * @return the DC module, it's never <b>null</b>
      *
@@ -794,6 +885,17 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
         return (DCModule) getModule(DCModule.URI);
     }
 
+    /**
+     * Returns the Dublin Core module of the feed without creating it. To be used by the convenience
+     * getters, so that reading does not add an empty module.
+     *
+     * @return the DC module, <b>null</b> if none.
+     *
+     */
+    private DCModule findDCModule() {
+        return (DCModule) ModuleUtils.getModule(modules, DCModule.URI);
+    }
+
     @Override
     public Class<SyndFeed> getInterface() {
         return SyndFeed.class;
@@ -847,7 +949,8 @@ public class SyndFeedImpl implements Serializable, SyndFeed {
      */
     @Override
     public String getAuthor() {
-        return getDCModule().getCreator();
+        final DCModule dcModule = findDCModule();
+        return dcModule == null ? null : dcModule.getCreator();
     }
 
     /**
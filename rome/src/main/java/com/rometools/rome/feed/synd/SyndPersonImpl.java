@@ -22,8 +22,8 @@ import java.util.List;
 
 import com.rometools.rome.feed.impl.ObjectBean;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
-import com.rometools.utils.Lists;
 
 /**
  * Bean for authors and contributors of SyndFeedImpl feeds and entries.
@@ -183,12 +183,15 @@ public class SyndPersonImpl implements Serializable, SyndPerson {
      */
     @Override
     public List<Module> getModules() {
-        return modules = Lists.createWhenNull(modules);
+        return modules = ModuleList.createWhenNull(modules);
     }
 
     /**
      * Sets the person modules.
      * <p>
+     * The given list is copied unless it is a {@link ModuleList}, later changes made to it
+     * are not seen by the person.
+     * <p>
      *
      * @param modules the list of ModuleImpl elements with the person modules to set, an empty list
      *            or <b>null</b> if none.
@@ -196,7 +199,7 @@ public class SyndPersonImpl implements Serializable, SyndPerson {
      */
     @Override
     public void setModules(final List<Module> modules) {
-        this.modules = modules;
+        this.modules = ModuleList.wrap(modules);
     }
 
     /**
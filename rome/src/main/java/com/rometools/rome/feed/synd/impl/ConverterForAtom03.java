@@ -30,7 +30,7 @@ import com.rometools.rome.feed.atom.Feed;
 import com.rometools.rome.feed.atom.Link;
 import com.rometools.rome.feed.atom.Person;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
-import com.rometools.rome.feed.synd.Converter;
+import com.rometools.rome.feed.synd.EntryConverter;
 import com.rometools.rome.feed.synd.SyndContent;
 import com.rometools.rome.feed.synd.SyndContentImpl;
 import com.rometools.rome.feed.synd.SyndEnclosure;
@@ -48,7 +48,7 @@ import com.rometools.utils.Alternatives;
 import com.rometools.utils.Lists;
 import com.rometools.utils.Strings;
 
-public class ConverterForAtom03 implements Converter {
+public class ConverterForAtom03 implements EntryConverter {
 
     private final String type;
 
@@ -170,6 +170,11 @@ public class ConverterForAtom03 implements Converter {
         return syndLink;
     }
 
+    @Override
+    public SyndEntry createSyndEntry(final WireFeed feed, final Object wireEntry, final boolean preserveWireEntry) {
+        return createSyndEntry((Entry) wireEntry, preserveWireEntry);
+    }
+
     protected List<SyndEntry> createSyndEntries(final List<Entry> atomEntries, final boolean preserveWireItems) {
         final List<SyndEntry> syndEntries = new ArrayList<SyndEntry>();
         for (final Entry atomEntry : atomEntries) {
@@ -30,7 +30,7 @@ import com.rometools.rome.feed.atom.Feed;
 import com.rometools.rome.feed.atom.Link;
 import com.rometools.rome.feed.atom.Person;
 import com.rometools.rome.feed.module.impl.ModuleUtils;
-import com.rometools.rome.feed.synd.Converter;
+import com.rometools.rome.feed.synd.EntryConverter;
 import com.rometools.rome.feed.synd.SyndCategory;
 import com.rometools.rome.feed.synd.SyndCategoryImpl;
 import com.rometools.rome.feed.synd.SyndContent;
@@ -49,7 +49,7 @@ import com.rometools.rome.feed.synd.SyndPerson;
 import com.rometools.utils.Lists;
 import com.rometools.utils.Strings;
 
-public class ConverterForAtom10 implements Converter {
+public class ConverterForAtom10 implements EntryConverter {
 
     private final String type;
 
@@ -173,6 +173,11 @@ public class ConverterForAtom10 implements Converter {
         return syndLinks;
     }
 
+    @Override
+    public SyndEntry createSyndEntry(final WireFeed feed, final Object wireEntry, final boolean preserveWireEntry) {
+        return createSyndEntry((Feed) feed, (Entry) wireEntry, preserveWireEntry);
+    }
+
     protected List<SyndEntry> createSyndEntries(final Feed feed, final List<Entry> atomEntries, final boolean preserveWireItems) {
         final List<SyndEntry> syndEntries = new ArrayList<SyndEntry>();
         for (final Entry atomEntry : atomEntries) {
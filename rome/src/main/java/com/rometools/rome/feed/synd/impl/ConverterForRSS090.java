@@ -27,7 +27,7 @@ import com.rometools.rome.feed.rss.Channel;
 import com.rometools.rome.feed.rss.Image;
 import com.rometools.rome.feed.rss.Item;
 import com.rometools.rome.feed.rss.Source;
-import com.rometools.rome.feed.synd.Converter;
+import com.rometools.rome.feed.synd.EntryConverter;
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndEntryImpl;
 import com.rometools.rome.feed.synd.SyndFeed;
@@ -36,7 +36,7 @@ import com.rometools.rome.feed.synd.SyndImage;
 import com.rometools.rome.feed.synd.SyndImageImpl;
 import com.rometools.rome.feed.synd.SyndLink;
 
-public class ConverterForRSS090 implements Converter {
+public class ConverterForRSS090 implements EntryConverter {
     private final String type;
 
     public ConverterForRSS090() {
@@ -93,6 +93,11 @@ public class ConverterForRSS090 implements Converter {
         return syndImage;
     }
 
+    @Override
+    public SyndEntry createSyndEntry(final WireFeed feed, final Object wireEntry, final boolean preserveWireEntry) {
+        return createSyndEntry((Item) wireEntry, preserveWireEntry);
+    }
+
     protected List<SyndEntry> createSyndEntries(final List<Item> rssItems, final boolean preserveWireItems) {
         final List<SyndEntry> syndEntries = new ArrayList<SyndEntry>();
         for (final Item item : rssItems) {
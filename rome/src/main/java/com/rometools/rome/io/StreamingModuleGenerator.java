@@ -0,0 +1,45 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.rometools.rome.feed.module.Module;
+
+/**
+ * Adds the ability to write module metadata straight to a StAX writer when a feed is written in
+ * streaming mode, see {@link WireFeedOutput#setStreaming(boolean)}.
+ * <p>
+ * Item and entry modules whose generator does not implement this interface are generated into a
+ * small element per module, which is written and released right after.
+ */
+public interface StreamingModuleGenerator extends ModuleGenerator {
+
+    /**
+     * Writes module metadata as children of the element currently open in the writer.
+     * <p>
+     * The namespace of {@link #getNamespaceUri()}, with the prefix it has in
+     * {@link #getNamespaces()}, is declared on the root element of the document. Other namespaces
+     * must be declared by the generator. The written elements are not indented.
+     * <p>
+     *
+     * @param module the module to write.
+     * @param writer the writer positioned inside the element that gets the module metadata.
+     * @throws XMLStreamException thrown if the module metadata could not be written.
+     */
+    public void generate(Module module, XMLStreamWriter writer) throws XMLStreamException;
+
+}
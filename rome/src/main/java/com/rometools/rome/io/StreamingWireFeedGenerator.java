@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io;
+
+import java.util.Iterator;
+
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jdom2.output.Format;
+
+import com.rometools.rome.feed.WireFeed;
+
+/**
+ * Adds the ability to write a feed straight to a StAX writer, without building a JDOM document of
+ * the whole feed first.
+ * <p>
+ * The output must be the same as the one of the JDOM document created by
+ * {@link WireFeedGenerator#generate(WireFeed)}.
+ */
+public interface StreamingWireFeedGenerator extends WireFeedGenerator {
+
+    /**
+     * Writes the XML document of the given feed bean to a StAX writer.
+     * <p>
+     *
+     * @param feed the feed bean to generate the XML document from.
+     * @param writer the writer to write the XML document to, it is flushed but not closed.
+     * @param format the format used to write the XML document.
+     * @throws IllegalArgumentException thrown if the type of the given feed bean does not match
+     *             with the type of the WireFeedGenerator.
+     * @throws FeedException thrown if the XML document could not be created or written. Part of
+     *             the document may have been written already.
+     */
+    public void generate(WireFeed feed, XMLStreamWriter writer, Format format) throws IllegalArgumentException, FeedException;
+
+    /**
+     * Writes the XML document of the given feed header and items to a StAX writer.
+     * <p>
+     * The items are taken one at a time from the iterator, generated and written where the items
+     * or entries of the feed would be. The items or entries of the feed bean are not written.
+     * <p>
+     *
+     * @param feed the feed bean to generate the header of the XML document from.
+     * @param items the items or entries of the feed, of the type the feed bean holds.
+     * @param writer the writer to write the XML document to, it is flushed but not closed.
+     * @param format the format used to write the XML document.
+     * @throws IllegalArgumentException thrown if the type of the given feed bean does not match
+     *             with the type of the WireFeedGenerator.
+     * @throws FeedException thrown if the XML document could not be created or written, or if the
+     *             feed type cannot be written from an iterator. Part of the document may have been
+     *             written already.
+     */
+    public void generate(WireFeed feed, Iterator<?> items, XMLStreamWriter writer, Format format) throws IllegalArgumentException, FeedException;
+
+}
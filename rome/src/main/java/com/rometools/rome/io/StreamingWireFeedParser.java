@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.jdom2.Element;
+
+import com.rometools.rome.feed.WireFeed;
+
+/**
+ * Adds the ability to parse the items (or entries) of a feed one at a time, without building the
+ * JDOM document of the whole feed first.
+ * <p>
+ * Parsers that do not implement it get the whole document built as usual. The feed bean built
+ * with {@link #setStreamedItems(WireFeed, List)} must be the same as the one returned by
+ * {@link WireFeedParser#parse(org.jdom2.Document, boolean, Locale)}.
+ */
+public interface StreamingWireFeedParser extends WireFeedParser {
+
+    /**
+     * Indicates if the given element contains the items of the feed, in which case its children
+     * are walked one by one instead of being built as a whole. The root element is always walked.
+     * <p>
+     *
+     * @param element element to check, its content has not been read yet.
+     * @return <b>true</b> if the children of the element have to be streamed.
+     */
+    public boolean isItemContainer(Element element);
+
+    /**
+     * Indicates if the given element is an item (or entry) of the feed that can be parsed on its
+     * own with {@link #parseStreamedItem(Element, Locale)}.
+     * <p>
+     *
+     * @param parent the parent element (root or item container) of the element.
+     * @param element element to check, its content has not been read yet.
+     * @return <b>true</b> if the element is an item of the feed.
+     */
+    public boolean isItem(Element parent, Element element);
+
+    /**
+     * Parses a single item (or entry) element.
+     * <p>
+     * The element is attached to its parent while being parsed, the document only contains the
+     * elements of the feed read so far.
+     * <p>
+     *
+     * @param eItem the item element to parse.
+     * @param locale locale to use for dates.
+     * @return the parsed item bean.
+     * @throws FeedException thrown if the item cannot be parsed.
+     */
+    public Object parseStreamedItem(Element eItem, Locale locale) throws FeedException;
+
+    /**
+     * Sets the items parsed by {@link #parseStreamedItem(Element, Locale)} into the feed bean.
+     * <p>
+     *
+     * @param feed the feed bean parsed from the document without items.
+     * @param items the parsed items, never empty.
+     */
+    public void setStreamedItems(WireFeed feed, List<Object> items);
+
+}
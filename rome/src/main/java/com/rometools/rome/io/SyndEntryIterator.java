@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.synd.Converter;
+import com.rometools.rome.feed.synd.EntryConverter;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+import com.rometools.rome.feed.synd.impl.Converters;
+import com.rometools.rome.io.impl.StaxFeedReader;
+
+/**
+ * Reads the entries of a feed one at a time.
+ * <p>
+ * The feed header (title, links, modules, etc.) is available right away through
+ * {@link #getFeed()}, its entries list is empty. The entries are parsed and converted from the
+ * underlying stream while iterating, so the memory needed does not depend on the number of entries
+ * of the feed.
+ * <p>
+ * Feed level elements found after the first entry are not part of the header. Parsing errors found
+ * while iterating are thrown as {@link IllegalStateException} with the {@link FeedException} as
+ * cause.
+ * <p>
+ * Instances are created with {@link SyndFeedInput#buildEntryIterator(java.io.Reader)} and must be
+ * closed once they are not needed anymore.
+ */
+public class SyndEntryIterator implements Iterator<SyndEntry>, Closeable {
+
+    private static final Converters CONVERTERS = new Converters();
+
+    private final StaxFeedReader feedReader;
+    private final Closeable source;
+    private final boolean preserveWireFeed;
+    private final WireFeed wireFeed;
+    private final SyndFeed feed;
+    private final EntryConverter converter;
+    private final Iterator<SyndEntry> convertedEntries;
+
+    SyndEntryIterator(final StaxFeedReader feedReader, final Closeable source, final boolean preserveWireFeed) throws IllegalArgumentException,
+            FeedException {
+
+        this.feedReader = feedReader;
+        this.source = source;
+        this.preserveWireFeed = preserveWireFeed;
+
+        wireFeed = feedReader.readHeader();
+        feed = new SyndFeedImpl(wireFeed, preserveWireFeed);
+
+        // parsers that do not support streaming read the entries along with the header
+        final List<SyndEntry> entries = feed.getEntries();
+        if (entries.isEmpty()) {
+            convertedEntries = null;
+        } else {
+            convertedEntries = new ArrayList<SyndEntry>(entries).iterator();
+            entries.clear();
+        }
+
+        final Converter feedConverter = CONVERTERS.getConverter(wireFeed.getFeedType());
+        if (feedConverter instanceof EntryConverter) {
+            converter = (EntryConverter) feedConverter;
+        } else if (convertedEntries == null && feedReader.hasNextItem()) {
+            throw new IllegalArgumentException("Feed type [" + wireFeed.getFeedType() + "] does not support entry by entry conversion");
+        } else {
+            converter = null;
+        }
+
+    }
+
+    /**
+     * Returns the feed header, its entries list is empty.
+     * <p>
+     *
+     * @return the feed header.
+     */
+    public SyndFeed getFeed() {
+        return feed;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (convertedEntries != null) {
+            return convertedEntries.hasNext();
+        }
+        try {
+            return feedReader.hasNextItem();
+        } catch (final FeedException e) {
+            throw new IllegalStateException("Could not read next entry", e);
+        }
+    }
+
+    @Override
+    public SyndEntry next() {
+        if (convertedEntries != null) {
+            return convertedEntries.next();
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return converter.createSyndEntry(wireFeed, feedReader.readItem(), preserveWireFeed);
+        } catch (final FeedException e) {
+            throw new IllegalStateException("Could not read next entry", e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Frees the resources of the underlying parser and closes the source the entries are read
+     * from.
+     */
+    @Override
+    public void close() throws IOException {
+        feedReader.close();
+        source.close();
+    }
+
+}
@@ -19,14 +19,27 @@ package com.rometools.rome.io;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.jdom2.Document;
 import org.xml.sax.InputSource;
 
+import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.feed.synd.SyndFeedImpl;
+import com.rometools.rome.io.impl.DateParseContext;
+import com.rometools.rome.io.impl.ParseProfile;
+import com.rometools.rome.io.impl.StaxFeedReader;
 
 /**
  * Parses an XML document (File, InputStream, Reader, W3C SAX InputSource, W3C DOM Document or JDom
@@ -37,6 +50,7 @@ import com.rometools.rome.feed.synd.SyndFeedImpl;
 public class SyndFeedInput {
     private final WireFeedInput feedInput;
     private boolean preserveWireFeed = false;
+    private boolean lazyEntries = false;
 
     /**
      * Creates a SyndFeedInput instance with input validation turned off.
@@ -118,6 +132,88 @@ public class SyndFeedInput {
         feedInput.setAllowDoctypes(allowDoctypes);
     }
 
+    /**
+     * Indicates whether the streaming parser engine is used.
+     *
+     * @return true when feeds are parsed from StAX events, false when a JDOM document is built
+     */
+    public boolean isStreaming() {
+        return feedInput.isStreaming();
+    }
+
+    /**
+     * Enables the streaming parser engine, see {@link WireFeedInput#setStreaming(boolean)}.
+     * <p>
+     * By default is FALSE.
+     *
+     * @param streaming true to parse feeds from StAX events, false to build a JDOM document
+     */
+    public void setStreaming(final boolean streaming) {
+        feedInput.setStreaming(streaming);
+    }
+
+    /**
+     * Returns the context used to parse the dates of the feeds built by this instance.
+     *
+     * @return the date parse context, null if there is none
+     */
+    public DateParseContext getDateParseContext() {
+        return feedInput.getDateParseContext();
+    }
+
+    /**
+     * Sets a context that remembers the date format that last succeeded, see
+     * {@link WireFeedInput#setDateParseContext(DateParseContext)}.
+     * <p>
+     * By default there is none.
+     *
+     * @param dateParseContext the date parse context, null for none
+     */
+    public void setDateParseContext(final DateParseContext dateParseContext) {
+        feedInput.setDateParseContext(dateParseContext);
+    }
+
+    /**
+     * Indicates whether foreign markup is kept as XML text.
+     *
+     * @return true if foreign markup is parsed on first access, false if it is kept as elements
+     */
+    public boolean isRawForeignMarkup() {
+        return feedInput.isRawForeignMarkup();
+    }
+
+    /**
+     * Keeps foreign markup as XML text, see {@link WireFeedInput#setRawForeignMarkup(boolean)}.
+     * <p>
+     * By default is FALSE.
+     *
+     * @param rawForeignMarkup true to keep foreign markup as XML text
+     */
+    public void setRawForeignMarkup(final boolean rawForeignMarkup) {
+        feedInput.setRawForeignMarkup(rawForeignMarkup);
+    }
+
+    /**
+     * Returns the profile of the entry fields parsed by this instance.
+     *
+     * @return the parse profile, null if all fields are parsed
+     */
+    public ParseProfile getParseProfile() {
+        return feedInput.getParseProfile();
+    }
+
+    /**
+     * Sets a profile listing the fields and modules of the entries to parse, see
+     * {@link WireFeedInput#setParseProfile(ParseProfile)}.
+     * <p>
+     * By default is NULL, all fields are parsed.
+     *
+     * @param parseProfile the parse profile, null to parse all fields
+     */
+    public void setParseProfile(final ParseProfile parseProfile) {
+        feedInput.setParseProfile(parseProfile);
+    }
+
     /**
      * Builds SyndFeedImpl from a file.
      * <p>
@@ -132,7 +228,64 @@ public class SyndFeedInput {
      *
      */
     public SyndFeed build(final File file) throws FileNotFoundException, IOException, IllegalArgumentException, FeedException {
-        return new SyndFeedImpl(feedInput.build(file), preserveWireFeed);
+        return createSyndFeed(feedInput.build(file));
+    }
+
+    /**
+     * Builds SyndFeedImpl from an InputStream.
+     * <p>
+     * The charset of the stream is detected from its BOM and XML prolog. The stream is not closed.
+     * <p>
+     *
+     * @param is InputStream to read to create the SyndFeedImpl.
+     * @return the SyndFeedImpl read from the InputStream.
+     * @throws IOException thrown if there is problem reading the stream.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public SyndFeed build(final InputStream is) throws IOException, IllegalArgumentException, FeedException {
+        return createSyndFeed(feedInput.build(is));
+    }
+
+    /**
+     * Builds SyndFeedImpl from an InputStream fetched over HTTP.
+     * <p>
+     * The charset of the stream is detected from the HTTP content type, the BOM and the XML prolog
+     * of the stream. The stream is not closed.
+     * <p>
+     *
+     * @param is InputStream to read to create the SyndFeedImpl.
+     * @param httpContentType content type of the HTTP response, may be <b>null</b>.
+     * @return the SyndFeedImpl read from the InputStream.
+     * @throws IOException thrown if there is problem reading the stream.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public SyndFeed build(final InputStream is, final String httpContentType) throws IOException, IllegalArgumentException, FeedException {
+        return createSyndFeed(feedInput.build(is, httpContentType));
+    }
+
+    /**
+     * Builds SyndFeedImpl from the remaining bytes of a ByteBuffer.
+     * <p>
+     * The charset of the bytes is detected from their BOM and XML prolog. The position of the
+     * buffer is not changed.
+     * <p>
+     *
+     * @param buffer ByteBuffer to read to create the SyndFeedImpl.
+     * @return the SyndFeedImpl read from the ByteBuffer.
+     * @throws IOException thrown if the charset of the bytes could not be detected.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public SyndFeed build(final ByteBuffer buffer) throws IOException, IllegalArgumentException, FeedException {
+        return createSyndFeed(feedInput.build(buffer));
     }
 
     /**
@@ -147,7 +300,65 @@ public class SyndFeedInput {
      *
      */
     public SyndFeed build(final Reader reader) throws IllegalArgumentException, FeedException {
-        return new SyndFeedImpl(feedInput.build(reader), preserveWireFeed);
+        return createSyndFeed(feedInput.build(reader));
+    }
+
+    /**
+     * Builds a SyndEntryIterator reading the entries of a file one at a time.
+     * <p>
+     * The feed header is read right away, the entries are parsed while iterating. The iterator
+     * must be closed once it is not needed anymore, this closes the file.
+     * <p>
+     *
+     * @param file file to read the feed from.
+     * @return the SyndEntryIterator for the feed of the file.
+     * @throws FileNotFoundException thrown if the file could not be found.
+     * @throws IOException thrown if there is problem reading the file.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public SyndEntryIterator buildEntryIterator(final File file) throws FileNotFoundException, IOException, IllegalArgumentException, FeedException {
+        final Reader reader = new XmlReader(file);
+        boolean built = false;
+        try {
+            final SyndEntryIterator iterator = buildEntryIterator(reader);
+            built = true;
+            return iterator;
+        } finally {
+            if (!built) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Builds a SyndEntryIterator reading the entries of a Reader one at a time.
+     * <p>
+     * The feed header is read right away, the entries are parsed while iterating. The iterator
+     * must be closed once it is not needed anymore, this closes the Reader.
+     * <p>
+     *
+     * @param reader Reader to read the feed from.
+     * @return the SyndEntryIterator for the feed of the Reader.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public SyndEntryIterator buildEntryIterator(final Reader reader) throws IllegalArgumentException, FeedException {
+        final StaxFeedReader feedReader = feedInput.createStaxFeedReader(reader);
+        boolean built = false;
+        try {
+            final SyndEntryIterator iterator = new SyndEntryIterator(feedReader, reader, preserveWireFeed);
+            built = true;
+            return iterator;
+        } finally {
+            if (!built) {
+                feedReader.close();
+            }
+        }
     }
 
     /**
@@ -162,7 +373,35 @@ public class SyndFeedInput {
      *
      */
     public SyndFeed build(final InputSource is) throws IllegalArgumentException, FeedException {
-        return new SyndFeedImpl(feedInput.build(is), preserveWireFeed);
+        return createSyndFeed(feedInput.build(is));
+    }
+
+    /**
+     * Builds SyndFeedImpls from many W3C SAX InputSources in parallel, see
+     * {@link WireFeedInput#buildAll(Collection, Executor)}.
+     * <p>
+     * A document that cannot be parsed does not stop the others, its Future throws an
+     * ExecutionException wrapping the FeedException or IllegalArgumentException.
+     * <p>
+     *
+     * @param sources W3C SAX InputSources to read to create the SyndFeedImpls.
+     * @param executor executor running the parsing tasks.
+     * @return the Futures of the SyndFeedImpls, in the order of the sources.
+     *
+     */
+    public List<Future<SyndFeed>> buildAll(final Collection<InputSource> sources, final Executor executor) {
+        final List<Future<SyndFeed>> futures = new ArrayList<Future<SyndFeed>>(sources.size());
+        for (final InputSource source : sources) {
+            final FutureTask<SyndFeed> task = new FutureTask<SyndFeed>(new Callable<SyndFeed>() {
+                @Override
+                public SyndFeed call() throws FeedException {
+                    return createSyndFeed(feedInput.buildAndClose(source));
+                }
+            });
+            executor.execute(task);
+            futures.add(task);
+        }
+        return futures;
     }
 
     /**
@@ -177,7 +416,7 @@ public class SyndFeedInput {
      *
      */
     public SyndFeed build(final org.w3c.dom.Document document) throws IllegalArgumentException, FeedException {
-        return new SyndFeedImpl(feedInput.build(document), preserveWireFeed);
+        return createSyndFeed(feedInput.build(document));
     }
 
     /**
@@ -192,7 +431,7 @@ public class SyndFeedInput {
      *
      */
     public SyndFeed build(final Document document) throws IllegalArgumentException, FeedException {
-        return new SyndFeedImpl(feedInput.build(document), preserveWireFeed);
+        return createSyndFeed(feedInput.build(document));
     }
 
     /**
@@ -212,4 +451,29 @@ public class SyndFeedInput {
         this.preserveWireFeed = preserveWireFeed;
     }
 
+    /**
+     *
+     * @return true if the entries of the SyndFeed are converted on first access. False by default.
+     */
+    public boolean isLazyEntries() {
+        return lazyEntries;
+    }
+
+    /**
+     * Enables the lazy conversion of the entries, see
+     * {@link SyndFeedImpl#SyndFeedImpl(com.rometools.rome.feed.WireFeed, boolean, boolean)}.
+     * <p>
+     * The feed properties are converted right away, each entry is converted the first time it is
+     * read from the entries of the SyndFeed.
+     *
+     * @param lazyEntries set to true to convert the entries on first access. False by default.
+     */
+    public void setLazyEntries(final boolean lazyEntries) {
+        this.lazyEntries = lazyEntries;
+    }
+
+    private SyndFeed createSyndFeed(final WireFeed feed) {
+        return new SyndFeedImpl(feed, preserveWireFeed, lazyEntries);
+    }
+
 }
@@ -18,11 +18,19 @@ package com.rometools.rome.io;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.util.Collections;
+import java.util.Iterator;
 
 import org.jdom2.Document;
 
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.atom.Feed;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
 
 /**
  * Generates an XML document (String, File, OutputStream, Writer, W3C DOM document or JDOM document)
@@ -34,6 +42,26 @@ public class SyndFeedOutput {
 
     private final WireFeedOutput feedOutput = new WireFeedOutput();
 
+    /**
+     * Indicates whether the streaming generator engine is used.
+     *
+     * @return true when feeds are written through StAX, false when a JDOM document is built
+     */
+    public boolean isStreaming() {
+        return feedOutput.isStreaming();
+    }
+
+    /**
+     * Enables the streaming generator engine, see {@link WireFeedOutput#setStreaming(boolean)}.
+     * <p>
+     * By default is FALSE.
+     *
+     * @param streaming true to write feeds through StAX, false to build a JDOM document
+     */
+    public void setStreaming(final boolean streaming) {
+        feedOutput.setStreaming(streaming);
+    }
+
     /**
      * Creates a String with the XML representation for the given SyndFeedImpl.
      * <p>
@@ -151,6 +179,85 @@ public class SyndFeedOutput {
         feedOutput.output(feed.createWireFeed(), writer, prettyPrint);
     }
 
+    /**
+     * Writes to an OutputStream the XML representation for the given SyndFeedImpl.
+     * <p>
+     * The feed encoding is used to encode the XML representation and in the XML prolog encoding
+     * attribute, UTF-8 is used if the feed encoding is NULL.
+     * <p>
+     *
+     * @param feed Abstract feed to create XML representation from. The type of the SyndFeedImpl
+     *            must match the type given to the FeedOuptut constructor.
+     * @param out OutputStream to write the XML representation for the given SyndFeedImpl.
+     * @throws IOException thrown if there was some problem writing to the OutputStream.
+     * @throws FeedException thrown if the XML representation for the feed could not be created.
+     *
+     */
+    public void output(final SyndFeed feed, final OutputStream out) throws IOException, FeedException {
+        feedOutput.output(feed.createWireFeed(), out);
+    }
+
+    /**
+     * Writes to an OutputStream the XML representation for the given SyndFeedImpl.
+     * <p>
+     * The feed encoding is used to encode the XML representation and in the XML prolog encoding
+     * attribute, UTF-8 is used if the feed encoding is NULL.
+     * <p>
+     *
+     * @param feed Abstract feed to create XML representation from. The type of the SyndFeedImpl
+     *            must match the type given to the FeedOuptut constructor.
+     * @param out OutputStream to write the XML representation for the given SyndFeedImpl.
+     * @param prettyPrint pretty-print XML (true) oder collapsed
+     * @throws IOException thrown if there was some problem writing to the OutputStream.
+     * @throws FeedException thrown if the XML representation for the feed could not be created.
+     *
+     */
+    public void output(final SyndFeed feed, final OutputStream out, final boolean prettyPrint) throws IOException, FeedException {
+        feedOutput.output(feed.createWireFeed(), out, prettyPrint);
+    }
+
+    /**
+     * Writes to an Writer the XML representation for the given feed header and entries.
+     * <p>
+     * The entries are taken one at a time from the iterator, converted and written, so that feeds
+     * with many entries can be written without holding all of them in memory. The entries of the
+     * SyndFeedImpl are not written, see {@link WireFeedOutput#output(WireFeed, Iterator, Writer, boolean)}.
+     * <p>
+     *
+     * @param feed Abstract feed to create the XML representation of the header from.
+     * @param entries the entries of the feed.
+     * @param writer Writer to write the XML representation for the given SyndFeedImpl.
+     * @param prettyPrint pretty-print XML (true) oder collapsed
+     * @throws IOException thrown if there was some problem writing to the Writer.
+     * @throws FeedException thrown if the XML representation for the feed could not be created.
+     *
+     */
+    public void output(final SyndFeed feed, final Iterator<SyndEntry> entries, final Writer writer, final boolean prettyPrint) throws IOException,
+            FeedException {
+        feedOutput.output(feed.createWireFeed(), new EntryConverter(feed.getFeedType(), entries), writer, prettyPrint);
+    }
+
+    /**
+     * Writes to an OutputStream the XML representation for the given feed header and entries.
+     * <p>
+     * The entries are written the way {@link #output(SyndFeed, Iterator, Writer, boolean)} does.
+     * The feed encoding is used to encode the XML representation and in the XML prolog encoding
+     * attribute, UTF-8 is used if the feed encoding is NULL.
+     * <p>
+     *
+     * @param feed Abstract feed to create the XML representation of the header from.
+     * @param entries the entries of the feed.
+     * @param out OutputStream to write the XML representation for the given SyndFeedImpl.
+     * @param prettyPrint pretty-print XML (true) oder collapsed
+     * @throws IOException thrown if there was some problem writing to the OutputStream.
+     * @throws FeedException thrown if the XML representation for the feed could not be created.
+     *
+     */
+    public void output(final SyndFeed feed, final Iterator<SyndEntry> entries, final OutputStream out, final boolean prettyPrint)
+            throws IOException, FeedException {
+        feedOutput.output(feed.createWireFeed(), new EntryConverter(feed.getFeedType(), entries), out, prettyPrint);
+    }
+
     /**
      * Creates a W3C DOM document for the given SyndFeedImpl.
      * <p>
@@ -183,4 +290,42 @@ public class SyndFeedOutput {
         return feedOutput.outputJDom(feed.createWireFeed());
     }
 
+    /**
+     * Converts the entries of an iterator to the Items or Entries of a feed type as they are
+     * taken, through a feed holding a single entry.
+     */
+    private static class EntryConverter implements Iterator<Object> {
+
+        private final Iterator<SyndEntry> entries;
+        private final SyndFeed shell;
+
+        EntryConverter(final String feedType, final Iterator<SyndEntry> entries) {
+            this.entries = entries;
+            shell = new SyndFeedImpl();
+            shell.setFeedType(feedType);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            shell.setEntries(Collections.singletonList(entries.next()));
+            final WireFeed wireFeed = shell.createWireFeed();
+            if (wireFeed instanceof Channel) {
+                return ((Channel) wireFeed).getItems().get(0);
+            } else {
+                return ((Feed) wireFeed).getEntries().get(0);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
 }
@@ -16,21 +16,39 @@
  */
 package com.rometools.rome.io;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.jdom2.Document;
 import org.jdom2.JDOMException;
 import org.jdom2.input.DOMBuilder;
 import org.jdom2.input.JDOMParseException;
+import org.jdom2.input.sax.XMLReaderJDOMFactory;
 import org.jdom2.input.sax.XMLReaders;
 import org.xml.sax.EntityResolver;
 import org.xml.sax.InputSource;
@@ -40,7 +58,12 @@ import org.xml.sax.XMLReader;
 
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.impl.ConfigurableClassLoader;
+import com.rometools.rome.io.impl.BaseWireFeedParser;
+import com.rometools.rome.io.impl.DateParseContext;
 import com.rometools.rome.io.impl.FeedParsers;
+import com.rometools.rome.io.impl.ForeignMarkupMode;
+import com.rometools.rome.io.impl.ParseProfile;
+import com.rometools.rome.io.impl.StaxFeedReader;
 import com.rometools.rome.io.impl.XmlFixerReader;
 
 /**
@@ -55,15 +78,36 @@ import com.rometools.rome.io.impl.XmlFixerReader;
 public class WireFeedInput {
 
     private static final InputSource EMPTY_INPUTSOURCE = new InputSource(new ByteArrayInputStream(new byte[0]));
-    private static final EntityResolver RESOLVER = new EmptyEntityResolver();
+    private static final EmptyEntityResolver RESOLVER = new EmptyEntityResolver();
+    private static final long MAPPED_FILE_THRESHOLD = 1024 * 1024;
 
     private static Map<ClassLoader, FeedParsers> clMap = new WeakHashMap<ClassLoader, FeedParsers>();
 
+    // ENTRIES(parser factory,ENTRIES(feature=value,supported))
+    private static final ConcurrentMap<XMLReaderJDOMFactory, Map<String, Boolean>> SUPPORTED_FEATURES = new ConcurrentHashMap<XMLReaderJDOMFactory, Map<String, Boolean>>();
+    private static final ConcurrentMap<Class<?>, Boolean> OVERRIDES_CREATE_SAX_BUILDER = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    // reusable SAXBuilders of each thread, by validation and Doctype declarations settings
+    private static final ThreadLocal<SAXBuilder[]> SAX_BUILDERS = new ThreadLocal<SAXBuilder[]>() {
+        @Override
+        protected SAXBuilder[] initialValue() {
+            return new SAXBuilder[4];
+        }
+    };
+
+    // date parse context of the document a buildAll task is parsing, instead of the one of the instance
+    private static final ThreadLocal<DateParseContext> DOCUMENT_DATE_PARSE_CONTEXT = new ThreadLocal<DateParseContext>();
+
     private final boolean validate;
     private final Locale locale;
 
     private boolean xmlHealerOn;
     private boolean allowDoctypes = false;
+    private boolean streaming = false;
+    private DateParseContext dateParseContext;
+    private ParseProfile parseProfile;
+    private boolean rawForeignMarkup;
+    private XMLInputFactory xmlInputFactory;
 
     private static FeedParsers getFeedParsers() {
         synchronized (WireFeedInput.class) {
@@ -77,7 +121,7 @@ public class WireFeedInput {
         }
     }
 
-    private static class EmptyEntityResolver implements EntityResolver {
+    private static class EmptyEntityResolver implements EntityResolver, XMLResolver {
         @Override
         public InputSource resolveEntity(final String publicId, final String systemId) {
             if (systemId != null && systemId.endsWith(".dtd")) {
@@ -85,6 +129,14 @@ public class WireFeedInput {
             }
             return null;
         }
+
+        @Override
+        public Object resolveEntity(final String publicId, final String systemId, final String baseURI, final String namespace) {
+            if (systemId != null && systemId.endsWith(".dtd")) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            return null;
+        }
     }
 
     /**
@@ -182,9 +234,109 @@ public class WireFeedInput {
         this.allowDoctypes = allowDoctypes;
     }
 
+    /**
+     * Indicates whether the streaming parser engine is used.
+     *
+     * @return true when feeds are parsed from StAX events, false when a JDOM document is built
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Enables the streaming parser engine. Instead of building a JDOM document of the whole feed
+     * the feed is read with a StAX pull parser, items and entries are built as small element
+     * subtrees one at a time and released once parsed. This reduces the memory needed to parse
+     * large feeds considerably.
+     * <p>
+     * Streaming is done only with the build(File), build(Reader) and build(InputSource)
+     * signatures, parsers that do not support streaming get the whole document as usual.
+     * <p>
+     * By default is FALSE.
+     *
+     * @param streaming true to parse feeds from StAX events, false to build a JDOM document
+     */
+    public void setStreaming(final boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Returns the context used to parse the dates of the feeds built by this instance.
+     *
+     * @return the date parse context, null if there is none
+     */
+    public DateParseContext getDateParseContext() {
+        return dateParseContext;
+    }
+
+    /**
+     * Sets a context that remembers the date format that last succeeded, so that the dates of a
+     * feed are parsed with a single attempt once the first one has been parsed. The context can be
+     * kept between runs on the same feed, see {@link DateParseContext}. It is not used by
+     * {@link #buildAll(Collection, Executor)}, which gives each document a context of its own.
+     * <p>
+     * By default there is none.
+     *
+     * @param dateParseContext the date parse context, null for none
+     */
+    public void setDateParseContext(final DateParseContext dateParseContext) {
+        this.dateParseContext = dateParseContext;
+    }
+
+    /**
+     * Returns the profile of the item fields parsed by this instance.
+     *
+     * @return the parse profile, null if all fields are parsed
+     */
+    public ParseProfile getParseProfile() {
+        return parseProfile;
+    }
+
+    /**
+     * Sets a profile listing the fields and modules of the items (or entries) to parse, the other
+     * child elements of the items are skipped, see {@link ParseProfile}.
+     * <p>
+     * The streaming parser engine skips them while reading, without building their elements and
+     * text. When a JDOM document is built they are removed from the document before the feed is
+     * parsed, saving the building of the beans only.
+     * <p>
+     * By default is NULL, all fields are parsed.
+     *
+     * @param parseProfile the parse profile, null to parse all fields
+     */
+    public void setParseProfile(final ParseProfile parseProfile) {
+        this.parseProfile = parseProfile;
+    }
+
+    /**
+     * Indicates whether foreign markup is kept as XML text.
+     *
+     * @return true if foreign markup is parsed on first access, false if it is kept as elements
+     */
+    public boolean isRawForeignMarkup() {
+        return rawForeignMarkup;
+    }
+
+    /**
+     * Keeps the foreign markup of the feeds, items and entries as XML text instead of JDOM
+     * elements. The elements are parsed from the text the first time the foreign markup of a bean
+     * is read, see {@link ForeignMarkupMode#RAW}. This saves memory when feeds are kept around and
+     * their foreign markup is seldom read.
+     * <p>
+     * By default is FALSE.
+     *
+     * @param rawForeignMarkup true to keep foreign markup as XML text
+     */
+    public void setRawForeignMarkup(final boolean rawForeignMarkup) {
+        this.rawForeignMarkup = rawForeignMarkup;
+    }
+
     /**
      * Builds an WireFeed (RSS or Atom) from a file.
      * <p>
+     * The charset of the file is detected by {@link XmlReader} from its BOM and XML prolog. Files
+     * larger than 1MB are memory mapped instead of read.
+     * <p>
      * NOTE: This method delages to the 'AsbtractFeed WireFeedInput#build(org.jdom2.Document)'.
      * <p>
      *
@@ -198,17 +350,82 @@ public class WireFeedInput {
      *
      */
     public WireFeed build(final File file) throws FileNotFoundException, IOException, IllegalArgumentException, FeedException {
-        WireFeed feed;
-        Reader reader = new FileReader(file);
+        final FileInputStream is = new FileInputStream(file);
         try {
-            if (xmlHealerOn) {
-                reader = new XmlFixerReader(reader);
+            final FileChannel channel = is.getChannel();
+            final long size = channel.size();
+            if (size > MAPPED_FILE_THRESHOLD && size <= Integer.MAX_VALUE) {
+                return this.build(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            } else {
+                return this.build(new BufferedInputStream(is));
             }
-            feed = this.build(reader);
         } finally {
-            reader.close();
+            is.close();
         }
-        return feed;
+    }
+
+    /**
+     * Builds an WireFeed (RSS or Atom) from an InputStream.
+     * <p>
+     * The charset of the stream is detected by {@link XmlReader} from its BOM and XML prolog. The
+     * stream is not closed.
+     * <p>
+     * NOTE: This method delages to the 'AsbtractFeed WireFeedInput#build(org.jdom2.Document)'.
+     * <p>
+     *
+     * @param is InputStream to read to create the WireFeed.
+     * @return the WireFeed read from the InputStream.
+     * @throws IOException thrown if there is problem reading the stream.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public WireFeed build(final InputStream is) throws IOException, IllegalArgumentException, FeedException {
+        return this.build(new XmlReader(is));
+    }
+
+    /**
+     * Builds an WireFeed (RSS or Atom) from an InputStream fetched over HTTP.
+     * <p>
+     * The charset of the stream is detected by {@link XmlReader} from the HTTP content type, the
+     * BOM and the XML prolog of the stream. The stream is not closed.
+     * <p>
+     * NOTE: This method delages to the 'AsbtractFeed WireFeedInput#build(org.jdom2.Document)'.
+     * <p>
+     *
+     * @param is InputStream to read to create the WireFeed.
+     * @param httpContentType content type of the HTTP response, may be <b>null</b>.
+     * @return the WireFeed read from the InputStream.
+     * @throws IOException thrown if there is problem reading the stream.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public WireFeed build(final InputStream is, final String httpContentType) throws IOException, IllegalArgumentException, FeedException {
+        return this.build(new XmlReader(is, httpContentType));
+    }
+
+    /**
+     * Builds an WireFeed (RSS or Atom) from the remaining bytes of a ByteBuffer.
+     * <p>
+     * The charset of the bytes is detected by {@link XmlReader} from their BOM and XML prolog. The
+     * position of the buffer is not changed.
+     * <p>
+     * NOTE: This method delages to the 'AsbtractFeed WireFeedInput#build(org.jdom2.Document)'.
+     * <p>
+     *
+     * @param buffer ByteBuffer to read to create the WireFeed.
+     * @return the WireFeed read from the ByteBuffer.
+     * @throws IOException thrown if the charset of the bytes could not be detected.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException if the feed could not be parsed
+     *
+     */
+    public WireFeed build(final ByteBuffer buffer) throws IOException, IllegalArgumentException, FeedException {
+        return this.build(new ByteBufferInputStream(buffer.duplicate()));
     }
 
     /**
@@ -225,13 +442,21 @@ public class WireFeedInput {
      *
      */
     public WireFeed build(Reader reader) throws IllegalArgumentException, FeedException {
-        final SAXBuilder saxBuilder = createSAXBuilder();
+        if (xmlHealerOn) {
+            reader = new XmlFixerReader(reader);
+        }
+        if (streaming) {
+            return buildStreaming(reader, null);
+        }
+        final SAXBuilder saxBuilder = borrowSAXBuilder();
         try {
-            if (xmlHealerOn) {
-                reader = new XmlFixerReader(reader);
+            final Document document;
+            try {
+                document = saxBuilder.build(reader);
+            } finally {
+                returnSAXBuilder(saxBuilder);
             }
-            final Document document = saxBuilder.build(reader);
-            return this.build(document);
+            return this.build(document, ForeignMarkupMode.MOVE);
         } catch (final JDOMParseException ex) {
             throw new ParsingFeedException("Invalid XML: " + ex.getMessage(), ex);
         } catch (final IllegalArgumentException ex) {
@@ -255,10 +480,18 @@ public class WireFeedInput {
      *
      */
     public WireFeed build(final InputSource is) throws IllegalArgumentException, FeedException {
-        final SAXBuilder saxBuilder = createSAXBuilder();
+        if (streaming && (is.getCharacterStream() != null || is.getByteStream() != null)) {
+            return buildStreaming(is.getCharacterStream(), is);
+        }
+        final SAXBuilder saxBuilder = borrowSAXBuilder();
         try {
-            final Document document = saxBuilder.build(is);
-            return this.build(document);
+            final Document document;
+            try {
+                document = saxBuilder.build(is);
+            } finally {
+                returnSAXBuilder(saxBuilder);
+            }
+            return this.build(document, ForeignMarkupMode.MOVE);
         } catch (final JDOMParseException ex) {
             throw new ParsingFeedException("Invalid XML: " + ex.getMessage(), ex);
         } catch (final IllegalArgumentException ex) {
@@ -268,6 +501,65 @@ public class WireFeedInput {
         }
     }
 
+    /**
+     * Builds WireFeeds (RSS or Atom) from many W3C SAX InputSources in parallel.
+     * <p>
+     * Each source is parsed by a task given to the executor, the tasks share this instance and so
+     * its settings, the feed type detection index and the SAX parsers of the worker threads. The
+     * character or byte stream of each source is closed once parsed.
+     * <p>
+     * Each document is parsed with a date parse context of its own, the one set on this instance is
+     * not used: it is meant for the runs of a single feed and the feeds of a batch seldom share
+     * their date format.
+     * <p>
+     * A document that cannot be parsed does not stop the others, its Future throws an
+     * ExecutionException wrapping the FeedException or IllegalArgumentException. This instance
+     * must not be reconfigured while the tasks run.
+     * <p>
+     *
+     * @param sources W3C SAX InputSources to read to create the WireFeeds.
+     * @param executor executor running the parsing tasks.
+     * @return the Futures of the WireFeeds, in the order of the sources.
+     *
+     */
+    public List<Future<WireFeed>> buildAll(final Collection<InputSource> sources, final Executor executor) {
+        final List<Future<WireFeed>> futures = new ArrayList<Future<WireFeed>>(sources.size());
+        for (final InputSource source : sources) {
+            final FutureTask<WireFeed> task = new FutureTask<WireFeed>(new Callable<WireFeed>() {
+                @Override
+                public WireFeed call() throws FeedException {
+                    return buildAndClose(source);
+                }
+            });
+            executor.execute(task);
+            futures.add(task);
+        }
+        return futures;
+    }
+
+    /**
+     * Builds a WireFeed from an InputSource with a date parse context of its own, closing its
+     * stream once parsed.
+     */
+    WireFeed buildAndClose(final InputSource is) throws IllegalArgumentException, FeedException {
+        DOCUMENT_DATE_PARSE_CONTEXT.set(new DateParseContext());
+        try {
+            return this.build(is);
+        } finally {
+            DOCUMENT_DATE_PARSE_CONTEXT.remove();
+            try {
+                if (is.getCharacterStream() != null) {
+                    is.getCharacterStream().close();
+                }
+                if (is.getByteStream() != null) {
+                    is.getByteStream().close();
+                }
+            } catch (final IOException e) {
+                // ignore, the feed has been parsed already
+            }
+        }
+    }
+
     /**
      * Builds an WireFeed (RSS or Atom) from an W3C DOM document.
      * <p>
@@ -285,7 +577,7 @@ public class WireFeedInput {
         final DOMBuilder domBuilder = new DOMBuilder();
         try {
             final Document jdomDoc = domBuilder.build(document);
-            return this.build(jdomDoc);
+            return this.build(jdomDoc, ForeignMarkupMode.MOVE);
         } catch (final IllegalArgumentException ex) {
             throw ex;
         } catch (final Exception ex) {
@@ -307,11 +599,108 @@ public class WireFeedInput {
      *
      */
     public WireFeed build(final Document document) throws IllegalArgumentException, FeedException {
+        return this.build(document, ForeignMarkupMode.COPY);
+    }
+
+    // foreign markup is moved out of the documents built by this class, they are discarded after
+    private WireFeed build(final Document document, final ForeignMarkupMode foreignMarkupMode) throws IllegalArgumentException, FeedException {
         final WireFeedParser parser = getFeedParsers().getParserFor(document);
         if (parser == null) {
             throw new IllegalArgumentException("Invalid document");
         }
-        return parser.parse(document, validate, locale);
+        if (parseProfile != null) {
+            parseProfile.filter(parser, document);
+        }
+        final DateParseContext previousContext = DateParseContext.setCurrent(getDocumentDateParseContext());
+        final ForeignMarkupMode previousMode = BaseWireFeedParser.setForeignMarkupMode(rawForeignMarkup ? ForeignMarkupMode.RAW : foreignMarkupMode);
+        try {
+            return parser.parse(document, validate, locale);
+        } finally {
+            DateParseContext.setCurrent(previousContext);
+            BaseWireFeedParser.setForeignMarkupMode(previousMode);
+        }
+    }
+
+    private DateParseContext getDocumentDateParseContext() {
+        final DateParseContext documentContext = DOCUMENT_DATE_PARSE_CONTEXT.get();
+        if (documentContext != null) {
+            return documentContext;
+        }
+        return dateParseContext;
+    }
+
+    private WireFeed buildStreaming(final Reader reader, final InputSource is) throws IllegalArgumentException, FeedException {
+        final StaxFeedReader feedReader = createStaxFeedReader(reader, is);
+        try {
+            return feedReader.read();
+        } finally {
+            feedReader.close();
+        }
+    }
+
+    /**
+     * Creates a streaming reader for the feed of the given Reader, healing it if XML healing is
+     * enabled.
+     */
+    StaxFeedReader createStaxFeedReader(Reader reader) throws FeedException {
+        if (xmlHealerOn) {
+            reader = new XmlFixerReader(reader);
+        }
+        return createStaxFeedReader(reader, null);
+    }
+
+    private StaxFeedReader createStaxFeedReader(final Reader reader, final InputSource is) throws FeedException {
+        final XMLStreamReader xmlReader;
+        try {
+            if (reader != null) {
+                xmlReader = getXMLInputFactory().createXMLStreamReader(reader);
+            } else if (is.getEncoding() != null) {
+                xmlReader = getXMLInputFactory().createXMLStreamReader(is.getByteStream(), is.getEncoding());
+            } else {
+                xmlReader = getXMLInputFactory().createXMLStreamReader(is.getByteStream());
+            }
+        } catch (final XMLStreamException ex) {
+            throw new ParsingFeedException("Invalid XML: " + ex.getMessage(), ex);
+        }
+        final StaxFeedReader feedReader = new StaxFeedReader(getFeedParsers(), xmlReader, locale, allowDoctypes);
+        feedReader.setDateParseContext(getDocumentDateParseContext());
+        feedReader.setParseProfile(parseProfile);
+        feedReader.setRawForeignMarkup(rawForeignMarkup);
+        return feedReader;
+    }
+
+    /**
+     * Creates and sets up a javax.xml.stream.XMLInputFactory for streaming parsing.
+     * <p>
+     * External entities are never resolved, external DTDs are ignored and DTDs are only processed
+     * if Doctype declarations are allowed, the same protections the SAXBuilder gets.
+     *
+     * @return a new javax.xml.stream.XMLInputFactory object
+     */
+    protected XMLInputFactory createXMLInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.valueOf(allowDoctypes));
+        setProperty(factory, "http://java.sun.com/xml/stream/properties/ignore-external-dtd", Boolean.TRUE);
+        factory.setXMLResolver(RESOLVER);
+        return factory;
+    }
+
+    // synchronized as parallel builds share the instance
+    private synchronized XMLInputFactory getXMLInputFactory() {
+        if (xmlInputFactory == null || !Boolean.valueOf(allowDoctypes).equals(xmlInputFactory.getProperty(XMLInputFactory.SUPPORT_DTD))) {
+            xmlInputFactory = createXMLInputFactory();
+        }
+        return xmlInputFactory;
+    }
+
+    private void setProperty(final XMLInputFactory factory, final String property, final Object value) {
+        if (factory.isPropertySupported(property)) {
+            factory.setProperty(property, value);
+        }
     }
 
     /**
@@ -342,43 +731,186 @@ public class WireFeedInput {
         // fix the problem.
         //
         // Crimson is one parser which is known not to support these features.
+        //
+        // The outcome only depends on the parser implementation, so it is
+        // remembered and a parser is only created to find it out once.
         try {
-            
-            final XMLReader parser = saxBuilder.createParser();
-            
-            setFeature(saxBuilder, parser, "http://xml.org/sax/features/external-general-entities", false);
-            setFeature(saxBuilder, parser, "http://xml.org/sax/features/external-parameter-entities", false);
-            setFeature(saxBuilder, parser, "http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+
+            final FeatureProbe probe = new FeatureProbe(saxBuilder);
+
+            setFeature(saxBuilder, probe, "http://xml.org/sax/features/external-general-entities", false);
+            setFeature(saxBuilder, probe, "http://xml.org/sax/features/external-parameter-entities", false);
+            setFeature(saxBuilder, probe, "http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
 
             if(!allowDoctypes) {
-                setFeature(saxBuilder, parser, "http://apache.org/xml/features/disallow-doctype-decl", true);
+                setFeature(saxBuilder, probe, "http://apache.org/xml/features/disallow-doctype-decl", true);
             }
 
         } catch (final JDOMException e) {
             throw new IllegalStateException("JDOM could not create a SAX parser", e);
         }
-        
+
         saxBuilder.setExpandEntities(false);
 
         return saxBuilder;
 
     }
-    
-    private void setFeature(SAXBuilder saxBuilder, XMLReader parser, String feature, boolean value) {
-        if (isFeatureSupported(parser, feature, value)) {
+
+    /**
+     * Returns a SAXBuilder configured for this instance, reusing one of the current thread if
+     * there is one available. It must be given back with {@link #returnSAXBuilder(SAXBuilder)}.
+     * <p>
+     * The SAXBuilders keep their parser between builds, so the parser is created and configured
+     * once per thread. Subclasses overriding {@link #createSAXBuilder()} get a new SAXBuilder
+     * each time.
+     */
+    private SAXBuilder borrowSAXBuilder() {
+        if (overridesCreateSAXBuilder(getClass())) {
+            return createSAXBuilder();
+        }
+        final SAXBuilder[] saxBuilders = SAX_BUILDERS.get();
+        final int slot = getSAXBuilderSlot();
+        final SAXBuilder saxBuilder = saxBuilders[slot];
+        if (saxBuilder == null) {
+            return createSAXBuilder();
+        }
+        // taken out while in use, a nested build on the same thread gets its own
+        saxBuilders[slot] = null;
+        return saxBuilder;
+    }
+
+    private void returnSAXBuilder(final SAXBuilder saxBuilder) {
+        if (!overridesCreateSAXBuilder(getClass())) {
+            SAX_BUILDERS.get()[getSAXBuilderSlot()] = saxBuilder;
+        }
+    }
+
+    private int getSAXBuilderSlot() {
+        int slot = 0;
+        if (validate) {
+            slot += 2;
+        }
+        if (allowDoctypes) {
+            slot += 1;
+        }
+        return slot;
+    }
+
+    private static boolean overridesCreateSAXBuilder(final Class<?> clazz) {
+        Boolean overrides = OVERRIDES_CREATE_SAX_BUILDER.get(clazz);
+        if (overrides == null) {
+            overrides = Boolean.FALSE;
+            for (Class<?> c = clazz; c != WireFeedInput.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("createSAXBuilder");
+                    overrides = Boolean.TRUE;
+                    break;
+                } catch (final NoSuchMethodException e) {
+                    // not in this class
+                }
+            }
+            OVERRIDES_CREATE_SAX_BUILDER.put(clazz, overrides);
+        }
+        return overrides.booleanValue();
+    }
+
+    private void setFeature(final SAXBuilder saxBuilder, final FeatureProbe probe, final String feature, final boolean value) throws JDOMException {
+        if (probe.isFeatureSupported(feature, value)) {
             saxBuilder.setFeature(feature, value);
         }
     }
 
-    private boolean isFeatureSupported(XMLReader parser, String feature, boolean value) {
-        try {
-            parser.setFeature(feature, value);
-            return true;
-        } catch (final SAXNotRecognizedException e) {
-            return false;
-        } catch (final SAXNotSupportedException e) {
-            return false;
+    /**
+     * Tells whether the parsers of a SAXBuilder support a feature, creating a parser to find it
+     * out only the first time the feature is asked for the parser implementation.
+     */
+    private static class FeatureProbe {
+
+        private final SAXBuilder saxBuilder;
+        private final Map<String, Boolean> supportedFeatures;
+        private XMLReader parser;
+
+        FeatureProbe(final SAXBuilder saxBuilder) {
+            this.saxBuilder = saxBuilder;
+            final XMLReaderJDOMFactory factory = saxBuilder.getXMLReaderFactory();
+            Map<String, Boolean> features = SUPPORTED_FEATURES.get(factory);
+            if (features == null) {
+                features = new ConcurrentHashMap<String, Boolean>();
+                final Map<String, Boolean> existing = SUPPORTED_FEATURES.putIfAbsent(factory, features);
+                if (existing != null) {
+                    features = existing;
+                }
+            }
+            supportedFeatures = features;
+        }
+
+        boolean isFeatureSupported(final String feature, final boolean value) throws JDOMException {
+            final String key = feature + "=" + value;
+            Boolean supported = supportedFeatures.get(key);
+            if (supported == null) {
+                if (parser == null) {
+                    parser = saxBuilder.createParser();
+                }
+                supported = Boolean.valueOf(isFeatureSupported(parser, feature, value));
+                supportedFeatures.put(key, supported);
+            }
+            return supported.booleanValue();
+        }
+
+        private static boolean isFeatureSupported(final XMLReader parser, final String feature, final boolean value) {
+            try {
+                parser.setFeature(feature, value);
+                return true;
+            } catch (final SAXNotRecognizedException e) {
+                return false;
+            } catch (final SAXNotSupportedException e) {
+                return false;
+            }
+        }
+
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
         }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
     }
 
 }
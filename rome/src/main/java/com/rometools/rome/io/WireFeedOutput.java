@@ -19,11 +19,18 @@ package com.rometools.rome.io;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.jdom2.Document;
 import org.jdom2.JDOMException;
 import org.jdom2.output.DOMOutputter;
@@ -44,6 +51,9 @@ import com.rometools.rome.io.impl.FeedGenerators;
 public class WireFeedOutput {
     private static Map<ClassLoader, FeedGenerators> clMap = new WeakHashMap<ClassLoader, FeedGenerators>();
 
+    private boolean streaming = false;
+    private XMLOutputFactory xmlOutputFactory;
+
     private static FeedGenerators getFeedGenerators() {
         synchronized (WireFeedOutput.class) {
             final ClassLoader classLoader = ConfigurableClassLoader.INSTANCE.getClassLoader();
@@ -77,6 +87,35 @@ public class WireFeedOutput {
     public WireFeedOutput() {
     }
 
+    /**
+     * Indicates whether the streaming generator engine is used.
+     *
+     * @return true when feeds are written through StAX, false when a JDOM document is built
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Enables the streaming generator engine. Instead of building a JDOM document of the whole
+     * feed and then writing it, the feed header is written through a StAX writer and the items or
+     * entries are generated and written one at a time. This reduces the memory needed to write
+     * large feeds considerably.
+     * <p>
+     * Streaming is done only with the String, File, Writer and OutputStream signatures, generators
+     * that do not support streaming build the whole document as usual. The written feed is the same,
+     * except that namespaces used only by foreign markup of the items or entries are declared on
+     * these rather than on the root element, and that an item or entry failing the constraints of
+     * the feed type is reported once the items before it have been written.
+     * <p>
+     * By default is FALSE.
+     *
+     * @param streaming true to write feeds through StAX, false to build a JDOM document
+     */
+    public void setStreaming(final boolean streaming) {
+        this.streaming = streaming;
+    }
+
     /**
      * Creates a String with the XML representation for the given WireFeed.
      * <p>
@@ -119,17 +158,14 @@ public class WireFeedOutput {
      *
      */
     public String outputString(final WireFeed feed, final boolean prettyPrint) throws IllegalArgumentException, FeedException {
-        final Document doc = outputJDom(feed);
-        final String encoding = feed.getEncoding();
-        Format format;
-        if (prettyPrint) {
-            format = Format.getPrettyFormat();
-        } else {
-            format = Format.getCompactFormat();
-        }
-        if (encoding != null) {
-            format.setEncoding(encoding);
+        final Format format = createFormat(feed, prettyPrint);
+        final StreamingWireFeedGenerator generator = getStreamingGenerator(feed);
+        if (generator != null) {
+            final StringWriter writer = new StringWriter();
+            generate(generator, feed, null, createXMLStreamWriter(writer), format);
+            return writer.toString();
         }
+        final Document doc = outputJDom(feed);
         final XMLOutputter outputter = new XMLOutputter(format);
         return outputter.outputString(doc);
     }
@@ -232,19 +268,125 @@ public class WireFeedOutput {
      *
      */
     public void output(final WireFeed feed, final Writer writer, final boolean prettyPrint) throws IllegalArgumentException, IOException, FeedException {
-        final Document doc = outputJDom(feed);
-        final String encoding = feed.getEncoding();
-        Format format;
-        if (prettyPrint) {
-            format = Format.getPrettyFormat();
+        final Format format = createFormat(feed, prettyPrint);
+        final StreamingWireFeedGenerator generator = getStreamingGenerator(feed);
+        if (generator != null) {
+            generate(generator, feed, null, createXMLStreamWriter(writer), format);
         } else {
-            format = Format.getCompactFormat();
+            final Document doc = outputJDom(feed);
+            final XMLOutputter outputter = new XMLOutputter(format);
+            outputter.output(doc, writer);
         }
-        if (encoding != null) {
-            format.setEncoding(encoding);
+    }
+
+    /**
+     * Writes to an OutputStream the XML representation for the given WireFeed.
+     * <p>
+     * The feed encoding is used to encode the XML representation and in the XML prolog encoding
+     * attribute, UTF-8 is used if the feed encoding is NULL.
+     * <p>
+     *
+     * @param feed Abstract feed to create XML representation from. The type of the WireFeed must
+     *            match the type given to the FeedOuptut constructor.
+     * @param out OutputStream to write the XML representation for the given WireFeed.
+     * @throws IllegalArgumentException thrown if the feed type of the WireFeedOutput and WireFeed
+     *             don't match.
+     * @throws IOException thrown if there was some problem writing to the OutputStream.
+     * @throws FeedException thrown if the XML representation for the feed could not be created.
+     *
+     */
+    public void output(final WireFeed feed, final OutputStream out) throws IllegalArgumentException, IOException, FeedException {
+        this.output(feed, out, true);
+    }
+
+    /**
+     * Writes to an OutputStream the XML representation for the given WireFeed.
+     * <p>
+     * The feed encoding is used to encode the XML representation and in the XML prolog encoding
+     * attribute, UTF-8 is used if the feed encoding is NULL.
+     * <p>
+     *
+     * @param feed Abstract feed to create XML representation from. The type of the WireFeed must
+     *            match the type given to the FeedOuptut constructor.
+     * @param out OutputStream to write the XML representation for the given WireFeed.
+     * @param prettyPrint pretty-print XML (true) oder collapsed
+     * @throws IllegalArgumentException thrown if the feed type of the WireFeedOutput and WireFeed
+     *             don't match.
+     * @throws IOException thrown if there was some problem writing to the OutputStream.
+     * @throws FeedException thrown if the XML representation for the feed could not be created.
+     *
+     */
+    public void output(final WireFeed feed, final OutputStream out, final boolean prettyPrint) throws IllegalArgumentException, IOException,
+            FeedException {
+        final Format format = createFormat(feed, prettyPrint);
+        final StreamingWireFeedGenerator generator = getStreamingGenerator(feed);
+        if (generator != null) {
+            generate(generator, feed, null, createXMLStreamWriter(out, format.getEncoding()), format);
+        } else {
+            final Document doc = outputJDom(feed);
+            final XMLOutputter outputter = new XMLOutputter(format);
+            outputter.output(doc, out);
         }
-        final XMLOutputter outputter = new XMLOutputter(format);
-        outputter.output(doc, writer);
+    }
+
+    /**
+     * Writes to a Writer the XML representation for the given feed header and items.
+     * <p>
+     * The items are taken one at a time from the iterator, generated and written, instead of the
+     * items or entries of the feed. The feed is written in streaming mode whatever
+     * {@link #isStreaming()} says. The item count constraints of some RSS versions are not checked.
+     * RSS 1.0 lists the URIs of all the items in the channel, its items are collected before the
+     * channel is written.
+     * The modules of the items are not known when the root element is written, all the namespaces
+     * of the feed and item module generators are declared on it.
+     * <p>
+     * If the feed encoding is not NULL, it will be used in the XML prolog encoding attribute. It is
+     * the responsibility of the developer to ensure the Writer instance is using the same charset
+     * encoding.
+     * <p>
+     *
+     * @param feed the feed header to create XML representation from, its items or entries are not
+     *            written.
+     * @param items the Items or Entries of the feed, depending on its type.
+     * @param writer Writer to write the XML representation to.
+     * @param prettyPrint pretty-print XML (true) oder collapsed
+     * @throws IllegalArgumentException thrown if the feed type of the WireFeedOutput and WireFeed
+     *             don't match.
+     * @throws IOException thrown if there was some problem writing to the Writer.
+     * @throws FeedException thrown if the XML representation for the feed could not be created or
+     *             if the generator of the feed type does not stream.
+     *
+     */
+    public void output(final WireFeed feed, final Iterator<?> items, final Writer writer, final boolean prettyPrint) throws IllegalArgumentException,
+            IOException, FeedException {
+        final Format format = createFormat(feed, prettyPrint);
+        generate(getIteratingGenerator(feed), feed, items, createXMLStreamWriter(writer), format);
+    }
+
+    /**
+     * Writes to an OutputStream the XML representation for the given feed header and items.
+     * <p>
+     * The items are written the way {@link #output(WireFeed, Iterator, Writer, boolean)} does. The
+     * feed encoding is used to encode the XML representation and in the XML prolog encoding
+     * attribute, UTF-8 is used if the feed encoding is NULL.
+     * <p>
+     *
+     * @param feed the feed header to create XML representation from, its items or entries are not
+     *            written.
+     * @param items the Items or Entries of the feed, depending on its type.
+     * @param out OutputStream to write the XML representation to.
+     * @param prettyPrint pretty-print XML (true) oder collapsed
+     * @throws IllegalArgumentException thrown if the feed type of the WireFeedOutput and WireFeed
+     *             don't match.
+     * @throws IOException thrown if there was some problem writing to the OutputStream.
+     * @throws FeedException thrown if the XML representation for the feed could not be created or
+     *             if the generator of the feed type does not stream.
+     *
+     */
+    public void output(final WireFeed feed, final Iterator<?> items, final OutputStream out, final boolean prettyPrint)
+            throws IllegalArgumentException, IOException, FeedException {
+        final Format format = createFormat(feed, prettyPrint);
+        generate(getIteratingGenerator(feed), feed, items, createXMLStreamWriter(out, format.getEncoding()), format);
     }
 
     /**
@@ -290,6 +432,28 @@ public class WireFeedOutput {
      *
      */
     public Document outputJDom(final WireFeed feed) throws IllegalArgumentException, FeedException {
+        return getGenerator(feed).generate(feed);
+    }
+
+    /**
+     * Creates and sets up a javax.xml.stream.XMLOutputFactory for streaming generation.
+     *
+     * @return a new javax.xml.stream.XMLOutputFactory object
+     */
+    protected XMLOutputFactory createXMLOutputFactory() {
+        final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+        factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.FALSE);
+        return factory;
+    }
+
+    private XMLOutputFactory getXMLOutputFactory() {
+        if (xmlOutputFactory == null) {
+            xmlOutputFactory = createXMLOutputFactory();
+        }
+        return xmlOutputFactory;
+    }
+
+    private WireFeedGenerator getGenerator(final WireFeed feed) {
         final String type = feed.getFeedType();
         final WireFeedGenerator generator = getFeedGenerators().getGenerator(type);
         if (generator == null) {
@@ -299,7 +463,72 @@ public class WireFeedOutput {
         if (!generator.getType().equals(type)) {
             throw new IllegalArgumentException("WireFeedOutput type[" + type + "] and WireFeed type [" + type + "] don't match");
         }
-        return generator.generate(feed);
+        return generator;
+    }
+
+    private StreamingWireFeedGenerator getStreamingGenerator(final WireFeed feed) {
+        if (streaming) {
+            final WireFeedGenerator generator = getGenerator(feed);
+            if (generator instanceof StreamingWireFeedGenerator) {
+                return (StreamingWireFeedGenerator) generator;
+            }
+        }
+        return null;
+    }
+
+    private StreamingWireFeedGenerator getIteratingGenerator(final WireFeed feed) throws FeedException {
+        final WireFeedGenerator generator = getGenerator(feed);
+        if (!(generator instanceof StreamingWireFeedGenerator)) {
+            throw new FeedException("Feed type [" + feed.getFeedType() + "] cannot be written from an item iterator");
+        }
+        return (StreamingWireFeedGenerator) generator;
+    }
+
+    private XMLStreamWriter createXMLStreamWriter(final Writer writer) throws FeedException {
+        try {
+            return getXMLOutputFactory().createXMLStreamWriter(writer);
+        } catch (final XMLStreamException e) {
+            throw new FeedException("Could not write feed: " + e.getMessage(), e);
+        }
+    }
+
+    private XMLStreamWriter createXMLStreamWriter(final OutputStream out, final String encoding) throws FeedException {
+        try {
+            return getXMLOutputFactory().createXMLStreamWriter(out, encoding);
+        } catch (final XMLStreamException e) {
+            throw new FeedException("Could not write feed: " + e.getMessage(), e);
+        }
+    }
+
+    private void generate(final StreamingWireFeedGenerator generator, final WireFeed feed, final Iterator<?> items, final XMLStreamWriter xmlWriter,
+            final Format format) throws FeedException {
+        try {
+            if (items == null) {
+                generator.generate(feed, xmlWriter, format);
+            } else {
+                generator.generate(feed, items, xmlWriter, format);
+            }
+        } finally {
+            try {
+                xmlWriter.close();
+            } catch (final XMLStreamException e) {
+                // the underlying writer or stream is closed by the caller
+            }
+        }
+    }
+
+    private Format createFormat(final WireFeed feed, final boolean prettyPrint) {
+        final String encoding = feed.getEncoding();
+        Format format;
+        if (prettyPrint) {
+            format = Format.getPrettyFormat();
+        } else {
+            format = Format.getCompactFormat();
+        }
+        if (encoding != null) {
+            format.setEncoding(encoding);
+        }
+        return format;
     }
 
 }
@@ -17,15 +17,21 @@
 package com.rometools.rome.io.impl;
 
 import java.io.StringReader;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.jdom2.Attribute;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
 
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.atom.Content;
@@ -75,6 +81,14 @@ public class Atom03Generator extends BaseWireFeedGenerator {
         return createDocument(root);
     }
 
+    @Override
+    public void generate(final WireFeed wFeed, final Iterator<?> entries, final XMLStreamWriter writer, final Format format) throws FeedException {
+        // the entries are generated from a copy of the feed, the feed given is left unchanged
+        final Feed feed = copyFeed((Feed) wFeed);
+        feed.setEntries(Collections.<Entry> singletonList(new IteratedEntry(entries)));
+        generate(feed, writer, format);
+    }
+
     protected Document createDocument(final Element root) {
         return new Document(root);
     }
@@ -110,11 +124,27 @@ public class Atom03Generator extends BaseWireFeedGenerator {
     }
 
     protected void addEntry(final Entry entry, final Element parent) throws FeedException {
+        // entries are not numbered, the index is not used
+        if (isDeferringItems() && entry instanceof IteratedEntry) {
+            parent.addContent(createIteratedElement("entry", getFeedNamespace(), ((IteratedEntry) entry).getEntries(), -1));
+        } else if (isDeferringItems()) {
+            parent.addContent(createDeferredElement("entry", getFeedNamespace(), entry, -1, entry.getModules()));
+        } else {
+            final Element eEntry = new Element("entry", getFeedNamespace());
+            populateEntry(entry, eEntry);
+            checkEntryConstraints(eEntry);
+            generateItemModules(entry.getModules(), eEntry);
+            parent.addContent(eEntry);
+        }
+    }
+
+    @Override
+    protected void writeDeferredElement(final Object source, final int index, final StaxFeedWriter writer) throws FeedException, XMLStreamException {
+        final Entry entry = (Entry) source;
         final Element eEntry = new Element("entry", getFeedNamespace());
         populateEntry(entry, eEntry);
         checkEntryConstraints(eEntry);
-        generateItemModules(entry.getModules(), eEntry);
-        parent.addContent(eEntry);
+        writeItemElement(eEntry, entry.getModules(), writer);
     }
 
     protected void populateFeedHeader(final Feed feed, final Element eFeed) throws FeedException {
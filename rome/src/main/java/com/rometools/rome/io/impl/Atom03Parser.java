@@ -34,9 +34,10 @@ import com.rometools.rome.feed.atom.Link;
 import com.rometools.rome.feed.atom.Person;
 import com.rometools.rome.feed.synd.SyndPerson;
 import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.StreamingWireFeedParser;
 import com.rometools.utils.Lists;
 
-public class Atom03Parser extends BaseWireFeedParser {
+public class Atom03Parser extends BaseWireFeedParser implements StreamingWireFeedParser {
 
     private static final String ATOM_03_URI = "http://purl.org/atom/ns#";
     private static final Namespace ATOM_03_NS = Namespace.getNamespace(ATOM_03_URI);
@@ -60,6 +61,11 @@ public class Atom03Parser extends BaseWireFeedParser {
         return defaultNS != null && defaultNS.equals(getAtomNamespace());
     }
 
+    @Override
+    protected String getRootElementNamespaceURI() {
+        return getAtomNamespace().getURI();
+    }
+
     @Override
     public WireFeed parse(final Document document, final boolean validate, final Locale locale) throws IllegalArgumentException, FeedException {
 
@@ -315,6 +321,27 @@ public class Atom03Parser extends BaseWireFeedParser {
 
     }
 
+    @Override
+    public boolean isItemContainer(final Element element) {
+        return false;
+    }
+
+    @Override
+    public boolean isItem(final Element parent, final Element element) {
+        return parent.isRootElement() && "entry".equals(element.getName()) && getAtomNamespace().equals(element.getNamespace());
+    }
+
+    @Override
+    public Object parseStreamedItem(final Element eEntry, final Locale locale) {
+        return parseEntry(eEntry, locale);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setStreamedItems(final WireFeed feed, final List<Object> items) {
+        ((Feed) feed).setEntries((List<Entry>) (List<?>) items);
+    }
+
     private Entry parseEntry(final Element eEntry, final Locale locale) {
 
         final Entry entry = new Entry();
@@ -43,6 +43,7 @@ import com.rometools.rome.feed.atom.Link;
 import com.rometools.rome.feed.atom.Person;
 import com.rometools.rome.feed.synd.SyndPerson;
 import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.StreamingWireFeedParser;
 import com.rometools.rome.io.WireFeedInput;
 import com.rometools.rome.io.WireFeedOutput;
 import com.rometools.utils.Lists;
@@ -50,7 +51,7 @@ import com.rometools.utils.Lists;
 /**
  * Parser for Atom 1.0
  */
-public class Atom10Parser extends BaseWireFeedParser {
+public class Atom10Parser extends BaseWireFeedParser implements StreamingWireFeedParser {
 
     private static final String ATOM_10_URI = "http://www.w3.org/2005/Atom";
     private static final Namespace ATOM_10_NS = Namespace.getNamespace(ATOM_10_URI);
@@ -84,6 +85,11 @@ public class Atom10Parser extends BaseWireFeedParser {
         return defaultNS != null && defaultNS.equals(getAtomNamespace());
     }
 
+    @Override
+    protected String getRootElementNamespaceURI() {
+        return getAtomNamespace().getURI();
+    }
+
     @Override
     public WireFeed parse(final Document document, final boolean validate, final Locale locale) throws IllegalArgumentException, FeedException {
         if (validate) {
@@ -466,6 +472,33 @@ public class Atom10Parser extends BaseWireFeedParser {
         return entry;
     }
 
+    @Override
+    public boolean isItemContainer(final Element element) {
+        return false;
+    }
+
+    @Override
+    public boolean isItem(final Element parent, final Element element) {
+        return parent.isRootElement() && "entry".equals(element.getName()) && getAtomNamespace().equals(element.getNamespace());
+    }
+
+    @Override
+    public Object parseStreamedItem(final Element eEntry, final Locale locale) throws FeedException {
+        String baseURI = null;
+        try {
+            baseURI = findBaseURI(eEntry.getParentElement());
+        } catch (final Exception e) {
+            throw new FeedException("ERROR while finding base URI of feed", e);
+        }
+        return parseEntry(null, eEntry, baseURI, locale);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setStreamedItems(final WireFeed feed, final List<Object> items) {
+        ((Feed) feed).setEntries((List<Entry>) (List<?>) items);
+    }
+
     private List<Category> parseCategories(final String baseURI, final List<Element> eCategories) {
 
         final List<Category> cats = new ArrayList<Category>();
@@ -17,17 +17,27 @@ package com.rometools.rome.io.impl;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 import org.jdom2.Parent;
+import org.jdom2.output.Format;
 
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.impl.BeanIntrospector;
+import com.rometools.rome.feed.impl.PropertyDescriptor;
 import com.rometools.rome.feed.module.Module;
-import com.rometools.rome.io.WireFeedGenerator;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.StreamingWireFeedGenerator;
 
-public abstract class BaseWireFeedGenerator implements WireFeedGenerator {
+public abstract class BaseWireFeedGenerator implements StreamingWireFeedGenerator {
 
     /**
      * [TYPE].feed.ModuleParser.classes= [className] ...
@@ -44,6 +54,13 @@ public abstract class BaseWireFeedGenerator implements WireFeedGenerator {
      */
     private static final String PERSON_MODULE_GENERATORS_POSFIX_KEY = ".person.ModuleGenerator.classes";
 
+    /**
+     * Holds the generator generating the document of a feed written in streaming mode.
+     */
+    private static final ThreadLocal<BaseWireFeedGenerator> DEFERRING = new ThreadLocal<BaseWireFeedGenerator>();
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
     private final String type;
     private final ModuleGenerators feedModuleGenerators;
     private final ModuleGenerators itemModuleGenerators;
@@ -83,6 +100,148 @@ public abstract class BaseWireFeedGenerator implements WireFeedGenerator {
         return type;
     }
 
+    /**
+     * Writes the XML document of the given feed bean to a StAX writer.
+     * <p>
+     * The document is generated with placeholders instead of the items or entries, these are
+     * generated and written one at a time by {@link #writeDeferredElement(Object, int, StaxFeedWriter)}
+     * when the writer reaches them. Generators that do not create placeholders have their whole
+     * document written.
+     * <p>
+     *
+     * @param feed the feed bean to generate the XML document from.
+     * @param writer the writer to write the XML document to.
+     * @param format the format used to write the XML document.
+     * @throws FeedException thrown if the XML document could not be created or written.
+     */
+    @Override
+    public void generate(final WireFeed feed, final XMLStreamWriter writer, final Format format) throws FeedException {
+        final Document document;
+        final BaseWireFeedGenerator deferring = DEFERRING.get();
+        DEFERRING.set(this);
+        try {
+            document = generate(feed);
+        } finally {
+            if (deferring == null) {
+                DEFERRING.remove();
+            } else {
+                DEFERRING.set(deferring);
+            }
+        }
+        try {
+            new StaxFeedWriter(this, writer, format).output(document);
+        } catch (final XMLStreamException e) {
+            throw new FeedException("Could not write feed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the XML document of the given feed header and items to a StAX writer.
+     * <p>
+     * Generators that write feeds from an item iterator override this method. They generate the
+     * document of a {@link #copyFeed(WireFeed) copy} of the feed with a single marker item, for
+     * which they add the placeholder created by
+     * {@link #createIteratedElement(String, Namespace, Iterator, int)}.
+     * <p>
+     *
+     * @param feed the feed bean to generate the header of the XML document from.
+     * @param items the items or entries of the feed.
+     * @param writer the writer to write the XML document to.
+     * @param format the format used to write the XML document.
+     * @throws FeedException thrown if the XML document could not be created or written.
+     */
+    @Override
+    public void generate(final WireFeed feed, final Iterator<?> items, final XMLStreamWriter writer, final Format format) throws FeedException {
+        throw new FeedException("Feed type [" + getType() + "] cannot be written from an item iterator");
+    }
+
+    /**
+     * Creates a shallow copy of a feed bean, whose items or entries can be replaced without
+     * changing the feed given.
+     * <p>
+     *
+     * @param feed the feed bean to copy, its class must have a public no-argument constructor.
+     * @return a feed bean of the same class sharing the property values of the given one.
+     * @throws FeedException thrown if the feed bean could not be copied.
+     */
+    protected static <T extends WireFeed> T copyFeed(final T feed) throws FeedException {
+        try {
+            @SuppressWarnings("unchecked")
+            final T copy = (T) feed.getClass().newInstance();
+            for (final PropertyDescriptor property : BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(feed.getClass())) {
+                property.getWriteMethod().invoke(copy, property.getReadMethod().invoke(feed, NO_PARAMS));
+            }
+            return copy;
+        } catch (final Exception e) {
+            throw new FeedException("Could not copy feed " + feed.getClass().getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Indicates whether items and entries are to be added as placeholders, because the document
+     * is generated to be written in streaming mode.
+     *
+     * @return true if the document is generated in streaming mode.
+     */
+    protected boolean isDeferringItems() {
+        return DEFERRING.get() == this;
+    }
+
+    /**
+     * Creates the placeholder of an item or entry element.
+     * <p>
+     *
+     * @param name name of the item or entry element.
+     * @param namespace namespace of the item or entry element.
+     * @param source the item or entry bean.
+     * @param index position of the item or entry in the feed.
+     * @param modules the modules of the item or entry.
+     * @param namespaces other namespaces used by the item or entry element, whose declarations
+     *            must be kept on the root element.
+     * @return the placeholder element.
+     */
+    protected Element createDeferredElement(final String name, final Namespace namespace, final Object source, final int index,
+            final List<Module> modules, final Namespace... namespaces) {
+        Set<String> prefixes = itemModuleGenerators.getModulePrefixes(modules);
+        if (namespaces.length > 0) {
+            prefixes = new HashSet<String>(prefixes);
+            for (final Namespace itemNamespace : namespaces) {
+                prefixes.add(itemNamespace.getPrefix());
+            }
+        }
+        return new DeferredElement(name, namespace, source, index, prefixes);
+    }
+
+    /**
+     * Creates the placeholder of the items or entries of an iterator. The namespaces they use are
+     * not known in advance, none of the namespace declarations of the root element is purged.
+     * <p>
+     *
+     * @param name name of the item or entry elements.
+     * @param namespace namespace of the item or entry elements.
+     * @param items the item or entry beans.
+     * @param index position of the first item or entry in the feed.
+     * @return the placeholder element.
+     */
+    protected Element createIteratedElement(final String name, final Namespace namespace, final Iterator<?> items, final int index) {
+        return new DeferredElement(name, namespace, items, index);
+    }
+
+    /**
+     * Generates and writes the item or entry of a placeholder. Generators that create placeholders
+     * must override this method.
+     * <p>
+     *
+     * @param source the item or entry bean.
+     * @param index position of the item or entry in the feed.
+     * @param writer the writer to write the element to.
+     * @throws FeedException thrown if the element could not be generated.
+     * @throws XMLStreamException thrown if the element could not be written.
+     */
+    protected void writeDeferredElement(final Object source, final int index, final StaxFeedWriter writer) throws FeedException, XMLStreamException {
+        throw new FeedException("Generator " + getClass().getName() + " does not write deferred elements");
+    }
+
     protected void generateModuleNamespaceDefs(final Element root) {
         for (final Namespace allModuleNamespace : allModuleNamespaces) {
             root.addNamespaceDeclaration(allModuleNamespace);
@@ -97,6 +256,21 @@ public abstract class BaseWireFeedGenerator implements WireFeedGenerator {
         itemModuleGenerators.generateModules(modules, item);
     }
 
+    /**
+     * Writes an item or entry element along with its modules.
+     * <p>
+     *
+     * @param item the item or entry element, without its modules.
+     * @param modules the modules of the item or entry.
+     * @param writer the writer to write the element to.
+     * @throws FeedException thrown if the element could not be written.
+     * @throws XMLStreamException thrown if the element could not be written.
+     */
+    protected void writeItemElement(final Element item, final List<Module> modules, final StaxFeedWriter writer) throws FeedException,
+            XMLStreamException {
+        itemModuleGenerators.writeModules(modules, item, writer);
+    }
+
     public void generatePersonModules(final List<Module> modules, final Element person) {
         personModuleGenerators.generateModules(modules, person);
     }
@@ -150,6 +324,22 @@ public abstract class BaseWireFeedGenerator implements WireFeedGenerator {
             collector.add(prefix);
         }
 
+        if (el instanceof DeferredElement) {
+            final Set<String> modulePrefixes = ((DeferredElement) el).getModulePrefixes();
+            if (modulePrefixes != null) {
+                collector.addAll(modulePrefixes);
+            } else {
+                // items of an iterator, keep all the declarations of the root element
+                Element root = el;
+                while (root.getParentElement() != null) {
+                    root = root.getParentElement();
+                }
+                for (final Namespace namespace : root.getAdditionalNamespaces()) {
+                    collector.add(namespace.getPrefix());
+                }
+            }
+        }
+
         final List<Element> kids = el.getChildren();
         for (final Element kid : kids) {
             // recursion- worth it
@@ -30,6 +30,7 @@ import org.jdom2.filter.ContentFilter;
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.module.Extendable;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.io.FeedException;
 import com.rometools.rome.io.WireFeedParser;
 
 public abstract class BaseWireFeedParser implements WireFeedParser {
@@ -51,6 +52,9 @@ public abstract class BaseWireFeedParser implements WireFeedParser {
      */
     private static final String PERSON_MODULE_PARSERS_POSFIX_KEY = ".person.ModuleParser.classes";
 
+    private static final ThreadLocal<ForeignMarkupMode> FOREIGN_MARKUP_MODE = new ThreadLocal<ForeignMarkupMode>();
+    private static final ThreadLocal<List<Element>> MOVED_ELEMENTS = new ThreadLocal<List<Element>>();
+
     private final String type;
     private final ModuleParsers feedModuleParsers;
     private final ModuleParsers itemModuleParsers;
@@ -79,6 +83,49 @@ public abstract class BaseWireFeedParser implements WireFeedParser {
         return type;
     }
 
+    /**
+     * Returns the local name of the root element of the documents the parser handles.
+     * <p>
+     * It is used by {@link FeedParsers} to index the parsers, the root element of a document
+     * having this name is a necessary condition for {@link #isMyType(Document)} to return
+     * <b>true</b>. The keys are only used if {@link #isMyType(Document)} is not overridden by a
+     * subclass of the class declaring them.
+     * <p>
+     * This implementation returns <b>null</b>, any root element name.
+     * <p>
+     *
+     * @return the local name of the root element, <b>null</b> for any.
+     */
+    protected String getRootElementName() {
+        return null;
+    }
+
+    /**
+     * Returns the namespace URI of the root element of the documents the parser handles, it takes
+     * precedence over {@link #getRootElementName()} for indexing.
+     * <p>
+     * This implementation returns <b>null</b>, any root element namespace.
+     * <p>
+     *
+     * @return the namespace URI of the root element, <b>null</b> for any.
+     */
+    protected String getRootElementNamespaceURI() {
+        return null;
+    }
+
+    /**
+     * Returns the value of the 'version' attribute of the root element of the documents the
+     * parser handles, it is only used along with {@link #getRootElementName()}.
+     * <p>
+     * This implementation returns <b>null</b>, any version.
+     * <p>
+     *
+     * @return the version of the root element, <b>null</b> for any.
+     */
+    protected String getRootElementVersion() {
+        return null;
+    }
+
     protected List<Module> parseFeedModules(final Element feedElement, final Locale locale) {
         return feedModuleParsers.parseModules(feedElement, locale);
     }
@@ -91,24 +138,120 @@ public abstract class BaseWireFeedParser implements WireFeedParser {
         return personModuleParsers.parseModules(itemElement, locale);
     }
 
-    protected List<Element> extractForeignMarkup(final Element e, final Extendable ext, final Namespace namespace) {
+    /**
+     * Returns how the foreign markup of the documents parsed in the current thread is extracted.
+     * <p>
+     *
+     * @return the current mode, {@link ForeignMarkupMode#COPY} if none has been set.
+     */
+    public static ForeignMarkupMode getForeignMarkupMode() {
+        final ForeignMarkupMode mode = FOREIGN_MARKUP_MODE.get();
+        if (mode == null) {
+            return ForeignMarkupMode.COPY;
+        }
+        return mode;
+    }
 
-        final ArrayList<Element> foreignElements = new ArrayList<Element>();
+    /**
+     * Sets how the foreign markup of the documents parsed in the current thread is extracted.
+     * <p>
+     * Parsers may still read foreign elements after extracting them, elements moved in
+     * {@link ForeignMarkupMode#MOVE} mode are only detached from their document when the mode is
+     * set again, once the document has been parsed.
+     * <p>
+     *
+     * @param mode the mode to use, <b>null</b> for {@link ForeignMarkupMode#COPY}.
+     * @return the mode that was set before, it must be restored once done.
+     */
+    public static ForeignMarkupMode setForeignMarkupMode(final ForeignMarkupMode mode) {
+        final List<Element> moved = MOVED_ELEMENTS.get();
+        if (moved != null) {
+            MOVED_ELEMENTS.remove();
+            for (final Element element : moved) {
+                element.detach();
+            }
+        }
+        final ForeignMarkupMode previous = FOREIGN_MARKUP_MODE.get();
+        if (mode == null) {
+            FOREIGN_MARKUP_MODE.remove();
+        } else {
+            FOREIGN_MARKUP_MODE.set(mode);
+        }
+        return previous;
+    }
+
+    /**
+     * Extracts the children of an element that are neither in the given namespace nor handled by
+     * a module of the bean.
+     * <p>
+     * Depending on {@link #getForeignMarkupMode()} the elements are cloned, moved out of the
+     * document or kept as XML text.
+     * <p>
+     *
+     * @param e the element whose children are extracted.
+     * @param ext the bean parsed from the element, with its modules.
+     * @param namespace the namespace of the elements handled by the parser.
+     * @return the foreign markup elements, an empty list if none.
+     */
+    protected List<Element> extractForeignMarkup(final Element e, final Extendable ext, final Namespace namespace) {
+        return extractForeignMarkup(getForeignElements(e, ext, namespace));
+    }
 
+    /**
+     * Returns the children of an element that are neither in the given namespace nor handled by a
+     * module of the bean, they are still attached to the element.
+     * <p>
+     *
+     * @param e the element whose children are looked up.
+     * @param ext the bean parsed from the element, with its modules.
+     * @param namespace the namespace of the elements handled by the parser.
+     * @return the foreign elements, an empty list if none.
+     */
+    protected List<Element> getForeignElements(final Element e, final Extendable ext, final Namespace namespace) {
+        final List<Element> foreignElements = new ArrayList<Element>();
         for (final Element element : e.getChildren()) {
             if (!namespace.equals(element.getNamespace()) && ext.getModule(element.getNamespaceURI()) == null) {
                 // if element not in the RSS namespace and elem was not handled by a module save it
                 // as foreign markup but we can't detach it while we're iterating
-                foreignElements.add(element.clone());
+                foreignElements.add(element);
             }
         }
+        return foreignElements;
+    }
 
-        // now we can detach the foreign markup elements
-        for (final Element foreignElement : foreignElements) {
-            foreignElement.detach();
+    /**
+     * Turns foreign elements found by {@link #getForeignElements(Element, Extendable, Namespace)}
+     * into the foreign markup of a bean, depending on {@link #getForeignMarkupMode()}.
+     * <p>
+     *
+     * @param foreignElements the foreign elements, attached to the document.
+     * @return the foreign markup elements, an empty list if none.
+     */
+    protected List<Element> extractForeignMarkup(final List<Element> foreignElements) {
+
+        if (foreignElements.isEmpty()) {
+            return foreignElements;
         }
 
-        return foreignElements;
+        switch (getForeignMarkupMode()) {
+            case MOVE:
+                // the document is discarded after parsing, the elements are moved out of it once
+                // it has been parsed
+                List<Element> moved = MOVED_ELEMENTS.get();
+                if (moved == null) {
+                    moved = new ArrayList<Element>();
+                    MOVED_ELEMENTS.set(moved);
+                }
+                moved.addAll(foreignElements);
+                return foreignElements;
+            case RAW:
+                return new RawForeignMarkup(foreignElements);
+            default:
+                for (int i = 0; i < foreignElements.size(); i++) {
+                    foreignElements.set(i, foreignElements.get(i).clone());
+                }
+                return foreignElements;
+        }
 
     }
 
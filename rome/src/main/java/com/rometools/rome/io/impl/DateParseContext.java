@@ -0,0 +1,119 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the date format that last succeeded while parsing the dates of a feed.
+ * <p>
+ * Most feeds use the same date format for all their dates. While a context is current,
+ * {@link DateParser#parseDate(String, java.util.Locale)} tries the format that last succeeded
+ * first, instead of going through all the formats in order. Only when it fails are the formats
+ * tried in order again. A date that more than one format can parse is then parsed with the one
+ * that last succeeded, not the first one of the list.
+ * <p>
+ * A context can be kept across parsing runs of the same feed, for instance by feed URL. The hit
+ * and miss counters tell how often the remembered format succeeded.
+ * <p>
+ * Instances are thread safe.
+ */
+public class DateParseContext {
+
+    private static final ThreadLocal<DateParseContext> CURRENT = new ThreadLocal<DateParseContext>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile int lastFormat = -1;
+
+    /**
+     * Returns the context used by the dates parsed in the current thread.
+     * <p>
+     *
+     * @return the current context, <b>null</b> if there is none.
+     */
+    public static DateParseContext getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the context used by the dates parsed in the current thread.
+     * <p>
+     *
+     * @param context the context to use, <b>null</b> for none.
+     * @return the context that was current before, it must be restored once done.
+     */
+    public static DateParseContext setCurrent(final DateParseContext context) {
+        final DateParseContext previous = CURRENT.get();
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the number of dates parsed by the format that last succeeded.
+     * <p>
+     *
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of dates for which the formats had to be tried in order, because no
+     * format had succeeded yet or because the one that last succeeded failed.
+     * <p>
+     *
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Forgets the format that last succeeded and resets the counters.
+     */
+    public void reset() {
+        lastFormat = -1;
+        hits.set(0);
+        misses.set(0);
+    }
+
+    int getLastFormat() {
+        return lastFormat;
+    }
+
+    void setLastFormat(final int lastFormat) {
+        this.lastFormat = lastFormat;
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "DateParseContext[hits=" + hits + ", misses=" + misses + "]";
+    }
+
+}
@@ -17,21 +17,30 @@
 package com.rometools.rome.io.impl;
 
 import java.text.DateFormat;
+import java.text.DateFormatSymbols;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A helper class that parses Dates out of Strings with date time in RFC822 and W3CDateTime formats
  * plus the variants Atom (0.3) and RSS (0.9, 0.91, 0.92, 0.93, 0.94, 1.0 and 2.0) specificators
  * added to those formats.
  * <p/>
- * It uses the JDK java.text.SimpleDateFormat class attemtping the parse using a mask for each one
- * of the possible formats.
+ * The common, well formed, variants of both formats are scanned directly out of the string. For
+ * anything else it uses the JDK java.text.SimpleDateFormat class attemtping the parse using a mask
+ * for each one of the possible formats, the SimpleDateFormat instances are cached per thread.
+ * <p/>
+ * Both ways give the same Date for the same string.
  * <p/>
  */
 public class DateParser {
@@ -75,6 +84,26 @@ public class DateParser {
             "yyyy-MM-dd't'HH:mm'z'", // invalid
             "yyyy-MM-dd", "yyyy-MM", "yyyy" };
 
+    private static final String[] MONTHS = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" };
+
+    private static final String[] WEEKDAYS = { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" };
+
+    // the scanners return it when they cannot handle the string
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    // flags telling which scanners give the same results as the masks for a locale
+    private static final int W3C_SCANNABLE = 1;
+    private static final int RFC822_SCANNABLE = 2;
+
+    private static final Map<Locale, Integer> SCANNABLE = new ConcurrentHashMap<Locale, Integer>();
+
+    private static final ThreadLocal<Map<Locale, Map<String, DateFormat>>> DATE_FORMATS = new ThreadLocal<Map<Locale, Map<String, DateFormat>>>() {
+        @Override
+        protected Map<Locale, Map<String, DateFormat>> initialValue() {
+            return new HashMap<Locale, Map<String, DateFormat>>();
+        }
+    };
+
     static {
         ADDITIONAL_MASKS = PropertiesLoader.getPropertiesLoader().getTokenizedProperty("datetime.extra.masks", "|");
     }
@@ -101,22 +130,44 @@ public class DateParser {
         if (sDate != null) {
             sDate = sDate.trim();
         }
-        ParsePosition pp = null;
         Date d = null;
         for (int i = 0; d == null && i < masks.length; i++) {
-            final DateFormat df = new SimpleDateFormat(masks[i], locale);
+            d = parseUsingMask(masks[i], sDate, locale);
+        }
+        return d;
+    }
+
+    private static Date parseUsingMask(final String mask, final String sDate, final Locale locale) {
+        final DateFormat df = getDateFormat(mask, locale);
+        try {
+            final ParsePosition pp = new ParsePosition(0);
+            final Date d = df.parse(sDate, pp);
+            if (pp.getIndex() == sDate.length()) {
+                return d;
+            }
+        } catch (final Exception ex1) {
+        }
+        return null;
+    }
+
+    // SimpleDateFormat is not thread safe and parsing a time zone changes its time zone, it is
+    // reset before being handed out
+    private static DateFormat getDateFormat(final String mask, final Locale locale) {
+        final Map<Locale, Map<String, DateFormat>> formatsByLocale = DATE_FORMATS.get();
+        Map<String, DateFormat> formats = formatsByLocale.get(locale);
+        if (formats == null) {
+            formats = new HashMap<String, DateFormat>();
+            formatsByLocale.put(locale, formats);
+        }
+        DateFormat df = formats.get(mask);
+        if (df == null) {
+            df = new SimpleDateFormat(mask, locale);
             // df.setLenient(false);
             df.setLenient(true);
-            try {
-                pp = new ParsePosition(0);
-                d = df.parse(sDate, pp);
-                if (pp.getIndex() != sDate.length()) {
-                    d = null;
-                }
-            } catch (final Exception ex1) {
-            }
+            formats.put(mask, df);
         }
-        return d;
+        df.setTimeZone(TimeZone.getDefault());
+        return df;
     }
 
     /**
@@ -142,7 +193,15 @@ public class DateParser {
      *         possible to parse the given string into a Date.
      *
      */
-    public static Date parseRFC822(String sDate, final Locale locale) {
+    public static Date parseRFC822(final String sDate, final Locale locale) {
+        final Date date = scanRFC822(sDate, locale);
+        if (date != null) {
+            return date;
+        }
+        return parseRFC822UsingMasks(sDate, locale);
+    }
+
+    private static Date parseRFC822UsingMasks(String sDate, final Locale locale) {
         sDate = convertUnsupportedTimeZones(sDate);
         return parseUsingMask(RFC822_MASKS, sDate, locale);
     }
@@ -190,7 +249,19 @@ public class DateParser {
      *         was not possible to parse the given string into a Date.
      *
      */
-    public static Date parseW3CDateTime(String sDate, final Locale locale) {
+    public static Date parseW3CDateTime(final String sDate, final Locale locale) {
+        final Date date = scanW3CDateTime(sDate, locale);
+        if (date != null) {
+            return date;
+        }
+        return parseW3CDateTimeUsingMasks(sDate, locale);
+    }
+
+    private static Date parseW3CDateTimeUsingMasks(final String sDate, final Locale locale) {
+        return parseUsingMask(W3CDATETIME_MASKS, toW3CMaskInput(sDate), locale);
+    }
+
+    private static String toW3CMaskInput(String sDate) {
         // if sDate has time on it, it injects 'GTM' before de TZ displacement to allow the
         // SimpleDateFormat parser to parse it properly
         final int tIndex = sDate.indexOf("T");
@@ -214,7 +285,7 @@ public class DateParser {
         } else {
             sDate += "T00:00GMT";
         }
-        return parseUsingMask(W3CDATETIME_MASKS, sDate, locale);
+        return sDate;
     }
 
     /**
@@ -227,9 +298,28 @@ public class DateParser {
      *
      * */
     public static Date parseDate(final String sDate, final Locale locale) {
-        Date date = parseW3CDateTime(sDate, locale);
+        final DateParseContext context = DateParseContext.getCurrent();
+        if (context != null) {
+            return parseDate(sDate, locale, context);
+        }
+        Date date = scanW3CDateTime(sDate, locale);
         if (date == null) {
-            date = parseRFC822(sDate, locale);
+            date = scanRFC822(sDate, locale);
+        }
+        if (date == null) {
+            date = parseDateUsingMasks(sDate, locale);
+        }
+        return date;
+    }
+
+    /**
+     * Parses a Date out of a String the way {@link #parseDate(String, Locale)} does, using the
+     * masks only.
+     */
+    static Date parseDateUsingMasks(final String sDate, final Locale locale) {
+        Date date = parseW3CDateTimeUsingMasks(sDate, locale);
+        if (date == null) {
+            date = parseRFC822UsingMasks(sDate, locale);
             if (date == null && ADDITIONAL_MASKS.length > 0) {
                 date = parseUsingMask(ADDITIONAL_MASKS, sDate, locale);
             }
@@ -237,6 +327,371 @@ public class DateParser {
         return date;
     }
 
+    // formats are numbered in the order they are tried: the scanners, then the W3C, RFC822 and
+    // additional masks
+    private static Date parseDate(final String sDate, final Locale locale, final DateParseContext context) {
+
+        final int lastFormat = context.getLastFormat();
+        if (lastFormat >= 0) {
+            final Date date = parseUsingFormat(lastFormat, sDate, locale);
+            if (date != null) {
+                context.hit();
+                return date;
+            }
+        }
+        context.miss();
+
+        Date date = scanW3CDateTime(sDate, locale);
+        if (date != null) {
+            context.setLastFormat(0);
+            return date;
+        }
+        date = scanRFC822(sDate, locale);
+        if (date != null) {
+            context.setLastFormat(1);
+            return date;
+        }
+        int firstFormat = 2;
+        date = parseUsingMasks(W3CDATETIME_MASKS, toW3CMaskInput(sDate).trim(), locale, context, firstFormat);
+        if (date == null) {
+            firstFormat += W3CDATETIME_MASKS.length;
+            date = parseUsingMasks(RFC822_MASKS, convertUnsupportedTimeZones(sDate).trim(), locale, context, firstFormat);
+        }
+        if (date == null) {
+            firstFormat += RFC822_MASKS.length;
+            date = parseUsingMasks(ADDITIONAL_MASKS, sDate.trim(), locale, context, firstFormat);
+        }
+        return date;
+
+    }
+
+    private static Date parseUsingMasks(final String[] masks, final String sDate, final Locale locale, final DateParseContext context,
+            final int firstFormat) {
+        for (int i = 0; i < masks.length; i++) {
+            final Date date = parseUsingMask(masks[i], sDate, locale);
+            if (date != null) {
+                context.setLastFormat(firstFormat + i);
+                return date;
+            }
+        }
+        return null;
+    }
+
+    private static Date parseUsingFormat(int format, final String sDate, final Locale locale) {
+        if (format == 0) {
+            return scanW3CDateTime(sDate, locale);
+        }
+        if (format == 1) {
+            return scanRFC822(sDate, locale);
+        }
+        format -= 2;
+        if (format < W3CDATETIME_MASKS.length) {
+            return parseUsingMask(W3CDATETIME_MASKS[format], toW3CMaskInput(sDate).trim(), locale);
+        }
+        format -= W3CDATETIME_MASKS.length;
+        if (format < RFC822_MASKS.length) {
+            return parseUsingMask(RFC822_MASKS[format], convertUnsupportedTimeZones(sDate).trim(), locale);
+        }
+        format -= RFC822_MASKS.length;
+        return parseUsingMask(ADDITIONAL_MASKS[format], sDate.trim(), locale);
+    }
+
+    /**
+     * Scans a Date out of a String with a date in one of the well formed W3C date-time formats:
+     * "yyyy", "yyyy-MM", "yyyy-MM-dd" and "yyyy-MM-dd'T'HH:mm[:ss[.S]]" followed by 'Z' or by a
+     * "+hh:mm" or "-hh:mm" offset.
+     * <p/>
+     *
+     * @return the Date, <b>null</b> if the string is not in one of those formats, the masks must
+     *         be used then.
+     */
+    private static Date scanW3CDateTime(final String sDate, final Locale locale) {
+        if (sDate == null || !isScannable(locale, W3C_SCANNABLE)) {
+            return null;
+        }
+        final long time = scanW3CDateTime(sDate);
+        return time == NO_DATE ? null : new Date(time);
+    }
+
+    private static long scanW3CDateTime(final String s) {
+
+        final int length = s.length();
+        final int end = trimmedEnd(s);
+        final int start = trimmedStart(s, end);
+        int p = start;
+
+        final int year = scanDigits(s, p, 4, end);
+        p += 4;
+        int month = 1;
+        int day = 1;
+        if (p < end) {
+            month = scanDigits(s, p + 1, 2, end);
+            if (s.charAt(p) != '-' || month < 1 || month > 12) {
+                return NO_DATE;
+            }
+            p += 3;
+            if (p < end) {
+                day = scanDigits(s, p + 1, 2, end);
+                if (s.charAt(p) != '-' || day < 1 || day > 31) {
+                    return NO_DATE;
+                }
+                p += 3;
+            }
+        }
+        if (year < 1600) {
+            return NO_DATE;
+        }
+
+        // dates without time are UTC, trailing blanks make the masks fail
+        if (p == end) {
+            return end == length ? toMillis(year, month, day, 0, 0, 0, 0, 0) : NO_DATE;
+        }
+        if (p - start != 10 || s.charAt(p) != 'T') {
+            return NO_DATE;
+        }
+
+        final int hour = scanDigits(s, p + 1, 2, end);
+        final int minute = scanDigits(s, p + 4, 2, end);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || s.charAt(p + 3) != ':') {
+            return NO_DATE;
+        }
+        p += 6;
+
+        int second = 0;
+        int fraction = 0;
+        if (p < end && s.charAt(p) == ':') {
+            second = scanDigits(s, p + 1, 2, end);
+            if (second < 0 || second > 59) {
+                return NO_DATE;
+            }
+            p += 3;
+            if (p < end && s.charAt(p) == '.') {
+                // the SSS mask reads the whole fraction as a number of milliseconds, longer
+                // fractions are left to it
+                final int fractionStart = ++p;
+                while (p < end && p - fractionStart < 4 && isDigit(s.charAt(p))) {
+                    fraction = fraction * 10 + s.charAt(p) - '0';
+                    p++;
+                }
+                if (p == fractionStart || p - fractionStart > 3) {
+                    return NO_DATE;
+                }
+            }
+        }
+
+        if (p >= end) {
+            return NO_DATE;
+        }
+        final int offset;
+        final char c = s.charAt(p);
+        if (c == 'Z') {
+            // 'Z' is only understood at the very end of the string
+            if (p + 1 != length) {
+                return NO_DATE;
+            }
+            offset = 0;
+        } else if ((c == '+' || c == '-') && p + 6 == end && s.charAt(p + 3) == ':') {
+            offset = scanOffset(s, c, p + 1, p + 4, end);
+            if (offset == Integer.MIN_VALUE) {
+                return NO_DATE;
+            }
+        } else {
+            return NO_DATE;
+        }
+
+        return toMillis(year, month, day, hour, minute, second, fraction, offset);
+
+    }
+
+    /**
+     * Scans a Date out of a String with a date in one of the well formed RFC822 formats: "[EEE, ]d
+     * MMM yyyy HH:mm[:ss] z" where the time zone is GMT, UT, UTC, Z or a "+hhmm" or "-hhmm"
+     * offset.
+     * <p/>
+     *
+     * @return the Date, <b>null</b> if the string is not in one of those formats, the masks must
+     *         be used then.
+     */
+    private static Date scanRFC822(final String sDate, final Locale locale) {
+        if (sDate == null || !isScannable(locale, RFC822_SCANNABLE)) {
+            return null;
+        }
+        final long time = scanRFC822(sDate);
+        return time == NO_DATE ? null : new Date(time);
+    }
+
+    private static long scanRFC822(final String s) {
+
+        final int length = s.length();
+        final int end = trimmedEnd(s);
+        int p = trimmedStart(s, end);
+
+        if (p < end && !isDigit(s.charAt(p))) {
+            if (scanName(s, p, WEEKDAYS, end) < 0 || p + 5 > end || s.charAt(p + 3) != ',' || s.charAt(p + 4) != ' ') {
+                return NO_DATE;
+            }
+            p += 5;
+        }
+
+        int day = scanDigits(s, p, 2, end);
+        if (day >= 0) {
+            p += 2;
+        } else {
+            day = scanDigits(s, p, 1, end);
+            p += 1;
+        }
+        if (day < 1 || day > 31 || p >= end || s.charAt(p) != ' ') {
+            return NO_DATE;
+        }
+        p++;
+
+        final int month = scanName(s, p, MONTHS, end) + 1;
+        if (month < 1 || p + 4 > end || s.charAt(p + 3) != ' ') {
+            return NO_DATE;
+        }
+        p += 4;
+
+        final int year = scanDigits(s, p, 4, end);
+        if (year < 1600 || p + 5 > end || s.charAt(p + 4) != ' ') {
+            return NO_DATE;
+        }
+        p += 5;
+
+        final int hour = scanDigits(s, p, 2, end);
+        final int minute = scanDigits(s, p + 3, 2, end);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || s.charAt(p + 2) != ':') {
+            return NO_DATE;
+        }
+        p += 5;
+        int second = 0;
+        if (p < end && s.charAt(p) == ':') {
+            second = scanDigits(s, p + 1, 2, end);
+            if (second < 0 || second > 59) {
+                return NO_DATE;
+            }
+            p += 3;
+        }
+        if (p >= end || s.charAt(p) != ' ') {
+            return NO_DATE;
+        }
+        p++;
+
+        final int offset;
+        final int zoneLength = end - p;
+        if (zoneLength == 3 && (s.startsWith("GMT", p) || s.startsWith("UTC", p))) {
+            offset = 0;
+        } else if ((zoneLength == 2 && s.startsWith("UT", p) || zoneLength == 1 && s.charAt(p) == 'Z') && end == length) {
+            // UT and Z are only understood at the very end of the string
+            offset = 0;
+        } else if (zoneLength == 5 && (s.charAt(p) == '+' || s.charAt(p) == '-')) {
+            offset = scanOffset(s, s.charAt(p), p + 1, p + 3, end);
+            if (offset == Integer.MIN_VALUE) {
+                return NO_DATE;
+            }
+        } else {
+            return NO_DATE;
+        }
+
+        return toMillis(year, month, day, hour, minute, second, 0, offset);
+
+    }
+
+    // the scanners skip what String.trim() removes
+    private static int trimmedEnd(final String s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int trimmedStart(final String s, final int end) {
+        int start = 0;
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // value of the count digits found at index, -1 if there are not such digits
+    private static int scanDigits(final String s, final int index, final int count, final int end) {
+        if (index < 0 || index + count > end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            final char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    // index of the three letters name found at index, -1 if there is none
+    private static int scanName(final String s, final int index, final String[] names, final int end) {
+        if (index + 3 > end) {
+            return -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (s.regionMatches(true, index, names[i], 0, 3)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // offset in milliseconds of the hours and minutes found at the given indexes
+    private static int scanOffset(final String s, final char sign, final int hoursIndex, final int minutesIndex, final int end) {
+        final int hours = scanDigits(s, hoursIndex, 2, end);
+        final int minutes = scanDigits(s, minutesIndex, 2, end);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+            return Integer.MIN_VALUE;
+        }
+        final int offset = (hours * 60 + minutes) * 60000;
+        return sign == '-' ? -offset : offset;
+    }
+
+    // days of the proleptic Gregorian calendar are counted from 1970-01-01, days past the end of
+    // the month roll over to the next month as the lenient masks do
+    private static long toMillis(final int year, final int month, final int day, final int hour, final int minute, final int second,
+            final int millis, final int offset) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = y / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        final long days = era * 146097L + dayOfEra - 719468;
+        return ((days * 24 + hour) * 60 + minute) * 60000L + second * 1000L + millis - offset;
+    }
+
+    // the scanners only know about the Gregorian calendar and the English names, locales using
+    // anything else go through the masks
+    private static boolean isScannable(final Locale locale, final int flag) {
+        Integer flags = SCANNABLE.get(locale);
+        if (flags == null) {
+            int value = 0;
+            if (Calendar.getInstance(locale).getClass() == GregorianCalendar.class) {
+                value |= W3C_SCANNABLE;
+                final DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+                final DateFormatSymbols english = DateFormatSymbols.getInstance(Locale.ENGLISH);
+                if (Arrays.equals(symbols.getShortMonths(), english.getShortMonths()) && Arrays.equals(symbols.getMonths(), english.getMonths())
+                        && Arrays.equals(symbols.getShortWeekdays(), english.getShortWeekdays())
+                        && Arrays.equals(symbols.getWeekdays(), english.getWeekdays())) {
+                    value |= RFC822_SCANNABLE;
+                }
+            }
+            flags = value;
+            SCANNABLE.put(locale, flags);
+        }
+        return (flags & flag) != 0;
+    }
+
     /**
      * create a RFC822 representation of a date.
      * <p/>
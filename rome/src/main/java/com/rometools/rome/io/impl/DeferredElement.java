@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+
+/**
+ * Empty placeholder of an item or entry element, added to the document by the feed generators in
+ * streaming mode. The element is generated from its source bean only when the
+ * {@link StaxFeedWriter} reaches the placeholder. A placeholder can also stand for all the items
+ * or entries of an iterator.
+ */
+class DeferredElement extends Element {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object source;
+    private final transient Iterator<?> items;
+    private final int index;
+    private final Set<String> modulePrefixes;
+
+    DeferredElement(final String name, final Namespace namespace, final Object source, final int index, final Set<String> modulePrefixes) {
+        super(name, namespace);
+        this.source = source;
+        this.index = index;
+        this.modulePrefixes = modulePrefixes;
+        items = null;
+    }
+
+    DeferredElement(final String name, final Namespace namespace, final Iterator<?> items, final int index) {
+        super(name, namespace);
+        this.items = items;
+        this.index = index;
+        source = null;
+        modulePrefixes = null;
+    }
+
+    /**
+     * Returns the bean the element is generated from.
+     *
+     * @return the item or entry bean.
+     */
+    Object getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the beans the elements are generated from, if the placeholder stands for the items or
+     * entries of an iterator.
+     *
+     * @return the item or entry beans, null if the placeholder stands for a single bean.
+     */
+    Iterator<?> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the position of the bean in its feed, or of the first bean of the iterator.
+     *
+     * @return the index of the item or entry.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the prefixes of the namespaces used by the modules of the bean, they must not be
+     * purged from the root element.
+     *
+     * @return the module namespace prefixes, null if they are not known.
+     */
+    Set<String> getModulePrefixes() {
+        return modulePrefixes;
+    }
+
+}
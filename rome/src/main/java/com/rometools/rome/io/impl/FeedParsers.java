@@ -16,9 +16,18 @@
  */
 package com.rometools.rome.io.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jdom2.Document;
+import org.jdom2.Element;
 
 import com.rometools.rome.io.WireFeedParser;
 
@@ -42,6 +51,14 @@ public class FeedParsers extends PluginManager<WireFeedParser> {
      */
     public static final String FEED_PARSERS_KEY = "WireFeedParser.classes";
 
+    private final Map<String, List<WireFeedParser>> parsersByNamespace = new HashMap<String, List<WireFeedParser>>();
+    private final Map<String, List<WireFeedParser>> parsersByName = new HashMap<String, List<WireFeedParser>>();
+    private final List<WireFeedParser> unindexedParsers = new ArrayList<WireFeedParser>();
+    private final Map<WireFeedParser, Integer> positions = new IdentityHashMap<WireFeedParser, Integer>();
+
+    // sorted candidates by the index keys they were found under, bounded by the number of keys
+    private final ConcurrentMap<String, List<WireFeedParser>> candidatesByKeys = new ConcurrentHashMap<String, List<WireFeedParser>>();
+
     /**
      * Creates a parser instance.
      * <p>
@@ -49,6 +66,7 @@ public class FeedParsers extends PluginManager<WireFeedParser> {
      */
     public FeedParsers() {
         super(FEED_PARSERS_KEY);
+        index();
     }
 
     public List<String> getSupportedFeedTypes() {
@@ -58,6 +76,10 @@ public class FeedParsers extends PluginManager<WireFeedParser> {
     /**
      * Finds the real parser type for the given document feed.
      * <p>
+     * Only the parsers indexed under the name, namespace and version of the root element of the
+     * document, plus the parsers that could not be indexed, are asked in order of definition.
+     * Most parsers only need the root element, so the document can be a shell of the feed.
+     * <p>
      *
      * @param document document feed to find the parser for.
      * @return the parser for the given document or <b>null</b> if there is no parser for that
@@ -65,8 +87,8 @@ public class FeedParsers extends PluginManager<WireFeedParser> {
      *
      */
     public WireFeedParser getParserFor(final Document document) {
-        final List<WireFeedParser> parsers = getPlugins();
-        for (final WireFeedParser parser : parsers) {
+        final Element root = document.getRootElement();
+        for (final WireFeedParser parser : getCandidatesFor(root.getName(), root.getNamespaceURI(), root.getAttributeValue("version"))) {
             if (parser.isMyType(document)) {
                 return parser;
             }
@@ -74,6 +96,127 @@ public class FeedParsers extends PluginManager<WireFeedParser> {
         return null;
     }
 
+    /**
+     * Returns the parsers that may handle a document with the given root element, in order of
+     * definition.
+     * <p>
+     * It can be used on the first start element of a stream, before any tree is built. The
+     * candidates are sorted once per root element and cached until the parsers are indexed again.
+     * <p>
+     *
+     * @param name local name of the root element.
+     * @param namespaceURI namespace URI of the root element, empty for no namespace.
+     * @param version value of the 'version' attribute of the root element, <b>null</b> if absent.
+     * @return the candidate parsers, their isMyType method has the last word. The list must not be
+     *         modified.
+     */
+    public List<WireFeedParser> getCandidatesFor(final String name, final String namespaceURI, final String version) {
+
+        final List<WireFeedParser> byNamespace = parsersByNamespace.get(namespaceURI);
+        final List<WireFeedParser> byName = parsersByName.get(name);
+        final List<WireFeedParser> byNameAndVersion = version == null ? null : parsersByName.get(name + " " + version);
+
+        if (byNamespace == null && byName == null && byNameAndVersion == null) {
+            return unindexedParsers;
+        }
+
+        // only the keys found in the index make up the cache key, unknown values of a document do not
+        final StringBuilder keys = new StringBuilder();
+        keys.append(byNamespace == null ? "" : namespaceURI).append('\n');
+        keys.append(byName == null && byNameAndVersion == null ? "" : name).append('\n');
+        keys.append(byNameAndVersion == null ? "" : version);
+        final String key = keys.toString();
+
+        List<WireFeedParser> candidates = candidatesByKeys.get(key);
+        if (candidates == null) {
+            candidates = new ArrayList<WireFeedParser>(unindexedParsers);
+            addAll(candidates, byNamespace);
+            addAll(candidates, byName);
+            addAll(candidates, byNameAndVersion);
+            Collections.sort(candidates, new Comparator<WireFeedParser>() {
+                @Override
+                public int compare(final WireFeedParser p1, final WireFeedParser p2) {
+                    return positions.get(p1).compareTo(positions.get(p2));
+                }
+            });
+            candidates = Collections.unmodifiableList(candidates);
+            candidatesByKeys.put(key, candidates);
+        }
+        return candidates;
+
+    }
+
+    private void index() {
+        candidatesByKeys.clear();
+        final List<WireFeedParser> parsers = getPlugins();
+        for (int i = 0; i < parsers.size(); i++) {
+            final WireFeedParser parser = parsers.get(i);
+            positions.put(parser, i);
+            if (!isIndexable(parser)) {
+                unindexedParsers.add(parser);
+                continue;
+            }
+            final BaseWireFeedParser baseParser = (BaseWireFeedParser) parser;
+            final String namespaceURI = baseParser.getRootElementNamespaceURI();
+            final String name = baseParser.getRootElementName();
+            final String version = baseParser.getRootElementVersion();
+            if (namespaceURI != null) {
+                put(parsersByNamespace, namespaceURI, parser);
+            } else if (version != null) {
+                put(parsersByName, name + " " + version, parser);
+            } else {
+                put(parsersByName, name, parser);
+            }
+        }
+    }
+
+    // keys declared by a superclass do not apply anymore if isMyType is overridden by a subclass
+    private static boolean isIndexable(final WireFeedParser parser) {
+        if (!(parser instanceof BaseWireFeedParser)) {
+            return false;
+        }
+        final BaseWireFeedParser baseParser = (BaseWireFeedParser) parser;
+        if (baseParser.getRootElementNamespaceURI() == null && baseParser.getRootElementName() == null) {
+            return false;
+        }
+        final Class<?> isMyTypeClass = getDeclaringClass(parser.getClass(), "isMyType", Document.class);
+        Class<?> keysClass = getDeclaringClass(parser.getClass(), "getRootElementNamespaceURI");
+        for (final String method : new String[] { "getRootElementName", "getRootElementVersion" }) {
+            final Class<?> declaringClass = getDeclaringClass(parser.getClass(), method);
+            if (keysClass.isAssignableFrom(declaringClass)) {
+                keysClass = declaringClass;
+            }
+        }
+        return isMyTypeClass.isAssignableFrom(keysClass);
+    }
+
+    private static Class<?> getDeclaringClass(final Class<?> clazz, final String name, final Class<?>... parameterTypes) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return c;
+            } catch (final NoSuchMethodException e) {
+                // look into the superclass
+            }
+        }
+        return Object.class;
+    }
+
+    private static void put(final Map<String, List<WireFeedParser>> index, final String key, final WireFeedParser parser) {
+        List<WireFeedParser> parsers = index.get(key);
+        if (parsers == null) {
+            parsers = new ArrayList<WireFeedParser>();
+            index.put(key, parsers);
+        }
+        parsers.add(parser);
+    }
+
+    private static void addAll(final List<WireFeedParser> candidates, final List<WireFeedParser> parsers) {
+        if (parsers != null) {
+            candidates.addAll(parsers);
+        }
+    }
+
     @Override
     protected String getKey(final WireFeedParser obj) {
         return obj.getType();
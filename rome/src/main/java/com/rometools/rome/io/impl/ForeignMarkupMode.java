@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+/**
+ * How {@link BaseWireFeedParser#extractForeignMarkup(org.jdom2.Element, com.rometools.rome.feed.module.Extendable, org.jdom2.Namespace)}
+ * hands the foreign markup of the parsed document over to the feed beans.
+ */
+public enum ForeignMarkupMode {
+
+    /**
+     * The foreign elements are cloned, the document is left untouched. Used for documents given
+     * by the caller.
+     */
+    COPY,
+
+    /**
+     * The foreign elements are moved to the beans without being copied, they are detached from the
+     * document once it has been parsed. Used for documents built by the parser engines, which are
+     * discarded after parsing.
+     */
+    MOVE,
+
+    /**
+     * The foreign elements are kept as XML text, they are only parsed into elements the first time
+     * the foreign markup is read. This takes much less memory for beans that are kept around.
+     */
+    RAW
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.Iterator;
+
+import com.rometools.rome.feed.atom.Entry;
+
+/**
+ * Marker entry standing for the entries of an iterator, used by the Atom generators to write a
+ * feed from an entry iterator.
+ */
+class IteratedEntry extends Entry {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Iterator<?> entries;
+
+    IteratedEntry(final Iterator<?> entries) {
+        this.entries = entries;
+    }
+
+    Iterator<?> getEntries() {
+        return entries;
+    }
+
+}
@@ -16,16 +16,21 @@
  */
 package com.rometools.rome.io.impl;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.io.FeedException;
 import com.rometools.rome.io.ModuleGenerator;
+import com.rometools.rome.io.StreamingModuleGenerator;
 
 public class ModuleGenerators extends PluginManager<ModuleGenerator> {
 
@@ -59,6 +64,78 @@ public class ModuleGenerators extends PluginManager<ModuleGenerator> {
         }
     }
 
+    /**
+     * Writes an element along with the given modules.
+     * <p>
+     * When none of the module generators streams, the modules are generated into the element,
+     * which is written as a whole. Otherwise the element is written without closing it, streaming
+     * generators write to the writer and the others generate into a small element per module, whose
+     * content is written and released right after.
+     * <p>
+     *
+     * @param modules the modules to write.
+     * @param element the element that gets the modules.
+     * @param writer the writer to write the element to.
+     * @throws FeedException thrown if the element could not be written.
+     * @throws XMLStreamException thrown if the element could not be written.
+     */
+    public void writeModules(final List<Module> modules, final Element element, final StaxFeedWriter writer) throws FeedException,
+            XMLStreamException {
+        final Map<String, ModuleGenerator> generators = getPluginMap();
+        boolean streaming = false;
+        for (final Module module : modules) {
+            if (generators.get(module.getUri()) instanceof StreamingModuleGenerator) {
+                streaming = true;
+                break;
+            }
+        }
+        if (!streaming) {
+            generateModules(modules, element);
+            writer.writeElement(element);
+            return;
+        }
+        writer.writeStartElement(element);
+        writer.writeContent(element);
+        for (final Module module : modules) {
+            final ModuleGenerator generator = generators.get(module.getUri());
+            if (generator instanceof StreamingModuleGenerator) {
+                ((StreamingModuleGenerator) generator).generate(module, writer.getXMLStreamWriter());
+            } else if (generator != null) {
+                final Element moduleElement = new Element(element.getName(), element.getNamespace());
+                generator.generate(module, moduleElement);
+                writer.writeContent(moduleElement);
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Returns the prefixes of the namespaces of the given modules, as declared by their generators.
+     * Other namespaces the generators may use are not included.
+     * <p>
+     *
+     * @param modules the modules.
+     * @return the namespace prefixes.
+     */
+    public Set<String> getModulePrefixes(final List<Module> modules) {
+        if (modules.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Map<String, ModuleGenerator> generators = getPluginMap();
+        final Set<String> prefixes = new HashSet<String>();
+        for (final Module module : modules) {
+            final ModuleGenerator generator = generators.get(module.getUri());
+            if (generator != null) {
+                for (final Namespace namespace : generator.getNamespaces()) {
+                    if (namespace.getURI().equals(module.getUri())) {
+                        prefixes.add(namespace.getPrefix());
+                    }
+                }
+            }
+        }
+        return prefixes;
+    }
+
     public Set<Namespace> getAllNamespaces() {
         if (allNamespaces == null) {
             allNamespaces = new HashSet<Namespace>();
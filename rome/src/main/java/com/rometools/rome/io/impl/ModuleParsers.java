@@ -16,21 +16,31 @@
  */
 package com.rometools.rome.io.impl;
 
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.io.ModuleParser;
 import com.rometools.rome.io.WireFeedParser;
-import com.rometools.utils.Lists;
 
 public class ModuleParsers extends PluginManager<ModuleParser> {
 
+    // ENTRIES(namespaceUri,position of its parser in the plugins list)
+    private final Map<String, Integer> positionsByNamespace = new HashMap<String, Integer>();
+
     public ModuleParsers(final String propertyKey, final WireFeedParser parentParser) {
         super(propertyKey, parentParser, null);
+        final List<ModuleParser> parsers = getPlugins();
+        for (int i = 0; i < parsers.size(); i++) {
+            positionsByNamespace.put(Namespace.getNamespace(parsers.get(i).getNamespaceUri()).getURI(), i);
+        }
     }
 
     @Override
@@ -42,33 +52,53 @@ public class ModuleParsers extends PluginManager<ModuleParser> {
         return getKeys();
     }
 
+    /**
+     * Parses the modules of an element.
+     * <p>
+     * The children of the element are scanned once for the namespaces they use, only the parsers
+     * of those namespaces are called, in the order they are defined in the rome.properties files.
+     * <p>
+     *
+     * @param root element to parse the modules of.
+     * @param locale locale to use when parsing dates.
+     * @return the modules found, <b>null</b> if none.
+     */
     public List<Module> parseModules(final Element root, final Locale locale) {
+
         final List<ModuleParser> parsers = getPlugins();
+
+        BitSet present = null;
+        String lastNamespaceUri = null;
+        for (final Element child : root.getChildren()) {
+            final String namespaceUri = child.getNamespaceURI();
+            // siblings often share the same namespace
+            if (!namespaceUri.equals(lastNamespaceUri)) {
+                lastNamespaceUri = namespaceUri;
+                final Integer position = positionsByNamespace.get(namespaceUri);
+                if (position != null) {
+                    if (present == null) {
+                        present = new BitSet(parsers.size());
+                    }
+                    present.set(position);
+                }
+            }
+        }
+
         List<Module> modules = null;
-        for (final ModuleParser parser : parsers) {
-            final String namespaceUri = parser.getNamespaceUri();
-            final Namespace namespace = Namespace.getNamespace(namespaceUri);
-            if (hasElementsFrom(root, namespace)) {
-                final Module module = parser.parse(root, locale);
+        if (present != null) {
+            for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                final Module module = parsers.get(i).parse(root, locale);
                 if (module != null) {
-                    modules = Lists.createWhenNull(modules);
+                    if (modules == null) {
+                        // the beans keep a ModuleList as is instead of copying it
+                        modules = new ModuleList();
+                    }
                     modules.add(module);
                 }
             }
         }
         return modules;
-    }
 
-    private boolean hasElementsFrom(final Element root, final Namespace namespace) {
-        boolean hasElements = false;
-        for (final Element child : root.getChildren()) {
-            final Namespace childNamespace = child.getNamespace();
-            if (namespace.equals(childNamespace)) {
-                hasElements = true;
-                break;
-            }
-        }
-        return hasElements;
     }
 
 }
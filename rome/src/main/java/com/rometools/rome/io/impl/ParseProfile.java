@@ -0,0 +1,225 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+
+import com.rometools.rome.io.StreamingWireFeedParser;
+import com.rometools.rome.io.WireFeedParser;
+
+/**
+ * Lists the fields and modules of the items (or entries) that have to be parsed, the other child
+ * elements of the items are skipped.
+ * <p>
+ * Child elements in the namespace of the item are skipped if they hold an unwanted field, children
+ * that do not hold any of the known fields are kept. Child elements in other namespaces are kept
+ * only if their namespace is the URI of a wanted module, or if they hold a wanted field in the
+ * Content or Dublin Core modules (for instance dc:date for the published date of RSS 1.0 items).
+ * All other foreign markup is skipped.
+ * <p>
+ * The feed level elements are always parsed. Profiles only apply to the parsers that support
+ * streaming, see {@link StreamingWireFeedParser}.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public class ParseProfile {
+
+    /**
+     * Fields of the items (or entries) a profile can select.
+     */
+    public enum Field {
+        TITLE, LINK, URI, DESCRIPTION, CONTENT, PUBLISHED_DATE, UPDATED_DATE, CATEGORIES, AUTHORS, ENCLOSURES, COMMENTS, SOURCE
+    }
+
+    private static final String CONTENT_URI = "http://purl.org/rss/1.0/modules/content/";
+    private static final String DC_URI = "http://purl.org/dc/elements/1.1/";
+
+    // fields of the elements in the namespace of the item
+    private static final Map<String, Field> ITEM_FIELDS = new HashMap<String, Field>();
+
+    // fields of the elements in other namespaces, keyed by namespace URI and local name
+    private static final Map<String, Map<String, Field>> MODULE_FIELDS = new HashMap<String, Map<String, Field>>();
+
+    static {
+        ITEM_FIELDS.put("title", Field.TITLE);
+        ITEM_FIELDS.put("link", Field.LINK);
+        ITEM_FIELDS.put("guid", Field.URI);
+        ITEM_FIELDS.put("id", Field.URI);
+        ITEM_FIELDS.put("description", Field.DESCRIPTION);
+        ITEM_FIELDS.put("summary", Field.DESCRIPTION);
+        ITEM_FIELDS.put("content", Field.CONTENT);
+        ITEM_FIELDS.put("pubDate", Field.PUBLISHED_DATE);
+        ITEM_FIELDS.put("published", Field.PUBLISHED_DATE);
+        ITEM_FIELDS.put("issued", Field.PUBLISHED_DATE);
+        ITEM_FIELDS.put("created", Field.PUBLISHED_DATE);
+        ITEM_FIELDS.put("updated", Field.UPDATED_DATE);
+        ITEM_FIELDS.put("modified", Field.UPDATED_DATE);
+        ITEM_FIELDS.put("category", Field.CATEGORIES);
+        ITEM_FIELDS.put("author", Field.AUTHORS);
+        ITEM_FIELDS.put("contributor", Field.AUTHORS);
+        ITEM_FIELDS.put("enclosure", Field.ENCLOSURES);
+        ITEM_FIELDS.put("comments", Field.COMMENTS);
+        ITEM_FIELDS.put("source", Field.SOURCE);
+
+        final Map<String, Field> contentFields = new HashMap<String, Field>();
+        contentFields.put("encoded", Field.CONTENT);
+        MODULE_FIELDS.put(CONTENT_URI, contentFields);
+
+        final Map<String, Field> dcFields = new HashMap<String, Field>();
+        dcFields.put("title", Field.TITLE);
+        dcFields.put("identifier", Field.URI);
+        dcFields.put("description", Field.DESCRIPTION);
+        dcFields.put("date", Field.PUBLISHED_DATE);
+        dcFields.put("subject", Field.CATEGORIES);
+        dcFields.put("creator", Field.AUTHORS);
+        dcFields.put("contributor", Field.AUTHORS);
+        dcFields.put("source", Field.SOURCE);
+        MODULE_FIELDS.put(DC_URI, dcFields);
+    }
+
+    private final Set<Field> fields;
+    private final Set<String> moduleUris;
+
+    /**
+     * Creates a profile parsing the given fields of the items, without modules.
+     * <p>
+     *
+     * @param fields the fields to parse.
+     */
+    public ParseProfile(final Field... fields) {
+        this(fields.length == 0 ? EnumSet.noneOf(Field.class) : EnumSet.of(fields[0], fields), Collections.<String> emptySet());
+    }
+
+    /**
+     * Creates a profile parsing the given fields and modules of the items.
+     * <p>
+     *
+     * @param fields the fields to parse.
+     * @param moduleUris the namespace URIs of the modules to parse.
+     */
+    public ParseProfile(final Set<Field> fields, final Set<String> moduleUris) {
+        this.fields = fields.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(fields);
+        this.moduleUris = Collections.unmodifiableSet(new HashSet<String>(moduleUris));
+    }
+
+    /**
+     * Returns a profile parsing the fields of this profile and the given modules.
+     * <p>
+     *
+     * @param uris the namespace URIs of the modules to parse in addition.
+     * @return a new profile.
+     */
+    public ParseProfile withModules(final String... uris) {
+        final Set<String> modules = new HashSet<String>(moduleUris);
+        Collections.addAll(modules, uris);
+        return new ParseProfile(fields, modules);
+    }
+
+    /**
+     * Returns the fields of the items parsed with this profile.
+     * <p>
+     *
+     * @return the fields, an unmodifiable set.
+     */
+    public Set<Field> getFields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Returns the namespace URIs of the item modules parsed with this profile.
+     * <p>
+     *
+     * @return the module namespace URIs, an unmodifiable set.
+     */
+    public Set<String> getModuleUris() {
+        return moduleUris;
+    }
+
+    /**
+     * Indicates if a child element of an item has to be parsed.
+     * <p>
+     *
+     * @param itemNamespaceUri the namespace URI of the item element, empty for none.
+     * @param namespaceUri the namespace URI of the child element, empty or <b>null</b> for none.
+     * @param name the local name of the child element.
+     * @return <b>true</b> if the child element has to be parsed, <b>false</b> if it can be skipped.
+     */
+    public boolean isWanted(final String itemNamespaceUri, String namespaceUri, final String name) {
+        if (namespaceUri == null) {
+            namespaceUri = "";
+        }
+        if (namespaceUri.equals(itemNamespaceUri)) {
+            final Field field = ITEM_FIELDS.get(name);
+            return field == null || fields.contains(field);
+        }
+        if (moduleUris.contains(namespaceUri)) {
+            return true;
+        }
+        final Map<String, Field> moduleFields = MODULE_FIELDS.get(namespaceUri);
+        if (moduleFields != null) {
+            final Field field = moduleFields.get(name);
+            return field != null && fields.contains(field);
+        }
+        return false;
+    }
+
+    /**
+     * Removes the child elements this profile does not want from the items of a document, for
+     * documents that have been built as a whole.
+     * <p>
+     *
+     * @param parser the parser of the document.
+     * @param document the document to filter, it is modified.
+     */
+    public void filter(final WireFeedParser parser, final Document document) {
+        if (parser instanceof StreamingWireFeedParser && document.hasRootElement()) {
+            filterItems((StreamingWireFeedParser) parser, document.getRootElement());
+        }
+    }
+
+    private void filterItems(final StreamingWireFeedParser parser, final Element parent) {
+        for (final Element child : parent.getChildren()) {
+            if (parser.isItem(parent, child)) {
+                filterItem(child);
+            } else if (parser.isItemContainer(child)) {
+                filterItems(parser, child);
+            }
+        }
+    }
+
+    private void filterItem(final Element item) {
+        final String itemNamespaceUri = item.getNamespaceURI();
+        final List<Element> unwanted = new ArrayList<Element>();
+        for (final Element child : item.getChildren()) {
+            if (!isWanted(itemNamespaceUri, child.getNamespaceURI(), child.getName())) {
+                unwanted.add(child);
+            }
+        }
+        for (final Element child : unwanted) {
+            child.detach();
+        }
+    }
+
+}
@@ -16,11 +16,17 @@
  */
 package com.rometools.rome.io.impl;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
+import org.jdom2.output.Format;
 
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.rss.Channel;
@@ -42,6 +48,7 @@ public class RSS090Generator extends BaseWireFeedGenerator {
     private static final Namespace RDF_NS = Namespace.getNamespace("rdf", RDF_URI);
     private static final Namespace RSS_NS = Namespace.getNamespace(RSS_URI);
     private static final Namespace CONTENT_NS = Namespace.getNamespace("content", CONTENT_URI);
+    private static final Namespace[] NO_NAMESPACES = new Namespace[0];
 
     public RSS090Generator() {
         this("rss_0.9");
@@ -60,6 +67,14 @@ public class RSS090Generator extends BaseWireFeedGenerator {
         return createDocument(root);
     }
 
+    @Override
+    public void generate(final WireFeed feed, final Iterator<?> items, final XMLStreamWriter writer, final Format format) throws FeedException {
+        // the items are generated from a copy of the channel, the channel given is left unchanged
+        final Channel channel = copyFeed((Channel) feed);
+        channel.setItems(Collections.<Item> singletonList(new IteratedItem(items)));
+        generate(channel, writer, format);
+    }
+
     protected Namespace getFeedNamespace() {
         return RSS_NS;
     }
@@ -213,11 +228,39 @@ public class RSS090Generator extends BaseWireFeedGenerator {
     }
 
     protected void addItem(final Item item, final Element parent, final int index) throws FeedException {
+        if (isDeferringItems() && item instanceof IteratedItem) {
+            parent.addContent(createIteratedElement("item", getFeedNamespace(), ((IteratedItem) item).getItems(), index));
+        } else if (isDeferringItems()) {
+            parent.addContent(createDeferredElement("item", getFeedNamespace(), item, index, item.getModules(), getItemNamespaces(item)));
+        } else {
+            final Element eItem = new Element("item", getFeedNamespace());
+            populateItem(item, eItem, index);
+            checkItemConstraints(eItem);
+            generateItemModules(item.getModules(), eItem);
+            parent.addContent(eItem);
+        }
+    }
+
+    @Override
+    protected void writeDeferredElement(final Object source, final int index, final StaxFeedWriter writer) throws FeedException, XMLStreamException {
+        final Item item = (Item) source;
         final Element eItem = new Element("item", getFeedNamespace());
         populateItem(item, eItem, index);
         checkItemConstraints(eItem);
-        generateItemModules(item.getModules(), eItem);
-        parent.addContent(eItem);
+        writeItemElement(eItem, item.getModules(), writer);
+    }
+
+    /**
+     * Returns the namespaces used by the element of an item besides the feed namespace and the
+     * namespaces of its modules. In streaming mode the unused namespace declarations are purged
+     * before the item elements are generated, these are kept.
+     * <p>
+     *
+     * @param item the item.
+     * @return the namespaces used by the item element.
+     */
+    protected Namespace[] getItemNamespaces(final Item item) {
+        return NO_NAMESPACES;
     }
 
     protected void populateItem(final Item item, final Element eItem, final int index) {
@@ -269,4 +312,23 @@ public class RSS090Generator extends BaseWireFeedGenerator {
         checkNotNullAndLength(eItem, "link", 0, 500);
     }
 
+    /**
+     * Marker item standing for the items of an iterator.
+     */
+    private static class IteratedItem extends Item {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Iterator<?> items;
+
+        IteratedItem(final Iterator<?> items) {
+            this.items = items;
+        }
+
+        Iterator<?> getItems() {
+            return items;
+        }
+
+    }
+
 }
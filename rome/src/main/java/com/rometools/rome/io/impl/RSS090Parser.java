@@ -27,13 +27,15 @@ import org.jdom2.Namespace;
 
 import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.impl.ModuleList;
 import com.rometools.rome.feed.rss.Channel;
 import com.rometools.rome.feed.rss.Image;
 import com.rometools.rome.feed.rss.Item;
 import com.rometools.rome.feed.rss.TextInput;
 import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.StreamingWireFeedParser;
 
-public class RSS090Parser extends BaseWireFeedParser {
+public class RSS090Parser extends BaseWireFeedParser implements StreamingWireFeedParser {
 
     private static final String RDF_URI = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
     private static final String RSS_URI = "http://my.netscape.com/rdf/simple/0.9/";
@@ -71,6 +73,11 @@ public class RSS090Parser extends BaseWireFeedParser {
 
     }
 
+    @Override
+    protected String getRootElementNamespaceURI() {
+        return getRDFNamespace().getURI();
+    }
+
     @Override
     public WireFeed parse(final Document document, final boolean validate, final Locale locale) throws IllegalArgumentException, FeedException {
 
@@ -168,7 +175,7 @@ public class RSS090Parser extends BaseWireFeedParser {
         // Unfortunately Microsoft's SSE extension has a special case of effectively putting the
         // sharing channel module inside the RSS tag and not inside the channel itself. So we also
         // need to look for channel modules from the root RSS element.
-        final List<Module> allFeedModules = new ArrayList<Module>();
+        final List<Module> allFeedModules = new ModuleList();
         final List<Module> rootModules = parseFeedModules(rssRoot, locale);
         final List<Module> channelModules = parseFeedModules(eChannel, locale);
 
@@ -280,6 +287,37 @@ public class RSS090Parser extends BaseWireFeedParser {
         return items;
     }
 
+    /**
+     * The 'item' elements are under the root element, there is no item container.
+     */
+    @Override
+    public boolean isItemContainer(final Element element) {
+        return false;
+    }
+
+    /**
+     * It matches the 'item' elements under the root element, see {@link #getItems(Element)}.
+     */
+    @Override
+    public boolean isItem(final Element parent, final Element element) {
+        return parent.isRootElement() && isRSSElement(element, "item");
+    }
+
+    @Override
+    public Object parseStreamedItem(final Element eItem, final Locale locale) {
+        return parseItem(eItem.getDocument().getRootElement(), eItem, locale);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setStreamedItems(final WireFeed feed, final List<Object> items) {
+        ((Channel) feed).setItems((List<Item>) (List<?>) items);
+    }
+
+    protected boolean isRSSElement(final Element element, final String name) {
+        return name.equals(element.getName()) && getRSSNamespace().equals(element.getNamespace());
+    }
+
     /**
      * Parses an item element of an RSS document looking for item information.
      * <p/>
@@ -307,11 +345,11 @@ public class RSS090Parser extends BaseWireFeedParser {
 
         item.setModules(parseItemModules(eItem, locale));
 
-        final List<Element> foreignMarkup = extractForeignMarkup(eItem, item, getRSSNamespace());
+        final List<Element> foreignElements = getForeignElements(eItem, item, getRSSNamespace());
         // content:encoded elements are treated special, without a module, they have to be removed
         // from the foreign markup to avoid duplication in case of read/write. Note that this fix
         // will break if a content module is used
-        final Iterator<Element> iterator = foreignMarkup.iterator();
+        final Iterator<Element> iterator = foreignElements.iterator();
         while (iterator.hasNext()) {
             final Element element = iterator.next();
             final Namespace eNamespace = element.getNamespace();
@@ -321,6 +359,7 @@ public class RSS090Parser extends BaseWireFeedParser {
             }
         }
 
+        final List<Element> foreignMarkup = extractForeignMarkup(foreignElements);
         if (!foreignMarkup.isEmpty()) {
             item.setForeignMarkup(foreignMarkup);
         }
@@ -48,6 +48,11 @@ public class RSS091NetscapeParser extends RSS091UserlandParser {
 
     }
 
+    @Override
+    protected String getRootElementName() {
+        return ELEMENT_NAME;
+    }
+
     @Override
     protected boolean isHourFormat24(final Element rssRoot) {
         return false;
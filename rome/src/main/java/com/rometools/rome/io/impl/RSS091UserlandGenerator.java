@@ -258,6 +258,15 @@ public class RSS091UserlandGenerator extends RSS090Generator {
 
     }
 
+    @Override
+    protected Namespace[] getItemNamespaces(final Item item) {
+        if (item.getContent() != null) {
+            return new Namespace[] { getContentNamespace() };
+        } else {
+            return super.getItemNamespaces(item);
+        }
+    }
+
     @Override
     protected void populateItem(final Item item, final Element eItem, final int index) {
 
@@ -50,6 +50,21 @@ public class RSS091UserlandParser extends RSS090Parser {
         return rssRoot.getName().equals("rss") && version != null && version.getValue().equals(getRSSVersion());
     }
 
+    @Override
+    protected String getRootElementNamespaceURI() {
+        return null;
+    }
+
+    @Override
+    protected String getRootElementName() {
+        return "rss";
+    }
+
+    @Override
+    protected String getRootElementVersion() {
+        return getRSSVersion();
+    }
+
     protected String getRSSVersion() {
         return "0.91";
     }
@@ -212,6 +227,22 @@ public class RSS091UserlandParser extends RSS090Parser {
 
     }
 
+    /**
+     * The 'item' elements are under the 'channel' element.
+     */
+    @Override
+    public boolean isItemContainer(final Element element) {
+        return isRSSElement(element, "channel");
+    }
+
+    /**
+     * It matches the 'item' elements under the 'channel' element.
+     */
+    @Override
+    public boolean isItem(final Element parent, final Element element) {
+        return isRSSElement(parent, "channel") && isRSSElement(element, "item");
+    }
+
     /**
      * It looks for the 'image' elements under the 'channel' elemment.
      */
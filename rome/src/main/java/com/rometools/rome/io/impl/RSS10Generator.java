@@ -16,11 +16,17 @@
  */
 package com.rometools.rome.io.impl;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamWriter;
+
 import org.jdom2.Element;
 import org.jdom2.Namespace;
+import org.jdom2.output.Format;
 
+import com.rometools.rome.feed.WireFeed;
 import com.rometools.rome.feed.rss.Channel;
 import com.rometools.rome.feed.rss.Description;
 import com.rometools.rome.feed.rss.Item;
@@ -49,6 +55,26 @@ public class RSS10Generator extends RSS090Generator {
         return RSS_NS;
     }
 
+    /**
+     * The channel lists the URIs of all its items, the items of the iterator are collected before
+     * the channel is written. Their elements are still generated one at a time.
+     */
+    @Override
+    public void generate(final WireFeed feed, final Iterator<?> items, final XMLStreamWriter writer, final Format format) throws FeedException {
+        final Channel channel = (Channel) feed;
+        final List<Item> channelItems = channel.getItems();
+        final List<Item> iteratedItems = new ArrayList<Item>();
+        while (items.hasNext()) {
+            iteratedItems.add((Item) items.next());
+        }
+        channel.setItems(iteratedItems);
+        try {
+            generate(channel, writer, format);
+        } finally {
+            channel.setItems(channelItems);
+        }
+    }
+
     @Override
     protected void populateChannel(final Channel channel, final Element eChannel) {
 
@@ -76,6 +102,15 @@ public class RSS10Generator extends RSS090Generator {
         }
     }
 
+    @Override
+    protected Namespace[] getItemNamespaces(final Item item) {
+        if (item.getContent() != null) {
+            return new Namespace[] { getContentNamespace() };
+        } else {
+            return super.getItemNamespaces(item);
+        }
+    }
+
     @Override
     protected void populateItem(final Item item, final Element eItem, final int index) {
 
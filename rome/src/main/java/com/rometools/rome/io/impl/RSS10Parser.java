@@ -58,6 +58,11 @@ public class RSS10Parser extends RSS090Parser {
         return defaultNS != null && defaultNS.equals(getRDFNamespace()) && rssRoot.getChild("channel", getRSSNamespace()) != null;
     }
 
+    @Override
+    protected String getRootElementNamespaceURI() {
+        return getRDFNamespace().getURI();
+    }
+
     /**
      * Returns the namespace used by RSS elements in document of the RSS 1.0
      * <P>
@@ -55,6 +55,14 @@ public class RSS20Parser extends RSS094Parser {
                && (versionMatches(document) || versionAbsent(document));
     }
 
+    /**
+     * Any version starting with 2.0 or no version at all.
+     */
+    @Override
+    protected String getRootElementVersion() {
+        return null;
+    }
+
     private boolean rootElementMatches(final Document document) {
         return document.getRootElement().getName().equals("rss");
     }
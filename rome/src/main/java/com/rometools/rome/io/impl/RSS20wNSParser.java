@@ -54,6 +54,11 @@ public class RSS20wNSParser extends RSS20Parser {
         return defaultNS != null && defaultNS.equals(getRSSNamespace()) && super.isMyType(document);
     }
 
+    @Override
+    protected String getRootElementNamespaceURI() {
+        return RSS20_URI;
+    }
+
     @Override
     protected Namespace getRSSNamespace() {
         return Namespace.getNamespace(RSS20_URI);
@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.input.sax.XMLReaders;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+
+/**
+ * List of foreign markup elements kept as XML text, the elements are parsed the first time the
+ * list is read. Created by {@link BaseWireFeedParser} in {@link ForeignMarkupMode#RAW} mode.
+ * <p>
+ * The list behaves as an ArrayList once parsed. It is serialized as XML text if it has not been
+ * parsed yet. Like the beans holding it, the list is not thread safe.
+ */
+class RawForeignMarkup extends AbstractList<Element> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String WRAPPER_START = "<foreign>";
+    private static final String WRAPPER_END = "</foreign>";
+
+    private String xml;
+    private int count;
+    private transient List<Element> elements;
+
+    RawForeignMarkup(final List<Element> foreignElements) {
+        final XMLOutputter outputter = new XMLOutputter(Format.getRawFormat());
+        final StringWriter writer = new StringWriter();
+        writer.write(WRAPPER_START);
+        try {
+            for (final Element element : foreignElements) {
+                outputter.output(element, writer);
+            }
+        } catch (final IOException e) {
+            // a StringWriter does not throw IOExceptions
+            throw new IllegalStateException(e);
+        }
+        writer.write(WRAPPER_END);
+        xml = writer.toString();
+        count = foreignElements.size();
+    }
+
+    /**
+     * Returns the XML text of the foreign markup elements, with the namespace declarations they
+     * need.
+     * <p>
+     *
+     * @return the XML text of the elements wrapped in a 'foreign' element.
+     */
+    String getXml() {
+        if (elements != null) {
+            return new RawForeignMarkup(elements).getXml();
+        }
+        return xml;
+    }
+
+    /**
+     * Indicates whether the elements have been parsed.
+     * <p>
+     *
+     * @return <b>true</b> if the elements have been parsed.
+     */
+    boolean isParsed() {
+        return elements != null;
+    }
+
+    @Override
+    public Element get(final int index) {
+        return getElements().get(index);
+    }
+
+    @Override
+    public int size() {
+        if (elements == null) {
+            return count;
+        }
+        return elements.size();
+    }
+
+    @Override
+    public Element set(final int index, final Element element) {
+        return getElements().set(index, element);
+    }
+
+    @Override
+    public void add(final int index, final Element element) {
+        getElements().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public Element remove(final int index) {
+        final Element element = getElements().remove(index);
+        modCount++;
+        return element;
+    }
+
+    private List<Element> getElements() {
+        if (elements == null) {
+            final SAXBuilder saxBuilder = new SAXBuilder(XMLReaders.NONVALIDATING);
+            saxBuilder.setExpandEntities(false);
+            final Element wrapper;
+            try {
+                wrapper = saxBuilder.build(new StringReader(xml)).getRootElement();
+            } catch (final JDOMException e) {
+                // the text has been written by JDOM, it is well formed
+                throw new IllegalStateException("Invalid foreign markup: " + e.getMessage(), e);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+            final List<Element> parsed = new ArrayList<Element>(wrapper.getChildren());
+            for (final Element element : parsed) {
+                element.detach();
+            }
+            elements = parsed;
+            xml = null;
+        }
+        return elements;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        xml = getXml();
+        count = size();
+        out.defaultWriteObject();
+        if (elements != null) {
+            xml = null;
+        }
+    }
+
+}
@@ -0,0 +1,460 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jdom2.Attribute;
+import org.jdom2.Comment;
+import org.jdom2.DocType;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.ProcessingInstruction;
+import org.jdom2.Text;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.ParsingFeedException;
+import com.rometools.rome.io.StreamingWireFeedParser;
+import com.rometools.rome.io.WireFeedParser;
+
+/**
+ * Pull parser engine that builds feed beans out of StAX events without building the JDOM document
+ * of the whole feed.
+ * <p>
+ * Only a shell of the document is kept in memory: the root element and the feed level elements
+ * (title, links, modules, etc.). Items and entries are built one at a time as small element
+ * subtrees, handed over to the parser detected for the document and released right after. Parsers
+ * that do not support streaming (see {@link StreamingWireFeedParser}) get the
+ * whole document built into the shell instead.
+ * <p>
+ * Instances are not thread safe and can only read one document.
+ */
+public class StaxFeedReader {
+
+    private static final Pattern DOCTYPE_PATTERN = Pattern.compile(
+            "<!DOCTYPE\\s+([^\\s\\[>]+)(?:\\s+(?:PUBLIC\\s+[\"']([^\"']*)[\"']\\s+[\"']([^\"']*)[\"']|SYSTEM\\s+[\"']([^\"']*)[\"']))?");
+
+    private final FeedParsers feedParsers;
+    private final XMLStreamReader reader;
+    private final Locale locale;
+    private final boolean allowDoctypes;
+
+    private final Document shell = new Document();
+    private final LinkedList<Element> containers = new LinkedList<Element>();
+
+    private WireFeedParser parser;
+    private StreamingWireFeedParser streamingParser;
+    private Element pendingItem;
+    private Element pendingParent;
+    private DateParseContext dateParseContext;
+    private ParseProfile parseProfile;
+    private ForeignMarkupMode foreignMarkupMode = ForeignMarkupMode.MOVE;
+
+    /**
+     * Creates a reader for the document of the given StAX reader.
+     * <p>
+     *
+     * @param feedParsers parsers to detect the feed type with.
+     * @param reader StAX reader positioned before the root element.
+     * @param locale locale to use for dates.
+     * @param allowDoctypes indicates whether Doctype declarations are allowed.
+     */
+    public StaxFeedReader(final FeedParsers feedParsers, final XMLStreamReader reader, final Locale locale, final boolean allowDoctypes) {
+        this.feedParsers = feedParsers;
+        this.reader = reader;
+        this.locale = locale;
+        this.allowDoctypes = allowDoctypes;
+    }
+
+    /**
+     * Sets the context used to parse the dates of the feed and of its items.
+     * <p>
+     *
+     * @param dateParseContext the date parse context, <b>null</b> for none.
+     */
+    public void setDateParseContext(final DateParseContext dateParseContext) {
+        this.dateParseContext = dateParseContext;
+    }
+
+    /**
+     * Sets the profile of the fields parsed from the items, the child elements of the items it does
+     * not want are skipped without being built.
+     * <p>
+     *
+     * @param parseProfile the parse profile, <b>null</b> to parse all fields.
+     */
+    public void setParseProfile(final ParseProfile parseProfile) {
+        this.parseProfile = parseProfile;
+    }
+
+    /**
+     * Keeps the foreign markup as XML text, see {@link ForeignMarkupMode#RAW}. Otherwise it is
+     * moved out of the elements read, which are discarded after parsing.
+     * <p>
+     *
+     * @param rawForeignMarkup <b>true</b> to keep foreign markup as XML text.
+     */
+    public void setRawForeignMarkup(final boolean rawForeignMarkup) {
+        foreignMarkupMode = rawForeignMarkup ? ForeignMarkupMode.RAW : ForeignMarkupMode.MOVE;
+    }
+
+    /**
+     * Reads the whole document and builds the feed bean out of it.
+     * <p>
+     * Items are parsed as soon as they have been read, feed level elements found after the items
+     * are taken into account.
+     * <p>
+     *
+     * @return the feed bean.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException thrown if the feed could not be parsed.
+     */
+    public WireFeed read() throws IllegalArgumentException, FeedException {
+        final List<Object> items = new ArrayList<Object>();
+        while (nextItem()) {
+            items.add(parseItem());
+        }
+        final WireFeed feed = parseFeed();
+        if (!items.isEmpty()) {
+            streamingParser.setStreamedItems(feed, items);
+        }
+        return feed;
+    }
+
+    /**
+     * Reads the feed level elements found before the first item and builds the feed bean out of
+     * them.
+     * <p>
+     * The items can then be read one by one with {@link #hasNextItem()} and {@link #readItem()}.
+     * Feed level elements found after the first item are ignored. If the parser of the document
+     * does not support streaming the whole document is read and the returned feed bean already
+     * contains all items.
+     * <p>
+     *
+     * @return the feed bean without items.
+     * @throws IllegalArgumentException thrown if feed type could not be understood by any of the
+     *             underlying parsers.
+     * @throws FeedException thrown if the feed could not be parsed.
+     */
+    public WireFeed readHeader() throws IllegalArgumentException, FeedException {
+        nextItem();
+        return parseFeed();
+    }
+
+    /**
+     * Indicates if there is another item to read, reading the document up to its start if needed.
+     * <p>
+     *
+     * @return <b>true</b> if there is another item.
+     * @throws FeedException thrown if the document is not valid XML.
+     */
+    public boolean hasNextItem() throws FeedException {
+        return nextItem();
+    }
+
+    /**
+     * Reads and parses the next item of the document.
+     * <p>
+     *
+     * @return the item bean, an Item for RSS or an Entry for Atom.
+     * @throws FeedException thrown if the item could not be parsed.
+     */
+    public Object readItem() throws FeedException {
+        if (!nextItem()) {
+            throw new NoSuchElementException();
+        }
+        return parseItem();
+    }
+
+    /**
+     * Frees the resources of the StAX reader, the underlying source is not closed.
+     */
+    public void close() {
+        try {
+            reader.close();
+        } catch (final XMLStreamException e) {
+            // ignore, the underlying source is closed by the caller
+        }
+    }
+
+    /**
+     * Returns the parser detected for the document, <b>null</b> if none has been found yet.
+     * <p>
+     *
+     * @return the parser detected for the document.
+     */
+    public WireFeedParser getParser() {
+        return parser;
+    }
+
+    // reads until the start of the next item, false if the end of the document was reached
+    private boolean nextItem() throws FeedException {
+        try {
+            while (pendingItem == null && reader.hasNext()) {
+                final int event = reader.next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement(createElement());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        containers.removeFirst();
+                        break;
+                    case XMLStreamConstants.DTD:
+                        readDocType();
+                        break;
+                    default:
+                        addContent(containers.peek(), event);
+                        break;
+                }
+            }
+        } catch (final XMLStreamException e) {
+            throw new ParsingFeedException("Invalid XML: " + e.getMessage(), e);
+        }
+        return pendingItem != null;
+    }
+
+    // reads and parses the item found by nextItem()
+    private Object parseItem() throws FeedException {
+        final Element eItem = pendingItem;
+        pendingItem = null;
+        try {
+            if (parseProfile == null) {
+                readContent(eItem);
+            } else {
+                readItemContent(eItem);
+            }
+        } catch (final XMLStreamException e) {
+            throw new ParsingFeedException("Invalid XML: " + e.getMessage(), e);
+        }
+        pendingParent.addContent(eItem);
+        final DateParseContext previousContext = DateParseContext.setCurrent(dateParseContext);
+        final ForeignMarkupMode previousMode = BaseWireFeedParser.setForeignMarkupMode(foreignMarkupMode);
+        try {
+            return streamingParser.parseStreamedItem(eItem, locale);
+        } finally {
+            DateParseContext.setCurrent(previousContext);
+            BaseWireFeedParser.setForeignMarkupMode(previousMode);
+            eItem.detach();
+        }
+    }
+
+    // parses the feed level elements read so far
+    private WireFeed parseFeed() throws IllegalArgumentException, FeedException {
+        if (parser == null) {
+            detectParser();
+        }
+        if (parser == null) {
+            throw new IllegalArgumentException("Invalid document");
+        }
+        final DateParseContext previousContext = DateParseContext.setCurrent(dateParseContext);
+        final ForeignMarkupMode previousMode = BaseWireFeedParser.setForeignMarkupMode(foreignMarkupMode);
+        try {
+            return parser.parse(shell, false, locale);
+        } finally {
+            DateParseContext.setCurrent(previousContext);
+            BaseWireFeedParser.setForeignMarkupMode(previousMode);
+        }
+    }
+
+    private void startElement(final Element element) throws XMLStreamException {
+
+        if (containers.isEmpty()) {
+            shell.setRootElement(element);
+            containers.addFirst(element);
+            return;
+        }
+
+        final Element parent = containers.getFirst();
+        if (parser == null) {
+            detectParser();
+        }
+
+        if (streamingParser != null && streamingParser.isItem(parent, element)) {
+            pendingItem = element;
+            pendingParent = parent;
+        } else if (streamingParser != null && streamingParser.isItemContainer(element)) {
+            parent.addContent(element);
+            containers.addFirst(element);
+        } else {
+            parent.addContent(element);
+            readContent(element);
+        }
+
+    }
+
+    // the feed type is detected on the elements read so far, parsers that need more than the
+    // root element get another chance on every feed level element
+    private void detectParser() {
+        if (shell.hasRootElement()) {
+            parser = feedParsers.getParserFor(shell);
+            if (parser instanceof StreamingWireFeedParser) {
+                streamingParser = (StreamingWireFeedParser) parser;
+            }
+        }
+    }
+
+    // reads the content of the element the reader is positioned on, up to its end tag
+    private void readContent(final Element element) throws XMLStreamException {
+        final LinkedList<Element> open = new LinkedList<Element>();
+        open.addFirst(element);
+        while (!open.isEmpty()) {
+            final int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final Element child = createElement();
+                    open.getFirst().addContent(child);
+                    open.addFirst(child);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    open.removeFirst();
+                    break;
+                default:
+                    addContent(open.getFirst(), event);
+                    break;
+            }
+        }
+    }
+
+    // reads the content of an item up to its end tag, skipping the children the profile does not
+    // want before their names, attributes and text are turned into strings
+    private void readItemContent(final Element item) throws XMLStreamException {
+        final String itemNamespaceUri = item.getNamespaceURI();
+        while (true) {
+            final int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (parseProfile.isWanted(itemNamespaceUri, reader.getNamespaceURI(), reader.getLocalName())) {
+                        final Element child = createElement();
+                        item.addContent(child);
+                        readContent(child);
+                    } else {
+                        skipElement();
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return;
+                default:
+                    addContent(item, event);
+                    break;
+            }
+        }
+    }
+
+    // skips the element the reader is positioned on, up to its end tag
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private Element createElement() {
+
+        final Element element = new Element(reader.getLocalName(), getNamespace(reader.getPrefix(), reader.getNamespaceURI()));
+
+        final int namespaceCount = reader.getNamespaceCount();
+        for (int i = 0; i < namespaceCount; i++) {
+            final Namespace namespace = getNamespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+            if (namespace != element.getNamespace()) {
+                element.addNamespaceDeclaration(namespace);
+            }
+        }
+
+        final int attributeCount = reader.getAttributeCount();
+        for (int i = 0; i < attributeCount; i++) {
+            final Namespace namespace = getNamespace(reader.getAttributePrefix(i), reader.getAttributeNamespace(i));
+            element.setAttribute(new Attribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i), namespace));
+        }
+
+        return element;
+
+    }
+
+    private void addContent(final Element parent, final int event) {
+        switch (event) {
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                if (parent != null) {
+                    parent.addContent(new Text(reader.getText()));
+                }
+                break;
+            case XMLStreamConstants.COMMENT:
+                if (parent == null) {
+                    shell.addContent(new Comment(reader.getText()));
+                } else {
+                    parent.addContent(new Comment(reader.getText()));
+                }
+                break;
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                final ProcessingInstruction pi = new ProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                if (parent == null) {
+                    shell.addContent(pi);
+                } else {
+                    parent.addContent(pi);
+                }
+                break;
+            default:
+                // ignore
+                break;
+        }
+    }
+
+    private void readDocType() throws FeedException {
+        if (!allowDoctypes) {
+            throw new ParsingFeedException("Invalid XML: DOCTYPE is disallowed");
+        }
+        final Matcher matcher = DOCTYPE_PATTERN.matcher(reader.getText());
+        if (matcher.find()) {
+            final DocType docType = new DocType(matcher.group(1));
+            if (matcher.group(2) != null) {
+                docType.setPublicID(matcher.group(2));
+                docType.setSystemID(matcher.group(3));
+            } else if (matcher.group(4) != null) {
+                docType.setSystemID(matcher.group(4));
+            }
+            shell.setDocType(docType);
+        }
+    }
+
+    private static Namespace getNamespace(final String prefix, final String uri) {
+        if (uri == null || uri.length() == 0) {
+            return Namespace.NO_NAMESPACE;
+        }
+        if (prefix == null) {
+            return Namespace.getNamespace("", uri);
+        }
+        return Namespace.getNamespace(prefix, uri);
+    }
+
+}
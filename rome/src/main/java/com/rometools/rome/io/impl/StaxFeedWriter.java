@@ -0,0 +1,243 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jdom2.Attribute;
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.EntityRef;
+import org.jdom2.Namespace;
+import org.jdom2.ProcessingInstruction;
+import org.jdom2.Text;
+import org.jdom2.Verifier;
+import org.jdom2.output.Format;
+import org.jdom2.output.support.AbstractStAXStreamProcessor;
+import org.jdom2.output.support.FormatStack;
+import org.jdom2.util.NamespaceStack;
+
+import com.rometools.rome.io.FeedException;
+
+/**
+ * Writes the documents created by the feed generators in streaming mode to a StAX writer.
+ * <p>
+ * The document holds the feed header and placeholders for the items or entries. Elements without
+ * placeholders are written the way JDOM writes them with the same format. Placeholders are handed
+ * back to the generator, which generates and writes one item or entry at a time, so that only the
+ * element of the item being written is kept in memory.
+ * <p>
+ * Instances are not thread safe, one instance writes one document.
+ */
+public class StaxFeedWriter extends AbstractStAXStreamProcessor {
+
+    private final BaseWireFeedGenerator generator;
+    private final XMLStreamWriter out;
+    private final FormatStack fstack;
+    private final NamespaceStack nstack = new NamespaceStack();
+
+    StaxFeedWriter(final BaseWireFeedGenerator generator, final XMLStreamWriter out, final Format format) {
+        this.generator = generator;
+        this.out = out;
+        fstack = new FormatStack(format);
+    }
+
+    /**
+     * Returns the underlying StAX writer, for the module generators that write their elements
+     * directly.
+     *
+     * @return the StAX writer.
+     */
+    public XMLStreamWriter getXMLStreamWriter() {
+        return out;
+    }
+
+    /**
+     * Writes a document, generating the items or entries of its placeholders along the way.
+     * <p>
+     *
+     * @param document the document to write.
+     * @throws FeedException thrown if an item or entry could not be generated.
+     * @throws XMLStreamException thrown if the document could not be written.
+     */
+    void output(final Document document) throws FeedException, XMLStreamException {
+        if (!fstack.isOmitDeclaration()) {
+            if (fstack.isOmitEncoding()) {
+                out.writeStartDocument("1.0");
+            } else {
+                out.writeStartDocument(fstack.getEncoding(), "1.0");
+            }
+            writePad(fstack.getLineSeparator());
+        }
+        writeRootElement(document.getRootElement());
+        writePad(fstack.getLineSeparator());
+        out.writeEndDocument();
+        out.flush();
+    }
+
+    private void writeRootElement(final Element root) throws FeedException, XMLStreamException {
+        if (containsDeferredElements(root)) {
+            startElement(root);
+            writeContent(root);
+            writeEndElement();
+        } else {
+            printElement(out, fstack, nstack, root);
+        }
+    }
+
+    /**
+     * Writes an element as a child of the element currently open.
+     * <p>
+     *
+     * @param element the element to write.
+     * @throws FeedException thrown if an item or entry of the element could not be generated.
+     * @throws XMLStreamException thrown if the element could not be written.
+     */
+    public void writeElement(final Element element) throws FeedException, XMLStreamException {
+        if (element instanceof DeferredElement) {
+            final DeferredElement deferred = (DeferredElement) element;
+            final Iterator<?> items = deferred.getItems();
+            if (items == null) {
+                generator.writeDeferredElement(deferred.getSource(), deferred.getIndex(), this);
+            } else {
+                int index = deferred.getIndex();
+                while (items.hasNext()) {
+                    generator.writeDeferredElement(items.next(), index++, this);
+                }
+            }
+        } else if (containsDeferredElements(element)) {
+            writeStartElement(element);
+            writeContent(element);
+            writeEndElement();
+        } else {
+            writePad(fstack.getPadBetween());
+            printElement(out, fstack, nstack, element);
+        }
+    }
+
+    /**
+     * Writes the start tag of an element, with its namespace declarations and attributes but
+     * without its content, as a child of the element currently open.
+     * <p>
+     *
+     * @param element the element to open.
+     * @throws XMLStreamException thrown if the start tag could not be written.
+     */
+    public void writeStartElement(final Element element) throws XMLStreamException {
+        writePad(fstack.getPadBetween());
+        startElement(element);
+    }
+
+    /**
+     * Writes the content of an element as children of the element currently open.
+     * <p>
+     *
+     * @param element the element whose content is written.
+     * @throws FeedException thrown if an item or entry of the content could not be generated.
+     * @throws XMLStreamException thrown if the content could not be written.
+     */
+    public void writeContent(final Element element) throws FeedException, XMLStreamException {
+        final List<Content> contents = element.getContent();
+        for (int i = 0; i < contents.size(); i++) {
+            final Content content = contents.get(i);
+            switch (content.getCType()) {
+                case Element:
+                    writeElement((Element) content);
+                    break;
+                case Text:
+                    final Text text = (Text) content;
+                    if (fstack.getTextMode() == Format.TextMode.PRESERVE || !Verifier.isAllXMLWhitespace(text.getText())) {
+                        printText(out, fstack, text);
+                    }
+                    break;
+                case CDATA:
+                    printCDATA(out, fstack, (CDATA) content);
+                    break;
+                case Comment:
+                    writePad(fstack.getPadBetween());
+                    printComment(out, fstack, (Comment) content);
+                    break;
+                case ProcessingInstruction:
+                    writePad(fstack.getPadBetween());
+                    printProcessingInstruction(out, fstack, (ProcessingInstruction) content);
+                    break;
+                case EntityRef:
+                    printEntityRef(out, fstack, (EntityRef) content);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Writes the end tag of the element currently open.
+     * <p>
+     *
+     * @throws XMLStreamException thrown if the end tag could not be written.
+     */
+    public void writeEndElement() throws XMLStreamException {
+        writePad(fstack.getPadLast());
+        fstack.pop();
+        out.writeEndElement();
+        nstack.pop();
+    }
+
+    private void startElement(final Element element) throws XMLStreamException {
+        nstack.push(element);
+        for (final Namespace namespace : nstack.addedForward()) {
+            if (XMLConstants.DEFAULT_NS_PREFIX.equals(namespace.getPrefix())) {
+                out.setDefaultNamespace(namespace.getURI());
+            } else {
+                out.setPrefix(namespace.getPrefix(), namespace.getURI());
+            }
+        }
+        final Namespace elementNamespace = element.getNamespace();
+        out.writeStartElement(elementNamespace.getPrefix(), element.getName(), elementNamespace.getURI());
+        for (final Namespace namespace : nstack.addedForward()) {
+            printNamespace(out, fstack, namespace);
+        }
+        if (element.hasAttributes()) {
+            for (final Attribute attribute : element.getAttributes()) {
+                printAttribute(out, fstack, attribute);
+            }
+        }
+        fstack.push();
+    }
+
+    private void writePad(final String pad) throws XMLStreamException {
+        if (pad != null) {
+            out.writeCharacters(pad);
+        }
+    }
+
+    private static boolean containsDeferredElements(final Element element) {
+        for (final Element child : element.getChildren()) {
+            if (child instanceof DeferredElement || containsDeferredElements(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -25,21 +25,49 @@ import java.util.regex.Pattern;
 
 public class XmlFixerReader extends Reader {
 
+    private static final int BLOCK_SIZE = 8192;
+
     protected Reader in;
 
     public XmlFixerReader(final Reader in) {
         super(in);
         this.in = in;
-        buffer = new StringBuffer();
+        buffer = new StringBuilder();
         state = 0;
     }
 
     private boolean trimmed;
     private boolean cdata = false;
-    private final StringBuffer buffer;
+    private final StringBuilder buffer;
     private int bufferPos;
     private int state = 0;
 
+    // chars read from the underlying stream and not consumed yet
+    private final char[] block = new char[BLOCK_SIZE];
+    private int blockPos;
+    private int blockLen;
+
+    private boolean fillBlock() throws IOException {
+        int n;
+        do {
+            n = in.read(block, 0, block.length);
+        } while (n == 0);
+        blockPos = 0;
+        if (n < 0) {
+            blockLen = 0;
+            return false;
+        }
+        blockLen = n;
+        return true;
+    }
+
+    private int nextChar() throws IOException {
+        if (blockPos >= blockLen && !fillBlock()) {
+            return -1;
+        }
+        return block[blockPos++];
+    }
+
     private boolean trimStream() throws IOException {
         boolean hasContent = true;
         int state = 0;
@@ -48,7 +76,7 @@ public class XmlFixerReader extends Reader {
         do {
             switch (state) {
                 case 0:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = false;
@@ -70,7 +98,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 1:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = true;
@@ -88,7 +116,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 2:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = true;
@@ -105,7 +133,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 3:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = true;
@@ -122,7 +150,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 4:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = true;
@@ -137,7 +165,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 5:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = true;
@@ -153,7 +181,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 6:
-                    c = in.read();
+                    c = nextChar();
                     if (c == -1) {
                         loop = false;
                         hasContent = true;
@@ -188,7 +216,7 @@ public class XmlFixerReader extends Reader {
         do { // converts literal entities to coded entities
             switch (state) {
                 case 0: // reading chars from stream
-                    c = in.read();
+                    c = nextChar();
                     if (c > -1) {
                         if (c == '&') {
                             state = 1;
@@ -216,7 +244,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 1: // reading entity from stream
-                    c = in.read();
+                    c = nextChar();
                     if (c > -1) {
                         if (c == ';') {
                             buffer.append((char) c);
@@ -267,7 +295,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 4: // checking for CDATA
-                    c = in.read();
+                    c = nextChar();
                     loop = true;
                     state = 3;
                     switch (c) {
@@ -295,7 +323,7 @@ public class XmlFixerReader extends Reader {
                     }
                     break;
                 case 5: // checking end of CDATA
-                    c = in.read();
+                    c = nextChar();
                     loop = true;
                     state = 3;
                     switch (c) {
@@ -327,18 +355,73 @@ public class XmlFixerReader extends Reader {
 
     @Override
     public int read(final char[] buffer, final int offset, final int len) throws IOException {
-        int charsRead = 0;
-        int c = this.read();
-        if (c == -1) {
-            return -1;
+        if (len == 0) {
+            return 0;
         }
-        buffer[offset + charsRead++] = (char) c;
-        while (charsRead < len && (c = this.read()) > -1) {
+        int charsRead = 0;
+        while (charsRead < len) {
+            if (trimmed && state == 0) {
+                // nothing pending, copy clean chars straight from the block
+                if (blockPos >= blockLen && !fillBlock()) {
+                    break;
+                }
+                final int copied = copyCleanChars(buffer, offset + charsRead, len - charsRead);
+                if (copied > 0) {
+                    charsRead += copied;
+                    continue;
+                }
+            }
+            // entities, CDATA sections and leading junk go through the state machine
+            final int c = this.read();
+            if (c == -1) {
+                break;
+            }
             buffer[offset + charsRead++] = (char) c;
         }
+        if (charsRead == 0) {
+            return -1;
+        }
         return charsRead;
     }
 
+    /**
+     * Copies the chars of the block that the state machine would leave unchanged, up to the first
+     * one it has to look at: an '&amp;', a ']' within a CDATA section or a '&lt;' that may start a
+     * CDATA section or whose tag name does not end within the block.
+     */
+    private int copyCleanChars(final char[] out, final int offset, final int max) {
+        final int start = blockPos;
+        final int end = Math.min(blockLen, start + max);
+        int i = start;
+        while (i < end) {
+            final char c = block[i];
+            if (c == '&' || c == ']' && cdata) {
+                break;
+            } else if (c == '<') {
+                final int tagNameEnd = findTagNameEnd(i + 1, end);
+                if (tagNameEnd == -1 || block[tagNameEnd] == '[') {
+                    break;
+                }
+                i = tagNameEnd + 1;
+            } else {
+                i++;
+            }
+        }
+        System.arraycopy(block, start, out, offset, i - start);
+        blockPos = i;
+        return i - start;
+    }
+
+    private int findTagNameEnd(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final char c = block[i];
+            if (c == ' ' || c == '>' || c == '/' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Override
     public long skip(final long n) throws IOException {
         if (n == 0) {
@@ -357,7 +440,7 @@ public class XmlFixerReader extends Reader {
 
     @Override
     public boolean ready() throws IOException {
-        return state != 0 || in.ready();
+        return state != 0 || blockPos < blockLen || in.ready();
     }
 
     @Override
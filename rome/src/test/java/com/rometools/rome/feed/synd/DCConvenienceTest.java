@@ -0,0 +1,117 @@
+package com.rometools.rome.feed.synd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.rometools.rome.feed.module.DCModule;
+import com.rometools.rome.feed.module.DCModuleImpl;
+import com.rometools.rome.feed.module.DCSubject;
+import com.rometools.rome.feed.module.DCSubjectImpl;
+import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.SyModuleImpl;
+import com.rometools.rome.feed.module.impl.ModuleList;
+import com.rometools.rome.feed.module.impl.ModuleUtils;
+
+public class DCConvenienceTest {
+
+    @Test
+    public void testGettersDoNotCreateModule() {
+        final List<Module> modules = new ModuleList();
+        final SyndEntryImpl entry = new SyndEntryImpl();
+        entry.setModules(modules);
+        assertNull(entry.getPublishedDate());
+        assertEquals("", entry.getAuthor());
+        assertTrue(modules.isEmpty());
+
+        final SyndEntryImpl written = new SyndEntryImpl();
+        final Date date = new Date(1000L);
+        written.setPublishedDate(date);
+        assertEquals(date, written.getPublishedDate());
+        assertEquals(date, ((DCModule) written.getModule(DCModule.URI)).getDate());
+
+        final List<Module> feedModules = new ModuleList();
+        final SyndFeedImpl feed = new SyndFeedImpl();
+        feed.setModules(feedModules);
+        assertNull(feed.getLanguage());
+        assertNull(feed.getCopyright());
+        assertNull(feed.getAuthor());
+        assertNull(feed.getPublishedDate());
+        assertTrue(feedModules.isEmpty());
+        feed.setLanguage("en");
+        assertEquals("en", feed.getLanguage());
+        assertEquals("en", ((DCModule) feed.getModule(DCModule.URI)).getLanguage());
+    }
+
+    @Test
+    public void testCategoriesFacadeIsKept() {
+        final SyndFeedImpl feed = new SyndFeedImpl();
+        final List<SyndCategory> categories = feed.getCategories();
+        assertSame(categories, feed.getCategories());
+
+        final SyndCategory category = new SyndCategoryImpl();
+        category.setName("news");
+        categories.add(category);
+        assertEquals("news", ((DCModule) feed.getModule(DCModule.URI)).getSubjects().get(0).getValue());
+
+        final DCSubjectImpl subject = new DCSubjectImpl();
+        subject.setValue("sports");
+        ((DCModule) feed.getModule(DCModule.URI)).setSubjects(Collections.<DCSubject> singletonList(subject));
+        assertEquals("sports", feed.getCategories().get(0).getName());
+    }
+
+    @Test
+    public void testModuleIndex() {
+        final List<Module> modules = new ArrayList<Module>();
+        final DCModuleImpl dc = new DCModuleImpl();
+        modules.add(dc);
+        final SyndEntryImpl entry = new SyndEntryImpl();
+        entry.setModules(modules);
+        assertTrue(entry.getModules() instanceof ModuleList);
+        assertSame(dc, entry.getModule(DCModule.URI));
+
+        final SyModuleImpl sy = new SyModuleImpl();
+        assertNull(entry.getModule(sy.getUri()));
+        entry.getModules().add(sy);
+        assertSame(sy, entry.getModule(sy.getUri()));
+        entry.getModules().remove(sy);
+        assertNull(ModuleUtils.getModule(entry.getModules(), sy.getUri()));
+
+        // the list given is copied, later changes to it do not leave the index stale
+        modules.set(0, sy);
+        assertSame(dc, entry.getModule(DCModule.URI));
+        assertNull(entry.getModule(sy.getUri()));
+        assertSame(dc, entry.getModules().get(0));
+
+        // the first module with a URI wins, as with the linear lookup
+        final DCModuleImpl second = new DCModuleImpl();
+        entry.getModules().add(second);
+        assertSame(dc, entry.getModule(DCModule.URI));
+        entry.getModules().set(0, new SyModuleImpl());
+        assertSame(second, entry.getModule(DCModule.URI));
+        assertNotNull(entry.getModule(sy.getUri()));
+
+        // a module list is shared, not copied
+        final ModuleList shared = new ModuleList();
+        entry.setModules(shared);
+        assertSame(shared, entry.getModules());
+    }
+
+    @Test
+    public void testClonedModulesNotCopiedAgain() {
+        final List<Module> modules = ModuleUtils.cloneModules(Collections.<Module> singletonList(new DCModuleImpl()));
+        final SyndEntryImpl entry = new SyndEntryImpl();
+        entry.setModules(modules);
+        assertSame(modules, entry.getModules());
+    }
+
+}
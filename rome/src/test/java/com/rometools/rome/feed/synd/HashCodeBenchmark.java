@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.feed.synd;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures {@link SyndFeedImpl#hashCode()} on a feed with many entries and the cost of putting its
+ * entries in a {@link HashSet}. It is not run by the build, run its main method from the test
+ * classpath:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:... com.rometools.rome.feed.synd.HashCodeBenchmark [entries] [iterations] [rounds]
+ * </pre>
+ */
+public class HashCodeBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final int entries = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        final SyndFeed feed = feed(entries);
+
+        // warm up the introspection caches and the JIT
+        run(feed, iterations);
+        long best = Long.MAX_VALUE;
+        int hash = 0;
+        for (int round = 0; round < rounds; round++) {
+            final long start = System.nanoTime();
+            hash += run(feed, iterations);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%d entries: %8.3f ms per feed hash and entry dedup (%d)%n", entries, best / 1e6 / iterations, hash);
+    }
+
+    private static int run(final SyndFeed feed, final int iterations) {
+        int hash = 0;
+        for (int i = 0; i < iterations; i++) {
+            hash += feed.hashCode();
+            final Set<SyndEntry> unique = new HashSet<SyndEntry>(feed.getEntries());
+            hash += unique.size();
+        }
+        return hash;
+    }
+
+    private static SyndFeed feed(final int entries) {
+        final SyndFeed feed = new SyndFeedImpl();
+        feed.setFeedType("rss_2.0");
+        feed.setTitle("benchmark feed");
+        feed.setLink("http://example.com/");
+        feed.setDescription("benchmark feed");
+        final List<SyndEntry> list = new ArrayList<SyndEntry>(entries);
+        for (int i = 0; i < entries; i++) {
+            final SyndEntry entry = new SyndEntryImpl();
+            entry.setTitle("entry " + i);
+            entry.setLink("http://example.com/entry/" + i);
+            entry.setAuthor("author " + i % 7);
+            entry.setPublishedDate(new Date(978307200000L + i * 60000L));
+            final SyndContent description = new SyndContentImpl();
+            description.setType("text/plain");
+            description.setValue("description of entry " + i + " with some text");
+            entry.setDescription(description);
+            final SyndCategory category = new SyndCategoryImpl();
+            category.setName("category " + i % 5);
+            final List<SyndCategory> categories = new ArrayList<SyndCategory>();
+            categories.add(category);
+            entry.setCategories(categories);
+            list.add(entry);
+        }
+        feed.setEntries(list);
+        return feed;
+    }
+
+}
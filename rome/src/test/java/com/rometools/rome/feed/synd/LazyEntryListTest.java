@@ -0,0 +1,93 @@
+package com.rometools.rome.feed.synd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.io.WireFeedInput;
+
+public class LazyEntryListTest {
+
+    private static final String[] FEEDS = { "rss_0.9.xml", "rss_0.91U.xml", "rss_0.92.xml", "rss_0.93.xml", "rss_0.94.xml", "rss_1.0.xml",
+            "rss_1.0_DC_multi.xml", "rss_2.0.xml", "atom_0.3.xml", "atom_1.0.xml", "atom_1.0_b.xml", "atom_1.0_bray.xml" };
+
+    @Test
+    public void testLazyMatchesEagerConversion() throws Exception {
+        for (final String resource : FEEDS) {
+            final SyndFeed eager = new SyndFeedImpl(build(resource), false);
+            final SyndFeed lazy = new SyndFeedImpl(build(resource), false, true);
+            assertTrue(resource, lazy.getEntries() instanceof LazyEntryList);
+            assertEquals(resource, eager.getEntries().size(), lazy.getEntries().size());
+            assertEquals(resource, eager, lazy);
+        }
+    }
+
+    @Test
+    public void testEntriesConvertedOnAccess() throws Exception {
+        final WireFeed feed = build("rss_2.0.xml");
+        final SyndFeedImpl syndFeed = new SyndFeedImpl(feed, true, true);
+        final LazyEntryList entries = (LazyEntryList) syndFeed.getEntries();
+        assertEquals("rss_2.0.channel.title", syndFeed.getTitle());
+        assertFalse(entries.isConverted());
+
+        final SyndEntry first = entries.get(0);
+        assertSame(first, entries.get(0));
+        assertEquals("rss_2.0.channel.item[0].title", first.getTitle());
+        assertSame(feed, syndFeed.originalWireFeed());
+        assertFalse(entries.isConverted());
+
+        entries.get(1);
+        assertTrue(entries.isConverted());
+    }
+
+    @Test
+    public void testModifications() throws Exception {
+        final SyndFeed syndFeed = new SyndFeedImpl(build("atom_1.0.xml"), false, true);
+        final List<SyndEntry> entries = syndFeed.getEntries();
+        final SyndEntry second = entries.get(1);
+        final SyndEntry added = new SyndEntryImpl();
+        entries.remove(0);
+        entries.add(added);
+        assertEquals(2, entries.size());
+        assertSame(second, entries.get(0));
+        assertSame(added, entries.get(1));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final SyndFeed syndFeed = new SyndFeedImpl(build("rss_1.0.xml"), false, true);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(syndFeed);
+        out.close();
+        final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        final SyndFeed copy = (SyndFeed) in.readObject();
+        in.close();
+        assertFalse(copy.getEntries() instanceof LazyEntryList);
+        assertEquals(new SyndFeedImpl(build("rss_1.0.xml")), copy);
+    }
+
+    private WireFeed build(final String resource) throws Exception {
+        final WireFeedInput input = new WireFeedInput();
+        input.setAllowDoctypes(true);
+        final Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream(resource), "UTF-8");
+        try {
+            return input.build(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.xml.sax.InputSource;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+
+/**
+ * Measures the throughput of {@link SyndFeedInput#buildAll} from one thread up to one thread per
+ * core. The dates of each document are parsed with a date parse context of its own, as
+ * {@link SyndFeedInput#buildAll} does. It is not run by the build, run its main method from the test classpath:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:... com.rometools.rome.io.BuildAllBenchmark [documents] [items] [rounds]
+ * </pre>
+ */
+public class BuildAllBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final int documents = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        final int items = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        final int cores = Runtime.getRuntime().availableProcessors();
+
+        final List<byte[]> feeds = new ArrayList<byte[]>(documents);
+        for (int i = 0; i < documents; i++) {
+            feeds.add(feed(i, items).getBytes("UTF-8"));
+        }
+
+        final SyndFeedInput input = new SyndFeedInput();
+        double single = 0;
+        for (int threads = 1;; threads = Math.min(threads * 2, cores)) {
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                // warm up the parsers of the worker threads and the JIT
+                run(input, feeds, executor);
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < rounds; round++) {
+                    final long start = System.nanoTime();
+                    run(input, feeds, executor);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                final double perSecond = documents * 1e9 / best;
+                if (threads == 1) {
+                    single = perSecond;
+                }
+                System.out.printf("%2d threads: %8.0f documents/s, speedup %.2f%n", threads, perSecond, perSecond / single);
+            } finally {
+                executor.shutdown();
+            }
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+
+    private static void run(final SyndFeedInput input, final List<byte[]> feeds, final ExecutorService executor) throws Exception {
+        final List<InputSource> sources = new ArrayList<InputSource>(feeds.size());
+        for (final byte[] feed : feeds) {
+            sources.add(new InputSource(new ByteArrayInputStream(feed)));
+        }
+        for (final Future<SyndFeed> feed : input.buildAll(sources, executor)) {
+            feed.get();
+        }
+    }
+
+    private static String feed(final int index, final int items) {
+        final StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        xml.append("<rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><channel>");
+        xml.append("<title>feed ").append(index).append("</title><link>http://example.com/").append(index).append("</link>");
+        xml.append("<description>benchmark feed</description>");
+        for (int i = 0; i < items; i++) {
+            xml.append("<item><title>item ").append(i).append("</title>");
+            xml.append("<link>http://example.com/").append(index).append('/').append(i).append("</link>");
+            xml.append("<description>description of item ").append(i).append(" with some text</description>");
+            xml.append("<pubDate>Mon, 01 Jan 2001 00:00:00 GMT</pubDate>");
+            xml.append("<dc:creator>author ").append(i % 7).append("</dc:creator></item>");
+        }
+        return xml.append("</channel></rss>").toString();
+    }
+
+}
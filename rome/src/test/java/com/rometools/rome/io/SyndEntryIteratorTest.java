@@ -0,0 +1,76 @@
+package com.rometools.rome.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+
+public class SyndEntryIteratorTest {
+
+    @Test
+    public void testEntriesMatchFullParsing() throws Exception {
+        for (final String resource : new String[] { "rss_0.9.xml", "rss_0.93.xml", "rss_1.0.xml", "rss_2.0.xml", "atom_0.3.xml", "atom_1.0.xml" }) {
+
+            final SyndFeed expected = new SyndFeedInput().build(getReader(resource));
+
+            final SyndEntryIterator iterator = new SyndFeedInput().buildEntryIterator(getReader(resource));
+            final List<SyndEntry> entries = new ArrayList<SyndEntry>();
+            try {
+                assertEquals(resource, expected.getTitle(), iterator.getFeed().getTitle());
+                assertTrue(resource, iterator.getFeed().getEntries().isEmpty());
+                while (iterator.hasNext()) {
+                    entries.add(iterator.next());
+                }
+            } finally {
+                iterator.close();
+            }
+
+            assertEquals(resource, expected.getEntries().size(), entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                assertEquals(resource, expected.getEntries().get(i).toString(), entries.get(i).toString());
+            }
+
+        }
+    }
+
+    @Test
+    public void testLargeFeed() throws Exception {
+
+        final StringBuilder xml = new StringBuilder("<rss version=\"2.0\"><channel><title>archive</title>");
+        for (int i = 0; i < 5000; i++) {
+            xml.append("<item><title>item ").append(i).append("</title><link>http://example.com/").append(i).append("</link></item>");
+        }
+        xml.append("</channel></rss>");
+
+        final SyndEntryIterator iterator = new SyndFeedInput().buildEntryIterator(new StringReader(xml.toString()));
+        try {
+            assertEquals("archive", iterator.getFeed().getTitle());
+            int count = 0;
+            while (iterator.hasNext()) {
+                final SyndEntry entry = iterator.next();
+                assertEquals("item " + count, entry.getTitle());
+                count++;
+            }
+            assertEquals(5000, count);
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.close();
+        }
+
+    }
+
+    private Reader getReader(final String resource) throws Exception {
+        return new InputStreamReader(getClass().getClassLoader().getResourceAsStream(resource), "UTF-8");
+    }
+
+}
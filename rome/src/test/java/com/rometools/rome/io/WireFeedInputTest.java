@@ -0,0 +1,182 @@
+package com.rometools.rome.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.impl.DateParseContext;
+
+public class WireFeedInputTest {
+
+    private static final String TITLE = "caf\u00e9 \u00e0 la cr\u00e8me";
+
+    @Test
+    public void testInputStreamUsesDeclaredEncoding() throws Exception {
+        final byte[] bytes = feed("ISO-8859-1", 1).getBytes("ISO-8859-1");
+        final Channel channel = (Channel) new WireFeedInput().build(new ByteArrayInputStream(bytes));
+        assertEquals(TITLE, channel.getTitle());
+    }
+
+    @Test
+    public void testInputStreamUsesHttpContentType() throws Exception {
+        final byte[] bytes = feed(null, 1).replace("<?xml version=\"1.0\"?>", "").getBytes("ISO-8859-1");
+        final Channel channel = (Channel) new WireFeedInput().build(new ByteArrayInputStream(bytes), "application/rss+xml; charset=ISO-8859-1");
+        assertEquals(TITLE, channel.getTitle());
+    }
+
+    @Test
+    public void testByteBufferWithBom() throws Exception {
+        final byte[] bytes = ("\uFEFF" + feed(null, 1)).getBytes("UTF-16BE");
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final Channel channel = (Channel) new WireFeedInput().build(buffer);
+        assertEquals(TITLE, channel.getTitle());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testFiles() throws Exception {
+        // the large one is memory mapped
+        for (final int items : new int[] { 1, 20000 }) {
+            final File file = File.createTempFile("feed", ".xml");
+            try {
+                final OutputStream out = new FileOutputStream(file);
+                try {
+                    out.write(feed("ISO-8859-1", items).getBytes("ISO-8859-1"));
+                } finally {
+                    out.close();
+                }
+                final Channel channel = (Channel) new WireFeedInput().build(file);
+                assertEquals(TITLE, channel.getTitle());
+                assertEquals(items, channel.getItems().size());
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    @Test
+    public void testReusedParsersKeepDoctypeProtection() throws Exception {
+        final String doctype = "<?xml version=\"1.0\"?><!DOCTYPE rss [<!ENTITY x \"y\">]>" + feed(null, 1).substring(21);
+        for (int i = 0; i < 3; i++) {
+            final WireFeedInput allowing = new WireFeedInput();
+            allowing.setAllowDoctypes(true);
+            assertEquals(TITLE, ((Channel) allowing.build(new StringReader(doctype))).getTitle());
+            try {
+                new WireFeedInput().build(new StringReader(doctype));
+                fail("Doctype declaration should have been rejected");
+            } catch (final ParsingFeedException e) {
+                // expected
+            }
+            assertEquals(TITLE, ((Channel) new WireFeedInput().build(new StringReader(feed(null, 1)))).getTitle());
+        }
+    }
+
+    @Test
+    public void testOverriddenCreateSAXBuilderIsCalled() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final WireFeedInput input = new WireFeedInput() {
+            @Override
+            protected SAXBuilder createSAXBuilder() {
+                created.incrementAndGet();
+                return super.createSAXBuilder();
+            }
+        };
+        input.build(new StringReader(feed(null, 1)));
+        input.build(new StringReader(feed(null, 1)));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testBuildAllReportsFailuresPerDocument() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final boolean streaming : new boolean[] { false, true }) {
+                final List<InputSource> sources = new ArrayList<InputSource>();
+                for (int i = 0; i < 40; i++) {
+                    final String xml = i == 7 ? "<rss version=\"2.0\"><channel>" : feed("UTF-8", i);
+                    sources.add(new InputSource(new ByteArrayInputStream(xml.getBytes("UTF-8"))));
+                }
+                final SyndFeedInput input = new SyndFeedInput();
+                input.setStreaming(streaming);
+                final List<Future<SyndFeed>> feeds = input.buildAll(sources, executor);
+                assertEquals(40, feeds.size());
+                for (int i = 0; i < 40; i++) {
+                    if (i == 7) {
+                        try {
+                            feeds.get(i).get();
+                            fail("Invalid document should have failed");
+                        } catch (final ExecutionException e) {
+                            assertTrue(e.getCause() instanceof ParsingFeedException);
+                        }
+                    } else {
+                        assertEquals(TITLE, feeds.get(i).get().getTitle());
+                        assertEquals(i, feeds.get(i).get().getEntries().size());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuildAllParsesDatesWithContextPerDocument() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final boolean streaming : new boolean[] { false, true }) {
+                final List<InputSource> sources = new ArrayList<InputSource>();
+                for (int i = 0; i < 10; i++) {
+                    final String xml = "<rss version=\"2.0\"><channel><title>" + i + "</title><item><title>item</title>"
+                            + "<pubDate>Mon, 01 Jan 2001 00:00:00 GMT</pubDate></item></channel></rss>";
+                    sources.add(new InputSource(new ByteArrayInputStream(xml.getBytes("UTF-8"))));
+                }
+                final DateParseContext context = new DateParseContext();
+                final SyndFeedInput input = new SyndFeedInput();
+                input.setStreaming(streaming);
+                input.setDateParseContext(context);
+                for (final Future<SyndFeed> feed : input.buildAll(sources, executor)) {
+                    assertNotNull(feed.get().getEntries().get(0).getPublishedDate());
+                }
+                // the context set for the runs of a single feed is not shared by the batch
+                assertEquals(0, context.getHits() + context.getMisses());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String feed(final String encoding, final int items) {
+        final StringBuilder xml = new StringBuilder();
+        if (encoding == null) {
+            xml.append("<?xml version=\"1.0\"?>");
+        } else {
+            xml.append("<?xml version=\"1.0\" encoding=\"").append(encoding).append("\"?>");
+        }
+        xml.append("<rss version=\"2.0\"><channel><title>").append(TITLE).append("</title>");
+        for (int i = 0; i < items; i++) {
+            xml.append("<item><title>item ").append(i).append("</title><link>http://example.com/").append(i).append("</link></item>");
+        }
+        return xml.append("</channel></rss>").toString();
+    }
+
+}
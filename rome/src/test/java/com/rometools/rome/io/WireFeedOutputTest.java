@@ -0,0 +1,374 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rometools.rome.feed.CopyFrom;
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.atom.Feed;
+import com.rometools.rome.feed.impl.ConfigurableClassLoader;
+import com.rometools.rome.feed.module.DCModuleImpl;
+import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.ModuleImpl;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.rss.Item;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndEntryImpl;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+
+public class WireFeedOutputTest {
+
+    private static final String TITLE = "caf\u00e9 \u00e0 la cr\u00e8me";
+
+    private static final String[] FEEDS = { "rss_0.9.xml", "rss_0.92.xml", "rss_0.93.xml", "rss_0.94.xml", "rss_1.0.xml", "rss_2.0.xml", "atom_0.3.xml",
+            "atom_1.0.xml" };
+
+    private static File pluginFile;
+
+    private ClassLoader previousClassLoader;
+
+    @BeforeClass
+    public static void createPluginFile() throws IOException {
+        pluginFile = File.createTempFile("rome", ".properties");
+        final Properties plugins = new Properties();
+        plugins.setProperty("rss_2.0.item.ModuleGenerator.classes", RatingModuleGenerator.class.getName());
+        final FileOutputStream out = new FileOutputStream(pluginFile);
+        try {
+            plugins.store(out, null);
+        } finally {
+            out.close();
+        }
+    }
+
+    @AfterClass
+    public static void deletePluginFile() {
+        pluginFile.delete();
+    }
+
+    // the plugins are loaded once per class loader, a new one sees the rating module generator
+    @Before
+    public void registerRatingModuleGenerator() {
+        previousClassLoader = ConfigurableClassLoader.INSTANCE.getClassLoader();
+        ConfigurableClassLoader.INSTANCE.setClassLoader(new PluginClassLoader(previousClassLoader));
+    }
+
+    @After
+    public void unregisterRatingModuleGenerator() {
+        ConfigurableClassLoader.INSTANCE.setClassLoader(previousClassLoader);
+    }
+
+    @Test
+    public void testStreamingMatchesDocumentOutput() throws Exception {
+        for (final String resource : FEEDS) {
+            for (final boolean prettyPrint : new boolean[] { true, false }) {
+                final String expected = new WireFeedOutput().outputString(build(resource), prettyPrint);
+                final StringWriter writer = new StringWriter();
+                streamingOutput().output(build(resource), writer, prettyPrint);
+                assertEquals(resource, normalize(expected), writer.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingModuleGenerators() throws Exception {
+        final String expected = new WireFeedOutput().outputString(createChannel(3), false);
+        final String streamed = streamingOutput().outputString(createChannel(3), false);
+        assertEquals(normalize(expected), streamed);
+        assertTrue(streamed, streamed.contains("<rss xmlns:dc=\"http://purl.org/dc/elements/1.1/\" xmlns:t=\"" + RatingModule.URI + "\""));
+        assertTrue(streamed, streamed.contains("<t:rating>2</t:rating><dc:creator>creator 2</dc:creator></item>"));
+    }
+
+    @Test
+    public void testOutputStreamUsesFeedEncoding() throws Exception {
+        for (final boolean streaming : new boolean[] { false, true }) {
+            final Channel channel = createChannel(1);
+            channel.setEncoding("ISO-8859-1");
+            final WireFeedOutput output = new WireFeedOutput();
+            output.setStreaming(streaming);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            output.output(channel, out);
+            assertTrue(out.toString("ISO-8859-1").contains("<title>" + TITLE + "</title>"));
+            assertEquals(TITLE, ((Channel) new WireFeedInput().build(new ByteArrayInputStream(out.toByteArray()))).getTitle());
+        }
+    }
+
+    @Test
+    public void testIteratorMatchesFeedOutput() throws Exception {
+        for (final String resource : FEEDS) {
+            final WireFeed feed = build(resource);
+            final String expected = streamingOutput().outputString(feed, true);
+            final StringWriter writer = new StringWriter();
+            new WireFeedOutput().output(feed, items(feed).iterator(), writer, true);
+            assertEquals(resource, withoutPrefixDeclarations(expected), withoutPrefixDeclarations(writer.toString()));
+        }
+    }
+
+    @Test
+    public void testIteratorLeavesFeedUnchanged() throws Exception {
+        for (final String resource : FEEDS) {
+            final WireFeed feed = build(resource);
+            final List<?> items = items(feed);
+            final Iterator<?> iterator = items.iterator();
+            // the feed is not changed while its items are written either
+            new WireFeedOutput().output(feed, new Iterator<Object>() {
+
+                @Override
+                public boolean hasNext() {
+                    assertSame(resource, items, items(feed));
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+            }, new StringWriter(), true);
+            assertSame(resource, items, items(feed));
+        }
+    }
+
+    @Test
+    public void testSyndEntryIterator() throws Exception {
+        for (final String resource : new String[] { "rss_2.0.xml", "atom_1.0.xml" }) {
+            final SyndFeed feed = new SyndFeedImpl(build(resource));
+            final SyndFeedOutput output = new SyndFeedOutput();
+            output.setStreaming(true);
+            final String expected = output.outputString(feed, true);
+            final StringWriter writer = new StringWriter();
+            output.output(feed, feed.getEntries().iterator(), writer, true);
+            assertEquals(resource, withoutPrefixDeclarations(expected), withoutPrefixDeclarations(writer.toString()));
+        }
+    }
+
+    @Test
+    public void testLargeSyndEntryIterator() throws Exception {
+        final int count = 10000;
+        final SyndFeed feed = new SyndFeedImpl();
+        feed.setFeedType("rss_2.0");
+        feed.setTitle(TITLE);
+        feed.setLink("http://example.com/");
+        feed.setDescription("description");
+        final Iterator<SyndEntry> entries = new Iterator<SyndEntry>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public SyndEntry next() {
+                final SyndEntry entry = new SyndEntryImpl();
+                entry.setTitle("entry " + index++);
+                return entry;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SyndFeedOutput().output(feed, entries, out, false);
+        final Channel channel = (Channel) new WireFeedInput().build(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(count, channel.getItems().size());
+        assertEquals("entry " + (count - 1), channel.getItems().get(count - 1).getTitle());
+    }
+
+    private static WireFeedOutput streamingOutput() {
+        final WireFeedOutput output = new WireFeedOutput();
+        output.setStreaming(true);
+        return output;
+    }
+
+    private WireFeed build(final String resource) throws Exception {
+        final WireFeedInput input = new WireFeedInput();
+        input.setAllowDoctypes(true);
+        final Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream(resource), "UTF-8");
+        try {
+            return input.build(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static List<?> items(final WireFeed feed) {
+        if (feed instanceof Channel) {
+            return ((Channel) feed).getItems();
+        } else {
+            return ((Feed) feed).getEntries();
+        }
+    }
+
+    private static Channel createChannel(final int items) {
+        final Channel channel = new Channel("rss_2.0");
+        channel.setTitle(TITLE);
+        channel.setLink("http://example.com/");
+        channel.setDescription("description");
+        channel.setLanguage("en");
+        final List<Item> channelItems = new ArrayList<Item>();
+        for (int i = 0; i < items; i++) {
+            final Item item = new Item();
+            item.setTitle("item " + i);
+            final RatingModule rating = new RatingModule();
+            rating.setRating(i);
+            final DCModuleImpl dc = new DCModuleImpl();
+            dc.setCreator("creator " + i);
+            final List<Module> modules = new ArrayList<Module>();
+            modules.add(rating);
+            modules.add(dc);
+            item.setModules(modules);
+            channelItems.add(item);
+        }
+        channel.setItems(channelItems);
+        return channel;
+    }
+
+    // the StAX writer does not put a space before the end of empty elements
+    private static String normalize(final String xml) {
+        return xml.replace(" />", "/>");
+    }
+
+    // the root element of a feed written from an iterator declares all the module namespaces
+    private static String withoutPrefixDeclarations(final String xml) {
+        return xml.replaceAll(" xmlns:\\w+=\"[^\"]*\"", "");
+    }
+
+    public static class RatingModule extends ModuleImpl {
+
+        private static final long serialVersionUID = 1L;
+
+        public static final String URI = "http://example.com/rating";
+
+        private int rating;
+
+        public RatingModule() {
+            super(RatingModule.class, URI);
+        }
+
+        public int getRating() {
+            return rating;
+        }
+
+        public void setRating(final int rating) {
+            this.rating = rating;
+        }
+
+        @Override
+        public Class<? extends CopyFrom> getInterface() {
+            return RatingModule.class;
+        }
+
+        @Override
+        public void copyFrom(final CopyFrom obj) {
+            rating = ((RatingModule) obj).getRating();
+        }
+
+    }
+
+    /**
+     * Registered for RSS 2.0 items while the tests of this class run.
+     */
+    public static class RatingModuleGenerator implements StreamingModuleGenerator {
+
+        private static final Namespace NS = Namespace.getNamespace("t", RatingModule.URI);
+
+        @Override
+        public String getNamespaceUri() {
+            return RatingModule.URI;
+        }
+
+        @Override
+        public Set<Namespace> getNamespaces() {
+            return Collections.singleton(NS);
+        }
+
+        @Override
+        public void generate(final Module module, final Element element) {
+            final Element rating = new Element("rating", NS);
+            rating.addContent(String.valueOf(((RatingModule) module).getRating()));
+            element.addContent(rating);
+        }
+
+        @Override
+        public void generate(final Module module, final XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement(NS.getPrefix(), "rating", NS.getURI());
+            writer.writeCharacters(String.valueOf(((RatingModule) module).getRating()));
+            writer.writeEndElement();
+        }
+
+    }
+
+    // adds the plugin file of this class to the rome.properties files of its parent
+    private static class PluginClassLoader extends ClassLoader {
+
+        PluginClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            final Enumeration<URL> resources = super.getResources(name);
+            if (!"rome.properties".equals(name)) {
+                return resources;
+            }
+            final List<URL> urls = Collections.list(resources);
+            urls.add(pluginFile.toURI().toURL());
+            return Collections.enumeration(urls);
+        }
+
+    }
+
+}
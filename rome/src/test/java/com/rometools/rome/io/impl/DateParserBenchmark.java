@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.rometools.rome.io.impl;
+
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Compares the throughput of {@link DateParser#parseDate(String, Locale)} with the parsing through
+ * the masks only, on dates found in real-world feeds. It is not run by the build, run its main
+ * method from the test classpath:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:... com.rometools.rome.io.impl.DateParserBenchmark [iterations] [rounds]
+ * </pre>
+ */
+public class DateParserBenchmark {
+
+    // mostly well formed RFC822 and W3C dates, with some of the variants feeds use
+    private static final String[] DATES = { "Tue, 19 Jul 2005 17:00:42 GMT", "Tue, 19 Jul 2005 17:00:42 +0000", "Tue, 19 Jul 2005 17:00:42 -0700",
+            "Sat, 9 Jul 2005 17:00:42 GMT", "Tue, 19 Jul 2005 17:00:42 EST", "19 Jul 2005 17:00:42 GMT", "Tue, 19 Jul 2005 17:00 GMT",
+            "Tue, 19 Jul 05 17:00:42 GMT", "2005-07-19T17:00:42Z", "2005-07-19T17:00:42+02:00", "2005-07-19T17:00:42.123Z",
+            "2005-07-19T17:00:42.5+01:00", "2005-07-19T17:00-08:00", "2005-07-19", "\n  2005-07-19T17:00:42Z\n", "2005-07-19T17:00:42" };
+
+    // keeps the results alive
+    private static long sink;
+
+    private interface Parser {
+        Date parse(String date);
+    }
+
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        final double masks = run(iterations, rounds, new Parser() {
+            @Override
+            public Date parse(final String date) {
+                return DateParser.parseDateUsingMasks(date, Locale.US);
+            }
+        });
+        final double scanners = run(iterations, rounds, new Parser() {
+            @Override
+            public Date parse(final String date) {
+                return DateParser.parseDate(date, Locale.US);
+            }
+        });
+        System.out.printf("masks:    %10.0f dates/s%n", masks);
+        System.out.printf("scanners: %10.0f dates/s, speedup %.1f (%d)%n", scanners, scanners / masks, sink);
+    }
+
+    private static double run(final int iterations, final int rounds, final Parser parser) {
+        // warm up the JIT and the cached formats
+        sink += parse(iterations, parser);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            final long start = System.nanoTime();
+            sink += parse(iterations, parser);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) iterations * DATES.length * 1e9 / best;
+    }
+
+    private static long parse(final int iterations, final Parser parser) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (final String date : DATES) {
+                final Date parsed = parser.parse(date);
+                if (parsed != null) {
+                    sum += parsed.getTime();
+                }
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.rometools.rome.io.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.rometools.rome.io.WireFeedInput;
+
+public class DateParserTest {
+
+    // real-world values found in feeds, well formed or not
+    private static final String[] DATES = { "2005-07-19T17:00:42Z", "2005-07-19T17:00:42+02:00", "2005-07-19T17:00:42-05:00",
+            "2005-07-19T17:00:42.123Z", "2005-07-19T17:00:42.5+01:00", "2005-07-19T17:00:42.123456789Z", "2005-07-19T17:00:42.1234Z", "2005-07-19T17:00:42.12Z", "2005-07-19T17:00Z",
+            "2005-07-19T17:00-08:00", "2005-07-19", "2005-07", "2005", " 2005-07-19", "2005-07-19 ", "\n  2005-07-19T17:00:42+02:00\n",
+            "\n  2005-07-19T17:00:42Z\n", "2005-07-19t17:00:42Z", "2005-07-19T17:00:42", "2005-07-19T17:00:42,5+01:00", "2005-02-31T10:00:00Z",
+            "2005-13-01", "2005-07-19T24:00:00Z", "2005-07-19T17:00:60Z", "1969-12-31T23:59:59Z", "1600-03-01T00:00:00Z",
+            "2000-02-29T12:00:00+00:00", "2100-03-01T00:00:00Z", "Tue, 19 Jul 2005 17:00:42 GMT", "Tue, 19 Jul 2005 17:00:42 UT",
+            "Tue, 19 Jul 2005 17:00:42 UTC", "Tue, 19 Jul 2005 17:00:42 Z", "Tue, 19 Jul 2005 17:00:42 +0000", "Tue, 19 Jul 2005 17:00:42 -0700",
+            "Tue, 19 Jul 2005 17:00:42 +0530", "Tue, 19 Jul 2005 17:00 GMT", "19 Jul 2005 17:00:42 GMT", "9 Jul 2005 17:00:42 GMT",
+            "Sat, 9 Jul 2005 17:00:42 GMT", "tue, 19 jul 2005 17:00:42 GMT", "Mon, 19 Jul 2005 17:00:42 GMT", "Tue, 19 Jul 05 17:00:42 GMT",
+            "Tue, 19 Jul 2005 17:00:42 EST", "Tue, 19 Jul 2005 17:00:42 PDT", "Tue, 19 Jul 2005 7:00:42 GMT", "Tue,19 Jul 2005 17:00:42 GMT",
+            "Tue, 19 July 2005 17:00:42 GMT", "Tuesday, 19 Jul 2005 17:00:42 GMT", "  Tue, 19 Jul 2005 17:00:42 GMT\n", "Tue, 19 Jul 2005 17:00:42 UT\n",
+            "Tue, 31 Feb 2005 17:00:42 GMT", "17:00 2005/07/19", "X00:00 2005-07-19", "", "   " };
+
+    private static final Locale[] LOCALES = { Locale.US, Locale.ENGLISH, Locale.UK, Locale.FRANCE, Locale.GERMANY, new Locale("th", "TH"),
+            new Locale("ja", "JP", "JP") };
+
+    @Test
+    public void testScannersMatchMasks() {
+        for (final Locale locale : LOCALES) {
+            for (final String date : DATES) {
+                assertEquals(locale + " [" + date + "]", DateParser.parseDateUsingMasks(date, locale), DateParser.parseDate(date, locale));
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedParsing() {
+        for (int i = 0; i < 3; i++) {
+            for (final String date : DATES) {
+                assertEquals(date, DateParser.parseDateUsingMasks(date, Locale.US), DateParser.parseDate(date, Locale.US));
+            }
+        }
+        assertNotNull(DateParser.parseDate("17:00 2005/07/19", Locale.US));
+    }
+
+    @Test
+    public void testContextLearnsFormat() {
+        final DateParseContext context = new DateParseContext();
+        final DateParseContext previous = DateParseContext.setCurrent(context);
+        try {
+            for (final String date : new String[] { "17:00 2005/07/19", "18:30 2005/07/20", "09:15 2005/07/21" }) {
+                assertEquals(date, DateParser.parseDateUsingMasks(date, Locale.US), DateParser.parseDate(date, Locale.US));
+            }
+            assertEquals(1, context.getMisses());
+            assertEquals(2, context.getHits());
+
+            // another format is learned once the remembered one fails
+            assertEquals(DateParser.parseDateUsingMasks("Tue, 19 Jul 05 17:00:42 GMT", Locale.US),
+                    DateParser.parseDate("Tue, 19 Jul 05 17:00:42 GMT", Locale.US));
+            assertNotNull(DateParser.parseDate("Wed, 20 Jul 05 17:00:42 GMT", Locale.US));
+            assertEquals(2, context.getMisses());
+            assertEquals(3, context.getHits());
+
+            for (final String date : DATES) {
+                assertEquals(date, DateParser.parseDateUsingMasks(date, Locale.US), DateParser.parseDate(date, Locale.US));
+            }
+        } finally {
+            DateParseContext.setCurrent(previous);
+        }
+        context.reset();
+        assertEquals(0, context.getHits() + context.getMisses());
+    }
+
+    @Test
+    public void testContextOfFeedInput() throws Exception {
+        final DateParseContext context = new DateParseContext();
+        for (final boolean streaming : new boolean[] { false, true }) {
+            final WireFeedInput input = new WireFeedInput();
+            input.setDateParseContext(context);
+            input.setStreaming(streaming);
+            final Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream("rss_0.93.xml"), "UTF-8");
+            try {
+                input.build(reader);
+            } finally {
+                reader.close();
+            }
+        }
+        assertTrue(context.toString(), context.getHits() > context.getMisses());
+        assertNull(DateParseContext.getCurrent());
+    }
+
+}
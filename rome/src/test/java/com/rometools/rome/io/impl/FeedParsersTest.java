@@ -0,0 +1,88 @@
+package com.rometools.rome.io.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.Test;
+
+import com.rometools.rome.io.WireFeedParser;
+
+public class FeedParsersTest {
+
+    private static final String[] FEEDS = { "rss_0.9.xml", "rss_0.91N.xml", "rss_0.91U.xml", "rss_0.92.xml", "rss_0.93.xml", "rss_0.94.xml",
+            "rss_1.0.xml", "rss_2.0.xml", "atom_0.3.xml", "atom_1.0.xml", "atom_1.0_prefix.xml" };
+
+    private final FeedParsers feedParsers = new FeedParsers();
+
+    @Test
+    public void testIndexedLookupMatchesLinearScan() throws Exception {
+        for (final String feed : FEEDS) {
+            final InputStream in = getClass().getClassLoader().getResourceAsStream(feed);
+            final Document document;
+            try {
+                final SAXBuilder builder = new SAXBuilder();
+                builder.setExpandEntities(false);
+                builder.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+                document = builder.build(in);
+            } finally {
+                in.close();
+            }
+            assertEquals(feed, linearScan(document), feedParsers.getParserFor(document));
+        }
+    }
+
+    @Test
+    public void testShellDocuments() {
+        assertEquals("rss_2.0", getType(new Document(new Element("rss").setAttribute("version", "2.0"))));
+        assertEquals("rss_0.92", getType(new Document(new Element("rss").setAttribute("version", "0.92"))));
+        assertEquals("rss_2.0", getType(new Document(new Element("rss").setAttribute("version", "2.0.1"))));
+        assertEquals("atom_1.0", getType(new Document(new Element("feed", "http://www.w3.org/2005/Atom"))));
+        assertEquals("atom_0.3", getType(new Document(new Element("feed", "http://purl.org/atom/ns#"))));
+        final Element rdf = new Element("RDF", Namespace.getNamespace("rdf", "http://www.w3.org/1999/02/22-rdf-syntax-ns#"));
+        rdf.addContent(new Element("channel", "http://purl.org/rss/1.0/"));
+        assertEquals("rss_1.0", getType(new Document(rdf)));
+        assertNull(feedParsers.getParserFor(new Document(new Element("html"))));
+    }
+
+    @Test
+    public void testUnknownRootElementSkipsIndexedParsers() {
+        for (final WireFeedParser parser : feedParsers.getCandidatesFor("html", "", null)) {
+            assertFalse(parser.getType(), parser instanceof RSS20Parser || parser instanceof Atom10Parser);
+        }
+    }
+
+    @Test
+    public void testCandidatesCachedPerIndexKeys() {
+        final List<WireFeedParser> rss20 = feedParsers.getCandidatesFor("rss", "", "2.0");
+        assertSame(rss20, feedParsers.getCandidatesFor("rss", "", "2.0"));
+        // versions that are not indexed share the candidates of the name
+        assertSame(feedParsers.getCandidatesFor("rss", "", "2.0.1"), feedParsers.getCandidatesFor("rss", "", "3.0"));
+        assertNotSame(rss20, feedParsers.getCandidatesFor("rss", "", "0.92"));
+        assertSame(feedParsers.getCandidatesFor("feed", "http://www.w3.org/2005/Atom", null),
+                feedParsers.getCandidatesFor("feed", "http://www.w3.org/2005/Atom", "1.0"));
+    }
+
+    private String getType(final Document document) {
+        return feedParsers.getParserFor(document).getType();
+    }
+
+    private WireFeedParser linearScan(final Document document) {
+        for (final WireFeedParser parser : feedParsers.getPlugins()) {
+            if (parser.isMyType(document)) {
+                return parser;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.rometools.rome.io.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Locale;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.Test;
+
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.rss.Item;
+import com.rometools.rome.io.WireFeedInput;
+
+public class ForeignMarkupModeTest {
+
+    private static final Namespace TEST_NS = Namespace.getNamespace("http://rome.dev.java.net/namespacetest");
+
+    @Test
+    public void testCopyLeavesDocument() throws Exception {
+        final Document document = document();
+        final Channel channel = (Channel) new WireFeedInput().build(document);
+        assertTest(channel.getItems().get(0).getForeignMarkup());
+        assertNotNull(firstItem(document).getChild("test", TEST_NS));
+    }
+
+    @Test
+    public void testMoveDetachesElements() throws Exception {
+        final Document document = document();
+        final ForeignMarkupMode previous = BaseWireFeedParser.setForeignMarkupMode(ForeignMarkupMode.MOVE);
+        final Channel channel;
+        try {
+            channel = (Channel) new RSS20Parser().parse(document, false, Locale.US);
+        } finally {
+            BaseWireFeedParser.setForeignMarkupMode(previous);
+        }
+        assertTest(channel.getItems().get(0).getForeignMarkup());
+        assertNull(firstItem(document).getChild("test", TEST_NS));
+        assertEquals(ForeignMarkupMode.COPY, BaseWireFeedParser.getForeignMarkupMode());
+    }
+
+    @Test
+    public void testRawForeignMarkup() throws Exception {
+        for (final boolean streaming : new boolean[] { false, true }) {
+            final WireFeedInput input = new WireFeedInput();
+            input.setStreaming(streaming);
+            input.setRawForeignMarkup(true);
+            final InputStream is = getClass().getClassLoader().getResourceAsStream("rss_2.0.xml");
+            final Channel channel;
+            try {
+                channel = (Channel) input.build(is);
+            } finally {
+                is.close();
+            }
+            final Item item = channel.getItems().get(0);
+            final RawForeignMarkup raw = (RawForeignMarkup) item.getForeignMarkup();
+            assertFalse(raw.isParsed());
+            assertTrue(raw.getXml(), raw.getXml().contains("http://rome.dev.java.net/namespacetest"));
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(item);
+            out.close();
+            final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            final Item copy = (Item) in.readObject();
+            in.close();
+
+            assertTest(raw);
+            assertTrue(raw.isParsed());
+            assertTest(copy.getForeignMarkup());
+        }
+    }
+
+    private static void assertTest(final List<Element> foreignMarkup) {
+        assertEquals(1, foreignMarkup.size());
+        final Element element = foreignMarkup.get(0);
+        assertEquals("test", element.getName());
+        assertEquals(TEST_NS.getURI(), element.getNamespaceURI());
+        assertEquals("test", element.getText());
+        assertNull(element.getParent());
+    }
+
+    private Document document() throws Exception {
+        final InputStream is = getClass().getClassLoader().getResourceAsStream("rss_2.0.xml");
+        try {
+            return new SAXBuilder().build(is);
+        } finally {
+            is.close();
+        }
+    }
+
+    private static Element firstItem(final Document document) {
+        return document.getRootElement().getChild("channel").getChild("item");
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.rometools.rome.io.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.junit.Test;
+
+import com.rometools.rome.feed.module.DCModule;
+import com.rometools.rome.feed.module.Module;
+import com.rometools.rome.feed.module.SyModule;
+
+public class ModuleParsersTest {
+
+    private static final Namespace DC_NS = Namespace.getNamespace("dc", DCModule.URI);
+    private static final Namespace SY_NS = Namespace.getNamespace("sy", SyModule.URI);
+
+    private final ModuleParsers moduleParsers = new ModuleParsers("rss_1.0.feed.ModuleParser.classes", new RSS10Parser());
+
+    @Test
+    public void testModulesInPluginOrder() {
+        final Element channel = new Element("channel");
+        channel.addContent(new Element("title").setText("title"));
+        channel.addContent(new Element("creator", DC_NS).setText("creator"));
+        channel.addContent(new Element("updatePeriod", SY_NS).setText("daily"));
+        channel.addContent(new Element("subject", DC_NS).setText("subject"));
+
+        final List<Module> modules = moduleParsers.parseModules(channel, Locale.US);
+
+        assertEquals(2, modules.size());
+        assertTrue(modules.get(0) instanceof SyModule);
+        assertTrue(modules.get(1) instanceof DCModule);
+        assertEquals("creator", ((DCModule) modules.get(1)).getCreator());
+    }
+
+    @Test
+    public void testNoModuleElements() {
+        final Element channel = new Element("channel");
+        channel.addContent(new Element("title").setText("title"));
+        channel.addContent(new Element("other", Namespace.getNamespace("http://example.com/other")));
+
+        assertNull(moduleParsers.parseModules(channel, Locale.US));
+    }
+
+}
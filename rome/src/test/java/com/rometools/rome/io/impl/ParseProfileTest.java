@@ -0,0 +1,108 @@
+package com.rometools.rome.io.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.rometools.rome.feed.module.DCModule;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.impl.ParseProfile.Field;
+
+public class ParseProfileTest {
+
+    private static final ParseProfile RANKING = new ParseProfile(Field.TITLE, Field.LINK, Field.URI, Field.PUBLISHED_DATE, Field.UPDATED_DATE,
+            Field.CATEGORIES);
+
+    @Test
+    public void testRssItems() throws Exception {
+        for (final boolean streaming : new boolean[] { false, true }) {
+            final List<SyndEntry> full = build("rss_2.0.xml", null, streaming).getEntries();
+            final List<SyndEntry> entries = build("rss_2.0.xml", RANKING, streaming).getEntries();
+            assertEquals(full.size(), entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                final SyndEntry entry = entries.get(i);
+                assertEquals(full.get(i).getTitle(), entry.getTitle());
+                assertEquals(full.get(i).getLink(), entry.getLink());
+                assertEquals(full.get(i).getUri(), entry.getUri());
+                assertEquals(full.get(i).getPublishedDate(), entry.getPublishedDate());
+                assertEquals(2, entry.getCategories().size());
+                assertNull(entry.getDescription());
+                assertTrue(entry.getContents().isEmpty());
+                assertTrue(entry.getEnclosures().isEmpty());
+                assertTrue(entry.getForeignMarkup().isEmpty());
+                assertTrue(entry.getAuthors().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testAtomEntries() throws Exception {
+        for (final boolean streaming : new boolean[] { false, true }) {
+            final List<SyndEntry> full = build("atom_1.0.xml", null, streaming).getEntries();
+            final List<SyndEntry> entries = build("atom_1.0.xml", RANKING, streaming).getEntries();
+            assertEquals(full.size(), entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                final SyndEntry entry = entries.get(i);
+                assertEquals(full.get(i).getTitle(), entry.getTitle());
+                assertEquals(full.get(i).getUri(), entry.getUri());
+                assertEquals(full.get(i).getPublishedDate(), entry.getPublishedDate());
+                assertEquals(full.get(i).getUpdatedDate(), entry.getUpdatedDate());
+                assertNull(entry.getDescription());
+                assertTrue(entry.getContents().isEmpty());
+                assertTrue(entry.getAuthors().isEmpty());
+                assertTrue(entry.getForeignMarkup().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testModules() throws Exception {
+        for (final boolean streaming : new boolean[] { false, true }) {
+            final SyndEntry dates = build("rss_1.0_DC_multi.xml", new ParseProfile(Field.PUBLISHED_DATE), streaming).getEntries().get(0);
+            final DCModule dc = (DCModule) dates.getModule(DCModule.URI);
+            assertNotNull(dc);
+            assertNotNull(dc.getDate());
+            assertTrue(dc.getCreators().isEmpty());
+
+            final ParseProfile withDc = new ParseProfile(EnumSet.of(Field.TITLE), Collections.singleton(DCModule.URI));
+            final SyndEntry all = build("rss_1.0_DC_multi.xml", withDc, streaming).getEntries().get(0);
+            assertFalse(((DCModule) all.getModule(DCModule.URI)).getCreators().isEmpty());
+        }
+    }
+
+    @Test
+    public void testIsWanted() {
+        assertTrue(RANKING.isWanted("", null, "title"));
+        assertTrue(RANKING.isWanted("", "", "expirationDate"));
+        assertFalse(RANKING.isWanted("", "", "description"));
+        assertFalse(RANKING.isWanted("", "http://purl.org/rss/1.0/modules/content/", "encoded"));
+        assertFalse(RANKING.isWanted("", "http://example.com/unknown", "title"));
+        assertTrue(RANKING.withModules("http://example.com/unknown").isWanted("", "http://example.com/unknown", "title"));
+    }
+
+    private SyndFeed build(final String resource, final ParseProfile profile, final boolean streaming) throws Exception {
+        final SyndFeedInput input = new SyndFeedInput();
+        input.setAllowDoctypes(true);
+        input.setStreaming(streaming);
+        input.setParseProfile(profile);
+        final Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream(resource), "UTF-8");
+        try {
+            return input.build(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.rometools.rome.io.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.io.ParsingFeedException;
+import com.rometools.rome.io.WireFeedInput;
+
+public class StaxFeedReaderTest {
+
+    private static final String[] FEEDS = { "rss_0.9.xml", "rss_0.91N.xml", "rss_0.91U.xml", "rss_0.92.xml", "rss_0.93.xml", "rss_0.94.xml",
+            "rss_1.0.xml", "rss_1.0_DC_Sy.xml", "rss_1.0_DC_multi.xml", "rss_2.0.xml", "atom_0.3.xml", "atom_0.3_DC_Sy.xml", "atom_1.0.xml",
+            "atom_1.0_b.xml", "atom_1.0_bray.xml", "atom_1.0_prefix.xml", "atom_1.0_ruby.xml", "CDATATestFeed.xml" };
+
+    @Test
+    public void testStreamingMatchesDocumentParsing() throws Exception {
+        for (final String feed : FEEDS) {
+            final WireFeed expected = build(feed, false);
+            final WireFeed actual = build(feed, true);
+            assertEquals(feed, expected.getFeedType(), actual.getFeedType());
+            assertEquals(feed, expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void testChannelElementsAfterItems() throws Exception {
+        final String xml = "<rss version=\"2.0\"><channel><title>title</title>"
+                + "<item><title>item 1</title></item><item><title>item 2</title></item>"
+                + "<ttl>60</ttl></channel></rss>";
+        final WireFeedInput input = new WireFeedInput();
+        input.setStreaming(true);
+        final Channel channel = (Channel) input.build(new StringReader(xml));
+        assertEquals("title", channel.getTitle());
+        assertEquals(60, channel.getTtl());
+        assertEquals(2, channel.getItems().size());
+        assertEquals("item 2", channel.getItems().get(1).getTitle());
+    }
+
+    @Test
+    public void testDoctypeDisallowed() throws Exception {
+        final String xml = "<?xml version=\"1.0\"?>\n<!DOCTYPE lolz [\n <!ENTITY lol \"lol\">\n"
+                + " <!ENTITY lol1 \"&lol;&lol;&lol;&lol;&lol;&lol;&lol;&lol;&lol;&lol;\">\n]>\n"
+                + "<feed xmlns=\"http://www.w3.org/2005/Atom\"><title>&lol1;</title></feed>";
+        final WireFeedInput input = new WireFeedInput();
+        input.setStreaming(true);
+        try {
+            input.build(new StringReader(xml));
+            fail("Expected exception");
+        } catch (final ParsingFeedException ex) {
+            assertTrue(ex.getMessage().startsWith("Invalid XML"));
+        }
+    }
+
+    private WireFeed build(final String resource, final boolean streaming) throws Exception {
+        final WireFeedInput input = new WireFeedInput();
+        input.setAllowDoctypes(true);
+        input.setStreaming(streaming);
+        final Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream(resource), "UTF-8");
+        try {
+            return input.build(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+}
@@ -17,6 +17,7 @@ import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +30,10 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 
 import com.rometools.rome.feed.impl.CloneableBean;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndEntryImpl;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
 
 import junit.framework.TestCase;
 
@@ -212,6 +217,48 @@ public class CloneableBeanTest extends TestCase {
         assertEquals(asList("x", "y"), new ArrayList<String>(clonedCollection));
     }
 
+    public void testCloneFeed() throws CloneNotSupportedException {
+        SyndFeedImpl feed = newFeed(1000);
+
+        SyndFeedImpl clonedFeed = (SyndFeedImpl) feed.clone();
+
+        assertEquals(feed, clonedFeed);
+        assertNotSame(feed.getEntries().get(0), clonedFeed.getEntries().get(0));
+        assertNotSame(feed.getPublishedDate(), clonedFeed.getPublishedDate());
+        clonedFeed.getEntries().get(0).setTitle("changed");
+        assertEquals("entry 0", feed.getEntries().get(0).getTitle());
+    }
+
+    public void testCloneFeedSharingEntries() throws CloneNotSupportedException {
+        SyndFeedImpl feed = newFeed(1000);
+
+        SyndFeed clonedFeed = feed.cloneSharingEntries();
+
+        assertEquals(feed, clonedFeed);
+        assertNotSame(feed.getEntries(), clonedFeed.getEntries());
+        assertSame(feed.getEntries().get(0), clonedFeed.getEntries().get(0));
+        assertNotSame(feed.getModules().get(0), clonedFeed.getModules().get(0));
+        clonedFeed.getEntries().clear();
+        assertEquals(1000, feed.getEntries().size());
+    }
+
+    private static SyndFeedImpl newFeed(int entryCount) {
+        SyndFeedImpl feed = new SyndFeedImpl();
+        feed.setFeedType("rss_2.0");
+        feed.setTitle("title");
+        feed.setPublishedDate(new Date());
+        List<SyndEntry> entries = new ArrayList<SyndEntry>();
+        for (int i = 0; i < entryCount; i++) {
+            SyndEntry entry = new SyndEntryImpl();
+            entry.setTitle("entry " + i);
+            entry.setLink("http://example.com/" + i);
+            entry.setPublishedDate(new Date(i));
+            entries.add(entry);
+        }
+        feed.setEntries(entries);
+        return feed;
+    }
+
     private static Map<String, String> mapOf(String key1, String value1, String key2, String value2) {
         Map<String, String> map = new HashMap<String, String>();
         map.put(key1, value1);
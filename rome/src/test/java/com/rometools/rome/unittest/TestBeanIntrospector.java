@@ -0,0 +1,62 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.rometools.rome.unittest;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.rometools.rome.feed.impl.BeanIntrospector;
+import com.rometools.rome.feed.impl.PropertyDescriptor;
+import com.rometools.rome.feed.synd.SyndEntry;
+
+public class TestBeanIntrospector {
+
+    @Test
+    public void testDescriptorsAreComputedOnce() {
+        assertSame(BeanIntrospector.getPropertyDescriptorsWithGetters(SyndEntry.class),
+                   BeanIntrospector.getPropertyDescriptorsWithGetters(SyndEntry.class));
+        assertSame(BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(SyndEntry.class),
+                   BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(SyndEntry.class));
+    }
+
+    @Test
+    public void testDescriptorsWithGettersAndSetters() {
+        final List<PropertyDescriptor> withGetters = BeanIntrospector.getPropertyDescriptorsWithGetters(SyndEntry.class);
+        final List<PropertyDescriptor> withSetters = BeanIntrospector.getPropertyDescriptorsWithGettersAndSetters(SyndEntry.class);
+        assertTrue(withGetters.containsAll(withSetters));
+        assertTrue(withGetters.size() > withSetters.size());
+        for (final PropertyDescriptor propertyDescriptor : withSetters) {
+            assertNotNull(propertyDescriptor.getReadMethod());
+            assertNotNull(propertyDescriptor.getWriteMethod());
+        }
+    }
+
+    @Test
+    public void testDescriptorsCannotBeModified() {
+        try {
+            BeanIntrospector.getPropertyDescriptorsWithGetters(SyndEntry.class).clear();
+            fail("Expected exception");
+        } catch (final UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+}
@@ -15,9 +15,25 @@
  */
 package com.rometools.rome.unittest;
 
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+
 import junit.framework.TestCase;
 
+import org.jdom2.Element;
+
+import com.rometools.rome.feed.WireFeed;
+import com.rometools.rome.feed.atom.Entry;
 import com.rometools.rome.feed.atom.Feed;
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.rss.Item;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndEntryImpl;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.WireFeedInput;
 
 public class TestEqualsBean extends TestCase {
 
@@ -58,4 +74,80 @@ public class TestEqualsBean extends TestCase {
         assertFalse(feed1.equals(null));
     }
 
+    public void testHashCode() {
+        final Feed feed1 = new Feed();
+        final Feed feed2 = new Feed();
+        feed1.setId("a");
+        feed2.setId("a");
+        assertEquals(feed1.hashCode(), feed2.hashCode());
+
+        feed2.setId("b");
+        assertFalse(feed1.hashCode() == feed2.hashCode());
+    }
+
+    public void testHashCodeIgnoresForeignMarkupLikeEquals() {
+        final SyndEntry entry1 = new SyndEntryImpl();
+        final SyndEntry entry2 = new SyndEntryImpl();
+        entry1.setTitle("title");
+        entry2.setTitle("title");
+        entry1.getForeignMarkup().add(new Element("foo"));
+        entry2.getForeignMarkup().add(new Element("foo"));
+
+        assertTrue(entry1.equals(entry2));
+        assertEquals(entry1.hashCode(), entry2.hashCode());
+        assertEquals(1, entry1.getForeignMarkup().size());
+    }
+
+    public void testHashCodeOfParsedFeed() throws Exception {
+        final SyndFeed feed1 = new SyndFeedInput().build(new InputStreamReader(getClass().getResourceAsStream("/rss_2.0.xml"), "UTF-8"));
+        final SyndFeed feed2 = new SyndFeedInput().build(new InputStreamReader(getClass().getResourceAsStream("/rss_2.0.xml"), "UTF-8"));
+        assertTrue(feed1.equals(feed2));
+        assertEquals(feed1.hashCode(), feed2.hashCode());
+
+        final Set<SyndEntry> entries = new HashSet<SyndEntry>(feed1.getEntries());
+        entries.addAll(feed2.getEntries());
+        assertEquals(feed1.getEntries().size(), entries.size());
+    }
+
+    public void testHashCodeOfParsedForeignMarkup() throws Exception {
+        final String rss = "<rss version=\"2.0\" xmlns:x=\"http://example.com/x\"><channel><title>title</title>"
+                + "<link>http://example.com/</link><description>description</description><x:channel>foo</x:channel>"
+                + "<item><title>item</title><x:item>bar</x:item></item></channel></rss>";
+        final String atom = "<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:x=\"http://example.com/x\"><title>title</title>"
+                + "<x:feed>foo</x:feed><entry><title>entry</title><x:entry>bar</x:entry></entry></feed>";
+
+        final Channel channel1 = (Channel) new WireFeedInput().build(new StringReader(rss));
+        final Channel channel2 = (Channel) new WireFeedInput().build(new StringReader(rss));
+        assertFalse(channel1.getForeignMarkup().isEmpty());
+        assertEqualHashCodes(channel1, channel2);
+        final Item item1 = channel1.getItems().get(0);
+        assertFalse(item1.getForeignMarkup().isEmpty());
+        assertEqualHashCodes(item1, channel2.getItems().get(0));
+
+        final Feed feed1 = (Feed) new WireFeedInput().build(new StringReader(atom));
+        final Feed feed2 = (Feed) new WireFeedInput().build(new StringReader(atom));
+        assertFalse(feed1.getForeignMarkup().isEmpty());
+        assertEqualHashCodes(feed1, feed2);
+        final Entry entry1 = feed1.getEntries().get(0);
+        assertFalse(entry1.getForeignMarkup().isEmpty());
+        assertEqualHashCodes(entry1, feed2.getEntries().get(0));
+
+        for (final String xml : new String[] { rss, atom }) {
+            final SyndFeedInput input = new SyndFeedInput();
+            input.setPreserveWireFeed(true);
+            final SyndFeed syndFeed1 = input.build(new StringReader(xml));
+            final SyndFeed syndFeed2 = input.build(new StringReader(xml));
+            final WireFeed wireFeed = syndFeed1.originalWireFeed();
+            assertNotNull(wireFeed);
+            assertEqualHashCodes(syndFeed1, syndFeed2);
+            assertNotNull(syndFeed1.getEntries().get(0).getWireEntry());
+            assertEqualHashCodes(syndFeed1.getEntries().get(0), syndFeed2.getEntries().get(0));
+        }
+    }
+
+    private static void assertEqualHashCodes(final Object bean1, final Object bean2) {
+        assertTrue(bean1.equals(bean2));
+        assertEquals(bean1.hashCode(), bean2.hashCode());
+    }
+
 }
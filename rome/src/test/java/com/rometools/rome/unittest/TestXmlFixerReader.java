@@ -19,6 +19,7 @@ package com.rometools.rome.unittest;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
@@ -114,6 +115,52 @@ public class TestXmlFixerReader extends TestCase {
         testInvalidEntities(" <!-- just in case -->\n" + XML_PROLOG + "<hello>&Pi;&Rho;&#9x13;&Rho;</hello>");
     }
 
+    public void testBulkReadMatchesCharReads() throws Exception {
+        final String[] inputs = { "&amp; &aa &", " <!-- - -- --> \n<hello>&yen;&#250;&yexn;</hello>", "x<hello>&Pi;</hello>",
+                "<a><![CDATA[ & ]] ]]> & <b/>]]></a>", "<![if x]><a & b>&", "<a>&mdash", "<a href=\"x&y\">a&b;c</a><", "]]>" };
+        for (final String input : inputs) {
+            assertBulkReadMatchesCharReads(input);
+        }
+        for (final String resource : new String[] { "rss_2.0.xml", "atom_1.0.xml", "rss_1.0-ns-on-channel.xml", "CDATATestFeed.xml" }) {
+            final InputStream is = getClass().getClassLoader().getResourceAsStream(resource);
+            try {
+                assertBulkReadMatchesCharReads(readAll(new XmlReader(is), 4096));
+            } finally {
+                is.close();
+            }
+        }
+    }
+
+    private void assertBulkReadMatchesCharReads(final String input) throws Exception {
+        final StringBuilder expected = new StringBuilder();
+        final XmlFixerReader charReader = new XmlFixerReader(new StringReader(input));
+        int c;
+        while ((c = charReader.read()) != -1) {
+            expected.append((char) c);
+        }
+        for (final int len : new int[] { 1, 7, 4096 }) {
+            assertEquals(input, expected.toString(), readAll(new XmlFixerReader(new StringReader(input)), len));
+            // chars trickling in a few at a time
+            final Reader trickle = new FilterReader(new StringReader(input)) {
+                @Override
+                public int read(final char[] cbuf, final int off, final int len) throws IOException {
+                    return super.read(cbuf, off, Math.min(len, 3));
+                }
+            };
+            assertEquals(input, expected.toString(), readAll(new XmlFixerReader(trickle), len));
+        }
+    }
+
+    private String readAll(final Reader reader, final int len) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final char[] chars = new char[len];
+        int n;
+        while ((n = reader.read(chars, 0, len)) != -1) {
+            sb.append(chars, 0, n);
+        }
+        return sb.toString();
+    }
+
     protected void testXmlParse(final String garbish, final String xmlDoc) throws Exception {
         final InputStream is = getStream(garbish, xmlDoc);
         Reader reader = new XmlReader(is);
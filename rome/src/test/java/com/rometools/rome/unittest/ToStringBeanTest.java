@@ -0,0 +1,66 @@
+package com.rometools.rome.unittest;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import com.rometools.rome.feed.impl.ToStringBean;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.SyndFeedInput;
+
+import junit.framework.TestCase;
+
+public class ToStringBeanTest extends TestCase {
+
+    public void testAppendToMatchesToString() throws Exception {
+        SyndFeed feed = readFeed("rss_2.0.xml");
+
+        StringBuilder sb = new StringBuilder();
+        ToStringBean.appendTo(sb, feed, ToStringBean.NO_LIMIT, ToStringBean.NO_LIMIT);
+
+        assertEquals(feed.toString(), sb.toString());
+        assertTrue(sb.indexOf("SyndFeedImpl.entries[1].title=rss_2.0.channel.item[1].title\n") >= 0);
+    }
+
+    public void testMaxLength() throws Exception {
+        SyndFeed feed = readFeed("rss_2.0.xml");
+        String full = feed.toString();
+
+        StringBuilder sb = new StringBuilder();
+        ToStringBean.appendTo(sb, feed, ToStringBean.NO_LIMIT, 100);
+
+        assertEquals(full.substring(0, 100) + "...", sb.toString());
+    }
+
+    public void testMaxDepth() throws Exception {
+        SyndFeed feed = readFeed("rss_2.0.xml");
+
+        StringBuilder sb = new StringBuilder();
+        ToStringBean.appendTo(sb, feed, 0, ToStringBean.NO_LIMIT);
+
+        assertTrue(sb.indexOf("SyndFeedImpl.title=rss_2.0.channel.title\n") >= 0);
+        assertTrue(sb.indexOf("SyndFeedImpl.entries[0]=...\n") >= 0);
+        assertTrue(sb.indexOf("SyndFeedImpl.entries[0].title") < 0);
+
+        sb.setLength(0);
+        ToStringBean.appendTo(sb, feed, 1, ToStringBean.NO_LIMIT);
+
+        assertTrue(sb.indexOf("SyndFeedImpl.entries[0].title=rss_2.0.channel.item[0].title\n") >= 0);
+        assertTrue(sb.indexOf("SyndFeedImpl.entries[0].source=...\n") >= 0);
+    }
+
+    public void testNonBean() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        ToStringBean.appendTo(sb, "value", 0, 3);
+
+        assertEquals("val...", sb.toString());
+    }
+
+    private SyndFeed readFeed(String resource) throws Exception {
+        Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream(resource), "UTF-8");
+        try {
+            return new SyndFeedInput().build(reader);
+        } finally {
+            reader.close();
+        }
+    }
+}